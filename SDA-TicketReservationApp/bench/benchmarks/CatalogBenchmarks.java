@@ -0,0 +1,308 @@
+package benchmarks;
+
+import catalogs.BookingCatalog;
+import catalogs.PolicyCatalog;
+import catalogs.PromoCodeCatalog;
+import catalogs.RouteCatalog;
+import helpers.IDGenerator;
+import models.Booking;
+import models.BookingSearchEntry;
+import models.Payment;
+import models.Reservation;
+import models.Route;
+import models.Schedule;
+import services.BookingSearchService;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static benchmarks.InMemoryDatabase.row;
+
+// Catalog loads, lookups and the booking commit path, run against seeded rows served by InMemoryDatabase
+public class CatalogBenchmarks {
+
+    private static final int BOOKINGS = 100_000;
+    private static final int CUSTOMERS = 10_000;
+    private static final int ROUTES = 200;
+    private static final int SCHEDULES_PER_ROUTE = 30;
+    private static final int PROMO_CODES = 500;
+    private static final int QUERIES = 4096;
+
+    private static final String[] FIRST_NAMES = { "Ali", "Ahmed", "Ayesha", "Bilal", "Fatima", "Hamza", "Hira", "Imran",
+        "Maryam", "Usman", "Zainab", "Omar", "Sana", "Saad", "Noor", "Kashif" };
+    private static final String[] LAST_NAMES = { "Khan", "Malik", "Butt", "Sheikh", "Qureshi", "Raza", "Chaudhry", "Iqbal" };
+    private static final String[] CITIES = { "Lahore", "Karachi", "Islamabad", "Multan", "Peshawar", "Quetta",
+        "Faisalabad", "Sialkot", "Hyderabad", "Rawalpindi" };
+    private static final String[] STATUSES = { "Confirmed", "Confirmed", "Confirmed", "Pending", "Cancelled" };
+
+    private static InMemoryDatabase database;
+    private static final List<Map<String, Object>> routes = new ArrayList<>();
+    private static final Map<Object, List<Map<String, Object>>> schedulesByRoute = new HashMap<>();
+    private static final List<Map<String, Object>> promoCodes = new ArrayList<>();
+    private static final List<Map<String, Object>> policies = new ArrayList<>();
+    // Filled when this suite runs, so the other suites see an empty booking table
+    private static volatile List<Map<String, Object>> bookings = Collections.emptyList();
+    private static volatile List<Map<String, Object>> newestFirst = Collections.emptyList();
+    private static volatile Map<Object, Map<String, Object>> bookingsByID = Collections.emptyMap();
+
+    // Registers the tables before any catalog or service opens a connection; reference data is small and seeded now
+    public static void seed(InMemoryDatabase target) {
+        database = target;
+        Random random = new Random(23);
+        for (int r = 0; r < ROUTES; r++) {
+            String routeID = "RT" + r;
+            routes.add(row("RouteID", routeID, "Source", CITIES[r % CITIES.length],
+                "Destination", CITIES[(r + 1 + (r / CITIES.length) % (CITIES.length - 1)) % CITIES.length], "BasePrice", 2000.0 + r * 10, "IsActive", true));
+            List<Map<String, Object>> schedules = new ArrayList<>();
+            for (int s = 0; s < SCHEDULES_PER_ROUTE; s++) {
+                LocalTime departure = LocalTime.of(6 + random.nextInt(16), random.nextInt(4) * 15);
+                schedules.add(row("ScheduleID", routeID + "-SCH" + s, "RouteID", routeID,
+                    "Date", java.sql.Date.valueOf(LocalDate.now().plusDays(s)),
+                    "DepartureTime", Time.valueOf(departure), "ArrivalTime", Time.valueOf(departure.plusHours(4)),
+                    "Class", s % 3 == 0 ? "Business" : "Economy", "TypePercentage", s % 3 == 0 ? 50.0 : 0.0, "IsActive", true));
+            }
+            schedulesByRoute.put(routeID, schedules);
+        }
+        for (int p = 0; p < PROMO_CODES; p++) {
+            promoCodes.add(row("Code", "PROMO" + p, "Percentage", 5.0 + p % 30,
+                "ValidityDate", java.sql.Date.valueOf(LocalDate.now().plusDays(p % 7 == 0 ? -p : p)),
+                "IsActive", p % 11 != 0, "MaxUses", null, "MaxUsesPerCustomer", null));
+        }
+        policies.add(row("PolicyID", "POL001", "RefundAmount", 100.0, "TimeBeforeDeparture", 24,
+            "Description", "Full refund if cancelled 24+ hours before departure"));
+        policies.add(row("PolicyID", "POL002", "RefundAmount", 50.0, "TimeBeforeDeparture", 12,
+            "Description", "50% refund if cancelled 12-24 hours before departure"));
+        policies.add(row("PolicyID", "POL003", "RefundAmount", 0.0, "TimeBeforeDeparture", 0,
+            "Description", "No refund if cancelled less than 12 hours before departure"));
+
+        database.on("FROM Route WHERE", (sql, params) -> routes);
+        database.on("FROM Schedule WHERE RouteID = ?",
+            (sql, params) -> schedulesByRoute.getOrDefault(params.get(1), Collections.emptyList()));
+        database.on("FROM PromotionalCodes", (sql, params) -> promoCodes);
+        database.on("FROM CancellationPolicies", (sql, params) -> policies);
+        // BookingCatalog's full load
+        database.on("p.Amount as PaymentAmount", (sql, params) -> newestFirst);
+        // BookingSearchService's projection (build, catch-up and single-booking reindex) and its state refresh
+        database.on("JOIN Users u ON b.CustomerID = u.UserID", CatalogBenchmarks::selectBookings);
+        database.on("WHERE b.BookingID IN (", CatalogBenchmarks::selectBookings);
+    }
+
+    private static List<Map<String, Object>> selectBookings(String sql, Map<Integer, Object> params) {
+        if (sql.contains("b.BookingID = ?") || sql.contains("b.BookingID IN (")) {
+            List<Map<String, Object>> found = new ArrayList<>();
+            for (Object id : params.values()) {
+                Map<String, Object> booking = bookingsByID.get(id);
+                if (booking != null) {
+                    found.add(booking);
+                }
+            }
+            return found;
+        }
+        for (Object value : params.values()) {
+            if (value instanceof Timestamp) {
+                Timestamp since = (Timestamp) value;
+                return bookings.stream()
+                    .filter(booking -> !((Timestamp) booking.get("UpdatedAt")).before(since))
+                    .collect(Collectors.toList());
+            }
+        }
+        return bookings;
+    }
+
+    public static void run(Harness harness) {
+        Random random = new Random(29);
+
+        harness.run("ids.IDGenerator.generateBookingID", i -> Harness.sink += IDGenerator.generateBookingID().length());
+        harness.run("ids.IDGenerator.generatePaymentID", i -> Harness.sink += IDGenerator.generatePaymentID().length());
+        harness.run("ids.IDGenerator.generateCustomerID", i -> Harness.sink += IDGenerator.generateCustomerID().length());
+        harness.run("ids.IDGenerator.generatePromoCode", i -> Harness.sink += IDGenerator.generatePromoCode().length());
+
+        if (!harness.selected("catalog.")) {
+            return;
+        }
+
+        RouteCatalog routeCatalog = quietly(RouteCatalog::getInstance);
+        String[][] routeSearches = new String[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            String source = CITIES[random.nextInt(CITIES.length)].toLowerCase();
+            String destination = CITIES[random.nextInt(CITIES.length)].toLowerCase();
+            routeSearches[i] = new String[] { source.substring(0, 3), i % 4 == 0 ? "" : destination.substring(0, 3) };
+        }
+        // Same filter BookTicketsController applies as the customer types
+        harness.run("catalog.RouteCatalog filter (" + ROUTES + " routes)", i -> {
+            String[] search = routeSearches[i & (QUERIES - 1)];
+            Harness.sink += routeCatalog.getAllRoutes().stream()
+                .filter(r -> (search[0].isEmpty() || r.getSource().toLowerCase().contains(search[0])) &&
+                             (search[1].isEmpty() || r.getDestination().toLowerCase().contains(search[1])))
+                .count();
+        });
+
+        PromoCodeCatalog promoCatalog = quietly(PromoCodeCatalog::new);
+        String[] codes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            codes[i] = i % 16 == 0 ? "UNKNOWN" + i : "PROMO" + random.nextInt(PROMO_CODES);
+        }
+        quietly(() -> harness.run("catalog.PromoCodeCatalog.applyPromoCode (" + PROMO_CODES + " codes)", i -> {
+            Harness.sink += (long) promoCatalog.applyPromoCode(codes[i & (QUERIES - 1)], 4500.0);
+        }));
+
+        PolicyCatalog policyCatalog = quietly(PolicyCatalog::new);
+        harness.run("catalog.PolicyCatalog.getApplicablePolicy", i -> {
+            Harness.sink += policyCatalog.getApplicablePolicy(i % (24 * 30)) != null ? 1 : 0;
+        });
+
+        seedBookings(random);
+        harness.run("catalog.BookingCatalog load (" + BOOKINGS + " bookings)", i -> {
+            Harness.sink += quietly(BookingCatalog::new).getBookingCount();
+        });
+        BookingCatalog bookingCatalog = quietly(BookingCatalog::new);
+
+        BookingSearchService search = BookingSearchService.getInstance();
+        while (!search.isReady()) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        // The index may have been built before this suite seeded the booking table
+        List<BookingSearchEntry> entries = new ArrayList<>(BOOKINGS);
+        for (Map<String, Object> booking : bookings) {
+            entries.add(new BookingSearchEntry((String) booking.get("BookingID"), (String) booking.get("CustomerID"),
+                (String) booking.get("Name"), (String) booking.get("Email"), (String) booking.get("ReservationID"),
+                (String) booking.get("Source"), (String) booking.get("Destination"),
+                ((java.sql.Date) booking.get("Date")).toLocalDate(),
+                ((Timestamp) booking.get("BookingDateTime")).toLocalDateTime(), (Double) booking.get("TotalAmount"),
+                (String) booking.get("Status"), (String) booking.get("PaymentID"), (String) booking.get("PaymentStatus")));
+        }
+        search.index(entries);
+
+        String[] bookingIDs = new String[QUERIES];
+        String[] customerIDs = new String[QUERIES];
+        String[] texts = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            Map<String, Object> booking = bookings.get(random.nextInt(BOOKINGS));
+            bookingIDs[i] = (String) booking.get("BookingID");
+            customerIDs[i] = (String) booking.get("CustomerID");
+            switch (i % 3) {
+                case 0:
+                    texts[i] = ((String) booking.get("Name")).substring(0, 3);
+                    break;
+                case 1:
+                    texts[i] = booking.get("Source") + " " + ((String) booking.get("Destination")).substring(0, 4);
+                    break;
+                default:
+                    texts[i] = bookingIDs[i];
+                    break;
+            }
+        }
+        harness.run("catalog.BookingCatalog.findBooking", i -> {
+            Harness.sink += bookingCatalog.findBooking(bookingIDs[i & (QUERIES - 1)]) != null ? 1 : 0;
+        });
+        harness.run("catalog.BookingCatalog.getBookingsByCustomer", i -> {
+            Harness.sink += bookingCatalog.getBookingsByCustomer(customerIDs[i & (QUERIES - 1)]).size();
+        });
+        harness.run("catalog.BookingCatalog.searchBookings", i -> {
+            Harness.sink += bookingCatalog.searchBookings(texts[i & (QUERIES - 1)]).size();
+        });
+
+        // New bookings go through persistBookingToDatabase and the BookingCreated listeners started so far
+        Booking[] created = new Booking[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            Map<String, Object> template = bookings.get(random.nextInt(BOOKINGS));
+            Schedule schedule = new Schedule((String) template.get("ScheduleID"), LocalDate.now().plusDays(3),
+                LocalTime.of(9, 0), LocalTime.of(13, 0), "Economy");
+            Route route = new Route((String) template.get("RouteID"), (String) template.get("Source"),
+                (String) template.get("Destination"), 2500.0);
+            Booking booking = new Booking("BK-NEW-" + i, (String) template.get("CustomerID"),
+                new Reservation("RES-NEW-" + i, schedule, route, "Economy"), new Date());
+            booking.setTotalAmount(2500.0);
+            Payment payment = new Payment("PAY-NEW-" + i, booking, 2500.0, "Card");
+            payment.setStatus("Completed");
+            payment.setTransactionID("TXN-NEW-" + i);
+            payment.setPaymentDate(new Date());
+            booking.setPayment(payment);
+            created[i] = booking;
+        }
+        long queriesBefore = database.getQueryCount();
+        long updatesBefore = database.getUpdateCount();
+        quietly(() -> bookingCatalog.addBooking(created[0]));
+        System.out.println("catalog.BookingCatalog.addBooking runs " + (database.getQueryCount() - queriesBefore) +
+                           " queries and " + (database.getUpdateCount() - updatesBefore) + " updates per booking");
+        quietly(() -> harness.run("catalog.BookingCatalog.addBooking (commit path)", i -> {
+            Harness.sink += bookingCatalog.addBooking(created[i & (QUERIES - 1)]) ? 1 : 0;
+        }));
+    }
+
+    private static void seedBookings(Random random) {
+        List<Map<String, Object>> seeded = new ArrayList<>(BOOKINGS);
+        Map<Object, Map<String, Object>> byID = new HashMap<>();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        long bookingNo = 1_700_000_000_000L;
+        for (int i = 0; i < BOOKINGS; i++) {
+            int customer = random.nextInt(CUSTOMERS);
+            String first = FIRST_NAMES[customer % FIRST_NAMES.length];
+            String last = LAST_NAMES[(customer / FIRST_NAMES.length) % LAST_NAMES.length];
+            Map<String, Object> route = routes.get(random.nextInt(ROUTES));
+            Map<String, Object> schedule = schedulesByRoute.get(route.get("RouteID")).get(random.nextInt(SCHEDULES_PER_ROUTE));
+            bookingNo += 1 + random.nextInt(5000);
+            boolean paid = random.nextInt(5) != 0;
+            String name = first + " " + last;
+            String email = first.toLowerCase() + "." + last.toLowerCase() + customer + "@example.com";
+            Timestamp bookedAt = Timestamp.valueOf(start.plusMinutes(i * 3L));
+            double amount = 2500 + random.nextInt(4000);
+            Map<String, Object> booking = row(
+                "BookingID", "BK-" + bookingNo, "CustomerID", "CUST-" + customer, "BookingDateTime", bookedAt,
+                "TotalAmount", amount, "Status", STATUSES[random.nextInt(STATUSES.length)],
+                "ReservationID", "RES-" + (bookingNo + 17), "PaymentID", paid ? "PAY-" + (bookingNo + 29) : null,
+                "CustomerName", name, "CustomerEmail", email, "CustomerPhone", "0300" + (1_000_000 + customer),
+                "ScheduleID", schedule.get("ScheduleID"), "RouteID", route.get("RouteID"),
+                "ScheduleDate", schedule.get("Date"), "DepartureTime", schedule.get("DepartureTime"),
+                "ArrivalTime", schedule.get("ArrivalTime"), "ScheduleClass", schedule.get("Class"),
+                "Source", route.get("Source"), "Destination", route.get("Destination"), "BasePrice", route.get("BasePrice"),
+                "PaymentAmount", paid ? amount : null, "PaymentMethod", paid ? "Card" : null,
+                "PaymentStatus", paid ? "Completed" : null, "TransactionID", paid ? "TXN-" + bookingNo : null,
+                "PaymentDate", paid ? bookedAt : null,
+                "Name", name, "Email", email, "Date", schedule.get("Date"), "UpdatedAt", bookedAt);
+            seeded.add(booking);
+            byID.put(booking.get("BookingID"), booking);
+        }
+        List<Map<String, Object>> reversed = new ArrayList<>(seeded);
+        Collections.reverse(reversed);
+        bookingsByID = byID;
+        newestFirst = reversed;
+        bookings = seeded;
+    }
+
+    // Catalogs log every load and promo application to stdout; the harness reports through its own stream
+    private static <T> T quietly(Supplier<T> work) {
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return work.get();
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    private static void quietly(Runnable work) {
+        quietly(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package benchmarks;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+// Plain-Java stand-in for JMH: warmup rounds, then timed rounds of a calibrated batch, reporting median and best ns/op
+public class Harness {
+
+    private static final long TARGET_ROUND_NANOS = 100_000_000L;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    // Results are folded in here so the JIT cannot drop the work being measured
+    public static volatile long sink;
+
+    private final String filter;
+    // Captured up front, since suites silence System.out around code that logs on every call
+    private final PrintStream out = System.out;
+
+    public Harness(String filter) {
+        this.filter = filter != null ? filter.toLowerCase(Locale.ROOT) : null;
+    }
+
+    public boolean selected(String name) {
+        return filter == null || name.toLowerCase(Locale.ROOT).contains(filter);
+    }
+
+    // The operation receives the invocation index so it can walk pre-built inputs instead of generating them
+    public void run(String name, IntConsumer operation) {
+        if (!selected(name)) {
+            return;
+        }
+        int batch = calibrate(operation);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            time(operation, batch);
+        }
+        double[] perOp = new double[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            perOp[i] = (double) time(operation, batch) / batch;
+        }
+        Arrays.sort(perOp);
+        out.println(String.format(Locale.ROOT, "%-48s %14s ns/op  (best %s, %d ops/round)",
+            name, format(perOp[MEASURED_ROUNDS / 2]), format(perOp[0]), batch));
+    }
+
+    // Same operation on several threads at once; reports aggregate throughput and mean latency per call
+    public void runConcurrent(String name, int threads, long millis, IntConsumer operation) {
+        if (!selected(name)) {
+            return;
+        }
+        AtomicLong completed = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        long deadline = System.nanoTime() + millis * 1_000_000L;
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 1_000_003;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int i = offset;
+                long local = 0;
+                while (System.nanoTime() < deadline) {
+                    operation.accept(i++);
+                    local++;
+                }
+                completed.addAndGet(local);
+            }, "bench-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long ops = completed.get();
+        out.println(String.format(Locale.ROOT, "%-48s %14s ops/s  (%d threads, mean %s ms/op)",
+            name, format(ops / seconds), threads, format(ops > 0 ? threads * seconds * 1000 / ops : 0)));
+    }
+
+    private static int calibrate(IntConsumer operation) {
+        int batch = 1;
+        while (batch < (1 << 24)) {
+            long elapsed = time(operation, batch);
+            if (elapsed >= TARGET_ROUND_NANOS / 10) {
+                long scaled = batch * (TARGET_ROUND_NANOS / Math.max(1, elapsed));
+                return (int) Math.max(1, Math.min(1 << 24, scaled));
+            }
+            batch *= 2;
+        }
+        return batch;
+    }
+
+    private static long time(IntConsumer operation, int batch) {
+        long start = System.nanoTime();
+        for (int i = 0; i < batch; i++) {
+            operation.accept(i);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static String format(double value) {
+        if (value >= 100) {
+            return String.format(Locale.ROOT, "%,.0f", value);
+        }
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,282 @@
+package benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+// JDBC driver serving seeded rows from memory, registered in place of the SQL Server driver so catalogs and
+// services run their real queries and result-set mapping without a database. Queries are answered by the first
+// table whose SQL fragment they contain; anything else reads no rows, and every update reports one row changed.
+public class InMemoryDatabase implements Driver {
+
+    public interface Table {
+        List<Map<String, Object>> select(String sql, Map<Integer, Object> params);
+    }
+
+    private static final Map<String, Object> NO_MATCH = Collections.singletonMap("Count", 0);
+
+    private final List<String> fragments = new CopyOnWriteArrayList<>();
+    private final List<Table> tables = new CopyOnWriteArrayList<>();
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+
+    // Drops every registered driver first, so no connection attempt reaches the network
+    public static InMemoryDatabase install() {
+        InMemoryDatabase database = new InMemoryDatabase();
+        try {
+            for (Driver driver : Collections.list(DriverManager.getDrivers())) {
+                DriverManager.deregisterDriver(driver);
+            }
+            DriverManager.registerDriver(database);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not register the in-memory driver", e);
+        }
+        return database;
+    }
+
+    public void on(String sqlFragment, Table table) {
+        fragments.add(sqlFragment);
+        tables.add(table);
+    }
+
+    public long getQueryCount() {
+        return queries.get();
+    }
+
+    public long getUpdateCount() {
+        return updates.get();
+    }
+
+    private List<Map<String, Object>> select(String sql, Map<Integer, Object> params) {
+        queries.incrementAndGet();
+        for (int i = 0; i < fragments.size(); i++) {
+            if (sql.contains(fragments.get(i))) {
+                return tables.get(i).select(sql, params);
+            }
+        }
+        // Existence checks are the only aggregate the code reads without a table behind it
+        return sql.contains("COUNT(*)") ? Collections.singletonList(NO_MATCH) : Collections.emptyList();
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) {
+        return acceptsURL(url) ? proxy(Connection.class, this::connection) : null;
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith("jdbc:");
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    private Object connection(Object self, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "prepareStatement":
+            case "prepareCall":
+                return statement(PreparedStatement.class, (String) args[0]);
+            case "createStatement":
+                return statement(Statement.class, null);
+            case "getAutoCommit":
+            case "isValid":
+                return true;
+            default:
+                return defaultValue(method);
+        }
+    }
+
+    private <T> T statement(Class<T> type, String preparedSql) {
+        Map<Integer, Object> params = new HashMap<>();
+        int[] batched = new int[1];
+        return proxy(type, (self, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                params.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                return null;
+            }
+            switch (name) {
+                case "executeQuery":
+                    return resultSet(select(args != null ? (String) args[0] : preparedSql, params));
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                    updates.incrementAndGet();
+                    return name.equals("executeUpdate") ? (Object) 1 : (Object) 1L;
+                case "execute":
+                    updates.incrementAndGet();
+                    return false;
+                case "addBatch":
+                    batched[0]++;
+                    return null;
+                case "executeBatch":
+                    int[] counts = new int[batched[0]];
+                    Arrays.fill(counts, 1);
+                    updates.addAndGet(batched[0]);
+                    batched[0] = 0;
+                    return counts;
+                case "clearParameters":
+                    params.clear();
+                    return null;
+                case "getGeneratedKeys":
+                    return resultSet(Collections.emptyList());
+                case "getUpdateCount":
+                    return -1;
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    private static ResultSet resultSet(List<Map<String, Object>> rows) {
+        int[] cursor = { -1 };
+        Object[] last = new Object[1];
+        return proxy(ResultSet.class, (self, method, args) -> {
+            String name = method.getName();
+            if (name.equals("next")) {
+                return ++cursor[0] < rows.size();
+            }
+            if (name.equals("wasNull")) {
+                return last[0] == null;
+            }
+            if (name.startsWith("get") && args != null && args.length == 1 && cursor[0] >= 0 && cursor[0] < rows.size()) {
+                last[0] = column(rows.get(cursor[0]), args[0]);
+                return convert(last[0], method.getReturnType());
+            }
+            return defaultValue(method);
+        });
+    }
+
+    private static Object column(Map<String, Object> row, Object key) {
+        if (key instanceof Integer) {
+            int index = (Integer) key;
+            for (Object value : row.values()) {
+                if (--index == 0) {
+                    return value;
+                }
+            }
+            return null;
+        }
+        if (row.containsKey(key)) {
+            return row.get(key);
+        }
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase((String) key)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static Object convert(Object value, Class<?> type) {
+        if (value == null) {
+            return type.isPrimitive() ? defaultValue(type) : null;
+        }
+        if (type == String.class) {
+            return value.toString();
+        }
+        if (value instanceof Number) {
+            Number number = (Number) value;
+            if (type == int.class) {
+                return number.intValue();
+            }
+            if (type == long.class) {
+                return number.longValue();
+            }
+            if (type == double.class) {
+                return number.doubleValue();
+            }
+            if (type == boolean.class) {
+                return number.intValue() != 0;
+            }
+            if (type == BigDecimal.class) {
+                return BigDecimal.valueOf(number.doubleValue());
+            }
+        }
+        return value;
+    }
+
+    private static Object defaultValue(Method method) {
+        return defaultValue(method.getReturnType());
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InMemoryDatabase.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    // Rows keep their column order so positional reads (getInt(1)) see the first column
+    public static Map<String, Object> row(Object... columnsAndValues) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < columnsAndValues.length; i += 2) {
+            row.put((String) columnsAndValues[i], columnsAndValues[i + 1]);
+        }
+        return row;
+    }
+}
\ No newline at end of file
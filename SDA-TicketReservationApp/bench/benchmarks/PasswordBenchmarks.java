@@ -0,0 +1,30 @@
+package benchmarks;
+
+import helpers.PasswordHasher;
+
+// Login cost at the configured work factor, alone and with several logins landing at once
+public class PasswordBenchmarks {
+
+    private static final long CONCURRENT_MILLIS = 3000;
+
+    public static void run(Harness harness) {
+        if (!harness.selected("password.")) {
+            return;
+        }
+        System.out.println("password iterations: " + PasswordHasher.getIterations());
+        String stored = PasswordHasher.hash("correct horse battery staple");
+
+        harness.run("password.hash", i -> {
+            Harness.sink += PasswordHasher.hash("correct horse battery staple").length();
+        });
+        harness.run("password.verify", i -> {
+            Harness.sink += PasswordHasher.verify("correct horse battery staple", stored) ? 1 : 0;
+        });
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= Math.max(4, cores); threads *= 2) {
+            harness.runConcurrent("password.verify (concurrent logins)", threads, CONCURRENT_MILLIS, i -> {
+                Harness.sink += PasswordHasher.verify("correct horse battery staple", stored) ? 1 : 0;
+            });
+        }
+    }
+}
\ No newline at end of file
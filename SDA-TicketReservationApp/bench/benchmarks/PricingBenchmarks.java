@@ -0,0 +1,70 @@
+package benchmarks;
+
+import models.FareBucket;
+import models.Route;
+import models.Schedule;
+import models.ScheduleFare;
+import models.Seat;
+import services.CancellationPolicyEngine;
+import services.DynamicPricingEngine;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+// Seat map pricing and refund policy lookup; neither touches the database once the schedule's seats are loaded
+public class PricingBenchmarks {
+
+    private static final int SEATS_PER_SCHEDULE = 60;
+    private static final int SCHEDULES = 256;
+
+    public static void run(Harness harness) {
+        Random random = new Random(42);
+        DynamicPricingEngine engine = DynamicPricingEngine.getInstance();
+        Route route = new Route("RT-1", "Lahore", "Islamabad", 2500.0);
+        String[] seatTypes = { "A", "B", "C", "D" };
+
+        Schedule[] schedules = new Schedule[SCHEDULES];
+        for (int s = 0; s < SCHEDULES; s++) {
+            Schedule schedule = new Schedule("SCH-" + s, LocalDate.now().plusDays(random.nextInt(30)),
+                LocalTime.of(8, 0), LocalTime.of(12, 0), "Economy");
+            ArrayList<Seat> seats = new ArrayList<>();
+            for (int i = 0; i < SEATS_PER_SCHEDULE; i++) {
+                Seat seat = new Seat("S" + i, seatTypes[i % seatTypes.length], 2500.0 + (i % 4) * 250);
+                seat.setAvailability(random.nextDouble() > 0.6);
+                seats.add(seat);
+            }
+            schedule.setSeats(seats);
+            schedules[s] = schedule;
+        }
+        ScheduleFare fare = new ScheduleFare("SCH-0", 24, SEATS_PER_SCHEDULE, 10,
+            new FareBucket(0.0, 0.95, "Low demand"), new FareBucket(7, 1.0, "Standard booking"),
+            0.95, Long.MAX_VALUE);
+        Seat[] seats = schedules[0].getSeats().toArray(new Seat[0]);
+
+        harness.run("pricing.quote (fare already resolved)", i -> {
+            Harness.sink += (long) engine.quote(fare, route, schedules[0], seats[i % seats.length]);
+        });
+        harness.run("pricing.getFare (cached, " + SEATS_PER_SCHEDULE + " loaded seats)", i -> {
+            Harness.sink += engine.getFare(schedules[i % SCHEDULES]).getSeatsSold();
+        });
+        harness.run("pricing.seatMap (" + SEATS_PER_SCHEDULE + " seats)", i -> {
+            Schedule schedule = schedules[i % SCHEDULES];
+            ScheduleFare resolved = engine.getFare(schedule);
+            double total = 0;
+            for (Seat seat : schedule.getSeats()) {
+                total += engine.quote(resolved, route, schedule, seat);
+            }
+            Harness.sink += (long) total;
+        });
+
+        CancellationPolicyEngine policies = CancellationPolicyEngine.getInstance();
+        int[] hours = new int[4096];
+        for (int i = 0; i < hours.length; i++) {
+            hours[i] = random.nextInt(24 * 30);
+        }
+        harness.run("cancellation.resolve", i -> {
+            Harness.sink += policies.resolve(hours[i & (hours.length - 1)]) != null ? 1 : 0;
+        });
+    }
+}
\ No newline at end of file
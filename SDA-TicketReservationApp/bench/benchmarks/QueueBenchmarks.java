@@ -0,0 +1,73 @@
+package benchmarks;
+
+import helpers.SlidingTopK;
+import helpers.TimeSeriesBuffer;
+import models.Customer;
+import models.SupportQuery;
+import models.SupportStaff;
+import services.SupportQueueService;
+import java.util.Date;
+import java.util.Random;
+
+// Support queue indexes and the in-memory metrics structures behind the admin dashboards
+public class QueueBenchmarks {
+
+    private static final int QUERIES = 50_000;
+    private static final int STAFF = 40;
+
+    public static void run(Harness harness) {
+        Random random = new Random(11);
+
+        if (harness.selected("queue.")) {
+            SupportQueueService queue = SupportQueueService.getInstance();
+            SupportStaff[] staff = new SupportStaff[STAFF];
+            for (int i = 0; i < STAFF; i++) {
+                staff[i] = new SupportStaff("STF-" + i, "Agent " + i, null, "agent" + i, "agent" + i + "@example.com", "0300");
+            }
+            long askedFrom = System.currentTimeMillis() - 90L * 24 * 3600 * 1000;
+            SupportQuery[] queries = new SupportQuery[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                Customer customer = new Customer("CUST-" + random.nextInt(10_000), "Customer", null, "c", "c@example.com", "0300");
+                SupportQuery query = new SupportQuery("Where is my refund?", new Date(askedFrom + i * 150_000L),
+                    "Q-" + i, random.nextInt(3) == 0 ? staff[random.nextInt(STAFF)] : null, customer);
+                query.setStatus(random.nextInt(4) == 0);
+                queries[i] = query;
+                queue.upsert(query);
+            }
+
+            harness.run("queue.upsert (existing query)", i -> {
+                SupportQuery query = queries[i % QUERIES];
+                query.setSupportStaff((i & 1) == 0 ? staff[i % STAFF] : null);
+                Harness.sink += queue.upsert(query).hashCode();
+            });
+            harness.run("queue.getUnassigned(50)", i -> {
+                Harness.sink += queue.getUnassigned(50).size();
+            });
+            harness.run("queue.getAssignedTo(staff, 50)", i -> {
+                Harness.sink += queue.getAssignedTo(staff[i % STAFF].getUserID(), 50).size();
+            });
+            harness.run("queue.counts", i -> {
+                Harness.sink += queue.getPendingCount() + queue.getUnassignedCount() + queue.getAssignedCount(staff[i % STAFF].getUserID());
+            });
+        }
+
+        TimeSeriesBuffer series = new TimeSeriesBuffer(60_000L, 1440, 4);
+        long now = System.currentTimeMillis();
+        harness.run("metrics.TimeSeriesBuffer.add", i -> series.add(i & 3, now + (i & 0xFFFF) * 1000L, 1.0));
+        long lastBucket = series.bucketOf(now + 0xFFFF * 1000L);
+        harness.run("metrics.TimeSeriesBuffer.range (24 h of minutes)", i -> {
+            Harness.sink += series.range(i & 3, lastBucket - 1439, lastBucket).length;
+        });
+
+        SlidingTopK leaderboard = new SlidingTopK(7, 30);
+        String[] routes = new String[500];
+        for (int i = 0; i < routes.length; i++) {
+            routes[i] = "RT-" + i;
+        }
+        long today = now / 86_400_000L;
+        harness.run("metrics.SlidingTopK.add", i -> leaderboard.add(routes[(i * 7) % routes.length], today - (i & 31), 1.0));
+        harness.run("metrics.SlidingTopK.top(30 days, 10)", i -> {
+            Harness.sink += leaderboard.top(1, 10, today).size();
+        });
+    }
+}
\ No newline at end of file
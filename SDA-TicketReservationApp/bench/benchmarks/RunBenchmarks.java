@@ -0,0 +1,19 @@
+package benchmarks;
+
+// Usage: java -cp "bin-bench:lib/*" benchmarks.RunBenchmarks [name filter]
+// Runs without a database: InMemoryDatabase takes the place of the SQL Server driver and serves seeded rows
+public class RunBenchmarks {
+
+    public static void main(String[] args) {
+        Harness harness = new Harness(args.length > 0 ? args[0] : null);
+        System.out.println("Java " + System.getProperty("java.version") + ", " +
+                           Runtime.getRuntime().availableProcessors() + " cores");
+        CatalogBenchmarks.seed(InMemoryDatabase.install());
+
+        PricingBenchmarks.run(harness);
+        SearchBenchmarks.run(harness);
+        QueueBenchmarks.run(harness);
+        PasswordBenchmarks.run(harness);
+        CatalogBenchmarks.run(harness);
+    }
+}
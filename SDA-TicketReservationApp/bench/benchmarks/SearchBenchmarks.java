@@ -0,0 +1,104 @@
+package benchmarks;
+
+import models.Booking;
+import models.BookingSearchEntry;
+import models.Reservation;
+import models.Route;
+import models.Schedule;
+import services.BookingSearchService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// Admin booking search over an index seeded in memory, and the per-customer matcher used by My Bookings
+public class SearchBenchmarks {
+
+    private static final int BOOKINGS = 200_000;
+    private static final int CUSTOMERS = 20_000;
+    private static final int QUERIES = 4096;
+
+    private static final String[] FIRST_NAMES = { "Ali", "Ahmed", "Ayesha", "Bilal", "Fatima", "Hamza", "Hira", "Imran",
+        "Maryam", "Usman", "Zainab", "Omar", "Sana", "Saad", "Noor", "Kashif" };
+    private static final String[] LAST_NAMES = { "Khan", "Malik", "Butt", "Sheikh", "Qureshi", "Raza", "Chaudhry", "Iqbal" };
+    private static final String[] CITIES = { "Lahore", "Karachi", "Islamabad", "Multan", "Peshawar", "Quetta",
+        "Faisalabad", "Sialkot", "Hyderabad", "Rawalpindi" };
+    private static final String[] STATUSES = { "Confirmed", "Confirmed", "Confirmed", "Pending", "Cancelled" };
+
+    public static void run(Harness harness) {
+        if (!harness.selected("search.")) {
+            return;
+        }
+        Random random = new Random(7);
+        List<BookingSearchEntry> entries = new ArrayList<>(BOOKINGS);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        long bookingNo = 1_700_000_000_000L;
+        for (int i = 0; i < BOOKINGS; i++) {
+            int customer = random.nextInt(CUSTOMERS);
+            String first = FIRST_NAMES[customer % FIRST_NAMES.length];
+            String last = LAST_NAMES[(customer / FIRST_NAMES.length) % LAST_NAMES.length];
+            String source = CITIES[random.nextInt(CITIES.length)];
+            String destination = CITIES[random.nextInt(CITIES.length)];
+            LocalDateTime bookedAt = start.plusMinutes(i * 3L);
+            bookingNo += 1 + random.nextInt(5000);
+            entries.add(new BookingSearchEntry("BK-" + bookingNo, "CUST-" + customer, first + " " + last,
+                first.toLowerCase() + "." + last.toLowerCase() + customer + "@example.com",
+                "RES-" + (bookingNo + 17), source, destination, bookedAt.toLocalDate().plusDays(random.nextInt(60)),
+                bookedAt, 2500 + random.nextInt(4000), STATUSES[random.nextInt(STATUSES.length)],
+                "PAY-" + (bookingNo + 29), "Completed"));
+        }
+
+        BookingSearchService search = BookingSearchService.getInstance();
+        long indexStart = System.nanoTime();
+        search.index(entries);
+        System.out.println("search index seeded: " + search.size() + " bookings in " +
+                           (System.nanoTime() - indexStart) / 1_000_000 + " ms");
+
+        String[] texts = new String[QUERIES];
+        String[] owners = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            BookingSearchEntry entry = entries.get(random.nextInt(BOOKINGS));
+            switch (i % 4) {
+                case 0:
+                    texts[i] = entry.getCustomerName().substring(0, 3);
+                    break;
+                case 1:
+                    texts[i] = entry.getSource() + " " + entry.getDestination().substring(0, 4);
+                    break;
+                case 2:
+                    texts[i] = entry.getBookingID();
+                    break;
+                default:
+                    texts[i] = entry.getCustomerName().split(" ")[1] + " " + entry.getTravelDate().toString().substring(0, 7);
+                    break;
+            }
+            owners[i] = entry.getCustomerID();
+        }
+
+        harness.run("search.findBookingIDs (" + BOOKINGS + " bookings)", i -> {
+            Set<String> found = search.findBookingIDs(texts[i & (QUERIES - 1)], null);
+            Harness.sink += found != null ? found.size() : 0;
+        });
+        harness.run("search.findBookingIDs (one customer)", i -> {
+            int q = i & (QUERIES - 1);
+            Set<String> found = search.findBookingIDs(texts[q], owners[q]);
+            Harness.sink += found != null ? found.size() : 0;
+        });
+
+        Booking[] bookings = new Booking[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            BookingSearchEntry entry = entries.get(random.nextInt(BOOKINGS));
+            Schedule schedule = new Schedule("SCH-" + i, entry.getTravelDate(), LocalTime.of(9, 0), LocalTime.of(13, 0), "Economy");
+            Route route = new Route("RT-" + i, entry.getSource(), entry.getDestination(), 2500.0);
+            bookings[i] = new Booking(entry.getBookingID(), entry.getCustomerID(),
+                new Reservation(entry.getReservationID(), schedule, route, "Economy"), new Date());
+        }
+        harness.run("search.matches (one booking)", i -> {
+            Harness.sink += BookingSearchService.matches(texts[i & (QUERIES - 1)], bookings[(i * 31) & (QUERIES - 1)]) ? 1 : 0;
+        });
+    }
+}
\ No newline at end of file
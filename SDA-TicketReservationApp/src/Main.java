@@ -3,6 +3,10 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import services.DepartureReminderService;
+import services.NotificationRetentionService;
+import services.PaymentService;
+import services.ScheduleCancellationService;
 
 public class Main extends Application {
 
@@ -12,6 +16,9 @@ public class Main extends Application {
             // Initialize catalogs with sample data
             initializeSampleData();
             
+            // Start background services
+            startBackgroundServices();
+            
             // Load the FXML file
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/ui/mainpage.fxml"));
             Parent root = loader.load();
@@ -39,6 +46,14 @@ public class Main extends Application {
         // This would typically be loaded from a database
     }
 
+    private void startBackgroundServices() {
+        // Services with scheduled work of their own start here rather than on first use
+        DepartureReminderService.getInstance();
+        NotificationRetentionService.getInstance();
+        ScheduleCancellationService.getInstance();
+        PaymentService.getInstance();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -7,8 +7,12 @@ import models.Payment;
 import models.Schedule;
 import models.Route;
 import database.DatabaseConnection;
+import services.BookingEventPublisher;
+import services.BookingSearchService;
+import services.CancellationPolicyEngine;
 import java.util.Date;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
 
 public class BookingCatalog {
     private java.util.ArrayList<Booking> bookings;
@@ -67,6 +71,7 @@ public class BookingCatalog {
         
         if (persisted) {
             bookings.add(booking);
+            BookingEventPublisher.getInstance().publishBookingCreated(booking);
             return true;
         }
         return false;
@@ -104,7 +109,7 @@ public class BookingCatalog {
             String sql;
             if (exists) {
                 sql = "UPDATE Booking SET CustomerID = ?, BookingDateTime = ?, TotalAmount = ?, " +
-                      "Status = ?, ReservationID = ?, PaymentID = ? WHERE BookingID = ?";
+                      "Status = ?, ReservationID = ?, PaymentID = ?, UpdatedAt = GETDATE() WHERE BookingID = ?";
             } else {
                 sql = "INSERT INTO Booking (BookingID, CustomerID, BookingDateTime, TotalAmount, " +
                       "Status, ReservationID, PaymentID) VALUES (?, ?, ?, ?, ?, ?, ?)";
@@ -347,7 +352,9 @@ public class BookingCatalog {
     }
 
     private boolean updateBookingInDatabase(Booking booking) {
-        String updateQuery = "UPDATE Booking SET Status = ?, TotalAmount = ?, PaymentID = ? WHERE BookingID = ?";
+        String updateQuery = "UPDATE Booking SET Status = ?, TotalAmount = ?, PaymentID = ?, UpdatedAt = GETDATE(), " +
+                             "CancelledAt = CASE WHEN ? = 'Cancelled' THEN COALESCE(CancelledAt, GETDATE()) END " +
+                             "WHERE BookingID = ?";
         
         try {
             java.sql.Connection conn = DatabaseConnection.getConnection();
@@ -369,7 +376,8 @@ public class BookingCatalog {
                 stmt.setNull(3, java.sql.Types.VARCHAR);
             }
             
-            stmt.setString(4, booking.getBookingID());
+            stmt.setString(4, booking.getStatus());
+            stmt.setString(5, booking.getBookingID());
             
             int rowsAffected = stmt.executeUpdate();
             stmt.close();
@@ -493,7 +501,12 @@ public class BookingCatalog {
     public boolean cancelBooking(String bookingID) {
         Booking booking = findBooking(bookingID);
         if (booking != null && booking.getStatus().equals("Confirmed")) {
-            return updateBookingStatus(bookingID, "Cancelled");
+            if (updateBookingStatus(bookingID, "Cancelled")) {
+                double refund = CancellationPolicyEngine.getInstance()
+                    .quoteRefund(booking, LocalDateTime.now()).getRefundAmount();
+                BookingEventPublisher.getInstance().publishBookingCancelled(booking, refund);
+                return true;
+            }
         }
         return false;
     }
@@ -605,11 +618,11 @@ public class BookingCatalog {
 
     public java.util.ArrayList<Booking> searchBookings(String searchTerm) {
         java.util.ArrayList<Booking> result = new java.util.ArrayList<>();
+        java.util.Set<String> matches = BookingSearchService.getInstance().findBookingIDs(searchTerm, null);
         for (Booking booking : bookings) {
-            if (booking.getBookingID().contains(searchTerm) ||
-                booking.getCustomerID().contains(searchTerm) ||
-                (booking.hasPayment() && booking.getPayment().getPaymentID().contains(searchTerm)) ||
-                booking.getReservation().getReservationID().contains(searchTerm)) {
+            // Until the index has loaded, match the same way it would, one booking at a time
+            if (matches != null ? matches.contains(booking.getBookingID())
+                                : BookingSearchService.matches(searchTerm, booking)) {
                 result.add(booking);
             }
         }
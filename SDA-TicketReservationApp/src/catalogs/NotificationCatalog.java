@@ -1,15 +1,42 @@
 package catalogs;
 
+import models.BroadcastSegment;
+import models.DepartureReminder;
 import models.Notification;
 import config.DatabaseConfig;
+import services.LiveUpdateBus;
 import java.sql.*;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class NotificationCatalog {
+    private static final long RECONCILE_INTERVAL_MINUTES = 10;
+    // Stays well under SQL Server's 2100 parameter limit per statement
+    private static final int RECONCILE_BATCH_SIZE = 500;
+    
     private static NotificationCatalog instance;
+    private final Map<String, AtomicInteger> unreadCounts;
+    private final ScheduledExecutorService reconciler;
     
-    private NotificationCatalog() {}
+    private NotificationCatalog() {
+        this.unreadCounts = new ConcurrentHashMap<>();
+        this.reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notification-counts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcileUnreadCounts,
+            RECONCILE_INTERVAL_MINUTES, RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
     
     public static synchronized NotificationCatalog getInstance() {
         if (instance == null) {
@@ -19,7 +46,9 @@ public class NotificationCatalog {
     }
     
     public boolean addNotification(Notification notification) {
-        String query = "INSERT INTO Notifications (UserID, Title, Message, Type, RelatedID) VALUES (?, ?, ?, ?, ?)";
+        // The generated ID is read back so live cards can be marked read without a reload
+        String query = "INSERT INTO Notifications (UserID, Title, Message, Type, RelatedID) " +
+                      "OUTPUT inserted.NotificationID VALUES (?, ?, ?, ?, ?)";
         
         try (Connection conn = DriverManager.getConnection(
                 DatabaseConfig.getDbUrl(), 
@@ -33,9 +62,19 @@ public class NotificationCatalog {
             stmt.setString(4, notification.getTypeString());
             stmt.setString(5, notification.getRelatedID());
             
-            int rowsAffected = stmt.executeUpdate();
+            int rowsAffected = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    notification.setNotificationID(rs.getInt(1));
+                    rowsAffected = 1;
+                }
+            }
+            adjustUnreadCount(notification.getUserID(), rowsAffected);
+            if (rowsAffected > 0) {
+                LiveUpdateBus.getInstance().publishNotification(notification);
+            }
             return rowsAffected > 0;
-            
+
         } catch (SQLException e) {
             System.err.println("Error adding notification: " + e.getMessage());
             e.printStackTrace();
@@ -43,6 +82,314 @@ public class NotificationCatalog {
         }
     }
     
+    public boolean addNotifications(List<Notification> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            insertBatch(conn, batch);
+            for (Notification notification : batch) {
+                adjustUnreadCount(notification.getUserID(), 1);
+                LiveUpdateBus.getInstance().publishNotification(notification);
+            }
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Error adding notification batch: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // One bad row fails a whole multi-row INSERT, so this retries a batch one row at a time.
+    // Rows the database rejects outright go to rejected; the unwritten tail is returned when
+    // the connection itself fails, since those rows may still succeed later
+    public List<Notification> addNotificationsIndividually(List<Notification> batch, List<Notification> rejected) {
+        int next = 0;
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            for (; next < batch.size(); next++) {
+                Notification notification = batch.get(next);
+                try {
+                    insertBatch(conn, Collections.singletonList(notification));
+                } catch (SQLException e) {
+                    if (!isPermanentFailure(e)) {
+                        throw e;
+                    }
+                    System.err.println("Rejected notification for " + notification.getUserID() + ": " + e.getMessage());
+                    rejected.add(notification);
+                    continue;
+                }
+                adjustUnreadCount(notification.getUserID(), 1);
+                LiveUpdateBus.getInstance().publishNotification(notification);
+            }
+            return new ArrayList<>();
+
+        } catch (SQLException e) {
+            System.err.println("Error adding notifications individually: " + e.getMessage());
+            return new ArrayList<>(batch.subList(next, batch.size()));
+        }
+    }
+
+    // Data errors (truncation) and integrity violations (FK, CHECK) fail the same way on every retry
+    private static boolean isPermanentFailure(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("22") || state.startsWith("23"));
+    }
+
+    private void insertBatch(Connection conn, List<Notification> batch) throws SQLException {
+        StringBuilder query = new StringBuilder(
+            "INSERT INTO Notifications (UserID, Title, Message, Type, RelatedID, CreatedAt) " +
+            "OUTPUT inserted.NotificationID, inserted.UserID, inserted.Title, inserted.Message, " +
+            "inserted.Type, inserted.RelatedID VALUES ");
+        for (int i = 0; i < batch.size(); i++) {
+            query.append(i == 0 ? "(?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?)");
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+            int index = 1;
+            for (Notification notification : batch) {
+                stmt.setString(index++, notification.getUserID());
+                stmt.setString(index++, notification.getTitle());
+                stmt.setString(index++, notification.getMessage());
+                stmt.setString(index++, notification.getTypeString());
+                stmt.setString(index++, notification.getRelatedID());
+                stmt.setTimestamp(index++, notification.getCreatedAt() != null
+                    ? new Timestamp(notification.getCreatedAt().getTime())
+                    : new Timestamp(System.currentTimeMillis()));
+            }
+
+            // OUTPUT rows come back in no guaranteed order, so IDs are matched to rows by content;
+            // rows with identical content are interchangeable
+            Map<String, ArrayDeque<Notification>> byContent = new HashMap<>();
+            for (Notification notification : batch) {
+                byContent.computeIfAbsent(contentKey(notification.getUserID(), notification.getTitle(),
+                    notification.getMessage(), notification.getTypeString(), notification.getRelatedID()),
+                    key -> new ArrayDeque<>()).add(notification);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ArrayDeque<Notification> matches = byContent.get(contentKey(rs.getString("UserID"),
+                        rs.getString("Title"), rs.getString("Message"), rs.getString("Type"), rs.getString("RelatedID")));
+                    Notification notification = matches != null ? matches.poll() : null;
+                    if (notification != null) {
+                        notification.setNotificationID(rs.getInt("NotificationID"));
+                    }
+                }
+            }
+        }
+    }
+
+    private static String contentKey(String userID, String title, String message, String type, String relatedID) {
+        return userID + "\0" + title + "\0" + message + "\0" + type + "\0" + relatedID;
+    }
+
+    public int addDepartureReminders(List<DepartureReminder> reminders) {
+        if (reminders.isEmpty()) {
+            return 0;
+        }
+        // Claiming (BookingID, OffsetMinutes) and inserting the notifications commit together,
+        // so a reminder is sent exactly once even across restarts
+        StringBuilder claimQuery = new StringBuilder(
+            "INSERT INTO DepartureReminders (BookingID, OffsetMinutes) " +
+            "OUTPUT inserted.BookingID, inserted.OffsetMinutes " +
+            "SELECT v.BookingID, v.OffsetMinutes FROM (VALUES ");
+        for (int i = 0; i < reminders.size(); i++) {
+            claimQuery.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+        }
+        claimQuery.append(") AS v(BookingID, OffsetMinutes) " +
+            "JOIN Booking b ON b.BookingID = v.BookingID " +
+            "WHERE b.Status <> 'Cancelled' AND NOT EXISTS (" +
+            "SELECT 1 FROM DepartureReminders d WHERE d.BookingID = v.BookingID AND d.OffsetMinutes = v.OffsetMinutes)");
+
+        Map<String, DepartureReminder> byKey = new HashMap<>();
+        for (DepartureReminder reminder : reminders) {
+            byKey.put(reminder.getBookingID() + "#" + reminder.getOffsetMinutes(), reminder);
+        }
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            conn.setAutoCommit(false);
+            try {
+                List<Notification> claimed = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(claimQuery.toString())) {
+                    int index = 1;
+                    for (DepartureReminder reminder : reminders) {
+                        stmt.setString(index++, reminder.getBookingID());
+                        stmt.setInt(index++, reminder.getOffsetMinutes());
+                    }
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        DepartureReminder reminder = byKey.get(rs.getString("BookingID") + "#" + rs.getInt("OffsetMinutes"));
+                        if (reminder != null) {
+                            claimed.add(reminder.toNotification());
+                        }
+                    }
+                }
+                if (!claimed.isEmpty()) {
+                    insertBatch(conn, claimed);
+                }
+                conn.commit();
+
+                for (Notification notification : claimed) {
+                    adjustUnreadCount(notification.getUserID(), 1);
+                    LiveUpdateBus.getInstance().publishNotification(notification);
+                }
+                return claimed.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error sending departure reminders: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    public long countSegment(BroadcastSegment segment) {
+        String query = "SELECT COUNT(*) as count FROM Users u WHERE u.UserType = 'Customer'" + segmentFilter(segment);
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            bindSegment(stmt, 1, segment);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? rs.getLong("count") : 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error counting broadcast segment: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    public String findSegmentChunkEnd(BroadcastSegment segment, String afterUserID, int chunkSize) {
+        String query = "SELECT MAX(UserID) as ChunkEnd FROM (" +
+                      "SELECT TOP (?) u.UserID FROM Users u WHERE u.UserType = 'Customer' AND u.UserID > ?" +
+                      segmentFilter(segment) + " ORDER BY u.UserID) chunk";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setInt(1, chunkSize);
+            stmt.setString(2, afterUserID);
+            bindSegment(stmt, 3, segment);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? rs.getString("ChunkEnd") : null;
+
+        } catch (SQLException e) {
+            System.err.println("Error finding broadcast chunk: " + e.getMessage());
+            throw new IllegalStateException("Broadcast chunk lookup failed", e);
+        }
+    }
+
+    public int addNotificationsForSegment(BroadcastSegment segment, Notification template,
+                                          String afterUserID, String throughUserID) {
+        // Set-based fan-out over a UserID range; each range commits on its own so locks stay short.
+        // Recipients are read back so cached unread badges move by exactly the rows inserted for them.
+        String query = "INSERT INTO Notifications (UserID, Title, Message, Type, RelatedID) " +
+                      "OUTPUT inserted.UserID " +
+                      "SELECT u.UserID, ?, ?, ?, ? FROM Users u " +
+                      "WHERE u.UserType = 'Customer' AND u.UserID > ? AND u.UserID <= ?" + segmentFilter(segment);
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setString(1, template.getTitle());
+            stmt.setString(2, template.getMessage());
+            stmt.setString(3, template.getTypeString());
+            stmt.setString(4, template.getRelatedID());
+            stmt.setString(5, afterUserID);
+            stmt.setString(6, throughUserID);
+            bindSegment(stmt, 7, segment);
+            int inserted = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    adjustUnreadCount(rs.getString("UserID"), 1);
+                    inserted++;
+                }
+            }
+            return inserted;
+
+        } catch (SQLException e) {
+            System.err.println("Error inserting broadcast chunk: " + e.getMessage());
+            throw new IllegalStateException("Broadcast chunk insert failed", e);
+        }
+    }
+
+    private String segmentFilter(BroadcastSegment segment) {
+        switch (segment.getType()) {
+            case ROUTE_CUSTOMERS:
+                return " AND EXISTS (SELECT 1 FROM Booking b " +
+                       "JOIN Reservation r ON b.ReservationID = r.ReservationID " +
+                       "WHERE b.CustomerID = u.UserID AND r.RouteID = ?)";
+            case UPCOMING_DEPARTURES:
+                return " AND EXISTS (SELECT 1 FROM Booking b " +
+                       "JOIN Reservation r ON b.ReservationID = r.ReservationID " +
+                       "JOIN Schedule s ON r.ScheduleID = s.ScheduleID " +
+                       "WHERE b.CustomerID = u.UserID AND b.Status <> 'Cancelled' " +
+                       "AND s.Date BETWEEN CAST(GETDATE() AS DATE) AND DATEADD(day, ?, CAST(GETDATE() AS DATE)))";
+            default:
+                return "";
+        }
+    }
+
+    private void bindSegment(PreparedStatement stmt, int index, BroadcastSegment segment) throws SQLException {
+        switch (segment.getType()) {
+            case ROUTE_CUSTOMERS:
+                stmt.setString(index, segment.getRouteID());
+                break;
+            case UPCOMING_DEPARTURES:
+                stmt.setInt(index, segment.getDays());
+                break;
+            default:
+                break;
+        }
+    }
+
+    public int archiveReadNotifications(int olderThanDays, int chunkSize) {
+        // Moves one chunk per call; small chunks keep row locks from escalating on the live table
+        String query = "DELETE TOP (?) FROM Notifications " +
+                      "OUTPUT deleted.NotificationID, deleted.UserID, deleted.Title, deleted.Message, " +
+                      "deleted.Type, deleted.IsRead, deleted.CreatedAt, deleted.RelatedID " +
+                      "INTO NotificationsArchive (NotificationID, UserID, Title, Message, Type, IsRead, CreatedAt, RelatedID) " +
+                      "WHERE IsRead = 1 AND CreatedAt < DATEADD(day, -?, GETDATE())";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setInt(1, chunkSize);
+            stmt.setInt(2, olderThanDays);
+            return stmt.executeUpdate();
+
+        } catch (SQLException e) {
+            System.err.println("Error archiving notifications: " + e.getMessage());
+            return -1;
+        }
+    }
+
     public List<Notification> getNotificationsByUser(String userID) {
         return getNotificationsByUser(userID, 50); 
     }
@@ -73,7 +420,114 @@ public class NotificationCatalog {
         return notifications;
     }
     
+    public List<Notification> getNotificationsPage(String userID, Notification after, int pageSize) {
+        List<Notification> notifications = new ArrayList<>();
+        // Keyset paging on (CreatedAt, NotificationID) keeps pages stable while new notifications arrive.
+        // The driver sends timestamps as datetime2, which never equals a rounded DATETIME value, so the cursor is cast back
+        String query = "SELECT TOP (?) * FROM Notifications WHERE UserID = ? " +
+                      (after != null ? "AND (CreatedAt < CAST(? AS DATETIME) OR (CreatedAt = CAST(? AS DATETIME) AND NotificationID < ?)) " : "") +
+                      "ORDER BY CreatedAt DESC, NotificationID DESC";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setInt(1, pageSize);
+            stmt.setString(2, userID);
+            if (after != null) {
+                Timestamp createdAt = new Timestamp(after.getCreatedAt().getTime());
+                stmt.setTimestamp(3, createdAt);
+                stmt.setTimestamp(4, createdAt);
+                stmt.setInt(5, after.getNotificationID());
+            }
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                notifications.add(mapResultSetToNotification(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error fetching notifications page: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return notifications;
+    }
+
     public int getUnreadCount(String userID) {
+        if (userID == null) {
+            return 0;
+        }
+        AtomicInteger cached = unreadCounts.get(userID);
+        if (cached != null) {
+            return cached.get();
+        }
+        int count = countUnreadFromDatabase(userID);
+        if (count < 0) {
+            return 0;
+        }
+        return unreadCounts.computeIfAbsent(userID, id -> new AtomicInteger(count)).get();
+    }
+
+    private void adjustUnreadCount(String userID, int delta) {
+        AtomicInteger cached = userID != null ? unreadCounts.get(userID) : null;
+        if (cached != null) {
+            cached.updateAndGet(count -> Math.max(0, count + delta));
+        }
+    }
+
+    private void resetUnreadCount(String userID) {
+        AtomicInteger cached = userID != null ? unreadCounts.get(userID) : null;
+        if (cached != null) {
+            cached.set(0);
+        }
+    }
+
+    // Only users with a cached badge are recounted, so the work follows active sessions rather than the table size
+    private void reconcileUnreadCounts() {
+        List<String> userIDs = new ArrayList<>(unreadCounts.keySet());
+        for (int from = 0; from < userIDs.size(); from += RECONCILE_BATCH_SIZE) {
+            reconcileUnreadCounts(userIDs.subList(from, Math.min(userIDs.size(), from + RECONCILE_BATCH_SIZE)));
+        }
+    }
+
+    private void reconcileUnreadCounts(List<String> userIDs) {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < userIDs.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        String query = "SELECT UserID, COUNT(*) as count FROM Notifications " +
+                      "WHERE IsRead = 0 AND UserID IN (" + placeholders + ") GROUP BY UserID";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            for (int i = 0; i < userIDs.size(); i++) {
+                stmt.setString(i + 1, userIDs.get(i));
+            }
+            Map<String, Integer> counts = new HashMap<>();
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                counts.put(rs.getString("UserID"), rs.getInt("count"));
+            }
+            for (String userID : userIDs) {
+                AtomicInteger cached = unreadCounts.get(userID);
+                if (cached != null) {
+                    cached.set(counts.getOrDefault(userID, 0));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error reconciling unread counts: " + e.getMessage());
+        }
+    }
+
+    private int countUnreadFromDatabase(String userID) {
         String query = "SELECT COUNT(*) as count FROM Notifications WHERE UserID = ? AND IsRead = 0";
         
         try (Connection conn = DriverManager.getConnection(
@@ -93,21 +547,28 @@ public class NotificationCatalog {
             System.err.println("Error getting unread count: " + e.getMessage());
             e.printStackTrace();
         }
-        
-        return 0;
+
+        return -1;
     }
-    
+
     public boolean markAsRead(int notificationID) {
-        String query = "UPDATE Notifications SET IsRead = 1 WHERE NotificationID = ?";
-        
+        // OUTPUT only returns a row when the flag actually flips, so the counter is never decremented twice
+        String query = "UPDATE Notifications SET IsRead = 1 OUTPUT inserted.UserID " +
+                      "WHERE NotificationID = ? AND IsRead = 0";
+
         try (Connection conn = DriverManager.getConnection(
-                DatabaseConfig.getDbUrl(), 
-                DatabaseConfig.getDbUser(), 
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
                 DatabaseConfig.getDbPassword());
              PreparedStatement stmt = conn.prepareStatement(query)) {
-            
+
             stmt.setInt(1, notificationID);
-            return stmt.executeUpdate() > 0;
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                adjustUnreadCount(rs.getString("UserID"), -1);
+                return true;
+            }
+            return false;
             
         } catch (SQLException e) {
             System.err.println("Error marking notification as read: " + e.getMessage());
@@ -127,6 +588,7 @@ public class NotificationCatalog {
             
             stmt.setString(1, userID);
             int rowsAffected = stmt.executeUpdate();
+            resetUnreadCount(userID);
             System.out.println("Marked " + rowsAffected + " notifications as read for user " + userID);
             return rowsAffected > 0;
             
@@ -138,16 +600,23 @@ public class NotificationCatalog {
     }
     
     public boolean deleteNotification(int notificationID) {
-        String query = "DELETE FROM Notifications WHERE NotificationID = ?";
-        
+        String query = "DELETE FROM Notifications OUTPUT deleted.UserID, deleted.IsRead WHERE NotificationID = ?";
+
         try (Connection conn = DriverManager.getConnection(
-                DatabaseConfig.getDbUrl(), 
-                DatabaseConfig.getDbUser(), 
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
                 DatabaseConfig.getDbPassword());
              PreparedStatement stmt = conn.prepareStatement(query)) {
-            
+
             stmt.setInt(1, notificationID);
-            return stmt.executeUpdate() > 0;
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                if (!rs.getBoolean("IsRead")) {
+                    adjustUnreadCount(rs.getString("UserID"), -1);
+                }
+                return true;
+            }
+            return false;
             
         } catch (SQLException e) {
             System.err.println("Error deleting notification: " + e.getMessage());
@@ -167,6 +636,7 @@ public class NotificationCatalog {
             
             stmt.setString(1, userID);
             int rowsAffected = stmt.executeUpdate();
+            resetUnreadCount(userID);
             System.out.println("Deleted " + rowsAffected + " notifications for user " + userID);
             return rowsAffected > 0;
             
@@ -2,6 +2,7 @@ package catalogs;
 
 import models.CancellationPolicy;
 import config.DatabaseConfig;
+import services.CancellationPolicyEngine;
 import java.sql.*;
 import java.util.ArrayList;
 
@@ -100,6 +101,7 @@ public class PolicyCatalog {
                 int rowsAffected = pstmt.executeUpdate();
                 
                 if (rowsAffected > 0) {
+                    publishPolicies();
                     System.out.println("Policy added successfully to database: " + policy.getPolicyID());
                     return true;
                 }
@@ -111,6 +113,7 @@ public class PolicyCatalog {
             }
         }
         
+        publishPolicies();
         System.out.println("Policy added to in-memory storage: " + policy.getPolicyID());
         return true;
     }
@@ -147,12 +150,7 @@ public class PolicyCatalog {
     }
     
     public CancellationPolicy getApplicablePolicy(int hoursBeforeDeparture) {
-        for (CancellationPolicy policy : policies) {
-            if (policy.match(hoursBeforeDeparture)) {
-                return policy;
-            }
-        }
-        return null;
+        return CancellationPolicyEngine.getInstance().resolve(hoursBeforeDeparture);
     }
     
     public boolean updatePolicy(CancellationPolicy updatedPolicy) {
@@ -174,6 +172,7 @@ public class PolicyCatalog {
                 
                 if (rowsAffected > 0) {
                     updateLocalPolicy(updatedPolicy);
+                    publishPolicies();
                     System.out.println("Policy updated successfully in database: " + updatedPolicy.getPolicyID());
                     return true;
                 }
@@ -185,6 +184,7 @@ public class PolicyCatalog {
         
         boolean updated = updateLocalPolicy(updatedPolicy);
         if (updated) {
+            publishPolicies();
             System.out.println("Policy updated in in-memory storage: " + updatedPolicy.getPolicyID());
         }
         return updated;
@@ -211,6 +211,7 @@ public class PolicyCatalog {
                 
                 if (rowsAffected > 0) {
                     policies.removeIf(policy -> policy.getPolicyID().equals(policyID));
+                    publishPolicies();
                     System.out.println("Policy deleted successfully from database: " + policyID);
                     return true;
                 }
@@ -222,6 +223,7 @@ public class PolicyCatalog {
         
         boolean deleted = policies.removeIf(policy -> policy.getPolicyID().equals(policyID));
         if (deleted) {
+            publishPolicies();
             System.out.println("Policy deleted from in-memory storage: " + policyID);
         }
         return deleted;
@@ -230,9 +232,15 @@ public class PolicyCatalog {
     public void refresh() {
         if (databaseAvailable) {
             loadPoliciesFromDB();
+            publishPolicies();
         }
     }
     
+    private void publishPolicies() {
+        // The engine compiles its own lookup structure, so refund quotes see edits without re-reading the table
+        CancellationPolicyEngine.getInstance().update(policies);
+    }
+    
     public boolean isDatabaseAvailable() {
         return databaseAvailable;
     }
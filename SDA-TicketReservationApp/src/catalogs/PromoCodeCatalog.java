@@ -2,6 +2,7 @@ package catalogs;
 
 import models.PromotionalCode;
 import config.DatabaseConfig;
+import services.PromoCodeService;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -97,6 +98,7 @@ public class PromoCodeCatalog {
                 int rowsAffected = pstmt.executeUpdate();
                 
                 if (rowsAffected > 0) {
+                    PromoCodeService.getInstance().invalidate();
                     System.out.println("Promo code added successfully to database: " + promoCode.getCode());
                     return true;
                 }
@@ -149,6 +151,7 @@ public class PromoCodeCatalog {
                 
                 if (rowsAffected > 0) {
                     updateLocalPromoCode(updatedPromoCode);
+                    PromoCodeService.getInstance().invalidate();
                     System.out.println("Promo code updated successfully in database: " + updatedPromoCode.getCode());
                     return true;
                 }
@@ -186,6 +189,7 @@ public class PromoCodeCatalog {
                 
                 if (rowsAffected > 0) {
                     promoCodes.removeIf(promoCode -> promoCode.getCode().equals(code));
+                    PromoCodeService.getInstance().invalidate();
                     System.out.println("Promo code deleted successfully from database: " + code);
                     return true;
                 }
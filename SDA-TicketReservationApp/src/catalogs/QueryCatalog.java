@@ -4,58 +4,22 @@ import models.SupportQuery;
 import models.Customer;
 import models.SupportStaff;
 import database.DatabaseConnection;
-import java.util.Date;
+import services.SupportQueueService;
 
 public class QueryCatalog {
-    private java.util.ArrayList<SupportQuery> queries;
+    // Indexes are shared across screens instead of each screen loading its own copy
+    private final SupportQueueService queue;
 
     public QueryCatalog() {
-        this.queries = new java.util.ArrayList<>();
-        loadQueriesFromDatabase();
-    }
-
-    private void loadQueriesFromDatabase() {
-        String query = "SELECT " +
-                  "q.QueryID, q.Text, q.AskedOn, q.Status, q.Response, " +
-                  "q.CustomerID, q.SupportStaffID, " +
-                  "cust.Name as CustomerName, " +
-                  "cust_contact.Email as CustomerEmail, " +
-                  "cust_contact.PhoneNum as CustomerPhone, " +
-                  "staff.Name as StaffName, " +
-                  "staff_contact.Email as StaffEmail, " +
-                  "staff_contact.PhoneNum as StaffPhone " +
-                  "FROM SupportQueries q " +
-                  "LEFT JOIN Users cust ON q.CustomerID = cust.UserID " +
-                  "LEFT JOIN ContactInfo cust_contact ON cust.ContactID = cust_contact.ContactID " +
-                  "LEFT JOIN Users staff ON q.SupportStaffID = staff.UserID " +
-                  "LEFT JOIN ContactInfo staff_contact ON staff.ContactID = staff_contact.ContactID " +
-                  "ORDER BY q.AskedOn DESC";
-
-        try {
-            java.sql.Connection conn = DatabaseConnection.getConnection();
-            java.sql.PreparedStatement stmt = conn.prepareStatement(query);
-            java.sql.ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                SupportQuery supportQuery = createQueryFromResultSet(rs);
-                if (supportQuery != null) {
-                    queries.add(supportQuery);
-                }
-            }
-            
-            rs.close();
-            stmt.close();
-            
-            System.out.println("Loaded " + queries.size() + " queries from database.");
-            
-        } catch (java.sql.SQLException e) {
-            System.err.println("Error loading queries from database: " + e.getMessage());
-        }
+        this.queue = SupportQueueService.getInstance();
     }
 
     public boolean addToCatalog(SupportQuery query) {
-        queries.add(query);
-        return persistQueryToDatabase(query);
+        boolean persisted = persistQueryToDatabase(query);
+        if (persisted) {
+            queue.upsert(query);
+        }
+        return persisted;
     }
 
     private boolean persistQueryToDatabase(SupportQuery query) {
@@ -119,60 +83,8 @@ public class QueryCatalog {
         }
     }
 
-    private SupportQuery createQueryFromResultSet(java.sql.ResultSet rs) throws java.sql.SQLException {
-        try {
-            String queryID = rs.getString("QueryID");
-            String text = rs.getString("Text");
-            Date askedOn = new Date(rs.getTimestamp("AskedOn").getTime());
-            boolean status = rs.getBoolean("Status");
-            String response = rs.getString("Response");
-            
-            Customer customer = null;
-            String customerID = rs.getString("CustomerID");
-            if (customerID != null && !rs.wasNull()) {
-                customer = new Customer(
-                    customerID,
-                    rs.getString("CustomerName"),
-                    "", 
-                    "", 
-                    rs.getString("CustomerEmail"),
-                    rs.getString("CustomerPhone")
-                );
-            }
-            
-            SupportStaff supportStaff = null;
-            String staffID = rs.getString("SupportStaffID");
-            if (staffID != null && !rs.wasNull()) {
-                supportStaff = new SupportStaff(
-                    staffID,
-                    rs.getString("StaffName"),
-                    "", 
-                    "",
-                    rs.getString("StaffEmail"),
-                    rs.getString("StaffPhone")
-                );
-            }
-            
-            SupportQuery query = new SupportQuery(text, askedOn, queryID, supportStaff, customer);
-            query.setStatus(status);
-            query.setResponse(response);
-            
-            return query;
-            
-        } catch (Exception e) {
-            System.err.println("Error creating SupportQuery from ResultSet: " + e.getMessage());
-            return null;
-        }
-    }
-
-    
     public SupportQuery findQuery(String queryID) {
-        for (SupportQuery query : queries) {
-            if (query.matchID(queryID)) {
-                return query;
-            }
-        }
-        return null;
+        return queue.getQuery(queryID);
     }
 
     public SupportQuery supportQuery() {
@@ -189,7 +101,7 @@ public class QueryCatalog {
     }
 
     private boolean updateQueryInDatabase(SupportQuery query) {
-        String updateQuery = "UPDATE SupportQueries SET Text = ?, Status = ?, Response = ?, SupportStaffID = ? WHERE QueryID = ?";
+        String updateQuery = "UPDATE SupportQueries SET Text = ?, Status = ?, Response = ?, SupportStaffID = ?, UpdatedAt = GETDATE() WHERE QueryID = ?";
         try {
             java.sql.Connection conn = DatabaseConnection.getConnection();
             java.sql.PreparedStatement stmt = conn.prepareStatement(updateQuery);
@@ -209,6 +121,9 @@ public class QueryCatalog {
             int rowsAffected = stmt.executeUpdate();
             stmt.close();
             
+            if (rowsAffected > 0) {
+                queue.upsert(query);
+            }
             return rowsAffected > 0;
             
         } catch (java.sql.SQLException e) {
@@ -218,68 +133,39 @@ public class QueryCatalog {
     }
 
     public java.util.ArrayList<SupportQuery> getQueriesByCustomer(Customer customer) {
-        java.util.ArrayList<SupportQuery> result = new java.util.ArrayList<>();
-        for (SupportQuery query : queries) {
-            if (query.getCustomer() != null && query.getCustomer().getUserID().equals(customer.getUserID())) {
-                result.add(query);
-            }
-        }
-        return result;
+        return new java.util.ArrayList<>(queue.getByCustomer(customer.getUserID(), Integer.MAX_VALUE));
     }
 
     public java.util.ArrayList<SupportQuery> getQueriesBySupportStaff(SupportStaff staff) {
-        java.util.ArrayList<SupportQuery> result = new java.util.ArrayList<>();
-        for (SupportQuery query : queries) {
-            if (query.getSupportStaff() != null && query.getSupportStaff().getUserID().equals(staff.getUserID())) {
-                result.add(query);
-            }
-        }
-        return result;
+        return new java.util.ArrayList<>(queue.getHandledBy(staff.getUserID(), Integer.MAX_VALUE));
     }
 
+    // Oldest first, so the longest-waiting customer comes up next
     public java.util.ArrayList<SupportQuery> getPendingQueries() {
-        java.util.ArrayList<SupportQuery> result = new java.util.ArrayList<>();
-        for (SupportQuery query : queries) {
-            if (!query.isStatus()) {
-                result.add(query);
-            }
-        }
-        return result;
+        return new java.util.ArrayList<>(queue.getPending(Integer.MAX_VALUE));
     }
 
     public java.util.ArrayList<SupportQuery> getResolvedQueries() {
-        java.util.ArrayList<SupportQuery> result = new java.util.ArrayList<>();
-        for (SupportQuery query : queries) {
-            if (query.isStatus()) {
-                result.add(query);
-            }
-        }
-        return result;
+        return new java.util.ArrayList<>(queue.getResolved(Integer.MAX_VALUE));
     }
 
     public java.util.ArrayList<SupportQuery> getAllQueries() {
-        return new java.util.ArrayList<>(queries);
+        return new java.util.ArrayList<>(queue.getAll(Integer.MAX_VALUE));
     }
 
     public int getQueryCount() {
-        return queries.size();
+        return queue.getTotalCount();
     }
 
     public int getPendingQueryCount() {
-        int count = 0;
-        for (SupportQuery query : queries) {
-            if (!query.isStatus()) {
-                count++;
-            }
-        }
-        return count;
+        return queue.getPendingCount();
     }
 
     public boolean removeQuery(String queryID) {
         SupportQuery query = findQuery(queryID);
-        if (query != null) {
-            queries.remove(query);
-            return removeQueryFromDatabase(queryID);
+        if (query != null && removeQueryFromDatabase(queryID)) {
+            queue.remove(queryID);
+            return true;
         }
         return false;
     }
@@ -303,26 +189,17 @@ public class QueryCatalog {
         }
     }
 
+    // Fails if another agent already owns the query; never overwrites their claim
     public boolean assignSupportStaff(String queryID, SupportStaff staff) {
-        SupportQuery query = findQuery(queryID);
-        if (query != null) {
-            query.setSupportStaff(staff);
-            return updateQueryInDatabase(query);
-        }
-        return false;
+        return findQuery(queryID) != null && queue.claim(queryID, staff);
     }
 
     public boolean updateQuery(SupportQuery query) {
         return updateQueryInDatabase(query);
     }
 
+    // Open queries nobody has claimed yet, oldest first
     public java.util.ArrayList<SupportQuery> getUnassignedQueries() {
-        java.util.ArrayList<SupportQuery> result = new java.util.ArrayList<>();
-        for (SupportQuery query : queries) {
-            if (query.getSupportStaff() == null) {
-                result.add(query);
-            }
-        }
-        return result;
+        return new java.util.ArrayList<>(queue.getUnassigned(Integer.MAX_VALUE));
     }
 }
\ No newline at end of file
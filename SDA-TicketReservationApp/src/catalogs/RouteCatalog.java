@@ -10,27 +10,51 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class RouteCatalog {
     private static RouteCatalog instance;
     private Map<String, Route> routes;
     private Connection connection;
     private boolean databaseAvailable;
+    private final List<RouteCatalogListener> listeners;
 
     private RouteCatalog() {
         this.routes = new HashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
         this.databaseAvailable = false;
         initializeDatabase();
         loadRoutesFromDB();
     }
 
-    public static RouteCatalog getInstance() {
+    public static synchronized RouteCatalog getInstance() {
         if (instance == null) {
             instance = new RouteCatalog();
         }
         return instance;
     }
 
+    public void addListener(RouteCatalogListener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(RouteCatalogListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyListeners(Consumer<RouteCatalogListener> event) {
+        for (RouteCatalogListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (Exception e) {
+                System.err.println("Route catalog listener failed: " + e.getMessage());
+            }
+        }
+    }
+
     private void initializeDatabase() {
         try {
             String url = DatabaseConfig.getDbUrl();
@@ -124,9 +148,10 @@ public class RouteCatalog {
         
         routes.put(route.getRouteID(), route);
         
-        if (databaseAvailable) {
-            return saveRouteToDB(route);
+        if (databaseAvailable && !saveRouteToDB(route)) {
+            return false;
         }
+        notifyListeners(listener -> listener.onRouteAdded(route));
         return true;
     }
 
@@ -139,9 +164,10 @@ public class RouteCatalog {
         
         route.addSchedule(schedule);
         
-        if (databaseAvailable) {
-            return saveScheduleToDB(routeId, schedule);
+        if (databaseAvailable && !saveScheduleToDB(routeId, schedule)) {
+            return false;
         }
+        notifyListeners(listener -> listener.onScheduleAdded(routeId, schedule));
         return true;
     }
 
@@ -157,9 +183,11 @@ public class RouteCatalog {
         
         routes.put(route.getRouteID(), route);
         
-        if (databaseAvailable) {
-            return updateRouteInDB(route);
+        if (databaseAvailable && !updateRouteInDB(route)) {
+            return false;
         }
+        // Schedules are edited in place before this call, so listeners re-read rather than diff
+        notifyListeners(listener -> listener.onRouteUpdated(route));
         return true;
     }
 
@@ -283,6 +311,23 @@ public class RouteCatalog {
         }
     }
 
+    // Drops a departure from memory only; the caller has already closed it in the database
+    public boolean removeSchedule(String scheduleId) {
+        List<Schedule> removed = new ArrayList<>();
+        for (Route route : routes.values()) {
+            for (Schedule schedule : route.getSchedules()) {
+                if (schedule.getScheduleID().equals(scheduleId)) {
+                    removed.add(schedule);
+                }
+            }
+            route.getSchedules().removeAll(removed);
+        }
+        for (Schedule schedule : removed) {
+            notifyListeners(listener -> listener.onScheduleRemoved(schedule));
+        }
+        return !removed.isEmpty();
+    }
+
     public boolean routeExists(String routeId) {
         return routes.containsKey(routeId);
     }
@@ -300,6 +345,7 @@ public class RouteCatalog {
                 if (rowsAffected > 0) {
                     routes.remove(routeId);
                     System.out.println("Route deleted from database: " + routeId);
+                    notifyListeners(listener -> listener.onRouteDeleted(routeId));
                     return true;
                 }
             } catch (SQLException e) {
@@ -308,6 +354,7 @@ public class RouteCatalog {
         } else {
             routes.remove(routeId);
             System.out.println("Route deleted from memory: " + routeId);
+            notifyListeners(listener -> listener.onRouteDeleted(routeId));
             return true;
         }
         return false;
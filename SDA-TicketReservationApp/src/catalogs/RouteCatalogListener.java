@@ -0,0 +1,22 @@
+package catalogs;
+
+import models.Route;
+import models.Schedule;
+
+public interface RouteCatalogListener {
+
+    default void onRouteAdded(Route route) {
+    }
+
+    default void onRouteUpdated(Route route) {
+    }
+
+    default void onRouteDeleted(String routeId) {
+    }
+
+    default void onScheduleAdded(String routeId, Schedule schedule) {
+    }
+
+    default void onScheduleRemoved(Schedule schedule) {
+    }
+}
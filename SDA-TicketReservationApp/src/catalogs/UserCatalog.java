@@ -4,19 +4,37 @@ import models.Admin;
 import models.Customer;
 import models.SupportStaff;
 import database.DatabaseConnection;
+import helpers.PasswordHasher;
+import services.AuthenticationService;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 
 
 public class UserCatalog {
+    private static final java.util.Map<String, UserCatalog> instances = new java.util.HashMap<>();
+
     private java.util.ArrayList<User> users;
+    private java.util.Map<String, User> usersById;
+    private java.util.Map<String, User> usersByUsername;
+    private java.util.Map<String, User> usersByEmail;
+    private java.util.Map<String, String> indexedUsernames;
+    private java.util.Map<String, String> indexedEmails;
 
     public UserCatalog(String type) {
         this.users = new java.util.ArrayList<>();
+        this.usersById = new java.util.HashMap<>();
+        this.usersByUsername = new java.util.HashMap<>();
+        this.usersByEmail = new java.util.HashMap<>();
+        this.indexedUsernames = new java.util.HashMap<>();
+        this.indexedEmails = new java.util.HashMap<>();
         loadUsersFromDatabase(type);
     }
 
+    public static synchronized UserCatalog getInstance(String type) {
+        return instances.computeIfAbsent(type, UserCatalog::new);
+    }
+
     private void loadUsersFromDatabase(String type) {
         String query = "SELECT u.UserID, u.Name, u.Password, u.Username, u.UserType, c.Email, c.PhoneNum " +
                       "FROM Users u INNER JOIN ContactInfo c ON u.ContactID = c.ContactID where u.UserType = ?";
@@ -30,6 +48,7 @@ public class UserCatalog {
             while (rs.next()) {
                 User user = createUserFromResultSet(rs);
                 users.add(user);
+                indexUser(user);
             }
             rs.close();
             stmt.close();
@@ -40,12 +59,49 @@ public class UserCatalog {
         }
     }
 
-    public boolean addToCatalog(User user) {
+    // The user arrives holding the plaintext password it was created with
+    public synchronized boolean addToCatalog(User user) {
         users.add(user);
-        return persistUserToDatabase(user);
+        indexUser(user);
+        return persistUserToDatabase(user, PasswordHasher.hash(user.getPassword()));
+    }
+
+    // Keys are remembered per user ID so a user edited in place can still be re-indexed
+    private void indexUser(User user) {
+        unindexUser(user.getUserID());
+        usersById.put(user.getUserID(), user);
+
+        String usernameKey = normalize(user.getUsername());
+        if (usernameKey != null) {
+            usersByUsername.put(usernameKey, user);
+            indexedUsernames.put(user.getUserID(), usernameKey);
+        }
+        String emailKey = normalize(user.getEmail());
+        if (emailKey != null) {
+            usersByEmail.put(emailKey, user);
+            indexedEmails.put(user.getUserID(), emailKey);
+        }
+    }
+
+    private void unindexUser(String userID) {
+        User existing = usersById.remove(userID);
+        String usernameKey = indexedUsernames.remove(userID);
+        if (usernameKey != null && usersByUsername.get(usernameKey) == existing) {
+            usersByUsername.remove(usernameKey);
+        }
+        String emailKey = indexedEmails.remove(userID);
+        if (emailKey != null && usersByEmail.get(emailKey) == existing) {
+            usersByEmail.remove(emailKey);
+        }
     }
 
-    private boolean persistUserToDatabase(User user) {
+    private static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase(java.util.Locale.ROOT) : null;
+    }
+
+    public static boolean persistUserToDatabase(User user, String passwordHash) {
+        user.setPassword(passwordHash);
+        
         java.sql.Connection conn = null;
         try {
             conn = DatabaseConnection.getConnection();
@@ -106,7 +162,7 @@ public class UserCatalog {
         }
     }
 
-    private User createUserFromResultSet(java.sql.ResultSet rs) throws java.sql.SQLException {
+    private static User createUserFromResultSet(java.sql.ResultSet rs) throws java.sql.SQLException {
         String userID = rs.getString("UserID");
         String name = rs.getString("Name");
         String password = rs.getString("Password");
@@ -126,37 +182,25 @@ public class UserCatalog {
         }
     }
 
-    private String getUserType(User user) {
+    private static String getUserType(User user) {
         if (user instanceof Admin) return "Admin";
         if (user instanceof SupportStaff) return "SupportStaff";
         return "Customer";
     }
 
-    public boolean authenticateUser(String username, String password) {
-        for (User user : users) {
-            if (user.getUsername().equals(username) && user.getPassword().equals(password)) {
-                return true;
-            }
-        }
-        return false;
+    public synchronized boolean authenticateUser(String username, String password) {
+        User user = getUserByUsername(username);
+        return user != null && PasswordHasher.verify(password, user.getPassword());
     }
 
-    public User getUserByUsername(String username) {
-        for (User user : users) {
-            if (user.getUsername().equals(username)) {
-                return user;
-            }
-        }
-        return null;
+    public synchronized User getUserByUsername(String username) {
+        String key = normalize(username);
+        return key != null ? usersByUsername.get(key) : null;
     }
 
-    public User getUserByEmail(String email) {
-        for (User user : users) {
-            if (user.getEmail().equals(email)) {
-                return user;
-            }
-        }
-        return null;
+    public synchronized User getUserByEmail(String email) {
+        String key = normalize(email);
+        return key != null ? usersByEmail.get(key) : null;
     }
 
     public boolean isUsernameTaken(String username) {
@@ -175,7 +219,7 @@ public class UserCatalog {
         return users.size();
     }
 
-    public boolean isEmailTakenInDatabase(String email) {
+    public static boolean isEmailTakenInDatabase(String email) {
         String query = "SELECT COUNT(*) FROM ContactInfo WHERE Email = ?";
         
         try {
@@ -197,6 +241,53 @@ public class UserCatalog {
         }
     }
 
+    public static User findUserInDatabase(String username, String type) {
+        String query = "SELECT u.UserID, u.Name, u.Password, u.Username, u.UserType, c.Email, c.PhoneNum " +
+                      "FROM Users u INNER JOIN ContactInfo c ON u.ContactID = c.ContactID " +
+                      "WHERE u.Username = ? AND u.UserType = ?";
+        
+        try {
+            java.sql.Connection conn = DatabaseConnection.getConnection();
+            java.sql.PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, username);
+            stmt.setString(2, type);
+            java.sql.ResultSet rs = stmt.executeQuery();
+            
+            User user = rs.next() ? createUserFromResultSet(rs) : null;
+            
+            rs.close();
+            stmt.close();
+            
+            return user;
+            
+        } catch (java.sql.SQLException e) {
+            System.err.println("Error looking up user in database: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static boolean isUsernameTakenInDatabase(String username) {
+        String query = "SELECT COUNT(*) FROM Users WHERE Username = ?";
+        
+        try {
+            java.sql.Connection conn = DatabaseConnection.getConnection();
+            java.sql.PreparedStatement stmt = conn.prepareStatement(query);
+            stmt.setString(1, username);
+            java.sql.ResultSet rs = stmt.executeQuery();
+            
+            boolean result = rs.next() && rs.getInt(1) > 0;
+            
+            rs.close();
+            stmt.close();
+            
+            return result;
+            
+        } catch (java.sql.SQLException e) {
+            System.err.println("Error checking username in database: " + e.getMessage());
+            return false;
+        }
+    }
+
     public java.util.ArrayList<User> getUsersByRole(String role) {
         java.util.ArrayList<User> result = new java.util.ArrayList<>();
         for (User user : users) {
@@ -207,52 +298,96 @@ public class UserCatalog {
         return result;
     }
 
-    public boolean removeUser(String username) {
+    public synchronized boolean removeUser(String username) {
         User user = getUserByUsername(username);
         if (user != null) {
             users.remove(user);
+            unindexUser(user.getUserID());
             return true;
         }
         return false;
     }
     
 
-    public boolean updateUser(User updatedUser) {
+    public synchronized boolean updateUser(User updatedUser) {
         User existingUser = getUserByID(updatedUser.getUserID());
         if (existingUser == null) {
             System.out.println("User not found in catalog: " + updatedUser.getUserID());
             return false;
         }
     
-        existingUser.setName(updatedUser.getName());
-        existingUser.setUsername(updatedUser.getUsername());
-        existingUser.setEmail(updatedUser.getEmail());
-        existingUser.setPhoneNum(updatedUser.getPhoneNum());
-        return updateUserProfileInDatabase(updatedUser);
+        applyProfile(updatedUser);
+        boolean saved = updateUserProfileInDatabase(updatedUser);
+        AuthenticationService.getInstance().invalidate(updatedUser.getUserID());
+        return saved;
     }
 
-    public boolean updateUserPassword(String userID, String newPassword) {
+    // Takes an already derived hash; never a plaintext password
+    public synchronized boolean updateUserPasswordHash(String userID, String passwordHash) {
         User existingUser = getUserByID(userID);
             if (existingUser == null) {
                 System.out.println("User not found in catalog: " + userID);
             return false;
         }
 
-        existingUser.setPassword(newPassword);
-    
-        return updatePasswordInDatabase(userID, newPassword);
+        existingUser.setPassword(passwordHash);
+        boolean saved = updatePasswordHashInDatabase(userID, passwordHash);
+        AuthenticationService.getInstance().invalidate(userID);
+        return saved;
     }
 
-    public User getUserByID(String userID) {
-        for (User user : users) {
-            if (user.getUserID().equals(userID)) {
-                return user;
-            }
+    // For screens that edit a single user and must not load every user of its type;
+    // catalogs that are already loaded are kept in step with the database
+    public static boolean saveProfile(User user) {
+        if (!updateUserProfileInDatabase(user)) {
+            return false;
         }
-        return null;
+        AuthenticationService.getInstance().invalidate(user.getUserID());
+        for (UserCatalog catalog : loadedCatalogs()) {
+            catalog.applyProfile(user);
+        }
+        return true;
+    }
+
+    public static boolean savePasswordHash(String userID, String passwordHash) {
+        if (!updatePasswordHashInDatabase(userID, passwordHash)) {
+            return false;
+        }
+        AuthenticationService.getInstance().invalidate(userID);
+        for (UserCatalog catalog : loadedCatalogs()) {
+            catalog.applyPasswordHash(userID, passwordHash);
+        }
+        return true;
+    }
+
+    private static synchronized java.util.List<UserCatalog> loadedCatalogs() {
+        return new java.util.ArrayList<>(instances.values());
+    }
+
+    private synchronized void applyProfile(User updatedUser) {
+        User existingUser = getUserByID(updatedUser.getUserID());
+        if (existingUser == null) {
+            return;
+        }
+        existingUser.setName(updatedUser.getName());
+        existingUser.setUsername(updatedUser.getUsername());
+        existingUser.setEmail(updatedUser.getEmail());
+        existingUser.setPhoneNum(updatedUser.getPhoneNum());
+        indexUser(existingUser);
+    }
+
+    private synchronized void applyPasswordHash(String userID, String passwordHash) {
+        User existingUser = getUserByID(userID);
+        if (existingUser != null) {
+            existingUser.setPassword(passwordHash);
+        }
+    }
+
+    public synchronized User getUserByID(String userID) {
+        return userID != null ? usersById.get(userID) : null;
     }
 
-    private boolean updateUserProfileInDatabase(User user) {
+    private static boolean updateUserProfileInDatabase(User user) {
         Connection conn = null;
         PreparedStatement userStmt = null;
         PreparedStatement contactStmt = null;
@@ -308,7 +443,7 @@ public class UserCatalog {
         }
     }
 
-    private int getContactIdForUser(String userID) {
+    private static int getContactIdForUser(String userID) {
         Connection conn = null;
         PreparedStatement stmt = null;
         ResultSet rs = null;
@@ -337,7 +472,7 @@ public class UserCatalog {
             try { if (stmt != null) stmt.close(); } catch (Exception e) {}
         }
     }   
-    private boolean updatePasswordInDatabase(String userID, String newPassword) {
+    public static boolean updatePasswordHashInDatabase(String userID, String passwordHash) {
         Connection conn = null;
         PreparedStatement stmt = null;
     
@@ -345,7 +480,7 @@ public class UserCatalog {
             conn = DatabaseConnection.getConnection();
             String updateQuery = "UPDATE Users SET Password = ? WHERE UserID = ?";
             stmt = conn.prepareStatement(updateQuery);
-            stmt.setString(1, newPassword);
+            stmt.setString(1, passwordHash);
             stmt.setString(2, userID);
             
             int rowsAffected = stmt.executeUpdate();
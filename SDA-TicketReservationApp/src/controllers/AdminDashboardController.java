@@ -13,17 +13,13 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import models.Admin;
+import models.DashboardStats;
+import services.DashboardStatsService;
 
 import java.io.IOException;
 import java.net.URL;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.ResourceBundle;
-
-import config.DatabaseConfig;
+import java.util.function.Consumer;
 
 public class AdminDashboardController implements Initializable {
 
@@ -51,6 +47,7 @@ public class AdminDashboardController implements Initializable {
     private String currentUsername;
     private Admin currentAdmin;
     private Stage primaryStage;
+    private Consumer<DashboardStats> statsSubscriber;
 
     public static void show(Stage stage, String username, Admin admin) {
         try {
@@ -63,6 +60,12 @@ public class AdminDashboardController implements Initializable {
             Scene scene = new Scene(root, 1200, 800);
             scene.getStylesheets().add(AdminDashboardController.class.getResource("/ui/admin-dashboard.css").toExternalForm());
             
+            scene.windowProperty().addListener((obs, oldWindow, newWindow) -> {
+                if (newWindow == null) {
+                    controller.stopStatisticsUpdates();
+                }
+            });
+            
             stage.setScene(scene);
             stage.setTitle("TicketGenie - Admin Dashboard");
             stage.centerOnScreen();
@@ -82,7 +85,7 @@ public class AdminDashboardController implements Initializable {
             userGreeting.setText("Welcome, Administrator " + username + "! 👋");
         }
         
-        Platform.runLater(this::loadStatistics);
+        startStatisticsUpdates();
     }
 
     @Override
@@ -125,7 +128,7 @@ public class AdminDashboardController implements Initializable {
             mainPageButton.setOnAction(e -> navigateToMainPage());
         }
         if (refreshButton != null) {
-            refreshButton.setOnAction(e -> loadStatistics());
+            refreshButton.setOnAction(e -> DashboardStatsService.getInstance().refreshNow());
         }
     }
 
@@ -146,87 +149,27 @@ public class AdminDashboardController implements Initializable {
         }
     }
 
-    private void loadStatistics() {
-        Connection conn = null;
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
-        
-        try {
-            catalogs.RouteCatalog routeCatalog = catalogs.RouteCatalog.getInstance();
-            int totalRoutes = routeCatalog.getAllRoutes().size();
-            if (totalRoutesLabel != null) totalRoutesLabel.setText(String.valueOf(totalRoutes));
-            conn = DriverManager.getConnection(
-                DatabaseConfig.getDbUrl(), 
-                DatabaseConfig.getDbUser(), 
-                DatabaseConfig.getDbPassword()
-            );
-            String activeSchedulesQuery = 
-                "SELECT COUNT(*) as active_schedules FROM Schedule " +
-                "WHERE Date >= CAST(GETDATE() AS DATE) AND IsActive = 1";
-            
-            stmt = conn.prepareStatement(activeSchedulesQuery);
-            rs = stmt.executeQuery();
-            int activeSchedules = 0;
-            if (rs.next()) {
-                activeSchedules = rs.getInt("active_schedules");
-            }
-            if (activeSchedulesLabel != null) activeSchedulesLabel.setText(String.valueOf(activeSchedules));
-            rs.close();
-            stmt.close();
-            String totalBookingsQuery = 
-                "SELECT COUNT(*) as total_bookings FROM Booking " +
-                "WHERE Status = 'Confirmed'";
-            
-            stmt = conn.prepareStatement(totalBookingsQuery);
-            rs = stmt.executeQuery();
-            int totalBookings = 0;
-            if (rs.next()) {
-                totalBookings = rs.getInt("total_bookings");
-            }
-            if (totalBookingsLabel != null) totalBookingsLabel.setText(formatNumber(totalBookings));
-            rs.close();
-            stmt.close();
-            String revenueQuery = 
-                "SELECT COALESCE(SUM(p.Amount), 0) as total_revenue " +
-                "FROM Payment p " +
-                "INNER JOIN Booking b ON p.PaymentID = b.PaymentID " +
-                "WHERE p.PaymentStatus = 'Completed' AND b.Status = 'Confirmed'";
-            
-            stmt = conn.prepareStatement(revenueQuery);
-            rs = stmt.executeQuery();
-            double totalRevenue = 0;
-            if (rs.next()) {
-                totalRevenue = rs.getDouble("total_revenue");
-            }
-            if (revenueLabel != null) revenueLabel.setText("PKR " + formatCurrency(totalRevenue));
-        } catch (SQLException e) {
-            System.err.println("Database error loading statistics: " + e.getMessage());
-            e.printStackTrace();
-            catalogs.RouteCatalog routeCatalog = catalogs.RouteCatalog.getInstance();
-            if (totalRoutesLabel != null) totalRoutesLabel.setText(String.valueOf(routeCatalog.getAllRoutes().size()));
-            if (activeSchedulesLabel != null) activeSchedulesLabel.setText("0");
-            if (totalBookingsLabel != null) totalBookingsLabel.setText("0");
-            if (revenueLabel != null) revenueLabel.setText("PKR 0.00");
-            
-        } catch (Exception e) {
-            System.err.println("Error loading statistics: " + e.getMessage());
-            e.printStackTrace();
-            if (totalRoutesLabel != null) totalRoutesLabel.setText("N/A");
-            if (activeSchedulesLabel != null) activeSchedulesLabel.setText("N/A");
-            if (totalBookingsLabel != null) totalBookingsLabel.setText("N/A");
-            if (revenueLabel != null) revenueLabel.setText("PKR N/A");
-            
-        } finally {
-            try {
-                if (rs != null) rs.close();
-                if (stmt != null) stmt.close();
-                if (conn != null) conn.close();
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
+    private void startStatisticsUpdates() {
+        if (statsSubscriber == null) {
+            statsSubscriber = stats -> Platform.runLater(() -> applyStatistics(stats));
+            DashboardStatsService.getInstance().subscribe(statsSubscriber);
         }
     }
 
+    private void stopStatisticsUpdates() {
+        if (statsSubscriber != null) {
+            DashboardStatsService.getInstance().unsubscribe(statsSubscriber);
+            statsSubscriber = null;
+        }
+    }
+
+    private void applyStatistics(DashboardStats stats) {
+        if (totalRoutesLabel != null) totalRoutesLabel.setText(String.valueOf(stats.getTotalRoutes()));
+        if (activeSchedulesLabel != null) activeSchedulesLabel.setText(String.valueOf(stats.getActiveSchedules()));
+        if (totalBookingsLabel != null) totalBookingsLabel.setText(formatNumber(stats.getConfirmedBookings()));
+        if (revenueLabel != null) revenueLabel.setText("PKR " + formatCurrency(stats.getTotalRevenue()));
+    }
+
     private String formatNumber(int number) {
         try {
             return String.format("%,d", number);
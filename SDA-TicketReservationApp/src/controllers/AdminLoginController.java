@@ -13,13 +13,16 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import java.net.URL;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 
-import catalogs.UserCatalog;
+import helpers.UiTask;
 import models.Admin;
+import services.AuthenticationService;
 
 public class AdminLoginController implements Initializable {
 
-    UserCatalog adminCatalog = new UserCatalog("Admin");
+    private AuthenticationService authService = AuthenticationService.getInstance();
+    private UiTask<Boolean> pendingLogin;
 
     @FXML private Text adminTitle;
     @FXML private Text adminSubtitle;
@@ -48,34 +51,38 @@ public class AdminLoginController implements Initializable {
 
         if (username.isEmpty() || password.isEmpty()) {
             showStatusMessage("Please enter both username and password", "error");
-        } else if (authenticateAdmin(username, password)) {
-            showStatusMessage("Admin login successful! Redirecting...", "success");
-            
-            new Thread(() -> {
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException ex) {
-                    ex.printStackTrace();
-                }
-                javafx.application.Platform.runLater(() -> {
-                    showAdminDashboard(username);
-                });
-            }).start();
-        } else {
-            showStatusMessage("Invalid admin credentials", "error");
+            return;
         }
+
+        long startedAt = System.nanoTime();
+        loginButton.setDisable(true);
+        showStatusMessage("Signing in...", "info");
+        pendingLogin = UiTask.whenDone(authenticateAdmin(username, password), (authenticated, error) -> {
+            loginButton.setDisable(false);
+            if (error != null) {
+                showStatusMessage("Login service is busy. Please try again.", "error");
+            } else if (authenticated) {
+                showAdminDashboard(username);
+                System.out.println("Admin login to dashboard: " + (System.nanoTime() - startedAt) / 1_000_000 + " ms");
+            } else {
+                showStatusMessage("Invalid admin credentials", "error");
+            }
+        });
     }
 
-    private boolean authenticateAdmin(String username, String password) {
+    private CompletableFuture<Boolean> authenticateAdmin(String username, String password) {
         if ("admin".equals(username) && "admin".equals(password)) {
-            return true;
+            return CompletableFuture.completedFuture(true);
         }
 
-        return adminCatalog.authenticateUser(username, password);
+        return authService.authenticateAsync(username, password, "Admin").thenApply(user -> user != null);
     }
 
     @FXML
     private void handleBack() {
+        if (pendingLogin != null) {
+            pendingLogin.cancel();
+        }
         try {
             Stage currentStage = (Stage) backButton.getScene().getWindow();
             MainController.showoptions(currentStage);
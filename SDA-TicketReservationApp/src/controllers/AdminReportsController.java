@@ -7,13 +7,29 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import models.Admin;
+import models.LeaderboardEntry;
+import models.MetricPoint;
+import models.OccupancyForecast;
+import models.ReconciliationMismatch;
+import models.ReconciliationRun;
+import models.Route;
 import catalogs.RouteCatalog;
 import database.DatabaseConnection;
+import helpers.UiTask;
 import config.DatabaseConfig;
+import services.LeaderboardService;
+import services.MetricsService;
+import services.OccupancyForecastService;
+import services.PaymentReconciliationService;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -37,6 +53,7 @@ public class AdminReportsController {
     @FXML private Button generateBookingReportButton;
     @FXML private Button generateRevenueReportButton;
     @FXML private Button generateRouteReportButton;
+    @FXML private Button reconciliationButton;
     @FXML private Button exportReportButton;
     @FXML private Button backButton;
 
@@ -87,6 +104,9 @@ public class AdminReportsController {
         if (generateRouteReportButton != null) {
             generateRouteReportButton.setOnAction(e -> generateRouteReport());
         }
+        if (reconciliationButton != null) {
+            reconciliationButton.setOnAction(e -> generateReconciliationReport());
+        }
         if (exportReportButton != null) {
             exportReportButton.setOnAction(e -> exportReport());
         }
@@ -104,7 +124,7 @@ public class AdminReportsController {
             
             // Get real data from database
             Map<String, Object> bookingStats = getBookingStatisticsFromDB();
-            List<Map<String, Object>> popularRoutes = getPopularRoutesFromDB();
+            List<Map<String, Object>> popularRoutes = getPopularRoutes();
             List<Map<String, Object>> recentBookings = getRecentBookingsFromDB();
             
             report.append("📊 OVERALL BOOKING STATISTICS\n");
@@ -120,12 +140,12 @@ public class AdminReportsController {
             report.append("This Week: ").append(bookingStats.get("weekBookings")).append(" bookings\n");
             report.append("This Month: ").append(bookingStats.get("monthBookings")).append(" bookings\n\n");
             
-            report.append("🏆 TOP 5 POPULAR ROUTES\n");
-            report.append("───────────────────────\n");
+            report.append("🏆 TOP 5 POPULAR ROUTES (Last 30 Days)\n");
+            report.append("──────────────────────────────────────\n");
             if (popularRoutes.isEmpty()) {
                 report.append("No booking data available\n\n");
             } else {
-                for (int i = 0; i < Math.min(popularRoutes.size(), 5); i++) {
+                for (int i = 0; i < popularRoutes.size(); i++) {
                     Map<String, Object> route = popularRoutes.get(i);
                     report.append(i + 1).append(". ").append(route.get("route")).append(": ")
                           .append(route.get("bookings")).append(" bookings\n");
@@ -178,8 +198,8 @@ public class AdminReportsController {
             report.append("Generated By: ").append(currentUsername).append("\n\n");
             
             Map<String, Object> revenueOverview = getRevenueOverviewFromDB();
-            List<Map<String, Object>> revenueByRoute = getRevenueByRouteFromDB();
-            List<Map<String, Object>> revenueByPeriod = getRevenueByPeriodFromDB();
+            List<Map<String, Object>> revenueByRoute = getRevenueByRoute();
+            List<Map<String, Object>> revenueByPeriod = getRevenueByPeriod();
             
             report.append("💰 REVENUE OVERVIEW\n");
             report.append("───────────────────\n");
@@ -194,12 +214,12 @@ public class AdminReportsController {
             report.append("This Week: PKR ").append(formatCurrency((double) revenueOverview.get("weekRevenue"))).append("\n");
             report.append("This Month: PKR ").append(formatCurrency((double) revenueOverview.get("monthRevenue"))).append("\n\n");
             
-            report.append("🚌 TOP 5 REVENUE-GENERATING ROUTES\n");
-            report.append("───────────────────────────────────\n");
+            report.append("🚌 TOP 5 REVENUE-GENERATING ROUTES (Last 30 Days)\n");
+            report.append("─────────────────────────────────────────────────\n");
             if (revenueByRoute.isEmpty()) {
                 report.append("No revenue data available\n\n");
             } else {
-                for (int i = 0; i < Math.min(revenueByRoute.size(), 5); i++) {
+                for (int i = 0; i < revenueByRoute.size(); i++) {
                     Map<String, Object> routeRevenue = revenueByRoute.get(i);
                     report.append(i + 1).append(". ").append(routeRevenue.get("route")).append(": PKR ")
                           .append(formatCurrency((double) routeRevenue.get("revenue"))).append("\n");
@@ -234,6 +254,51 @@ public class AdminReportsController {
         }
     }
 
+    private void generateReconciliationReport() {
+        reconciliationButton.setDisable(true);
+        reportArea.setText("=== PAYMENT RECONCILIATION ===\n\nMatching payments against bookings...\n");
+
+        PaymentReconciliationService service = PaymentReconciliationService.getInstance();
+        UiTask.whenDone(service.start().thenApply(run -> buildReconciliationReport(run, service)), (report, error) -> {
+            reconciliationButton.setDisable(false);
+            if (error != null) {
+                showError("Reconciliation failed: " + error.getMessage());
+                return;
+            }
+            reportArea.setText(report);
+            showSuccess("Reconciliation finished");
+        });
+    }
+
+    private String buildReconciliationReport(ReconciliationRun run, PaymentReconciliationService service) {
+        StringBuilder report = new StringBuilder();
+        report.append("=== PAYMENT RECONCILIATION ===\n\n");
+        report.append("Report Generated: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))).append("\n");
+        report.append("Generated By: ").append(currentUsername).append("\n");
+        report.append("Run: ").append(run).append("\n\n");
+
+        report.append("🧾 MISMATCHES BY TYPE\n");
+        report.append("─────────────────────\n");
+        Map<ReconciliationMismatch.Type, Long> counts = run.getMismatchCounts();
+        if (counts.isEmpty()) {
+            report.append(run.getStatus() == ReconciliationRun.Status.COMPLETED
+                ? "Every payment matches its booking\n\n" : "No mismatches recorded before the run stopped\n\n");
+        } else {
+            for (Map.Entry<ReconciliationMismatch.Type, Long> entry : counts.entrySet()) {
+                report.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+            }
+            report.append("\n");
+
+            List<ReconciliationMismatch> mismatches = service.getMismatches(run.getRunID(), 200);
+            report.append("📋 DETAILS (first ").append(mismatches.size()).append(")\n");
+            report.append("──────────────────\n");
+            for (ReconciliationMismatch mismatch : mismatches) {
+                report.append(mismatch).append("\n");
+            }
+        }
+        return report.toString();
+    }
+
     private void generateRouteReport() {
         try {
             List<Map<String, Object>> routePerformance = getRoutePerformanceFromDB();
@@ -277,6 +342,28 @@ public class AdminReportsController {
             report.append("Lowest Occupancy: ").append(routeMetrics.get("minOccupancy")).append("%\n");
             report.append("Most Popular Class: ").append(routeMetrics.get("popularClass")).append("\n\n");
             
+            List<OccupancyForecast> sellOutRisks = OccupancyForecastService.getInstance().getSellOutRisks(5);
+            report.append("🔮 CAPACITY OUTLOOK (Projected Load ≥ ")
+                  .append(String.format("%.0f", OccupancyForecastService.SELL_OUT_THRESHOLD * 100)).append("%)\n");
+            report.append("─────────────────────────────────────\n");
+            if (sellOutRisks.isEmpty()) {
+                report.append("No upcoming departures are projected to sell out\n\n");
+            } else {
+                for (OccupancyForecast forecast : sellOutRisks) {
+                    Route route = routeCatalog.getRoute(forecast.getRouteID());
+                    String routeName = route != null ? route.getSource() + " → " + route.getDestination() : forecast.getRouteID();
+                    report.append("• ").append(routeName).append(" on ").append(forecast.getDepartureDate())
+                          .append(": ").append(forecast.getSeatsSold()).append("/").append(forecast.getCapacity())
+                          .append(" sold, ").append(String.format("%.1f", forecast.getProjectedLoadFactor() * 100))
+                          .append("% projected");
+                    if (forecast.getUnmetDemand() > 0) {
+                        report.append(", ~").append(String.format("%.0f", forecast.getUnmetDemand())).append(" seats short");
+                    }
+                    report.append("\n");
+                }
+                report.append("\n");
+            }
+            
             report.append("💡 RECOMMENDATIONS\n");
             report.append("──────────────────\n");
             report.append("• Increase frequency for high-demand routes\n");
@@ -330,70 +417,27 @@ public class AdminReportsController {
                 stats.put("cancelledBookings", cancelled);
                 stats.put("pendingBookings", pending);
             }
-            
-            // Today's bookings
-            String today = LocalDate.now().toString();
-            String todayQuery = "SELECT COUNT(*) as count FROM Booking " +
-                               "WHERE CAST(BookingDateTime AS DATE) = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(todayQuery)) {
-                stmt.setString(1, today);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        stats.put("todayBookings", rs.getInt("count"));
-                    }
-                }
-            }
-            
-            // This week's bookings
-            String weekQuery = "SELECT COUNT(*) as count FROM Booking " +
-                              "WHERE BookingDateTime >= DATEADD(day, -7, GETDATE())";
-            try (PreparedStatement stmt = conn.prepareStatement(weekQuery);
-                 ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    stats.put("weekBookings", rs.getInt("count"));
-                }
-            }
-            
-            // This month's bookings
-            String monthQuery = "SELECT COUNT(*) as count FROM Booking " +
-                               "WHERE BookingDateTime >= DATEADD(month, -1, GETDATE())";
-            try (PreparedStatement stmt = conn.prepareStatement(monthQuery);
-                 ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    stats.put("monthBookings", rs.getInt("count"));
-                }
-            }
         }
         
+        MetricsService metrics = MetricsService.getInstance();
+        LocalDateTime now = LocalDateTime.now();
+        stats.put("todayBookings", (int) metrics.getTotal(MetricsService.Metric.BOOKINGS, LocalDate.now().atStartOfDay(), now));
+        stats.put("weekBookings", (int) metrics.getTotal(MetricsService.Metric.BOOKINGS, now.minusDays(7), now));
+        stats.put("monthBookings", (int) metrics.getTotal(MetricsService.Metric.BOOKINGS, now.minusMonths(1), now));
+        
         return stats;
     }
     
-    private List<Map<String, Object>> getPopularRoutesFromDB() throws SQLException {
+    private List<Map<String, Object>> getPopularRoutes() {
         List<Map<String, Object>> routes = new ArrayList<>();
         
-        String query = 
-            "SELECT TOP 5 " +
-            "   r.Source + ' → ' + r.Destination as route, " +
-            "   COUNT(b.BookingID) as bookings " +
-            "FROM Booking b " +
-            "INNER JOIN Reservation res ON b.ReservationID = res.ReservationID " +
-            "INNER JOIN Route r ON res.RouteID = r.RouteID " +
-            "WHERE b.Status != 'Cancelled' " +
-            "GROUP BY r.Source, r.Destination " +
-            "ORDER BY bookings DESC";
-        
-        try (Connection conn = DriverManager.getConnection(DatabaseConfig.getDbUrl(), 
-                                                         DatabaseConfig.getDbUser(), 
-                                                         DatabaseConfig.getDbPassword());
-             PreparedStatement stmt = conn.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            while (rs.next()) {
-                Map<String, Object> route = new HashMap<>();
-                route.put("route", rs.getString("route"));
-                route.put("bookings", rs.getInt("bookings"));
-                routes.add(route);
-            }
+        for (LeaderboardEntry entry : LeaderboardService.getInstance().getTop(
+                LeaderboardService.Dimension.ROUTE, LeaderboardService.Measure.BOOKINGS,
+                LeaderboardService.Window.MONTH, 5)) {
+            Map<String, Object> route = new HashMap<>();
+            route.put("route", entry.getLabel());
+            route.put("bookings", (int) entry.getValue());
+            routes.add(route);
         }
         
         return routes;
@@ -459,114 +503,47 @@ public class AdminReportsController {
                     overview.put("netRevenue", totalRevenue * 0.95); // Estimated net
                 }
             }
-            
-            // Today's revenue
-            String todayQuery = 
-                "SELECT COALESCE(SUM(p.Amount), 0) as todayRevenue " +
-                "FROM Payment p " +
-                "INNER JOIN Booking b ON p.PaymentID = b.PaymentID " +
-                "WHERE p.PaymentStatus = 'Completed' AND b.Status = 'Confirmed' " +
-                "AND CAST(p.PaymentDate AS DATE) = CAST(GETDATE() AS DATE)";
-            
-            try (PreparedStatement stmt = conn.prepareStatement(todayQuery);
-                 ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    overview.put("todayRevenue", rs.getDouble("todayRevenue"));
-                }
-            }
-            
-            // This week's revenue
-            String weekQuery = 
-                "SELECT COALESCE(SUM(p.Amount), 0) as weekRevenue " +
-                "FROM Payment p " +
-                "INNER JOIN Booking b ON p.PaymentID = b.PaymentID " +
-                "WHERE p.PaymentStatus = 'Completed' AND b.Status = 'Confirmed' " +
-                "AND p.PaymentDate >= DATEADD(day, -7, GETDATE())";
-            
-            try (PreparedStatement stmt = conn.prepareStatement(weekQuery);
-                 ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    overview.put("weekRevenue", rs.getDouble("weekRevenue"));
-                }
-            }
-            
-            // This month's revenue
-            String monthQuery = 
-                "SELECT COALESCE(SUM(p.Amount), 0) as monthRevenue " +
-                "FROM Payment p " +
-                "INNER JOIN Booking b ON p.PaymentID = b.PaymentID " +
-                "WHERE p.PaymentStatus = 'Completed' AND b.Status = 'Confirmed' " +
-                "AND p.PaymentDate >= DATEADD(month, -1, GETDATE())";
-            
-            try (PreparedStatement stmt = conn.prepareStatement(monthQuery);
-                 ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    overview.put("monthRevenue", rs.getDouble("monthRevenue"));
-                }
-            }
         }
         
+        MetricsService metrics = MetricsService.getInstance();
+        LocalDateTime now = LocalDateTime.now();
+        overview.put("todayRevenue", metrics.getNetRevenue(LocalDate.now().atStartOfDay(), now));
+        overview.put("weekRevenue", metrics.getNetRevenue(now.minusDays(7), now));
+        overview.put("monthRevenue", metrics.getNetRevenue(now.minusMonths(1), now));
+        
         return overview;
     }
     
-    private List<Map<String, Object>> getRevenueByRouteFromDB() throws SQLException {
+    private List<Map<String, Object>> getRevenueByRoute() {
         List<Map<String, Object>> revenues = new ArrayList<>();
         
-        String query = 
-            "SELECT TOP 5 " +
-            "   r.Source + ' → ' + r.Destination as route, " +
-            "   COALESCE(SUM(p.Amount), 0) as revenue " +
-            "FROM Payment p " +
-            "INNER JOIN Booking b ON p.PaymentID = b.PaymentID " +
-            "INNER JOIN Reservation res ON b.ReservationID = res.ReservationID " +
-            "INNER JOIN Route r ON res.RouteID = r.RouteID " +
-            "WHERE p.PaymentStatus = 'Completed' AND b.Status = 'Confirmed' " +
-            "GROUP BY r.Source, r.Destination " +
-            "ORDER BY revenue DESC";
-        
-        try (Connection conn = DriverManager.getConnection(DatabaseConfig.getDbUrl(), 
-                                                         DatabaseConfig.getDbUser(), 
-                                                         DatabaseConfig.getDbPassword());
-             PreparedStatement stmt = conn.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            while (rs.next()) {
-                Map<String, Object> route = new HashMap<>();
-                route.put("route", rs.getString("route"));
-                route.put("revenue", rs.getDouble("revenue"));
-                revenues.add(route);
-            }
+        for (LeaderboardEntry entry : LeaderboardService.getInstance().getTop(
+                LeaderboardService.Dimension.ROUTE, LeaderboardService.Measure.REVENUE,
+                LeaderboardService.Window.MONTH, 5)) {
+            Map<String, Object> route = new HashMap<>();
+            route.put("route", entry.getLabel());
+            route.put("revenue", entry.getValue());
+            revenues.add(route);
         }
         
         return revenues;
     }
     
-    private List<Map<String, Object>> getRevenueByPeriodFromDB() throws SQLException {
+    private List<Map<String, Object>> getRevenueByPeriod() {
         List<Map<String, Object>> revenues = new ArrayList<>();
         
-        String query = 
-            "SELECT " +
-            "   CONVERT(VARCHAR(10), p.PaymentDate, 120) as period, " +
-            "   COALESCE(SUM(p.Amount), 0) as revenue " +
-            "FROM Payment p " +
-            "INNER JOIN Booking b ON p.PaymentID = b.PaymentID " +
-            "WHERE p.PaymentStatus = 'Completed' AND b.Status = 'Confirmed' " +
-            "   AND p.PaymentDate >= DATEADD(day, -7, GETDATE()) " +
-            "GROUP BY CONVERT(VARCHAR(10), p.PaymentDate, 120) " +
-            "ORDER BY period DESC";
+        MetricsService metrics = MetricsService.getInstance();
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        LocalDateTime from = today.minusDays(6);
+        LocalDateTime to = today.plusDays(1);
+        List<MetricPoint> revenue = metrics.getSeries(MetricsService.Metric.REVENUE, MetricsService.Granularity.DAY, from, to);
+        List<MetricPoint> refunds = metrics.getSeries(MetricsService.Metric.REFUNDS, MetricsService.Granularity.DAY, from, to);
         
-        try (Connection conn = DriverManager.getConnection(DatabaseConfig.getDbUrl(), 
-                                                         DatabaseConfig.getDbUser(), 
-                                                         DatabaseConfig.getDbPassword());
-             PreparedStatement stmt = conn.prepareStatement(query);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            while (rs.next()) {
-                Map<String, Object> period = new HashMap<>();
-                period.put("period", rs.getString("period"));
-                period.put("revenue", rs.getDouble("revenue"));
-                revenues.add(period);
-            }
+        for (int i = revenue.size() - 1; i >= 0; i--) {
+            Map<String, Object> period = new HashMap<>();
+            period.put("period", revenue.get(i).getPeriodStart().toLocalDate().toString());
+            period.put("revenue", revenue.get(i).getValue() - refunds.get(i).getValue());
+            revenues.add(period);
         }
         
         return revenues;
@@ -732,16 +709,30 @@ public class AdminReportsController {
             return;
         }
         
-        Alert confirmation = new Alert(Alert.AlertType.INFORMATION);
-        confirmation.setTitle("Export Report");
-        confirmation.setHeaderText("Report Export");
-        confirmation.setContentText("Report export functionality will be implemented in the next version.\n\n" +
-                                  "For now, you can:\n" +
-                                  "1. Copy the report text\n" +
-                                  "2. Save it as a text file\n" +
-                                  "3. Print the report");
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Report");
+        FileChooser.ExtensionFilter textFilter = new FileChooser.ExtensionFilter("Report Text (*.txt)", "*.txt");
+        FileChooser.ExtensionFilter csvFilter = new FileChooser.ExtensionFilter("Daily Metrics, Last 30 Days (*.csv)", "*.csv");
+        fileChooser.getExtensionFilters().addAll(textFilter, csvFilter);
+        fileChooser.setInitialFileName("report-" + LocalDate.now());
         
-        confirmation.showAndWait();
+        File file = fileChooser.showSaveDialog(exportReportButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            if (fileChooser.getSelectedExtensionFilter() == csvFilter) {
+                LocalDateTime to = LocalDate.now().plusDays(1).atStartOfDay();
+                MetricsService.getInstance().exportCsv(MetricsService.Granularity.DAY, to.minusDays(30), to, writer);
+            } else {
+                writer.write(reportArea.getText());
+            }
+            showSuccess("Report exported to " + file.getAbsolutePath());
+        } catch (IOException e) {
+            showError("Failed to export report: " + e.getMessage());
+            e.printStackTrace();
+        }
     }
 
     private void handleBack() {
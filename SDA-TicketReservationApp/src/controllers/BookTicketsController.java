@@ -10,6 +10,8 @@ import catalogs.BookingCatalog;
 import catalogs.RouteCatalog;
 import config.DatabaseConfig;
 import models.*;
+import services.DynamicPricingEngine;
+import services.LeaderboardService;
 import services.NotificationService;
 import database.DatabaseConnection;
 import java.net.URL;
@@ -50,6 +52,7 @@ public class BookTicketsController implements Initializable {
     private Schedule selectedSchedule;
     private Set<Seat> selectedSeats = new HashSet<>(); 
     private Map<String, Seat> seatMap = new HashMap<>();
+    private List<String> trendingRouteIds = new ArrayList<>();
     
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("MMM dd, yyyy");
     private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("hh:mm a");
@@ -83,7 +86,15 @@ public class BookTicketsController implements Initializable {
 
     private void loadRoutes() {
         showLayer("ROUTES");
-        renderRoutes(routeCatalog.getAllRoutes());
+        trendingRouteIds = LeaderboardService.getInstance().getTrendingRouteIds(3);
+        List<Route> routes = new ArrayList<>(routeCatalog.getAllRoutes());
+        routes.sort(Comparator.comparingInt(this::trendingRank));
+        renderRoutes(routes);
+    }
+
+    private int trendingRank(Route route) {
+        int rank = trendingRouteIds.indexOf(route.getRouteID());
+        return rank >= 0 ? rank : Integer.MAX_VALUE;
     }
 
     private void filterRoutes() {
@@ -123,6 +134,11 @@ public class BookTicketsController implements Initializable {
             details.getStyleClass().add("card-detail");
             
             card.getChildren().addAll(top, details);
+            if (trendingRouteIds.contains(r.getRouteID())) {
+                Label trending = new Label("🔥 Trending this week");
+                trending.getStyleClass().add("card-trending");
+                card.getChildren().add(trending);
+            }
             card.setOnMouseClicked(e -> showSchedules(r));
             
             routesContainer.getChildren().add(card);
@@ -180,9 +196,14 @@ public class BookTicketsController implements Initializable {
         seatsContainer.getChildren().clear();
         loadSeatsFromDB(schedule);
         seatMap.clear();
+        // Seats are reloaded from the database on every visit, so the quoted fare never compounds
+        DynamicPricingEngine pricing = DynamicPricingEngine.getInstance();
+        ScheduleFare fare = pricing.getFare(schedule);
         for (Seat seat : schedule.getSeats()) {
+            seat.setPrice(pricing.quote(fare, selectedRoute, schedule, seat));
             seatMap.put(seat.getSeatNo(), seat);
         }
+        subTitle.setText("Select Seats (" + schedule.getScheduleClass() + ") · " + fare.getLabel());
         renderBusLayout(schedule.getSeats());
     }
 
@@ -415,7 +436,6 @@ public class BookTicketsController implements Initializable {
                 Button okBtn = (Button) dialogPane.lookupButton(ButtonType.OK);
                 okBtn.setStyle("-fx-background-color: #3F5F3C; -fx-text-fill: white; -fx-font-weight: bold; -fx-cursor: hand; -fx-background-radius: 5px;");
 
-                alert.showAndWait();
                 try {
                     NotificationService notificationService = NotificationService.getInstance();
                     notificationService.sendBookingSuccessNotification(
@@ -423,11 +443,12 @@ public class BookTicketsController implements Initializable {
                         bookingID,
                         selectedRoute.getSource() + " to " + selectedRoute.getDestination()
                     );
-                    System.out.println("✅ Notification sent for booking: " + bookingID);
+                    System.out.println("✅ Notification queued for booking: " + bookingID);
                 } catch (Exception e) {
                     System.err.println("⚠️ Failed to send notification: " + e.getMessage());
                     e.printStackTrace();
                 }
+                alert.showAndWait();
                 System.out.println("Booking saved successfully (payment pending): " + bookingID);
                 return true;
             } else {
@@ -436,7 +457,7 @@ public class BookTicketsController implements Initializable {
                     Alert alert = new Alert(Alert.AlertType.ERROR);
                     alert.setTitle("Booking Failed");
                     alert.setHeaderText("Failed to reserve selected seats");
-                    alert.setContentText("One or more seats are no longer available. Please try again.");
+                    alert.setContentText("One or more seats are no longer available, or the departure has been cancelled. Please try again.");
                     alert.showAndWait();
                     return false;
                 }
@@ -463,7 +484,10 @@ public class BookTicketsController implements Initializable {
     }
 
     private boolean updateSeatAvailability(String reservationID, List<Seat> seats) {
-        String updateSeatQuery = "UPDATE Seat SET Availability = 0, ReservationID = ? WHERE SeatNumber = ? AND ScheduleID = ? AND Availability = 1";
+        // A departure cancelled by an operator is closed first, so its released seats can never be sold again
+        String updateSeatQuery = "UPDATE Seat SET Availability = 0, ReservationID = ? " +
+                                "WHERE SeatNumber = ? AND ScheduleID = ? AND Availability = 1 " +
+                                "AND EXISTS (SELECT 1 FROM Schedule WHERE Schedule.ScheduleID = Seat.ScheduleID AND Schedule.IsActive = 1)";
         
         Connection conn = null;
         try {
@@ -17,6 +17,7 @@ import models.Booking;
 import models.Customer;
 import models.Payment;
 import models.Seat;
+import services.BookingSearchService;
 import config.DatabaseConfig;
 
 import java.io.IOException;
@@ -101,7 +102,7 @@ public class BookingHistoryController implements Initializable {
         paymentFilter.getItems().addAll(ALL_PAYMENTS, "Paid", "Unpaid", "Pending Payment", "Refunded");
         paymentFilter.setValue(ALL_PAYMENTS);
         
-        searchField.setPromptText("Search by booking ID, route...");
+        searchField.setPromptText("Search by booking ID, route, date...");
     }
 
     private void setupEventHandlers() {
@@ -310,13 +311,9 @@ public class BookingHistoryController implements Initializable {
             case "Refunded": filteredBookings.removeIf(b -> !"Refunded".equals(b.getPaymentStatus())); break;
         }
         
-        String searchTerm = searchField.getText().toLowerCase();
-        if (!searchTerm.isEmpty()) {
-            filteredBookings.removeIf(b -> 
-                !b.getBookingID().toLowerCase().contains(searchTerm) &&
-                !b.getReservation().getRoute().getSource().toLowerCase().contains(searchTerm) &&
-                !b.getReservation().getRoute().getDestination().toLowerCase().contains(searchTerm)
-            );
+        String searchTerm = searchField.getText();
+        if (!searchTerm.trim().isEmpty()) {
+            filteredBookings.removeIf(b -> !BookingSearchService.matches(searchTerm, b));
         }
         
         displayBookings(filteredBookings);
@@ -1,6 +1,5 @@
 package controllers;
 
-import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -14,14 +13,16 @@ import javafx.stage.Stage;
 import models.User;
 import models.Customer;
 import helpers.IDGenerator;
-import catalogs.UserCatalog;
+import helpers.UiTask;
+import services.AuthenticationService;
 import java.io.IOException;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 
 public class CustomerLoginController {
 
-    private UserCatalog users = new UserCatalog("Customer");
+    private AuthenticationService authService = AuthenticationService.getInstance();
+    private UiTask<?> pendingTask;
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
     @FXML private TextField usernameField;
     @FXML private PasswordField passwordField;
@@ -42,9 +43,17 @@ public class CustomerLoginController {
     @FXML private Button backToLoginButton;
 
     public static void show(Stage stage) {
+        show(stage, null);
+    }
+
+    public static void show(Stage stage, String successMessage) {
         try {
             FXMLLoader loader = new FXMLLoader(CustomerLoginController.class.getResource("/ui/customerlogin.fxml"));
             Parent root = loader.load();
+            if (successMessage != null) {
+                CustomerLoginController controller = loader.getController();
+                controller.showSuccess(successMessage);
+            }
             
             Scene scene = new Scene(root, 900, 700);
             scene.getStylesheets().add(CustomerLoginController.class.getResource("/ui/style.css").toExternalForm());
@@ -71,21 +80,23 @@ public class CustomerLoginController {
 
         if (username.isEmpty() || password.isEmpty()) {
             showError("Please enter both username and password");
-        } else if (authenticateUser(username, password)) {
-            showSuccess("Login successful! Redirecting...");
-            User loggedInUser = users.getUserByUsername(username);
-            Customer loggedInCustomer = (Customer)loggedInUser;
-            new Thread(() -> {
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException ex) {
-                    ex.printStackTrace();
-                }
-                Platform.runLater(() -> showDashboard(loggedInUser.getUsername(),loggedInCustomer));
-            }).start();
-        } else {
-            showError("Invalid username or password");
+            return;
         }
+
+        long startedAt = System.nanoTime();
+        loginButton.setDisable(true);
+        showInfo("Signing in...");
+        pendingTask = UiTask.whenDone(authenticateUser(username, password), (loggedInUser, error) -> {
+            loginButton.setDisable(false);
+            if (error != null) {
+                showError("Login service is busy. Please try again.");
+            } else if (loggedInUser != null) {
+                showDashboard(loggedInUser.getUsername(), (Customer)loggedInUser);
+                System.out.println("Customer login to dashboard: " + (System.nanoTime() - startedAt) / 1_000_000 + " ms");
+            } else {
+                showError("Invalid username or password");
+            }
+        });
     }
 
     private void showDashboard(String username,Customer loggedInUser) {
@@ -176,20 +187,22 @@ public class CustomerLoginController {
             return;
         }
 
+        if (authService.isEmailTaken(email)) {
+            showError("Email is already registered. Please use a different one.");
+            return;
+        }
+
         String UserID = IDGenerator.generateCustomerID();
         User newUser = new Customer(UserID, fullName, password, username, email, phoneNum);
-        users.addToCatalog(newUser);
-        System.out.println(users.getUsers() + " users in catalog after registration.");
-        showSuccess("Registration successful! Redirecting to login...");
-        
-        new Thread(() -> {
-            try {
-                Thread.sleep(2000);
-                Platform.runLater(this::handleBackToLogin);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+        createAccountButton.setDisable(true);
+        pendingTask = UiTask.whenDone(authService.registerAsync(newUser), (registered, error) -> {
+            createAccountButton.setDisable(false);
+            if (error != null || !registered) {
+                showError("Registration failed. Please try again.");
+                return;
             }
-        }).start();
+            showLoginPage("Registration successful! Please log in.");
+        });
     }
 
     @FXML
@@ -204,6 +217,11 @@ public class CustomerLoginController {
 
     @FXML
     private void handleBackToLogin() {
+        cancelPendingTask();
+        showLoginPage(null);
+    }
+
+    private void showLoginPage(String successMessage) {
         try {
             Stage currentStage;
             if (fullNameField != null) {
@@ -214,7 +232,7 @@ public class CustomerLoginController {
                 showError("Cannot navigate to login");
                 return;
             }
-            show(currentStage);
+            show(currentStage, successMessage);
             
         } catch (Exception e) {
             System.err.println("Error loading login page: " + e.getMessage());
@@ -223,12 +241,19 @@ public class CustomerLoginController {
         }
     }
 
-    private boolean authenticateUser(String username, String password) {
-        return users.authenticateUser(username, password);
+    private void cancelPendingTask() {
+        if (pendingTask != null) {
+            pendingTask.cancel();
+            pendingTask = null;
+        }
+    }
+
+    private CompletableFuture<User> authenticateUser(String username, String password) {
+        return authService.authenticateAsync(username, password, "Customer");
     }
 
     private boolean isUsernameTaken(String username) {
-        return users.isUsernameTaken(username);
+        return authService.isUsernameTaken(username);
     }
 
     private boolean isValidEmail(String email) {
@@ -251,6 +276,13 @@ public class CustomerLoginController {
         }
     }
 
+    private void showInfo(String message) {
+        if (statusMessage != null) {
+            statusMessage.getStyleClass().setAll("info-text");
+            statusMessage.setText(message);
+        }
+    }
+
     private void showAlert(String title, String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle(title);
@@ -267,12 +299,9 @@ public class CustomerLoginController {
         alert.showAndWait();
     }
 
-    public List<User> getUsers() {
-        return users.getUsers();
-    }
-
     @FXML
     private void handleBackToMain() {
+        cancelPendingTask();
         try {
             Stage currentStage;
             if (fullNameField != null) {
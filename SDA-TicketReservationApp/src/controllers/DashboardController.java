@@ -13,6 +13,9 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import models.Customer;
+import helpers.UiTask;
+import services.LiveUpdateBus;
+import services.NotificationService;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ResourceBundle;
@@ -81,9 +84,37 @@ public class DashboardController implements Initializable {
         this.currentCustomer = customer;
         updateUserGreeting();
         loadCustomerData();
+        updateNotificationBadge();
+        subscribeToLiveUpdates();
         showHome(); 
     }
     
+    private void subscribeToLiveUpdates() {
+        if (notificationsButton == null || currentCustomer == null || currentCustomer.getUserID() == null) {
+            return;
+        }
+        LiveUpdateBus.getInstance().subscribe(currentCustomer.getUserID(), notificationsButton, update -> {
+            if (update.isRefresh() || !update.getNotifications().isEmpty()) {
+                updateNotificationBadge();
+            }
+        });
+    }
+    
+    private void updateNotificationBadge() {
+        if (notificationsButton == null || currentCustomer == null || currentCustomer.getUserID() == null) {
+            return;
+        }
+        String userID = currentCustomer.getUserID();
+        // Served from the catalog's counter cache; only the first call for a user touches the database
+        UiTask.supply(() -> NotificationService.getInstance().getUnreadCount(userID), (unread, error) -> {
+            if (error == null && unread != null && unread > 0) {
+                notificationsButton.setText("🔔 Notifications (" + unread + ")");
+            } else {
+                notificationsButton.setText("🔔 Notifications");
+            }
+        });
+    }
+    
     private void updateUserGreeting() {
         if (currentUsername != null && !currentUsername.isEmpty()) {
             userGreeting.setText("Hello, " + currentUsername + "! Ready to book your next journey? 🚌");
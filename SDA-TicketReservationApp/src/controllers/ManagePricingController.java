@@ -11,13 +11,24 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import models.Admin;
+import models.OccupancyForecast;
+import models.PriceChange;
+import models.PriceChangeLine;
 import models.Route;
 import catalogs.RouteCatalog;
+import helpers.UiTask;
+import services.OccupancyForecastService;
+import services.PricingChangeService;
 
 import java.io.IOException;
+import java.util.List;
 
 public class ManagePricingController {
 
+    private static final String MODE_PERCENTAGE = "Percentage (%)";
+    private static final String MODE_ABSOLUTE = "Fixed amount (PKR)";
+    private static final int PREVIEW_LINES = 200;
+
     private RouteCatalog routeCatalog = RouteCatalog.getInstance();
     private String currentUsername;
     private Admin currentAdmin;
@@ -33,6 +44,8 @@ public class ManagePricingController {
     
     @FXML private TextField newPriceField;
     @FXML private TextField percentageField;
+    @FXML private ComboBox<String> changeModeComboBox;
+    @FXML private CheckBox includeSeatsCheckBox;
     
     @FXML private Button updatePriceButton;
     @FXML private Button applyPercentageButton;
@@ -78,6 +91,10 @@ public class ManagePricingController {
         System.out.println("ManagePricingController initialized");
         setupEventHandlers();
         initializeTable();
+        if (changeModeComboBox != null) {
+            changeModeComboBox.setItems(FXCollections.observableArrayList(MODE_PERCENTAGE, MODE_ABSOLUTE));
+            changeModeComboBox.setValue(MODE_PERCENTAGE);
+        }
     }
 
     private void setupEventHandlers() {
@@ -150,6 +167,21 @@ public class ManagePricingController {
                     details.append("⚠ No schedules configured for this route.\n");
                 }
                 
+                List<OccupancyForecast> forecasts = OccupancyForecastService.getInstance().getForecastsForRoute(route.getRouteID());
+                if (!forecasts.isEmpty()) {
+                    details.append("\nDemand Forecast (Upcoming Departures):\n");
+                    for (OccupancyForecast forecast : forecasts) {
+                        details.append("• ").append(forecast.getDepartureDate())
+                              .append(": ").append(String.format("%.1f", forecast.getCurrentLoadFactor() * 100))
+                              .append("% now, ").append(String.format("%.1f", forecast.getProjectedLoadFactor() * 100))
+                              .append("% projected");
+                        if (forecast.getUnmetDemand() > 0) {
+                            details.append(" ⚠");
+                        }
+                        details.append("\n");
+                    }
+                }
+                
                 priceDetailsArea.setText(details.toString());
             }
         }
@@ -198,50 +230,87 @@ public class ManagePricingController {
     }
 
     private void handleApplyPercentage() {
-        String percentageText = percentageField.getText().trim();
+        String valueText = percentageField.getText().trim();
         
-        if (percentageText.isEmpty()) {
-            showError("Please enter percentage");
+        if (valueText.isEmpty()) {
+            showError("Please enter the price change");
             return;
         }
         
         try {
-            double percentage = Double.parseDouble(percentageText);
+            double value = Double.parseDouble(valueText);
+            boolean absolute = changeModeComboBox != null && MODE_ABSOLUTE.equals(changeModeComboBox.getValue());
             
-            if (percentage < -100) {
+            if (!absolute && value < -100) {
                 showError("Percentage cannot be less than -100%");
                 return;
             }
             
-            boolean allUpdated = true;
-            int updatedCount = 0;
-            
-            for (Route route : routesTable.getItems()) {
-                Route currentRoute = routeCatalog.getRoute(route.getRouteID());
-                if (currentRoute != null) {
-                    double newPrice = currentRoute.getBasePrice() * (1 + percentage/100);
-                    newPrice = Math.round(newPrice * 100.0) / 100.0;
-                    currentRoute.setBasePrice(newPrice);
-                    
-                    if (routeCatalog.updateRoute(currentRoute)) {
-                        updatedCount++;
-                    } else {
-                        allUpdated = false;
-                    }
-                }
-            }
+            PriceChange change = absolute ? PriceChange.absolute(value) : PriceChange.percentage(value);
+            change.setApplyToSeats(includeSeatsCheckBox == null || includeSeatsCheckBox.isSelected());
+            applyPercentageButton.setDisable(true);
+            UiTask.supply(() -> PricingChangeService.getInstance().preview(change),
+                          (lines, error) -> confirmPriceChange(change, lines, error));
             
-            if (updatedCount > 0) {
-                showSuccess("Applied " + percentage + "% change to " + updatedCount + " routes!");
-                loadRoutesData();
-                percentageField.clear();
+        } catch (NumberFormatException e) {
+            showError("Invalid number format");
+        }
+    }
+
+    private void confirmPriceChange(PriceChange change, List<PriceChangeLine> lines, Throwable error) {
+        if (error != null || lines == null || lines.isEmpty()) {
+            applyPercentageButton.setDisable(false);
+            showError("No prices would change, or the preview could not be loaded");
+            return;
+        }
+        
+        int routes = 0;
+        int seats = 0;
+        StringBuilder diff = new StringBuilder("=== PRICE CHANGE PREVIEW ===\n");
+        diff.append(change.describe()).append("\n\n");
+        for (int i = 0; i < lines.size(); i++) {
+            PriceChangeLine line = lines.get(i);
+            if ("Route".equals(line.getKind())) {
+                routes++;
             } else {
-                showError("No routes were updated");
+                seats += line.getCount();
             }
-            
-        } catch (NumberFormatException e) {
-            showError("Invalid percentage format");
+            if (i < PREVIEW_LINES) {
+                diff.append(line).append("\n");
+            }
+        }
+        if (lines.size() > PREVIEW_LINES) {
+            diff.append("... and ").append(lines.size() - PREVIEW_LINES).append(" more\n");
+        }
+        if (priceDetailsArea != null) {
+            priceDetailsArea.setText(diff.toString());
         }
+        
+        Alert confirmation = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmation.setTitle("Confirm Price Change");
+        confirmation.setHeaderText("Apply " + change.describe() + "?");
+        confirmation.setContentText("This will update " + routes + " route base prices and " + seats +
+                                   " unsold seats in a single transaction. The full diff is shown in Pricing Details.");
+        
+        confirmation.showAndWait().ifPresentOrElse(response -> {
+            if (response != ButtonType.OK) {
+                applyPercentageButton.setDisable(false);
+                return;
+            }
+            UiTask.supply(() -> PricingChangeService.getInstance().apply(change, currentUsername),
+                          (result, applyError) -> {
+                applyPercentageButton.setDisable(false);
+                if (applyError != null || result == null || !result.isSuccess()) {
+                    showError("Price change was not applied; no prices were modified." +
+                              (result != null && result.getError() != null ? "\n" + result.getError() : ""));
+                    return;
+                }
+                showSuccess("Applied " + change.describe() + " to " + result.getRoutesUpdated() + " routes and " +
+                            result.getSeatsUpdated() + " seats (change #" + result.getAuditID() + ")");
+                loadRoutesData();
+                percentageField.clear();
+            });
+        }, () -> applyPercentageButton.setDisable(false));
     }
 
     private void handleRefresh() {
@@ -11,7 +11,10 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import models.Admin;
+import models.BroadcastProgress;
+import models.BroadcastSegment;
 import models.PromotionalCode;
+import services.NotificationBroadcastService;
 import catalogs.PromoCodeCatalog;
 import java.io.IOException;
 import java.time.LocalDate;
@@ -200,6 +203,7 @@ public class ManagePromoCodesController {
                 showSuccess("Promo code '" + code + "' added successfully!");
                 handleClear();
                 loadPromoCodesData();
+                offerPromoBroadcast(newPromo);
             } else {
                 showError("Failed to add promo code. Code '" + code + "' may already exist.");
             }
@@ -208,6 +212,22 @@ public class ManagePromoCodesController {
         }
     }
 
+    private void offerPromoBroadcast(PromotionalCode promo) {
+        Alert confirmation = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmation.setTitle("Announce Promo Code");
+        confirmation.setHeaderText("Notify all customers?");
+        confirmation.setContentText("Send a notification about '" + promo.getCode() + "' (" +
+                                   promo.getPercentage() + "% off) to every customer?");
+        
+        confirmation.showAndWait().ifPresent(response -> {
+            if (response == ButtonType.OK) {
+                BroadcastProgress progress = NotificationBroadcastService.getInstance().broadcastPromotion(
+                    BroadcastSegment.allCustomers(), promo.getCode(), promo.getPercentage());
+                showSuccess("Announcement " + progress.getCampaignID() + " is being delivered in the background.");
+            }
+        });
+    }
+
     private void handleToggleStatus() {
         PromotionalCode selectedPromo = promoTable.getSelectionModel().getSelectedItem();
         
@@ -11,15 +11,21 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import models.Admin;
+import models.CancellationJob;
+import models.OccupancyForecast;
 import models.Route;
 import models.Schedule;
 import catalogs.RouteCatalog;
 import helpers.IDGenerator;
+import services.OccupancyForecastService;
+import services.ScheduleCancellationService;
 
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 public class ManageSchedulesController {
 
@@ -46,6 +52,7 @@ public class ManageSchedulesController {
     @FXML private Button addScheduleButton;
     @FXML private Button updateScheduleButton;
     @FXML private Button deleteScheduleButton;
+    @FXML private Button cancelDepartureButton;
     @FXML private Button refreshButton;
     @FXML private Button clearButton;
     @FXML private Button backButton;
@@ -102,6 +109,9 @@ public class ManageSchedulesController {
         if (deleteScheduleButton != null) {
             deleteScheduleButton.setOnAction(e -> handleDeleteSchedule());
         }
+        if (cancelDepartureButton != null) {
+            cancelDepartureButton.setOnAction(e -> handleCancelDeparture());
+        }
         if (refreshButton != null) {
             refreshButton.setOnAction(e -> handleRefresh());
         }
@@ -208,6 +218,15 @@ public class ManageSchedulesController {
                 details.append("Available Seats: ").append(schedule.getSeatCount()).append("\n");
                 details.append("Type Percentage: ").append(schedule.getTypePercentage()).append("%");
                 
+                OccupancyForecast forecast = OccupancyForecastService.getInstance().getForecast(schedule.getScheduleID());
+                if (forecast != null) {
+                    details.append("\nSeats Sold: ").append(forecast.getSeatsSold()).append(" / ").append(forecast.getCapacity());
+                    details.append("\nProjected Load Factor: ").append(String.format("%.1f", forecast.getProjectedLoadFactor() * 100)).append("%");
+                    if (forecast.getUnmetDemand() > 0) {
+                        details.append("\n⚠ Projected to sell out, consider adding capacity");
+                    }
+                }
+                
                 scheduleDetailsArea.setText(details.toString());
             }
         }
@@ -345,6 +364,51 @@ public class ManageSchedulesController {
         });
     }
 
+    private void handleCancelDeparture() {
+        Schedule selectedSchedule = schedulesTable.getSelectionModel().getSelectedItem();
+        Route selectedRoute = routeComboBox.getValue();
+        
+        if (selectedSchedule == null || selectedRoute == null) {
+            showError("Please select a departure to cancel");
+            return;
+        }
+        
+        String thisDeparture = "This departure only (" + selectedSchedule.getDepartureTime() + ")";
+        String wholeDay = "All departures on this route on " + selectedSchedule.getDate();
+        ChoiceDialog<String> scopeDialog = new ChoiceDialog<>(thisDeparture, thisDeparture, wholeDay);
+        scopeDialog.setTitle("Cancel Departure");
+        scopeDialog.setHeaderText("Cancel every booking, release all seats and refund customers");
+        scopeDialog.setContentText("Scope:");
+        Optional<String> scope = scopeDialog.showAndWait();
+        if (scope.isEmpty()) {
+            return;
+        }
+        
+        TextInputDialog reasonDialog = new TextInputDialog();
+        reasonDialog.setTitle("Cancel Departure");
+        reasonDialog.setHeaderText("Customers will be notified with this reason (optional)");
+        reasonDialog.setContentText("Reason:");
+        Optional<String> reason = reasonDialog.showAndWait();
+        if (reason.isEmpty()) {
+            return;
+        }
+        
+        ScheduleCancellationService service = ScheduleCancellationService.getInstance();
+        List<CancellationJob> jobs = scope.get().equals(wholeDay)
+            ? service.cancelRouteDay(selectedRoute, selectedSchedule.getDate(), reason.get().trim())
+            : Collections.singletonList(service.cancelSchedule(selectedSchedule.getScheduleID(), reason.get().trim()));
+        
+        StringBuilder summary = new StringBuilder("Cancelling " + jobs.size() + " departure(s) in the background:\n");
+        for (CancellationJob job : jobs) {
+            // Taken off sale here right away; the job closes the schedule in the database before touching bookings
+            routeCatalog.removeSchedule(job.getScheduleID());
+            summary.append("• ").append(job.getJobID()).append(" (schedule ").append(job.getScheduleID()).append(")\n");
+        }
+        refreshSchedulesTable(selectedRoute.getRouteID());
+        handleClear();
+        showSuccess(summary.toString());
+    }
+
     private void handleRefresh() {
         loadData();
         Route selectedRoute = routeComboBox.getValue();
@@ -12,11 +12,16 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import models.Admin;
+import models.OccupancyForecast;
+import models.PriceChangeResult;
 import models.Route;
 import models.Schedule;
 import models.Seat;
 import catalogs.RouteCatalog;
 import config.DatabaseConfig;
+import services.DynamicPricingEngine;
+import services.OccupancyForecastService;
+import services.PricingChangeService;
 
 import java.io.IOException;
 import java.sql.*;
@@ -450,6 +455,9 @@ public class ManageSeatsController {
             seatTypePercentages.put("B", typeB);
             seatTypePercentages.put("C", typeC);
             seatTypePercentages.put("D", typeD);
+            for (Map.Entry<String, Double> entry : seatTypePercentages.entrySet()) {
+                DynamicPricingEngine.getInstance().setSeatTypePremium(entry.getKey(), entry.getValue());
+            }
             
             showSuccess("Seat type percentages updated successfully!");
             Schedule selectedSchedule = scheduleComboBox.getValue();
@@ -469,33 +477,13 @@ public class ManageSeatsController {
             return;
         }
         
-        double basePrice = selectedRoute.getBasePrice();
-        for (Map.Entry<String, Double> entry : seatTypePercentages.entrySet()) {
-            String seatType = entry.getKey();
-            double percentage = entry.getValue();
-            
-            double seatPrice = basePrice + (basePrice * percentage / 100);
-            
-            String updateSql = "UPDATE Seat SET Price = ? WHERE ScheduleID = ? AND SeatType = ?";
-            
-            try (Connection conn = DriverManager.getConnection(
-                    DatabaseConfig.getDbUrl(), 
-                    DatabaseConfig.getDbUser(), 
-                    DatabaseConfig.getDbPassword());
-                 PreparedStatement pstmt = conn.prepareStatement(updateSql)) {
-                
-                pstmt.setDouble(1, seatPrice);
-                pstmt.setString(2, scheduleID);
-                pstmt.setString(3, seatType);
-                
-                int rowsAffected = pstmt.executeUpdate();
-                System.out.println("Updated " + rowsAffected + " " + seatType + " seats");
-                
-            } catch (SQLException e) {
-                System.err.println("Error updating seat prices: " + e.getMessage());
-                showError("Failed to update seat prices: " + e.getMessage());
-            }
+        PriceChangeResult result = PricingChangeService.getInstance().repriceSeatTypes(
+            scheduleID, selectedRoute.getBasePrice(), seatTypePercentages, currentUsername);
+        if (!result.isSuccess()) {
+            showError("Failed to update seat prices: " + result.getError());
+            return;
         }
+        System.out.println("Updated " + result.getSeatsUpdated() + " seats for schedule " + scheduleID);
         
         loadSeatsFromDatabase(scheduleID);
         showSuccess("Seat prices updated successfully!");
@@ -607,6 +595,21 @@ public class ManageSeatsController {
             stats.append("Total Seats: ").append(totalSeats).append("\n");
             stats.append("Available Seats: ").append(availableSeats).append(" (").append(String.format("%.1f", availabilityRate)).append("%)\n");
             stats.append("Occupied Seats: ").append(occupiedSeats).append(" (").append(String.format("%.1f", occupancyRate)).append("%)\n\n");
+            
+            Schedule selectedSchedule = scheduleComboBox.getValue();
+            OccupancyForecast forecast = selectedSchedule != null
+                ? OccupancyForecastService.getInstance().getForecast(selectedSchedule.getScheduleID())
+                : null;
+            if (forecast != null) {
+                stats.append("📈 LOAD FORECAST:\n");
+                stats.append("Projected Final Load: ").append(String.format("%.1f", forecast.getProjectedLoadFactor() * 100)).append("%\n");
+                stats.append("Expected Additional Bookings: ").append(String.format("%.0f", forecast.getExpectedPickup())).append(" seats\n");
+                if (forecast.getUnmetDemand() > 0) {
+                    stats.append("⚠ Likely to sell out, about ").append(String.format("%.0f", forecast.getUnmetDemand()))
+                         .append(" more seats needed\n");
+                }
+                stats.append("\n");
+            }
             Map<String, Integer> typeCounts = new HashMap<>();
             Map<String, Integer> typeAvailable = new HashMap<>();
             
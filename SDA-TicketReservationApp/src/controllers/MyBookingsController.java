@@ -13,18 +13,28 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
+import helpers.UiTask;
 import models.Booking;
 import models.Customer;
 import models.ETicket;
 import models.Payment;
+import models.PromoValidation;
 import models.Seat;
+import models.UserUpdate;
+import services.BookingEventPublisher;
+import services.BookingSearchService;
+import services.CancellationPolicyEngine;
+import services.LiveUpdateBus;
 import services.NotificationService;
+import services.PaymentService;
+import services.PromoCodeService;
 import config.DatabaseConfig;
 
 import java.io.IOException;
 import java.net.URL;
 import java.sql.*;
 import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.Date;
 
@@ -90,6 +100,26 @@ public class MyBookingsController implements Initializable {
         this.currentCustomer = customer;
         updateUserGreeting();
         loadUserBookings();
+        if (customer != null && customer.getUserID() != null) {
+            LiveUpdateBus.getInstance().subscribe(customer.getUserID(), bookingsContainer, this::applyLiveUpdate);
+        }
+    }
+
+    private void applyLiveUpdate(UserUpdate update) {
+        if (update.getBookingStatuses().isEmpty() || userBookings == null) {
+            return;
+        }
+        for (Map.Entry<String, String> change : update.getBookingStatuses().entrySet()) {
+            Booking shown = userBookings.stream()
+                .filter(b -> b.getBookingID().equals(change.getKey()))
+                .findFirst()
+                .orElse(null);
+            // Only reload when the screen is actually out of date
+            if (shown == null || change.getValue() == null || !change.getValue().equalsIgnoreCase(shown.getStatus())) {
+                loadUserBookings();
+                return;
+            }
+        }
     }
 
     private void initializeUIState() {
@@ -104,7 +134,7 @@ public class MyBookingsController implements Initializable {
         paymentFilter.getItems().addAll(ALL_PAYMENTS, "Paid", "Unpaid", "Pending Payment");
         paymentFilter.setValue(ALL_PAYMENTS);
         
-        searchField.setPromptText("Search by booking ID, route...");
+        searchField.setPromptText("Search by booking ID, route, date...");
     }
 
     private void setupEventHandlers() {
@@ -312,13 +342,9 @@ public class MyBookingsController implements Initializable {
             case "Unpaid": filteredBookings.removeIf(b -> b.hasPayment() && b.isPaid()); break;
             case "Pending Payment": filteredBookings.removeIf(b -> b.hasPayment() || b.isPaid()); break;
         }
-        String searchTerm = searchField.getText().toLowerCase();
-        if (!searchTerm.isEmpty()) {
-            filteredBookings.removeIf(b -> 
-                !b.getBookingID().toLowerCase().contains(searchTerm) &&
-                !b.getReservation().getRoute().getSource().toLowerCase().contains(searchTerm) &&
-                !b.getReservation().getRoute().getDestination().toLowerCase().contains(searchTerm)
-            );
+        String searchTerm = searchField.getText();
+        if (!searchTerm.trim().isEmpty()) {
+            filteredBookings.removeIf(b -> !BookingSearchService.matches(searchTerm, b));
         }
         
         displayBookings(filteredBookings);
@@ -555,52 +581,21 @@ public class MyBookingsController implements Initializable {
             return null; // No promo code provided
         }
         
-        String query = "SELECT Percentage, ValidityDate, IsActive FROM PromotionalCodes WHERE Code = ?";
-        
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            PreparedStatement stmt = conn.prepareStatement(query)) {
-            
-            stmt.setString(1, promoCode.trim().toUpperCase());
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                // Check if promo code is active
-                boolean isActive = rs.getBoolean("IsActive");
-                if (!isActive) {
-                    showAlert("Invalid Promo Code", "This promo code is no longer active.");
-                    return null;
-                }
-                
-                // Check validity date
-                Date validityDate = rs.getDate("ValidityDate");
-                Date currentDate = new Date(System.currentTimeMillis());
-                if (validityDate.before(currentDate)) {
-                    showAlert("Expired Promo Code", "This promo code has expired.");
-                    return null;
-                }
-                
-                // Get discount percentage
-                double percentage = rs.getDouble("Percentage");
-                
-                // Calculate discounted amount
-                double discountAmount = originalAmount * (percentage / 100);
-                double finalAmount = originalAmount - discountAmount;
-                
-                showAlert("Promo Code Applied!", String.format("🎉 %.1f%% discount applied! You saved PKR %.2f", 
-                    percentage, discountAmount));
-                
-                return finalAmount;
-                
-            } else {
-                showAlert("Invalid Promo Code", "The promo code you entered is invalid.");
-                return null;
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error validating promo code: " + e.getMessage());
-            showAlert("Error", "Failed to validate promo code. Please try again.");
+        // Served from the in-memory promo cache; a successful check also claims one use of the code
+        PromoValidation validation = PromoCodeService.getInstance().reserve(promoCode, currentCustomer.getUserID());
+        if (!validation.isValid()) {
+            showAlert("Invalid Promo Code", validation.getMessage());
             return null;
         }
+        
+        double percentage = validation.getPercentage();
+        double discountAmount = originalAmount * (percentage / 100);
+        double finalAmount = originalAmount - discountAmount;
+        
+        showAlert("Promo Code Applied!", String.format("🎉 %.1f%% discount applied! You saved PKR %.2f", 
+            percentage, discountAmount));
+        
+        return finalAmount;
     }
 
     private void proceedToPayment(Booking booking) {
@@ -706,109 +701,59 @@ public class MyBookingsController implements Initializable {
                 }
             }
             
-            String newPaymentId = "PAY-" + System.currentTimeMillis();
-            Payment payment = new Payment(newPaymentId, booking, finalAmount, selectedMethod);
-            payment.setStatus("Completed");
-            
             // Update payment amount with discount if applied
             booking.setTotalAmount(finalAmount);
-            
-            boolean success = processPaymentTransaction(booking, payment);
-            
-            if (success) {
-                booking.setPayment(payment);
-                booking.setStatus("Confirmed");
-                
-                // Store promo code usage if applied
-                if (promoCode != null && !promoCode.trim().isEmpty()) {
-                    recordPromoCodeUsage(promoCode, booking.getBookingID());
+            boolean promoApplied = promoCode != null && !promoCode.trim().isEmpty();
+
+            UiTask.whenDone(PaymentService.getInstance().pay(booking, finalAmount, selectedMethod), (outcome, error) -> {
+                if (error != null || outcome == null) {
+                    if (promoApplied) {
+                        PromoCodeService.getInstance().release(promoCode, currentCustomer.getUserID());
+                    }
+                    showErrorAlert("Payment processing failed.");
+                    return;
                 }
-                
-                showAlert("Success", "Payment confirmed successfully!");
-                loadUserBookings();
-            } else {
-                showErrorAlert("Payment processing failed.");
-            }
-        });      
-    }
 
-    private void recordPromoCodeUsage(String promoCode, String bookingId) {
-        String query = "INSERT INTO PromoCodeUsage (PromoCode, BookingID, UsedDate, CustomerID) VALUES (?, ?, GETDATE(), ?)";
-        
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            PreparedStatement stmt = conn.prepareStatement(query)) {
-            
-            stmt.setString(1, promoCode.trim().toUpperCase());
-            stmt.setString(2, bookingId);
-            stmt.setString(3, currentCustomer.getUserID());
-            stmt.executeUpdate();
-            
-        } catch (SQLException e) {
-            System.err.println("Error recording promo code usage: " + e.getMessage());
-            // Don't show error to user - this is just for tracking
-        }
+                switch (outcome.getStatus()) {
+                    case COMPLETED:
+                        if (promoApplied) {
+                            recordPromoCodeUsage(promoCode, booking);
+                        }
+                        showAlert("Success", "Payment confirmed successfully!");
+                        loadUserBookings();
+                        break;
+                    case PENDING:
+                        // The charge may still go through, so the use is recorded; if reconciliation fails the payment it is released
+                        if (promoApplied) {
+                            recordPromoCodeUsage(promoCode, booking);
+                        }
+                        showAlert("Payment Pending", outcome.getMessage());
+                        loadUserBookings();
+                        break;
+                    case ALREADY_PAID:
+                    case IN_PROGRESS:
+                        if (promoApplied) {
+                            PromoCodeService.getInstance().release(promoCode, currentCustomer.getUserID());
+                        }
+                        showAlert("Payment", outcome.getMessage());
+                        loadUserBookings();
+                        break;
+                    default:
+                        if (promoApplied) {
+                            PromoCodeService.getInstance().release(promoCode, currentCustomer.getUserID());
+                        }
+                        showErrorAlert("Payment processing failed: " + outcome.getMessage());
+                }
+            });
+        });      
     }
 
-    private boolean processPaymentTransaction(Booking booking, Payment payment) {
-        String insertPaymentSQL = "INSERT INTO Payment (PaymentID, Amount, PaymentMethod, PaymentStatus, PaymentDate) VALUES (?, ?, ?, ?, GETDATE())";
-        String updateBookingSQL = "UPDATE Booking SET PaymentID = ?, Status = ? WHERE BookingID = ?";
-
-        Connection conn = null;
-        PreparedStatement payStmt = null;
-        PreparedStatement bookStmt = null;
-
-        try {
-            conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            conn.setAutoCommit(false); // Start Transaction
-
-            // Insert Payment
-            payStmt = conn.prepareStatement(insertPaymentSQL);
-            payStmt.setString(1, payment.getPaymentID());
-            payStmt.setDouble(2, payment.getAmount());
-            payStmt.setString(3, payment.getPaymentMethod());
-            payStmt.setString(4, "Completed");
-            payStmt.executeUpdate();
-
-            // Update Booking
-            bookStmt = conn.prepareStatement(updateBookingSQL);
-            bookStmt.setString(1, payment.getPaymentID());
-            bookStmt.setString(2, "Confirmed"); // Or 'Completed' depending on your logic
-            bookStmt.setString(3, booking.getBookingID());
-            bookStmt.executeUpdate();
-
-            conn.commit();
-            try {
-                NotificationService notificationService = NotificationService.getInstance();
-                notificationService.sendPaymentSuccessNotification(
-                    currentCustomer,
-                    booking.getBookingID(),
-                    payment.getAmount()
-                );
-                System.out.println("✅ Payment notification sent for booking: " + booking.getBookingID());
-            } catch (Exception e) {
-                System.err.println("⚠️ Failed to send payment notification: " + e.getMessage());
-                e.printStackTrace();
-            }
-            return true;
-
-        } catch (SQLException e) {
-            System.err.println("Transaction Failed: " + e.getMessage());
-            if (conn != null) {
-                try {
-                    conn.rollback(); 
-                } catch (SQLException ex) {
-                    ex.printStackTrace();
-                }
-            }
-            return false;
-        } finally {
-            try {
-                if (payStmt != null) payStmt.close();
-                if (bookStmt != null) bookStmt.close();
-                if (conn != null) conn.close();
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
+    private void recordPromoCodeUsage(String promoCode, Booking booking) {
+        PromoCodeService promoCodes = PromoCodeService.getInstance();
+        if (!promoCodes.recordUsage(promoCode, booking, currentCustomer.getUserID())) {
+            // An unrecorded claim is never settled by reconciliation, so it is handed back here
+            promoCodes.release(promoCode, currentCustomer.getUserID());
+            showErrorAlert("Promo code usage could not be recorded for booking " + booking.getBookingID() + ".");
         }
     }
 
@@ -859,8 +804,11 @@ public class MyBookingsController implements Initializable {
 
         dialog.showAndWait().ifPresent(response -> {
             if (response == yesBtnType) {
-                if (updateBookingStatus(booking.getBookingID(), "Cancelled")) {
+                double refund = CancellationPolicyEngine.getInstance()
+                    .quoteRefund(booking, LocalDateTime.now()).getRefundAmount();
+                if (updateBookingStatus(booking.getBookingID(), "Cancelled", refund)) {
                     booking.setStatus("Cancelled"); 
+                    BookingEventPublisher.getInstance().publishBookingCancelled(booking, refund);
                     try {
                          NotificationService.getInstance().sendCancellationNotification(currentCustomer,booking.getBookingID());
                     } catch (Exception e) { e.printStackTrace(); }
@@ -907,7 +855,7 @@ public class MyBookingsController implements Initializable {
         dialog.showAndWait();
     }
 
-    private boolean updateBookingStatus(String bookingId, String status) {
+    private boolean updateBookingStatus(String bookingId, String status, double refundAmount) {
         Connection conn = null;
         PreparedStatement bookingStmt = null;
         PreparedStatement seatStmt = null;
@@ -932,10 +880,13 @@ public class MyBookingsController implements Initializable {
             }
             
             // 2. Update booking status
-            String bookingQuery = "UPDATE Booking SET Status = ? WHERE BookingID = ?";
+            String bookingQuery = "UPDATE Booking SET Status = ?, UpdatedAt = GETDATE(), " +
+                                  "CancelledAt = CASE WHEN ? = 'Cancelled' THEN COALESCE(CancelledAt, GETDATE()) END " +
+                                  "WHERE BookingID = ?";
             bookingStmt = conn.prepareStatement(bookingQuery);
             bookingStmt.setString(1, status);
-            bookingStmt.setString(2, bookingId);
+            bookingStmt.setString(2, status);
+            bookingStmt.setString(3, bookingId);
             int bookingUpdated = bookingStmt.executeUpdate();
             
             if (bookingUpdated <= 0) {
@@ -950,10 +901,13 @@ public class MyBookingsController implements Initializable {
             
             System.out.println("Released " + seatsUpdated + " seats for reservation: " + reservationId);
             if ("Cancelled".equals(status)) {
-                String updatePaymentQuery = "UPDATE Payment SET PaymentStatus = 'Refunded' " +
-                                        "WHERE PaymentID = (SELECT PaymentID FROM Booking WHERE BookingID = ?)";
+                // Only a completed payment can be refunded, and the amount is stored so reconciliation can check it
+                String updatePaymentQuery = "UPDATE Payment SET PaymentStatus = 'Refunded', RefundAmount = ? " +
+                                        "WHERE PaymentID = (SELECT PaymentID FROM Booking WHERE BookingID = ?) " +
+                                        "AND PaymentStatus = 'Completed'";
                 try (PreparedStatement paymentStmt = conn.prepareStatement(updatePaymentQuery)) {
-                    paymentStmt.setString(1, bookingId);
+                    paymentStmt.setDouble(1, refundAmount);
+                    paymentStmt.setString(2, bookingId);
                     paymentStmt.executeUpdate();
                 }
             }
@@ -13,11 +13,13 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import models.Customer;
 import models.Notification;
-import config.DatabaseConfig;
+import catalogs.NotificationCatalog;
+import helpers.UiTask;
+import models.UserUpdate;
+import services.LiveUpdateBus;
 
 import java.io.IOException;
 import java.net.URL;
-import java.sql.*;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -38,6 +40,10 @@ public class NotificationsController implements Initializable {
     private String currentUsername; 
     private Customer currentCustomer;
     private List<Notification> notifications = new ArrayList<>();
+    private boolean hasMore;
+    private UiTask<List<Notification>> pendingLoad;
+    
+    private static final int PAGE_SIZE = 20;
     
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' hh:mm a");
     public static void show(Stage stage, String username, Customer customer) {
@@ -74,6 +80,24 @@ public class NotificationsController implements Initializable {
         this.currentUsername = username;
         this.currentCustomer = customer;
         loadNotifications();
+        if (customer != null && customer.getUserID() != null) {
+            LiveUpdateBus.getInstance().subscribe(customer.getUserID(), notificationsContainer, this::applyLiveUpdate);
+        }
+    }
+    
+    private void applyLiveUpdate(UserUpdate update) {
+        if (update.isRefresh()) {
+            loadNotifications();
+            return;
+        }
+        if (update.getNotifications().isEmpty()) {
+            return;
+        }
+        // Updates arrive oldest first, while the feed shows newest first
+        for (Notification notification : update.getNotifications()) {
+            notifications.add(0, notification);
+        }
+        filterNotifications();
     }
     
     private void setupUI() {
@@ -96,6 +120,9 @@ public class NotificationsController implements Initializable {
     
     private void goBackToDashboard() {
         try {
+            if (pendingLoad != null) {
+                pendingLoad.cancel();
+            }
             Stage currentStage = (Stage) backButton.getScene().getWindow();
             DashboardController.show(currentStage, currentUsername, currentCustomer);
         } catch (Exception e) {
@@ -105,55 +132,45 @@ public class NotificationsController implements Initializable {
     }
 
     private void loadNotifications() {
+        if (pendingLoad != null) {
+            pendingLoad.cancel();
+        }
         setLoading(true);
-        new Thread(() -> {
-            try {
-                List<Notification> loadedNotifications = fetchNotificationsFromDatabase();
-                javafx.application.Platform.runLater(() -> {
-                    notifications = loadedNotifications;
-                    displayNotifications(notifications);
-                    setLoading(false);
-                });
-            } catch (Exception e) {
-                e.printStackTrace();
-                javafx.application.Platform.runLater(() -> {
-                    showAlert("Error", "Failed to load notifications: " + e.getMessage());
-                    setLoading(false);
-                });
+        String userID = currentCustomer != null ? currentCustomer.getUserID() : null;
+        pendingLoad = UiTask.supply(() -> fetchPage(userID, null), (page, error) -> {
+            setLoading(false);
+            if (error != null) {
+                showAlert("Error", "Failed to load notifications: " + error.getMessage());
+                return;
             }
-        }).start();
+            notifications = new ArrayList<>(page);
+            hasMore = page.size() == PAGE_SIZE;
+            filterNotifications();
+        });
     }
     
-    private List<Notification> fetchNotificationsFromDatabase() {
-        List<Notification> notificationsList = new ArrayList<>();
-        String query = "SELECT * FROM Notifications WHERE UserID = ? ORDER BY CreatedAt DESC";
-        
-        try (Connection conn = DriverManager.getConnection(DatabaseConfig.getDbUrl(), DatabaseConfig.getDbUser(), DatabaseConfig.getDbPassword());
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-            
-            if (currentCustomer == null || currentCustomer.getUserID() == null) {
-                return notificationsList;
-            }
-            
-            stmt.setString(1, currentCustomer.getUserID());
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                notificationsList.add(new Notification(
-                    rs.getInt("NotificationID"),
-                    rs.getString("UserID"),
-                    rs.getString("Title"),
-                    rs.getString("Message"),
-                    rs.getString("Type"),
-                    rs.getBoolean("IsRead"),
-                    rs.getTimestamp("CreatedAt"),
-                    rs.getString("RelatedID")
-                ));
+    private void loadMoreNotifications() {
+        if (notifications.isEmpty() || (pendingLoad != null && !pendingLoad.isDone())) {
+            return;
+        }
+        String userID = currentCustomer != null ? currentCustomer.getUserID() : null;
+        Notification last = notifications.get(notifications.size() - 1);
+        pendingLoad = UiTask.supply(() -> fetchPage(userID, last), (page, error) -> {
+            if (error != null) {
+                showAlert("Error", "Failed to load notifications: " + error.getMessage());
+                return;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            notifications.addAll(page);
+            hasMore = page.size() == PAGE_SIZE;
+            filterNotifications();
+        });
+    }
+    
+    private List<Notification> fetchPage(String userID, Notification after) {
+        if (userID == null) {
+            return new ArrayList<>();
         }
-        return notificationsList;
+        return NotificationCatalog.getInstance().getNotificationsPage(userID, after, PAGE_SIZE);
     }
 
     private VBox createNotificationCard(Notification notification) {
@@ -233,7 +250,7 @@ public class NotificationsController implements Initializable {
     private void displayNotifications(List<Notification> notificationsToDisplay) {
         notificationsContainer.getChildren().clear();
         
-        if (notificationsToDisplay == null || notificationsToDisplay.isEmpty()) {
+        if ((notificationsToDisplay == null || notificationsToDisplay.isEmpty()) && !hasMore) {
             VBox emptyContainer = new VBox();
             emptyContainer.setAlignment(Pos.CENTER);
             emptyContainer.setPadding(new Insets(40));
@@ -251,6 +268,19 @@ public class NotificationsController implements Initializable {
             VBox notificationCard = createNotificationCard(notification);
             notificationsContainer.getChildren().add(notificationCard);
         }
+        
+        if (hasMore) {
+            Button loadMoreButton = new Button("Load More");
+            loadMoreButton.getStyleClass().add("btn-secondary");
+            loadMoreButton.setOnAction(e -> {
+                loadMoreButton.setDisable(true);
+                loadMoreNotifications();
+            });
+            HBox loadMoreRow = new HBox(loadMoreButton);
+            loadMoreRow.setAlignment(Pos.CENTER);
+            loadMoreRow.setPadding(new Insets(10));
+            notificationsContainer.getChildren().add(loadMoreRow);
+        }
     }
 
     private String formatTime(Date date) {
@@ -273,7 +303,7 @@ public class NotificationsController implements Initializable {
     
     private void markAsRead(Notification notification, VBox card) {
         if (notification == null) return;
-        if (updateNotificationReadStatus(notification.getNotificationID(), true)) {
+        if (NotificationCatalog.getInstance().markAsRead(notification.getNotificationID())) {
             notification.setRead(true);
             card.getStyleClass().remove("unread");
         }
@@ -287,7 +317,8 @@ public class NotificationsController implements Initializable {
         
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                if (markAllNotificationsAsRead()) {
+                if (currentCustomer != null) {
+                    NotificationCatalog.getInstance().markAllAsRead(currentCustomer.getUserID());
                     for (Notification n : notifications) n.setRead(true);
                     filterNotifications();
                 }
@@ -295,31 +326,6 @@ public class NotificationsController implements Initializable {
         });
     }
     
-    private boolean markAllNotificationsAsRead() {
-        String query = "UPDATE Notifications SET IsRead = 1 WHERE UserID = ? AND IsRead = 0";
-        try (Connection conn = DriverManager.getConnection(DatabaseConfig.getDbUrl(), DatabaseConfig.getDbUser(), DatabaseConfig.getDbPassword());
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-            stmt.setString(1, currentCustomer.getUserID());
-            return stmt.executeUpdate() >= 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
-    
-    private boolean updateNotificationReadStatus(int notificationId, boolean isRead) {
-        String query = "UPDATE Notifications SET IsRead = ? WHERE NotificationID = ?";
-        try (Connection conn = DriverManager.getConnection(DatabaseConfig.getDbUrl(), DatabaseConfig.getDbUser(), DatabaseConfig.getDbPassword());
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-            stmt.setBoolean(1, isRead);
-            stmt.setInt(2, notificationId);
-            return stmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
-    
     private void filterNotifications() {
         String filter = filterCombo.getValue();
         if (filter == null || filter.equals("All Notifications")) {
@@ -8,19 +8,22 @@ import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
+import helpers.UiTask;
 import models.SupportStaff;
+import models.User;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import java.net.URL;
 import java.util.ResourceBundle;
 
-import catalogs.UserCatalog;
+import services.AuthenticationService;
 
 public class StaffLoginController implements Initializable {
 
-    private UserCatalog staff = new UserCatalog("SupportStaff");
+    private AuthenticationService authService = AuthenticationService.getInstance();
     private SupportStaff currentStaff;
+    private UiTask<User> pendingLogin;
 
     @FXML private Text staffTitle;
     @FXML private Text staffSubtitle;
@@ -49,26 +52,31 @@ public class StaffLoginController implements Initializable {
 
         if (username.isEmpty() || password.isEmpty()) {
             showStatusMessage("Please enter both username and password", "error");
-        } else if (staff.authenticateUser(username, password)) {
-            showStatusMessage("Staff login successful! Redirecting...", "success");
-            currentStaff = (SupportStaff)staff.getUserByUsername(username);
-            new Thread(() -> {
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException ex) {
-                    ex.printStackTrace();
-                }
-                javafx.application.Platform.runLater(() -> {
-                    showStaffDashboard(username);
-                });
-            }).start();
-        } else {
-            showStatusMessage("Invalid staff credentials", "error");
+            return;
         }
+
+        long startedAt = System.nanoTime();
+        loginButton.setDisable(true);
+        showStatusMessage("Signing in...", "info");
+        pendingLogin = UiTask.whenDone(authService.authenticateAsync(username, password, "SupportStaff"), (staffUser, error) -> {
+            loginButton.setDisable(false);
+            if (error != null) {
+                showStatusMessage("Login service is busy. Please try again.", "error");
+            } else if (staffUser != null) {
+                currentStaff = (SupportStaff)staffUser;
+                showStaffDashboard(username);
+                System.out.println("Staff login to dashboard: " + (System.nanoTime() - startedAt) / 1_000_000 + " ms");
+            } else {
+                showStatusMessage("Invalid staff credentials", "error");
+            }
+        });
     }
 
     @FXML
     private void handleBackToLoginTypes() {
+        if (pendingLogin != null) {
+            pendingLogin.cancel();
+        }
         try {
             Stage currentStage = (Stage) backButton.getScene().getWindow();
             MainController.showoptions(currentStage);
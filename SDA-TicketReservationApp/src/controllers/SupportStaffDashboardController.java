@@ -11,22 +11,35 @@ import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
+import helpers.UiTask;
+import models.BookingSearchEntry;
+import models.BookingSearchPage;
 import models.SupportQuery;
 import models.SupportStaff;
 import catalogs.QueryCatalog;
+import services.BookingSearchService;
+import services.SupportQueueService;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 
 public class SupportStaffDashboardController {
 
+    private static final int BOOKING_PAGE_SIZE = 50;
+
     private QueryCatalog queryCatalog = new QueryCatalog();
     private String staffUsername;
     private SupportStaff currentStaff;
+    private String bookingCursor;
+    private UiTask<BookingSearchPage> bookingSearchTask;
+    private UiTask<SupportQuery> claimTask;
+    // Set while the last manual refresh failed, so the queue status shows the data may be out of date
+    private boolean queueStale;
 
     @FXML private Text welcomeTitle;
     @FXML private Text userGreeting;
@@ -47,10 +60,24 @@ public class SupportStaffDashboardController {
     @FXML private Button sendResponseButton;
     @FXML private Button markResolvedButton;
     @FXML private Button escalateButton;
+    @FXML private Button claimNextButton;
+    @FXML private Label queueStatusLabel;
     @FXML private Button refreshButton;
     @FXML private Button logoutButton;
     @FXML private Button mainPageButton;
     
+    @FXML private TextField bookingSearchField;
+    @FXML private Button bookingSearchButton;
+    @FXML private Button moreBookingsButton;
+    @FXML private Label bookingResultsLabel;
+    @FXML private TableView<BookingSearchEntry> bookingResultsTable;
+    @FXML private TableColumn<BookingSearchEntry, String> bookingIdResultColumn;
+    @FXML private TableColumn<BookingSearchEntry, String> bookingCustomerColumn;
+    @FXML private TableColumn<BookingSearchEntry, String> bookingRouteColumn;
+    @FXML private TableColumn<BookingSearchEntry, String> bookingTravelDateColumn;
+    @FXML private TableColumn<BookingSearchEntry, String> bookingStatusColumn;
+    @FXML private TableColumn<BookingSearchEntry, String> bookingPaymentColumn;
+    
     @FXML private Label pendingQueriesLabel;
     @FXML private Label resolvedTodayLabel;
     @FXML private Label responseRateLabel;
@@ -101,6 +128,8 @@ public class SupportStaffDashboardController {
         Platform.runLater(() -> {
             loadQueriesData();
             loadSupportStats();
+            // Starts loading the booking index in the background so the first lookup is already fast
+            BookingSearchService.getInstance();
         });
     }
 
@@ -109,6 +138,7 @@ public class SupportStaffDashboardController {
         System.out.println("SupportStaffDashboardController initialized");
         setupEventHandlers();
         initializeTable();
+        initializeBookingSearch();
     }
 
     private void setupEventHandlers() {
@@ -129,6 +159,9 @@ public class SupportStaffDashboardController {
         if (escalateButton != null) {
             escalateButton.setOnAction(e -> escalateQuery());
         }
+        if (claimNextButton != null) {
+            claimNextButton.setOnAction(e -> claimNextQuery());
+        }
         if (refreshButton != null) {
             refreshButton.setOnAction(e -> refreshData());
         }
@@ -165,8 +198,10 @@ public class SupportStaffDashboardController {
             statusColumn.setCellValueFactory(cellData -> {
                 SupportQuery query = cellData.getValue();
                 String status = query.isStatus() ? "Resolved" : "Pending";
-                if (query.getSupportStaff() == null) {
+                if (!query.isStatus() && query.getSupportStaff() == null) {
                     status = "Unassigned";
+                } else if (!query.isStatus() && isMine(query)) {
+                    status = "Mine";
                 }
                 return new javafx.beans.property.SimpleStringProperty(status);
             });
@@ -194,10 +229,71 @@ public class SupportStaffDashboardController {
         }
     }
 
+    private void initializeBookingSearch() {
+        if (bookingResultsTable == null) {
+            return;
+        }
+        bookingIdResultColumn.setCellValueFactory(new PropertyValueFactory<>("bookingID"));
+        bookingCustomerColumn.setCellValueFactory(new PropertyValueFactory<>("customerName"));
+        bookingRouteColumn.setCellValueFactory(new PropertyValueFactory<>("route"));
+        bookingTravelDateColumn.setCellValueFactory(cellData -> new javafx.beans.property.SimpleStringProperty(
+            cellData.getValue().getTravelDate() != null ? cellData.getValue().getTravelDate().toString() : ""));
+        bookingStatusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
+        bookingPaymentColumn.setCellValueFactory(new PropertyValueFactory<>("paymentStatus"));
+        bookingResultsTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        bookingResultsTable.setPlaceholder(new Label("Search for a booking above"));
+
+        bookingSearchField.textProperty().addListener((obs, oldVal, newVal) -> searchBookings(false));
+        bookingSearchButton.setOnAction(e -> searchBookings(false));
+        moreBookingsButton.setOnAction(e -> searchBookings(true));
+    }
+
+    // Each keystroke replaces the previous search; "More results" continues from the cursor of the last page
+    private void searchBookings(boolean more) {
+        if (bookingSearchTask != null) {
+            bookingSearchTask.cancel();
+        }
+        String text = bookingSearchField.getText();
+        if (!more && text.trim().isEmpty()) {
+            bookingResultsTable.getItems().clear();
+            bookingResultsLabel.setText("");
+            moreBookingsButton.setDisable(true);
+            return;
+        }
+        if (!BookingSearchService.isSearchable(text)) {
+            bookingResultsTable.getItems().clear();
+            bookingResultsTable.setPlaceholder(new Label("Type at least 2 characters to search"));
+            bookingResultsLabel.setText("");
+            moreBookingsButton.setDisable(true);
+            return;
+        }
+
+        String cursor = more ? bookingCursor : null;
+        BookingSearchService search = BookingSearchService.getInstance();
+        bookingSearchTask = UiTask.supply(() -> search.search(text, null, null, cursor, BOOKING_PAGE_SIZE), (page, error) -> {
+            if (error != null) {
+                showError("Booking search failed: " + error.getMessage());
+                return;
+            }
+            if (more) {
+                bookingResultsTable.getItems().addAll(page.getResults());
+            } else {
+                bookingResultsTable.getItems().setAll(page.getResults());
+                bookingResultsTable.setPlaceholder(new Label("No bookings match \"" + text.trim() + "\""));
+            }
+            bookingCursor = page.getNextCursor();
+            moreBookingsButton.setDisable(!page.hasMore());
+            bookingResultsLabel.setText(bookingResultsTable.getItems().size() + " shown" +
+                (search.isReady() ? "" : " (index still loading, results may be incomplete)"));
+        });
+    }
+
     private void loadQueriesData() {
         if (queryCatalog != null && queriesTable != null) {
             try {
-                ArrayList<SupportQuery> queries = queryCatalog.getAllQueries();
+                // Open queries first, longest waiting at the top, then resolved ones newest first
+                ArrayList<SupportQuery> queries = queryCatalog.getPendingQueries();
+                queries.addAll(queryCatalog.getResolvedQueries());
                 System.out.println("Loading " + queries.size() + " queries into table");
                 for (SupportQuery query : queries) {
                     System.out.println("Adding to table: " + query.getQueryID() + " - " + 
@@ -258,11 +354,14 @@ public class SupportStaffDashboardController {
             return;
         }
 
+        if (!takeOwnership(selectedQuery)) {
+            return;
+        }
+
         try {
             boolean success = queryCatalog.updateQueryResponse(selectedQuery.getQueryID(), response);
             
             if (success) {
-                queryCatalog.assignSupportStaff(selectedQuery.getQueryID(), currentStaff);
                 showSuccess("Response sent successfully!");
                 responseArea.clear();
                 refreshData();
@@ -281,11 +380,14 @@ public class SupportStaffDashboardController {
             return;
         }
 
+        if (!takeOwnership(selectedQuery)) {
+            return;
+        }
+
         try {
             if (selectedQuery.getResponse() == null || selectedQuery.getResponse().isEmpty()) {
                 boolean success = queryCatalog.updateQueryResponse(selectedQuery.getQueryID(), "Issue resolved by support staff.");
                 if (success) {
-                    queryCatalog.assignSupportStaff(selectedQuery.getQueryID(), currentStaff);
                     showSuccess("Query marked as resolved!");
                 } else {
                     showError("Failed to mark query as resolved.");
@@ -308,13 +410,16 @@ public class SupportStaffDashboardController {
             return;
         }
 
+        if (!takeOwnership(selectedQuery)) {
+            return;
+        }
+
         try {
             String escalationNote = "\n\n[ESCALATED TO SENIOR SUPPORT - " + new java.util.Date() + "]";
             String newResponse = (selectedQuery.getResponse() != null ? selectedQuery.getResponse() : "") + escalationNote;
             
             boolean success = queryCatalog.updateQueryResponse(selectedQuery.getQueryID(), newResponse);
             if (success) {
-                queryCatalog.assignSupportStaff(selectedQuery.getQueryID(), currentStaff);
                 showSuccess("Query escalated to senior support!");
                 refreshData();
             } else {
@@ -327,9 +432,70 @@ public class SupportStaffDashboardController {
 
     private void refreshData() {
         System.out.println("Refreshing data...");
+        UiTask.supply(() -> SupportQueueService.getInstance().sync(), (synced, error) -> {
+            queueStale = error != null || !Boolean.TRUE.equals(synced);
+            loadQueriesData();
+            loadSupportStats();
+            if (queueStale) {
+                showError("Could not refresh the support queue" + (error != null ? ": " + error.getMessage() : "") +
+                          ". Showing the last loaded data.");
+            } else {
+                showSuccess("Data refreshed successfully");
+            }
+        });
+    }
+
+    private void claimNextQuery() {
+        if (currentStaff == null) {
+            showError("Staff profile not loaded; cannot claim queries");
+            return;
+        }
+        if (claimTask != null && !claimTask.isDone()) {
+            return;
+        }
+
+        claimNextButton.setDisable(true);
+        claimTask = UiTask.supply(() -> SupportQueueService.getInstance().claimNext(currentStaff), (query, error) -> {
+            claimNextButton.setDisable(false);
+            if (error != null) {
+                showError("Could not claim a query: " + error.getMessage());
+                return;
+            }
+            loadQueriesData();
+            loadSupportStats();
+            if (query == null) {
+                showSuccess("No unassigned queries are waiting");
+                return;
+            }
+            queriesTable.getSelectionModel().select(query);
+            queriesTable.scrollTo(query);
+            if (responseArea != null) {
+                responseArea.requestFocus();
+            }
+        });
+    }
+
+    // Claims an unassigned query before answering it; refuses if another agent already has it
+    private boolean takeOwnership(SupportQuery query) {
+        if (currentStaff == null || isMine(query)) {
+            return true;
+        }
+        if (query.getSupportStaff() == null && queryCatalog.assignSupportStaff(query.getQueryID(), currentStaff)) {
+            return true;
+        }
+
+        SupportQuery latest = queryCatalog.findQuery(query.getQueryID());
+        String owner = latest != null && latest.getSupportStaff() != null ? latest.getSupportStaff().getName() : null;
+        showError("Query " + query.getQueryID() + " is already being handled" +
+            (owner != null ? " by " + owner : " by another agent"));
         loadQueriesData();
         loadSupportStats();
-        showSuccess("Data refreshed successfully");
+        return false;
+    }
+
+    private boolean isMine(SupportQuery query) {
+        return currentStaff != null && query.getSupportStaff() != null &&
+            currentStaff.getUserID().equals(query.getSupportStaff().getUserID());
     }
 
     private void loadSupportStats() {
@@ -344,6 +510,13 @@ public class SupportStaffDashboardController {
             if (resolvedTodayLabel != null) resolvedTodayLabel.setText(String.valueOf(resolvedCount));
             if (responseRateLabel != null) responseRateLabel.setText(String.format("%.1f%%", responseRate));
             if (avgResponseTimeLabel != null) avgResponseTimeLabel.setText("24h");
+
+            SupportQueueService queue = SupportQueueService.getInstance();
+            if (queueStatusLabel != null) {
+                queueStatusLabel.setText(queue.getUnassignedCount() + " waiting" +
+                    (currentStaff != null ? ", " + queue.getAssignedCount(currentStaff.getUserID()) + " assigned to you" : "") +
+                    (queueStale ? " (not refreshed)" : ""));
+            }
         }
     }
 
@@ -12,6 +12,9 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import models.Customer;
 import catalogs.UserCatalog;
+import helpers.PasswordHasher;
+import helpers.UiTask;
+import services.AuthenticationService;
 
 import java.io.IOException;
 import java.net.URL;
@@ -19,8 +22,6 @@ import java.util.ResourceBundle;
 
 public class UpdateProfileController implements Initializable {
 
-    private UserCatalog userCatalog = new UserCatalog("Customer");
-    
     @FXML private Text pageTitle;
     @FXML private Text userGreeting;
     
@@ -111,15 +112,15 @@ public class UpdateProfileController implements Initializable {
             return;
         }
         
-        if (!currentCustomer.getUsername().equals(username)) {
-            if (userCatalog.isUsernameTaken(username)) {
+        if (!currentCustomer.getUsername().equalsIgnoreCase(username)) {
+            if (AuthenticationService.getInstance().isUsernameTaken(username)) {
                 showAlert("Error", "Username is already taken. Please choose a different username.");
                 return;
             }
         }
         
-        if (!currentCustomer.getEmail().equals(email)) {
-            if (userCatalog.isEmailTaken(email)) {
+        if (!currentCustomer.getEmail().equalsIgnoreCase(email)) {
+            if (AuthenticationService.getInstance().isEmailTaken(email)) {
                 showAlert("Error", "Email is already taken. Please use a different email address.");
                 return;
             }
@@ -164,32 +165,40 @@ public class UpdateProfileController implements Initializable {
             showAlert("Error", "New password must be at least 6 characters long");
             return;
         }
-        if (!currentCustomer.getPassword().equals(currentPassword)) {
-            showAlert("Error", "Current password is incorrect");
-            return;
-        }
-        
-        try {
-            boolean success = userCatalog.updateUserPassword(currentCustomer.getUserID(), newPassword);
-        
-            if (success) {
-                currentCustomer.setPassword(newPassword);
-                showAlert("Success", "Password changed successfully!");
-                currentPasswordField.clear();
-                newPasswordField.clear();
-                confirmPasswordField.clear();
-            } else {
-                showAlert("Error", "Failed to change password. Please try again.");
+        // Both key derivations take a few hundred ms, so they run off the FX thread
+        String storedPassword = currentCustomer.getPassword();
+        String userID = currentCustomer.getUserID();
+        changePasswordButton.setDisable(true);
+        UiTask.supply(() -> {
+            if (!PasswordHasher.verify(currentPassword, storedPassword)) {
+                return null;
             }
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            showAlert("Error", "Error changing password: " + e.getMessage());
-        }
+            String passwordHash = PasswordHasher.hash(newPassword);
+            if (!UserCatalog.savePasswordHash(userID, passwordHash)) {
+                throw new IllegalStateException("Failed to change password. Please try again.");
+            }
+            return passwordHash;
+        }, (passwordHash, error) -> {
+            changePasswordButton.setDisable(false);
+            if (error != null) {
+                System.err.println("Error changing password: " + error.getMessage());
+                showAlert("Error", "Error changing password: " + error.getMessage());
+                return;
+            }
+            if (passwordHash == null) {
+                showAlert("Error", "Current password is incorrect");
+                return;
+            }
+            currentCustomer.setPassword(passwordHash);
+            showAlert("Success", "Password changed successfully!");
+            currentPasswordField.clear();
+            newPasswordField.clear();
+            confirmPasswordField.clear();
+        });
     }
     
     private boolean updateUserInCatalog() {
-        return userCatalog.updateUser(currentCustomer);
+        return UserCatalog.saveProfile(currentCustomer);
     }
     
     private boolean isValidEmail(String email) {
@@ -133,6 +133,8 @@ CREATE TABLE Booking (
     TotalAmount DECIMAL(10,2) NOT NULL,
     Status NVARCHAR(20) DEFAULT 'Confirmed', -- Confirmed, Cancelled, Completed
     PaymentID NVARCHAR(20),
+    CancelledAt DATETIME NULL, -- Metrics history buckets cancellations and refunds by this time
+    UpdatedAt DATETIME NOT NULL DEFAULT GETDATE(), -- Set by every booking write
     FOREIGN KEY (CustomerID) REFERENCES Users(UserID),
     FOREIGN KEY (ReservationID) REFERENCES Reservation(ReservationID),
     FOREIGN KEY (PaymentID) REFERENCES Payment(PaymentID)
@@ -166,6 +168,38 @@ CREATE TABLE Notifications (
     FOREIGN KEY (UserID) REFERENCES Users(UserID) ON DELETE CASCADE
 );
 
+-- Backs the paged notification feed and the unread counter queries
+CREATE INDEX IX_Notifications_User_Created ON Notifications (UserID, CreatedAt DESC, NotificationID DESC) INCLUDE (IsRead);
+-- Seeks straight to a user's unread rows for badge counts and the unread-only feed
+CREATE INDEX IX_Notifications_User_Read_Created ON Notifications (UserID, IsRead, CreatedAt DESC) INCLUDE (Type);
+-- Lets the retention job find old read rows without scanning the whole table
+CREATE INDEX IX_Notifications_Read_Created ON Notifications (CreatedAt) WHERE IsRead = 1;
+
+-- Read notifications past the retention age are moved here by the retention job
+CREATE TABLE NotificationsArchive (
+    NotificationID INT NOT NULL,
+    UserID NVARCHAR(50) NOT NULL,
+    Title NVARCHAR(200) NOT NULL,
+    Message NVARCHAR(1000) NOT NULL,
+    Type NVARCHAR(20) NOT NULL,
+    IsRead BIT NOT NULL,
+    CreatedAt DATETIME NOT NULL,
+    RelatedID NVARCHAR(100) NULL,
+    ArchivedAt DATETIME DEFAULT GETDATE(),
+    CONSTRAINT PK_NotificationsArchive PRIMARY KEY NONCLUSTERED (NotificationID)
+);
+CREATE CLUSTERED INDEX IX_NotificationsArchive_User_Created ON NotificationsArchive (UserID, CreatedAt DESC)
+    WITH (DATA_COMPRESSION = PAGE);
+
+-- One row per reminder sent, so restarts never send the same departure reminder twice
+CREATE TABLE DepartureReminders (
+    BookingID NVARCHAR(20) NOT NULL,
+    OffsetMinutes INT NOT NULL,
+    SentAt DATETIME DEFAULT GETDATE(),
+    PRIMARY KEY (BookingID, OffsetMinutes),
+    FOREIGN KEY (BookingID) REFERENCES Booking(BookingID)
+);
+
 Select* from PromotionalCodes
 CREATE TABLE PromoCodeUsage (
     UsageID INT IDENTITY(1,1) PRIMARY KEY,
@@ -178,6 +212,85 @@ CREATE TABLE PromoCodeUsage (
     FOREIGN KEY (CustomerID) REFERENCES Users(UserID)
 );
 
+-- Optional usage limits; NULL means unlimited
+ALTER TABLE PromotionalCodes ADD MaxUses INT NULL, MaxUsesPerCustomer INT NULL;
+CREATE INDEX IX_PromoCodeUsage_Code_Customer ON PromoCodeUsage (PromoCode, CustomerID);
+
+-- Bulk departure cancellation; each job checkpoints the last booking it processed so it can resume
+ALTER TABLE Payment ADD RefundAmount DECIMAL(10,2) NULL;
+CREATE TABLE ScheduleCancellationJobs (
+    JobID NVARCHAR(40) PRIMARY KEY,
+    ScheduleID NVARCHAR(20) NOT NULL,
+    Reason NVARCHAR(500) NULL,
+    Status NVARCHAR(20) NOT NULL DEFAULT 'Running', -- Running, Completed, Failed
+    CancelledAt DATETIME NOT NULL DEFAULT GETDATE(),
+    RefundPercentage DECIMAL(5,2) NOT NULL,
+    TargetCount INT NOT NULL DEFAULT 0,
+    ProcessedCount INT NOT NULL DEFAULT 0,
+    RefundTotal DECIMAL(12,2) NOT NULL DEFAULT 0,
+    LastBookingID NVARCHAR(20) NOT NULL DEFAULT '',
+    UpdatedAt DATETIME NOT NULL DEFAULT GETDATE(),
+    FOREIGN KEY (ScheduleID) REFERENCES Schedule(ScheduleID)
+);
+CREATE INDEX IX_Reservation_Schedule ON Reservation (ScheduleID);
+-- Departure reminders load the next hour's departures by date and departure time
+CREATE INDEX IX_Schedule_Date_Departure ON Schedule (Date, DepartureTime);
+CREATE INDEX IX_Booking_Reservation_Status ON Booking (ReservationID, Status) INCLUDE (CustomerID, PaymentID);
+
+-- One row per bulk price change, written in the same transaction as the change itself
+CREATE TABLE PriceChangeAudit (
+    AuditID BIGINT IDENTITY(1,1) PRIMARY KEY,
+    ChangedBy NVARCHAR(100) NULL,
+    ChangedAt DATETIME NOT NULL DEFAULT GETDATE(),
+    ChangeMode NVARCHAR(20) NOT NULL, -- PERCENTAGE, ABSOLUTE, SEAT_TYPES
+    ChangeValue DECIMAL(10,2) NOT NULL,
+    Scope NVARCHAR(1000) NULL,
+    RoutesUpdated INT NOT NULL DEFAULT 0,
+    SeatsUpdated INT NOT NULL DEFAULT 0
+);
+CREATE INDEX IX_Seat_Schedule_Type ON Seat (ScheduleID, SeatType) INCLUDE (Availability, Price);
+
+-- Pending payments are swept by the reconciliation job
+CREATE INDEX IX_Payment_Status_Date ON Payment (PaymentStatus, PaymentDate);
+
+-- Payment/booking reconciliation; each run checkpoints the last payment key it settled so it can resume
+CREATE TABLE ReconciliationRuns (
+    RunID NVARCHAR(40) PRIMARY KEY,
+    Status NVARCHAR(20) NOT NULL DEFAULT 'Running', -- Running, Completed
+    StartedAt DATETIME NOT NULL DEFAULT GETDATE(),
+    FinishedAt DATETIME NULL,
+    LastPaymentID NVARCHAR(50) NOT NULL DEFAULT '',
+    PaymentsScanned BIGINT NOT NULL DEFAULT 0,
+    BookingsScanned BIGINT NOT NULL DEFAULT 0,
+    MismatchCount BIGINT NOT NULL DEFAULT 0,
+    UpdatedAt DATETIME NOT NULL DEFAULT GETDATE()
+);
+CREATE TABLE ReconciliationMismatches (
+    MismatchID BIGINT IDENTITY(1,1) PRIMARY KEY,
+    RunID NVARCHAR(40) NOT NULL,
+    MismatchType NVARCHAR(40) NOT NULL,
+    PaymentID NVARCHAR(50) NULL,
+    BookingID NVARCHAR(20) NULL,
+    PaymentStatus NVARCHAR(20) NULL,
+    BookingStatus NVARCHAR(20) NULL,
+    Amount DECIMAL(10,2) NULL,
+    Detail NVARCHAR(300) NULL,
+    FOREIGN KEY (RunID) REFERENCES ReconciliationRuns(RunID)
+);
+CREATE INDEX IX_ReconciliationMismatches_Run ON ReconciliationMismatches (RunID, MismatchType);
+CREATE INDEX IX_Booking_Payment ON Booking (PaymentID) INCLUDE (Status, TotalAmount);
+
+-- Leaderboards read recent bookings by booking time; the in-app search index polls for rows changed since its last pass
+CREATE INDEX IX_Booking_DateTime ON Booking (BookingDateTime);
+CREATE INDEX IX_Booking_UpdatedAt ON Booking (UpdatedAt);
+
+-- Support triage: claim-next seeks the oldest open, unassigned query; the in-app queue syncs by UpdatedAt
+CREATE INDEX IX_SupportQueries_Queue ON SupportQueries (Status, SupportStaffID, AskedOn, QueryID);
+CREATE INDEX IX_SupportQueries_UpdatedAt ON SupportQueries (UpdatedAt);
+
+-- Databases created before Booking.CancelledAt existed are brought up to date by UpgradeExistingDB.sql
+CREATE INDEX IX_Booking_CancelledAt ON Booking (CancelledAt) WHERE CancelledAt IS NOT NULL;
+
 -- Insert sample notifications (optional)
 INSERT INTO Notifications (UserID, Title, Message, Type, RelatedID) VALUES
 ('CUST-8299105d-4063-45fd-bc64-d86c7271dbee', '🎉 Welcome to TicketGenie!', 'Thank you for registering with TicketGenie. Enjoy seamless bus ticket booking experience.', 'system', NULL),
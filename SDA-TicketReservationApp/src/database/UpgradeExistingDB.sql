@@ -0,0 +1,32 @@
+-- Brings a TicketGenieDB created from an earlier NewTicketReservationDB.sql up to date; safe to run more than once
+USE TicketGenieDB;
+GO
+
+IF COL_LENGTH('Booking', 'CancelledAt') IS NULL
+    ALTER TABLE Booking ADD CancelledAt DATETIME NULL;
+GO
+
+-- The real cancellation time of older bookings is unknown. The payment time is used, so an old refund lands in the
+-- same bucket as the revenue it reverses, and a fully refunded booking nets to zero as the old report filter had it.
+UPDATE b SET b.CancelledAt = COALESCE(p.PaymentDate, b.BookingDateTime)
+FROM Booking b
+LEFT JOIN Payment p ON p.PaymentID = b.PaymentID
+WHERE b.Status = 'Cancelled' AND b.CancelledAt IS NULL;
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Booking_CancelledAt' AND object_id = OBJECT_ID('Booking'))
+    CREATE INDEX IX_Booking_CancelledAt ON Booking (CancelledAt) WHERE CancelledAt IS NOT NULL;
+GO
+
+-- The booking search index catches up on UpdatedAt; existing rows start out stamped with the upgrade time
+IF COL_LENGTH('Booking', 'UpdatedAt') IS NULL
+    ALTER TABLE Booking ADD UpdatedAt DATETIME NOT NULL CONSTRAINT DF_Booking_UpdatedAt DEFAULT GETDATE();
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Booking_UpdatedAt' AND object_id = OBJECT_ID('Booking'))
+    CREATE INDEX IX_Booking_UpdatedAt ON Booking (UpdatedAt);
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_Schedule_Date_Departure' AND object_id = OBJECT_ID('Schedule'))
+    CREATE INDEX IX_Schedule_Date_Departure ON Schedule (Date, DepartureTime);
+GO
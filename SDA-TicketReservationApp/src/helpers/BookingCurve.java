@@ -0,0 +1,45 @@
+package helpers;
+
+public class BookingCurve {
+    private final double[] seatsByLeadDays;
+    private double totalSeats;
+    private int departures;
+
+    public BookingCurve(int maxLeadDays) {
+        this.seatsByLeadDays = new double[maxLeadDays + 1];
+    }
+
+    public void addSeats(int leadDays, double seats) {
+        int index = Math.max(0, Math.min(leadDays, seatsByLeadDays.length - 1));
+        seatsByLeadDays[index] += seats;
+        totalSeats += seats;
+    }
+
+    public void addDepartures(int count) {
+        departures += count;
+    }
+
+    public int getDepartures() {
+        return departures;
+    }
+
+    public double getAverageFinalSeats() {
+        return departures > 0 ? totalSeats / departures : 0;
+    }
+
+    public double fractionBookedBy(int daysToDeparture) {
+        if (daysToDeparture <= 0 || totalSeats <= 0) {
+            return 1.0;
+        }
+        int from = Math.min(daysToDeparture, seatsByLeadDays.length - 1);
+        double bookedEarlier = 0;
+        for (int lead = from; lead < seatsByLeadDays.length; lead++) {
+            bookedEarlier += seatsByLeadDays[lead];
+        }
+        return bookedEarlier / totalSeats;
+    }
+
+    public double expectedPickup(int daysToDeparture) {
+        return getAverageFinalSeats() * (1.0 - fractionBookedBy(daysToDeparture));
+    }
+}
\ No newline at end of file
@@ -32,6 +32,10 @@ public class IDGenerator {
         return "BK-" + System.currentTimeMillis();
     }
     
+    public static String generatePaymentID() {
+        return "PAY-" + System.currentTimeMillis() + String.format("%02d", (int)(Math.random() * 100));
+    }
+    
     public static String generatePolicyID() {
         return "POL" + String.format("%03d", (int)(Math.random() * 1000));
     }
@@ -0,0 +1,112 @@
+package helpers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+public class PasswordHasher {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+    private static final int MIN_ITERATIONS = 100_000;
+    private static final int MAX_ITERATIONS = 2_000_000;
+    // Calibration jitters between runs; snapping to a step keeps restarts from forcing rehashes
+    private static final int ITERATION_STEP = 50_000;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static volatile int iterations = 210_000;
+
+    public static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        int rounds = iterations;
+        byte[] key = derive(password, salt, rounds);
+        return PREFIX + "$" + rounds + "$" + Base64.getEncoder().encodeToString(salt) + "$" +
+               Base64.getEncoder().encodeToString(key);
+    }
+
+    public static boolean verify(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            // Rows written before hashing still hold the plaintext password until the next login rehashes them
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                                         stored.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int rounds = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(derive(password, salt, rounds), expected);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Malformed password hash: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX + "$");
+    }
+
+    public static boolean needsRehash(String stored) {
+        if (!isHashed(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            // Only hashes a full step behind are upgraded, so neighbouring calibrations never flip-flop
+            return parts.length != 4 || Integer.parseInt(parts[1]) <= iterations - ITERATION_STEP;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public static int getIterations() {
+        return iterations;
+    }
+
+    public static void setIterations(int rounds) {
+        int stepped = rounds / ITERATION_STEP * ITERATION_STEP;
+        iterations = Math.max(MIN_ITERATIONS, Math.min(MAX_ITERATIONS, stepped));
+    }
+
+    public static int calibrate(long targetMillis) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        int sampleRounds = MIN_ITERATIONS;
+
+        // First run warms up the JIT so the timed run reflects steady-state cost
+        derive("calibration", salt, sampleRounds);
+        long start = System.nanoTime();
+        derive("calibration", salt, sampleRounds);
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+
+        long rounds = sampleRounds * targetMillis * 1_000_000L / elapsedNanos;
+        setIterations((int) Math.min(Integer.MAX_VALUE, rounds));
+        System.out.println("Password hashing calibrated to " + iterations + " iterations (~" + targetMillis + " ms)");
+        return iterations;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int rounds) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, rounds, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Password hashing unavailable: " + e.getMessage(), e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
\ No newline at end of file
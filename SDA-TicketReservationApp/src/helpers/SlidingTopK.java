@@ -0,0 +1,127 @@
+package helpers;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+public class SlidingTopK {
+    private final int[] windowDays;
+    private final int ringDays;
+    private final Map<String, double[]> dailyValues;
+    private final Map<String, double[]> windowTotals;
+    private long currentDay;
+
+    public SlidingTopK(int... windowDays) {
+        this.windowDays = windowDays.clone();
+        int longest = 1;
+        for (int days : windowDays) {
+            longest = Math.max(longest, days);
+        }
+        this.ringDays = longest;
+        this.dailyValues = new HashMap<>();
+        this.windowTotals = new HashMap<>();
+        this.currentDay = Long.MIN_VALUE;
+    }
+
+    public synchronized void add(String key, long day, double delta) {
+        if (key == null) {
+            return;
+        }
+        advanceTo(day);
+        long age = currentDay - day;
+        if (age < 0 || age >= ringDays) {
+            return;
+        }
+
+        double[] daily = dailyValues.computeIfAbsent(key, k -> new double[ringDays]);
+        double[] totals = windowTotals.computeIfAbsent(key, k -> new double[windowDays.length]);
+        daily[(int) Math.floorMod(day, (long) ringDays)] += delta;
+        for (int w = 0; w < windowDays.length; w++) {
+            if (age < windowDays[w]) {
+                totals[w] += delta;
+            }
+        }
+    }
+
+    public synchronized double get(String key, int window, long today) {
+        advanceTo(today);
+        double[] totals = windowTotals.get(key);
+        return totals != null ? totals[window] : 0;
+    }
+
+    public synchronized List<Map.Entry<String, Double>> top(int window, int k, long today) {
+        advanceTo(today);
+        PriorityQueue<Map.Entry<String, Double>> heap =
+            new PriorityQueue<>(Math.max(1, k), Map.Entry.comparingByValue());
+
+        for (Map.Entry<String, double[]> entry : windowTotals.entrySet()) {
+            double value = entry.getValue()[window];
+            if (value <= 0) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.offer(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), value));
+            } else if (value > heap.peek().getValue()) {
+                heap.poll();
+                heap.offer(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), value));
+            }
+        }
+
+        List<Map.Entry<String, Double>> result = new ArrayList<>(heap);
+        result.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+        return result;
+    }
+
+    public synchronized void clear() {
+        dailyValues.clear();
+        windowTotals.clear();
+        currentDay = Long.MIN_VALUE;
+    }
+
+    private void advanceTo(long day) {
+        if (day <= currentDay) {
+            return;
+        }
+        if (currentDay == Long.MIN_VALUE || day - currentDay >= ringDays) {
+            dailyValues.clear();
+            windowTotals.clear();
+            currentDay = day;
+            return;
+        }
+
+        while (currentDay < day) {
+            currentDay++;
+            int newSlot = (int) Math.floorMod(currentDay, (long) ringDays);
+            Iterator<Map.Entry<String, double[]>> it = dailyValues.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, double[]> entry = it.next();
+                double[] daily = entry.getValue();
+                double[] totals = windowTotals.get(entry.getKey());
+                // The day leaving each window is still in the ring, so subtract before its slot is reused
+                for (int w = 0; w < windowDays.length; w++) {
+                    long leaving = currentDay - windowDays[w];
+                    totals[w] -= daily[(int) Math.floorMod(leaving, (long) ringDays)];
+                }
+                daily[newSlot] = 0;
+
+                if (isEmpty(daily)) {
+                    windowTotals.remove(entry.getKey());
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private boolean isEmpty(double[] daily) {
+        for (double value : daily) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package helpers;
+
+import java.util.Arrays;
+
+public class TimeSeriesBuffer {
+    private final long bucketMillis;
+    private final int capacity;
+    private final long[] bucketIndexes;
+    private final double[][] values;
+
+    public TimeSeriesBuffer(long bucketMillis, int capacity, int seriesCount) {
+        this.bucketMillis = bucketMillis;
+        this.capacity = capacity;
+        this.bucketIndexes = new long[capacity];
+        this.values = new double[seriesCount][capacity];
+        Arrays.fill(bucketIndexes, Long.MIN_VALUE);
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long bucketOf(long localMillis) {
+        return Math.floorDiv(localMillis, bucketMillis);
+    }
+
+    public synchronized void add(int series, long localMillis, double delta) {
+        long bucket = bucketOf(localMillis);
+        int slot = (int) Math.floorMod(bucket, (long) capacity);
+
+        if (bucketIndexes[slot] != bucket) {
+            // Slot still holds a newer bucket, so this sample is older than the retention window
+            if (bucketIndexes[slot] > bucket) {
+                return;
+            }
+            bucketIndexes[slot] = bucket;
+            for (double[] row : values) {
+                row[slot] = 0;
+            }
+        }
+        values[series][slot] += delta;
+    }
+
+    public synchronized double get(int series, long bucket) {
+        int slot = (int) Math.floorMod(bucket, (long) capacity);
+        return bucketIndexes[slot] == bucket ? values[series][slot] : 0;
+    }
+
+    public synchronized double[] range(int series, long fromBucket, long toBucket) {
+        if (toBucket < fromBucket) {
+            return new double[0];
+        }
+        double[] result = new double[(int) (toBucket - fromBucket + 1)];
+        for (long bucket = fromBucket; bucket <= toBucket; bucket++) {
+            int slot = (int) Math.floorMod(bucket, (long) capacity);
+            if (bucketIndexes[slot] == bucket) {
+                result[(int) (bucket - fromBucket)] = values[series][slot];
+            }
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(bucketIndexes, Long.MIN_VALUE);
+        for (double[] row : values) {
+            Arrays.fill(row, 0);
+        }
+    }
+}
\ No newline at end of file
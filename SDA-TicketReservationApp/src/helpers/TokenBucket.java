@@ -0,0 +1,34 @@
+package helpers;
+
+public class TokenBucket {
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(int capacity, int refillTokens, long refillPeriodSeconds) {
+        this.capacity = capacity;
+        this.refillPerNano = refillTokens / (refillPeriodSeconds * 1_000_000_000.0);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public synchronized boolean tryConsume() {
+        refill(System.nanoTime());
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized boolean isFull() {
+        refill(System.nanoTime());
+        return tokens >= capacity;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package helpers;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+public class UiTask<T> {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+        Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+            Thread thread = new Thread(r, "ui-task-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    private final CompletableFuture<T> future;
+    private volatile boolean cancelled;
+
+    private UiTask(CompletableFuture<T> future) {
+        this.future = future;
+    }
+
+    public static <T> UiTask<T> supply(Supplier<T> work, BiConsumer<T, Throwable> onFxThread) {
+        return whenDone(CompletableFuture.supplyAsync(work, EXECUTOR), onFxThread);
+    }
+
+    public static <T> UiTask<T> whenDone(CompletableFuture<T> future, BiConsumer<T, Throwable> onFxThread) {
+        UiTask<T> task = new UiTask<>(future);
+        future.whenComplete((result, error) -> {
+            if (task.cancelled) {
+                return;
+            }
+            Platform.runLater(() -> {
+                // Cancellation may have happened while this callback was queued
+                if (!task.cancelled) {
+                    onFxThread.accept(result, unwrap(error));
+                }
+            });
+        });
+        return task;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        future.cancel(true);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+}
\ No newline at end of file
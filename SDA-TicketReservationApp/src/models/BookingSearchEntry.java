@@ -0,0 +1,102 @@
+package models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class BookingSearchEntry {
+
+    private final String bookingID;
+    private final String customerID;
+    private final String customerName;
+    private final String email;
+    private final String reservationID;
+    private final String source;
+    private final String destination;
+    private final LocalDate travelDate;
+    private final LocalDateTime bookedAt;
+    private final double totalAmount;
+    private volatile String status;
+    private volatile String paymentID;
+    private volatile String paymentStatus;
+
+    public BookingSearchEntry(String bookingID, String customerID, String customerName, String email,
+                              String reservationID, String source, String destination, LocalDate travelDate,
+                              LocalDateTime bookedAt, double totalAmount, String status,
+                              String paymentID, String paymentStatus) {
+        this.bookingID = bookingID;
+        this.customerID = customerID;
+        this.customerName = customerName;
+        this.email = email;
+        this.reservationID = reservationID;
+        this.source = source;
+        this.destination = destination;
+        this.travelDate = travelDate;
+        this.bookedAt = bookedAt;
+        this.totalAmount = totalAmount;
+        this.status = status;
+        this.paymentID = paymentID;
+        this.paymentStatus = paymentStatus;
+    }
+
+    public String getBookingID() {
+        return bookingID;
+    }
+
+    public String getCustomerID() {
+        return customerID;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getReservationID() {
+        return reservationID;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public String getRoute() {
+        return source + " → " + destination;
+    }
+
+    public LocalDate getTravelDate() {
+        return travelDate;
+    }
+
+    public LocalDateTime getBookedAt() {
+        return bookedAt;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getPaymentID() {
+        return paymentID;
+    }
+
+    public String getPaymentStatus() {
+        return paymentStatus != null ? paymentStatus : "Unpaid";
+    }
+
+    public void updateState(String status, String paymentID, String paymentStatus) {
+        this.status = status;
+        this.paymentID = paymentID;
+        this.paymentStatus = paymentStatus;
+    }
+}
\ No newline at end of file
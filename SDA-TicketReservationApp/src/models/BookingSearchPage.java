@@ -0,0 +1,27 @@
+package models;
+
+import java.util.List;
+
+public class BookingSearchPage {
+
+    private final List<BookingSearchEntry> results;
+    private final String nextCursor;
+
+    public BookingSearchPage(List<BookingSearchEntry> results, String nextCursor) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BookingSearchEntry> getResults() {
+        return results;
+    }
+
+    // Opaque position after the last booking scanned; pass it back to continue where this page stopped
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
\ No newline at end of file
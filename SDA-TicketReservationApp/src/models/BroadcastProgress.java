@@ -0,0 +1,97 @@
+package models;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BroadcastProgress {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String campaignID;
+    private final BroadcastSegment segment;
+    private final String title;
+    private final AtomicLong delivered = new AtomicLong();
+    private volatile long targetCount = -1;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile Status status = Status.QUEUED;
+
+    public BroadcastProgress(String campaignID, BroadcastSegment segment, String title) {
+        this.campaignID = campaignID;
+        this.segment = segment;
+        this.title = title;
+    }
+
+    public String getCampaignID() {
+        return campaignID;
+    }
+
+    public BroadcastSegment getSegment() {
+        return segment;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getTargetCount() {
+        return targetCount;
+    }
+
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    public void start(long targetCount) {
+        this.targetCount = targetCount;
+        this.startedAt = System.currentTimeMillis();
+        this.status = Status.RUNNING;
+    }
+
+    public void addDelivered(long count) {
+        delivered.addAndGet(count);
+    }
+
+    public void finish(boolean succeeded) {
+        this.finishedAt = System.currentTimeMillis();
+        this.status = succeeded ? Status.COMPLETED : Status.FAILED;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getElapsedMillis() {
+        if (startedAt == 0) {
+            return 0;
+        }
+        return (finishedAt != 0 ? finishedAt : System.currentTimeMillis()) - startedAt;
+    }
+
+    public double getPercentComplete() {
+        if (targetCount <= 0) {
+            return status == Status.COMPLETED ? 100.0 : 0.0;
+        }
+        return Math.min(100.0, delivered.get() * 100.0 / targetCount);
+    }
+
+    public double getRowsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? delivered.get() * 1000.0 / elapsed : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%s] %s: %d/%d (%.1f%%, %.0f rows/s)",
+            campaignID, status, segment, delivered.get(), Math.max(targetCount, 0),
+            getPercentComplete(), getRowsPerSecond());
+    }
+}
\ No newline at end of file
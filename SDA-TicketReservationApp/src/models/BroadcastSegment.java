@@ -0,0 +1,53 @@
+package models;
+
+public class BroadcastSegment {
+
+    public enum Type {
+        ALL_CUSTOMERS,
+        ROUTE_CUSTOMERS,
+        UPCOMING_DEPARTURES
+    }
+
+    private final Type type;
+    private final String routeID;
+    private final int days;
+
+    private BroadcastSegment(Type type, String routeID, int days) {
+        this.type = type;
+        this.routeID = routeID;
+        this.days = days;
+    }
+
+    public static BroadcastSegment allCustomers() {
+        return new BroadcastSegment(Type.ALL_CUSTOMERS, null, 0);
+    }
+
+    public static BroadcastSegment customersOfRoute(String routeID) {
+        return new BroadcastSegment(Type.ROUTE_CUSTOMERS, routeID, 0);
+    }
+
+    public static BroadcastSegment upcomingDepartures(int days) {
+        return new BroadcastSegment(Type.UPCOMING_DEPARTURES, null, days);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getRouteID() {
+        return routeID;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case ROUTE_CUSTOMERS: return "Customers of route " + routeID;
+            case UPCOMING_DEPARTURES: return "Customers departing within " + days + " days";
+            default: return "All customers";
+        }
+    }
+}
\ No newline at end of file
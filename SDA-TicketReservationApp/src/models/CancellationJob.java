@@ -0,0 +1,121 @@
+package models;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CancellationJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String jobID;
+    private final String scheduleID;
+    private final String reason;
+    private final AtomicLong processed = new AtomicLong();
+    private volatile LocalDateTime cancelledAt;
+    private volatile double refundPercentage;
+    private volatile double refundTotal;
+    private volatile String lastBookingID = "";
+    private volatile long targetCount = -1;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile Status status = Status.QUEUED;
+
+    public CancellationJob(String jobID, String scheduleID, String reason) {
+        this.jobID = jobID;
+        this.scheduleID = scheduleID;
+        this.reason = reason;
+    }
+
+    public String getJobID() {
+        return jobID;
+    }
+
+    public String getScheduleID() {
+        return scheduleID;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCancelledAt() {
+        return cancelledAt;
+    }
+
+    public double getRefundPercentage() {
+        return refundPercentage;
+    }
+
+    public double getRefundTotal() {
+        return refundTotal;
+    }
+
+    public String getLastBookingID() {
+        return lastBookingID;
+    }
+
+    public long getTargetCount() {
+        return targetCount;
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    // A resumed job keeps the cancellation time and refund rate it was first quoted with
+    public void restore(LocalDateTime cancelledAt, double refundPercentage, long processed,
+                        double refundTotal, String lastBookingID) {
+        this.cancelledAt = cancelledAt;
+        this.refundPercentage = refundPercentage;
+        this.processed.set(processed);
+        this.refundTotal = refundTotal;
+        this.lastBookingID = lastBookingID;
+    }
+
+    public void start(long remaining) {
+        this.targetCount = processed.get() + remaining;
+        this.startedAt = System.currentTimeMillis();
+        this.status = Status.RUNNING;
+    }
+
+    public synchronized void addChunk(long bookings, double refunds, String chunkEnd) {
+        processed.addAndGet(bookings);
+        refundTotal += refunds;
+        lastBookingID = chunkEnd;
+    }
+
+    public void finish(boolean succeeded) {
+        this.finishedAt = System.currentTimeMillis();
+        this.status = succeeded ? Status.COMPLETED : Status.FAILED;
+    }
+
+    public long getElapsedMillis() {
+        if (startedAt == 0) {
+            return 0;
+        }
+        return (finishedAt != 0 ? finishedAt : System.currentTimeMillis()) - startedAt;
+    }
+
+    public double getPercentComplete() {
+        if (targetCount <= 0) {
+            return status == Status.COMPLETED ? 100.0 : 0.0;
+        }
+        return Math.min(100.0, processed.get() * 100.0 / targetCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%s] schedule %s: %d/%d bookings (%.1f%%), refunds PKR %.2f at %.0f%%",
+            jobID, status, scheduleID, processed.get(), Math.max(targetCount, 0),
+            getPercentComplete(), refundTotal, refundPercentage);
+    }
+}
\ No newline at end of file
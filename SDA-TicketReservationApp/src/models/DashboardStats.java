@@ -0,0 +1,40 @@
+package models;
+
+import java.time.LocalDateTime;
+
+public class DashboardStats {
+    private final int totalRoutes;
+    private final int activeSchedules;
+    private final int confirmedBookings;
+    private final double totalRevenue;
+    private final LocalDateTime updatedAt;
+
+    public DashboardStats(int totalRoutes, int activeSchedules, int confirmedBookings,
+                          double totalRevenue, LocalDateTime updatedAt) {
+        this.totalRoutes = totalRoutes;
+        this.activeSchedules = activeSchedules;
+        this.confirmedBookings = confirmedBookings;
+        this.totalRevenue = totalRevenue;
+        this.updatedAt = updatedAt;
+    }
+
+    public int getTotalRoutes() {
+        return totalRoutes;
+    }
+
+    public int getActiveSchedules() {
+        return activeSchedules;
+    }
+
+    public int getConfirmedBookings() {
+        return confirmedBookings;
+    }
+
+    public double getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package models;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+public class DepartureReminder {
+    private static final DateTimeFormatter DEPARTURE_FORMAT = DateTimeFormatter.ofPattern("MMM dd 'at' hh:mm a");
+
+    private final String bookingID;
+    private final String customerID;
+    private final String route;
+    private final LocalDateTime departure;
+    private final int offsetMinutes;
+
+    public DepartureReminder(String bookingID, String customerID, String route,
+                             LocalDateTime departure, int offsetMinutes) {
+        this.bookingID = bookingID;
+        this.customerID = customerID;
+        this.route = route;
+        this.departure = departure;
+        this.offsetMinutes = offsetMinutes;
+    }
+
+    public String getBookingID() {
+        return bookingID;
+    }
+
+    public String getCustomerID() {
+        return customerID;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public LocalDateTime getDeparture() {
+        return departure;
+    }
+
+    public int getOffsetMinutes() {
+        return offsetMinutes;
+    }
+
+    public LocalDateTime getFireAt() {
+        return departure.minusMinutes(offsetMinutes);
+    }
+
+    public Notification toNotification() {
+        Notification notification = Notification.createDepartureReminder(
+            customerID, bookingID, route, departure.format(DEPARTURE_FORMAT));
+        notification.setRelatedID(bookingID);
+        return notification;
+    }
+
+    @Override
+    public String toString() {
+        return bookingID + " @" + offsetMinutes + "m before " + departure;
+    }
+}
\ No newline at end of file
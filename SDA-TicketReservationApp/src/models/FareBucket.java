@@ -0,0 +1,30 @@
+package models;
+
+public class FareBucket {
+    private final double threshold;
+    private final double multiplier;
+    private final String label;
+
+    public FareBucket(double threshold, double multiplier, String label) {
+        this.threshold = threshold;
+        this.multiplier = multiplier;
+        this.label = label;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (from %.2f: x%.2f)", label, threshold, multiplier);
+    }
+}
\ No newline at end of file
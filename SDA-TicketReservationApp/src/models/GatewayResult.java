@@ -0,0 +1,50 @@
+package models;
+
+public class GatewayResult {
+
+    public enum Status {
+        APPROVED,
+        DECLINED,
+        // The gateway did not answer in time; the charge may or may not have gone through
+        UNKNOWN,
+        NOT_FOUND
+    }
+
+    private final Status status;
+    private final String transactionID;
+    private final String message;
+
+    public GatewayResult(Status status, String transactionID, String message) {
+        this.status = status;
+        this.transactionID = transactionID;
+        this.message = message;
+    }
+
+    public static GatewayResult approved(String transactionID) {
+        return new GatewayResult(Status.APPROVED, transactionID, "Approved");
+    }
+
+    public static GatewayResult declined(String message) {
+        return new GatewayResult(Status.DECLINED, null, message);
+    }
+
+    public static GatewayResult unknown(String message) {
+        return new GatewayResult(Status.UNKNOWN, null, message);
+    }
+
+    public static GatewayResult notFound() {
+        return new GatewayResult(Status.NOT_FOUND, null, "No charge recorded for this key");
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getTransactionID() {
+        return transactionID;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package models;
+
+public class LeaderboardEntry {
+    private String key;
+    private String label;
+    private double value;
+
+    public LeaderboardEntry(String key, String label, double value) {
+        this.key = key;
+        this.label = label;
+        this.value = value;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return label + " = " + value;
+    }
+}
\ No newline at end of file
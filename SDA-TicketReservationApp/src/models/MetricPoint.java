@@ -0,0 +1,26 @@
+package models;
+
+import java.time.LocalDateTime;
+
+public class MetricPoint {
+    private LocalDateTime periodStart;
+    private double value;
+
+    public MetricPoint(LocalDateTime periodStart, double value) {
+        this.periodStart = periodStart;
+        this.value = value;
+    }
+
+    public LocalDateTime getPeriodStart() {
+        return periodStart;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return periodStart + " = " + value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class OccupancyForecast {
+    private String scheduleID;
+    private String routeID;
+    private LocalDate departureDate;
+    private int capacity;
+    private int seatsSold;
+    private double expectedPickup;
+    private LocalDateTime generatedAt;
+
+    public OccupancyForecast(String scheduleID, String routeID, LocalDate departureDate, int capacity,
+                             int seatsSold, double expectedPickup, LocalDateTime generatedAt) {
+        this.scheduleID = scheduleID;
+        this.routeID = routeID;
+        this.departureDate = departureDate;
+        this.capacity = capacity;
+        this.seatsSold = seatsSold;
+        this.expectedPickup = expectedPickup;
+        this.generatedAt = generatedAt;
+    }
+
+    public String getScheduleID() {
+        return scheduleID;
+    }
+
+    public String getRouteID() {
+        return routeID;
+    }
+
+    public LocalDate getDepartureDate() {
+        return departureDate;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSeatsSold() {
+        return seatsSold;
+    }
+
+    public double getExpectedPickup() {
+        return expectedPickup;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public double getProjectedDemand() {
+        return seatsSold + expectedPickup;
+    }
+
+    public double getCurrentLoadFactor() {
+        return capacity > 0 ? (double) seatsSold / capacity : 0;
+    }
+
+    public double getProjectedLoadFactor() {
+        return capacity > 0 ? Math.min(1.0, getProjectedDemand() / capacity) : 0;
+    }
+
+    public double getUnmetDemand() {
+        return Math.max(0, getProjectedDemand() - capacity);
+    }
+
+    public OccupancyForecast withSeatsSold(int seatsSold) {
+        return new OccupancyForecast(scheduleID, routeID, departureDate, capacity,
+                                     Math.max(0, seatsSold), expectedPickup, generatedAt);
+    }
+
+    @Override
+    public String toString() {
+        return scheduleID + " " + departureDate + ": " + String.format("%.1f", getProjectedLoadFactor() * 100) + "%";
+    }
+}
\ No newline at end of file
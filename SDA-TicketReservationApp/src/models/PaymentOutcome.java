@@ -0,0 +1,39 @@
+package models;
+
+public class PaymentOutcome {
+
+    public enum Status {
+        COMPLETED,
+        FAILED,
+        // Submitted but not yet confirmed by the gateway; reconciliation settles it later
+        PENDING,
+        ALREADY_PAID,
+        IN_PROGRESS
+    }
+
+    private final Status status;
+    private final Payment payment;
+    private final String message;
+
+    public PaymentOutcome(Status status, Payment payment, String message) {
+        this.status = status;
+        this.payment = payment;
+        this.message = message;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Payment getPayment() {
+        return payment;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package models;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PriceChange {
+
+    public enum Mode {
+        PERCENTAGE,
+        ABSOLUTE
+    }
+
+    private final Mode mode;
+    private final double value;
+    private List<String> routeIDs = new ArrayList<>();
+    private List<String> seatTypes = new ArrayList<>();
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private boolean applyToRoutes = true;
+    private boolean applyToSeats = true;
+
+    public PriceChange(Mode mode, double value) {
+        this.mode = mode;
+        this.value = value;
+    }
+
+    public static PriceChange percentage(double percent) {
+        return new PriceChange(Mode.PERCENTAGE, percent);
+    }
+
+    public static PriceChange absolute(double amount) {
+        return new PriceChange(Mode.ABSOLUTE, amount);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    // Empty means every active route
+    public List<String> getRouteIDs() {
+        return routeIDs;
+    }
+
+    public void setRouteIDs(List<String> routeIDs) {
+        this.routeIDs = routeIDs != null ? new ArrayList<>(routeIDs) : new ArrayList<>();
+    }
+
+    // Empty means every seat type
+    public List<String> getSeatTypes() {
+        return seatTypes;
+    }
+
+    public void setSeatTypes(List<String> seatTypes) {
+        this.seatTypes = seatTypes != null ? new ArrayList<>(seatTypes) : new ArrayList<>();
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public void setFromDate(LocalDate fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public void setToDate(LocalDate toDate) {
+        this.toDate = toDate;
+    }
+
+    public boolean isApplyToRoutes() {
+        return applyToRoutes;
+    }
+
+    public void setApplyToRoutes(boolean applyToRoutes) {
+        this.applyToRoutes = applyToRoutes;
+    }
+
+    public boolean isApplyToSeats() {
+        return applyToSeats;
+    }
+
+    public void setApplyToSeats(boolean applyToSeats) {
+        this.applyToSeats = applyToSeats;
+    }
+
+    public boolean isValid() {
+        return (applyToRoutes || applyToSeats) && (mode != Mode.PERCENTAGE || value >= -100)
+            && (fromDate == null || toDate == null || !toDate.isBefore(fromDate));
+    }
+
+    public double apply(double price) {
+        double changed = mode == Mode.PERCENTAGE ? price * (1 + value / 100) : price + value;
+        return Math.round(Math.max(0, changed) * 100.0) / 100.0;
+    }
+
+    public String describe() {
+        String amount = mode == Mode.PERCENTAGE
+            ? String.format("%+.2f%%", value)
+            : String.format("%+.2f PKR", value);
+        String target = applyToRoutes && applyToSeats ? "base prices and seats"
+            : applyToRoutes ? "base prices" : "seats";
+        return amount + " on " + target;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package models;
+
+public class PriceChangeLine {
+    private final String kind;
+    private final String routeID;
+    private final String label;
+    private final int count;
+    private final double oldPrice;
+    private final double newPrice;
+
+    public PriceChangeLine(String kind, String routeID, String label, int count, double oldPrice, double newPrice) {
+        this.kind = kind;
+        this.routeID = routeID;
+        this.label = label;
+        this.count = count;
+        this.oldPrice = oldPrice;
+        this.newPrice = newPrice;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public String getRouteID() {
+        return routeID;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getOldPrice() {
+        return oldPrice;
+    }
+
+    public double getNewPrice() {
+        return newPrice;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: PKR %.2f → PKR %.2f%s", kind, label, oldPrice, newPrice,
+                             count > 1 ? " (" + count + " seats)" : "");
+    }
+}
\ No newline at end of file
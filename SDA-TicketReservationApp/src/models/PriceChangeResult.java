@@ -0,0 +1,45 @@
+package models;
+
+public class PriceChangeResult {
+    private final boolean success;
+    private final long auditID;
+    private final int routesUpdated;
+    private final int seatsUpdated;
+    private final String error;
+
+    private PriceChangeResult(boolean success, long auditID, int routesUpdated, int seatsUpdated, String error) {
+        this.success = success;
+        this.auditID = auditID;
+        this.routesUpdated = routesUpdated;
+        this.seatsUpdated = seatsUpdated;
+        this.error = error;
+    }
+
+    public static PriceChangeResult applied(long auditID, int routesUpdated, int seatsUpdated) {
+        return new PriceChangeResult(true, auditID, routesUpdated, seatsUpdated, null);
+    }
+
+    public static PriceChangeResult failed(String error) {
+        return new PriceChangeResult(false, -1, 0, 0, error);
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public long getAuditID() {
+        return auditID;
+    }
+
+    public int getRoutesUpdated() {
+        return routesUpdated;
+    }
+
+    public int getSeatsUpdated() {
+        return seatsUpdated;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package models;
+
+public class PromoValidation {
+
+    public enum Status {
+        VALID("Promo code applied."),
+        UNKNOWN("The promo code you entered is invalid."),
+        INACTIVE("This promo code is no longer active."),
+        EXPIRED("This promo code has expired."),
+        EXHAUSTED("This promo code has reached its usage limit."),
+        CUSTOMER_LIMIT("You have already used this promo code the maximum number of times."),
+        RATE_LIMITED("Too many promo code attempts. Please wait a minute and try again.");
+
+        private final String message;
+
+        Status(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final Status status;
+    private final PromotionalCode promoCode;
+
+    public PromoValidation(Status status, PromotionalCode promoCode) {
+        this.status = status;
+        this.promoCode = promoCode;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public PromotionalCode getPromoCode() {
+        return promoCode;
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+
+    public String getMessage() {
+        return status.getMessage();
+    }
+
+    public double getPercentage() {
+        return promoCode != null ? promoCode.getPercentage() : 0.0;
+    }
+}
\ No newline at end of file
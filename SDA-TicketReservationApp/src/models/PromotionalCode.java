@@ -7,6 +7,8 @@ public class PromotionalCode {
     private LocalDate validity;
     private double percentage;
     private boolean isActive;
+    private int maxUses;
+    private int maxUsesPerCustomer;
     
     public PromotionalCode() {
         this.isActive = true;
@@ -51,6 +53,23 @@ public class PromotionalCode {
         isActive = active;
     }
     
+    // Zero means the code has no overall usage limit
+    public int getMaxUses() {
+        return maxUses;
+    }
+    
+    public void setMaxUses(int maxUses) {
+        this.maxUses = maxUses;
+    }
+    
+    public int getMaxUsesPerCustomer() {
+        return maxUsesPerCustomer;
+    }
+    
+    public void setMaxUsesPerCustomer(int maxUsesPerCustomer) {
+        this.maxUsesPerCustomer = maxUsesPerCustomer;
+    }
+    
     public boolean checkValidity() {
         if (!isActive) {
             return false;
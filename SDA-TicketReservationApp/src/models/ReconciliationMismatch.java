@@ -0,0 +1,77 @@
+package models;
+
+public class ReconciliationMismatch {
+
+    public enum Type {
+        // Completed or refunded payment that no booking points at
+        ORPHAN_PAYMENT,
+        // Booking points at a payment row that does not exist
+        MISSING_PAYMENT,
+        // More than one booking points at the same payment
+        SHARED_PAYMENT,
+        // Booking was cancelled but its payment was never marked refunded
+        CANCELLED_NOT_REFUNDED,
+        // Payment was refunded but the booking is still active
+        REFUNDED_BOOKING_ACTIVE,
+        REFUND_AMOUNT_MISSING,
+        REFUND_EXCEEDS_PAYMENT,
+        // A failed payment is still linked, so the booking cannot be paid again
+        FAILED_PAYMENT_LINKED,
+        AMOUNT_EXCEEDS_BOOKING
+    }
+
+    private final Type type;
+    private final String paymentID;
+    private final String bookingID;
+    private final String paymentStatus;
+    private final String bookingStatus;
+    private final double amount;
+    private final String detail;
+
+    public ReconciliationMismatch(Type type, String paymentID, String bookingID, String paymentStatus,
+                                  String bookingStatus, double amount, String detail) {
+        this.type = type;
+        this.paymentID = paymentID;
+        this.bookingID = bookingID;
+        this.paymentStatus = paymentStatus;
+        this.bookingStatus = bookingStatus;
+        this.amount = amount;
+        this.detail = detail;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getPaymentID() {
+        return paymentID;
+    }
+
+    public String getBookingID() {
+        return bookingID;
+    }
+
+    public String getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public String getBookingStatus() {
+        return bookingStatus;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-24s payment %-22s booking %-20s %s/%s PKR %.2f  %s",
+            type, paymentID != null ? paymentID : "-", bookingID != null ? bookingID : "-",
+            paymentStatus != null ? paymentStatus : "-", bookingStatus != null ? bookingStatus : "-",
+            amount, detail != null ? detail : "");
+    }
+}
\ No newline at end of file
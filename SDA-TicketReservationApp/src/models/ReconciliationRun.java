@@ -0,0 +1,99 @@
+package models;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class ReconciliationRun {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String runID;
+    private final Map<ReconciliationMismatch.Type, Long> mismatchCounts = new EnumMap<>(ReconciliationMismatch.Type.class);
+    private volatile String lastPaymentID = "";
+    private volatile long paymentsScanned;
+    private volatile long bookingsScanned;
+    private volatile long mismatchCount;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile boolean resumed;
+    private volatile Status status = Status.RUNNING;
+
+    public ReconciliationRun(String runID) {
+        this.runID = runID;
+        this.startedAt = System.currentTimeMillis();
+    }
+
+    public String getRunID() {
+        return runID;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getLastPaymentID() {
+        return lastPaymentID;
+    }
+
+    public long getPaymentsScanned() {
+        return paymentsScanned;
+    }
+
+    public long getBookingsScanned() {
+        return bookingsScanned;
+    }
+
+    public long getMismatchCount() {
+        return mismatchCount;
+    }
+
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    public synchronized Map<ReconciliationMismatch.Type, Long> getMismatchCounts() {
+        return new EnumMap<>(mismatchCounts);
+    }
+
+    public synchronized void restore(String lastPaymentID, long paymentsScanned, long bookingsScanned,
+                                     Map<ReconciliationMismatch.Type, Long> counts) {
+        this.lastPaymentID = lastPaymentID;
+        this.paymentsScanned = paymentsScanned;
+        this.bookingsScanned = bookingsScanned;
+        this.mismatchCounts.putAll(counts);
+        this.mismatchCount = counts.values().stream().mapToLong(Long::longValue).sum();
+        this.resumed = true;
+    }
+
+    // Called once per committed checkpoint, so the counters always match what is stored
+    public synchronized void checkpoint(String lastPaymentID, long payments, long bookings,
+                                        Iterable<ReconciliationMismatch> mismatches) {
+        this.lastPaymentID = lastPaymentID;
+        this.paymentsScanned += payments;
+        this.bookingsScanned += bookings;
+        for (ReconciliationMismatch mismatch : mismatches) {
+            mismatchCounts.merge(mismatch.getType(), 1L, Long::sum);
+            mismatchCount++;
+        }
+    }
+
+    public void finish(boolean succeeded) {
+        this.finishedAt = System.currentTimeMillis();
+        this.status = succeeded ? Status.COMPLETED : Status.FAILED;
+    }
+
+    public long getElapsedMillis() {
+        return (finishedAt != 0 ? finishedAt : System.currentTimeMillis()) - startedAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%s]: %d payments, %d bookings, %d mismatches in %.1fs%s",
+            runID, status, paymentsScanned, bookingsScanned, mismatchCount,
+            getElapsedMillis() / 1000.0, resumed ? " (resumed)" : "");
+    }
+}
\ No newline at end of file
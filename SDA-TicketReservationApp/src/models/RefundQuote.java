@@ -0,0 +1,39 @@
+package models;
+
+public class RefundQuote {
+    private final String bookingID;
+    private final String customerID;
+    private final double paidAmount;
+    private final CancellationPolicy policy;
+
+    public RefundQuote(String bookingID, String customerID, double paidAmount, CancellationPolicy policy) {
+        this.bookingID = bookingID;
+        this.customerID = customerID;
+        this.paidAmount = paidAmount;
+        this.policy = policy;
+    }
+
+    public String getBookingID() {
+        return bookingID;
+    }
+
+    public String getCustomerID() {
+        return customerID;
+    }
+
+    public double getPaidAmount() {
+        return paidAmount;
+    }
+
+    public CancellationPolicy getPolicy() {
+        return policy;
+    }
+
+    public double getRefundPercentage() {
+        return policy != null ? policy.getAmountToBeRefunded() : 0.0;
+    }
+
+    public double getRefundAmount() {
+        return Math.round(paidAmount * getRefundPercentage()) / 100.0;
+    }
+}
\ No newline at end of file
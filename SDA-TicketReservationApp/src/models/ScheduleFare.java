@@ -0,0 +1,66 @@
+package models;
+
+public class ScheduleFare {
+    private final String scheduleID;
+    private final int seatsSold;
+    private final int capacity;
+    private final long daysToDeparture;
+    private final FareBucket loadBucket;
+    private final FareBucket leadBucket;
+    private final double multiplier;
+    private final long expiresAt;
+
+    public ScheduleFare(String scheduleID, int seatsSold, int capacity, long daysToDeparture,
+                        FareBucket loadBucket, FareBucket leadBucket, double multiplier, long expiresAt) {
+        this.scheduleID = scheduleID;
+        this.seatsSold = seatsSold;
+        this.capacity = capacity;
+        this.daysToDeparture = daysToDeparture;
+        this.loadBucket = loadBucket;
+        this.leadBucket = leadBucket;
+        this.multiplier = multiplier;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getScheduleID() {
+        return scheduleID;
+    }
+
+    public int getSeatsSold() {
+        return seatsSold;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public double getLoadFactor() {
+        return capacity > 0 ? (double) seatsSold / capacity : 0.0;
+    }
+
+    public long getDaysToDeparture() {
+        return daysToDeparture;
+    }
+
+    public FareBucket getLoadBucket() {
+        return loadBucket;
+    }
+
+    public FareBucket getLeadBucket() {
+        return leadBucket;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+
+    public String getLabel() {
+        String load = loadBucket != null ? loadBucket.getLabel() : "Standard";
+        String lead = leadBucket != null ? leadBucket.getLabel() : "Standard";
+        return load + " · " + lead;
+    }
+}
\ No newline at end of file
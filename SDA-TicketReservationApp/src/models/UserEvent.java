@@ -0,0 +1,57 @@
+package models;
+
+public class UserEvent {
+
+    public enum Type {
+        NOTIFICATION,
+        BOOKING_STATUS,
+        REFRESH
+    }
+
+    private final Type type;
+    private final String userID;
+    private final Notification notification;
+    private final String bookingID;
+    private final String bookingStatus;
+
+    private UserEvent(Type type, String userID, Notification notification, String bookingID, String bookingStatus) {
+        this.type = type;
+        this.userID = userID;
+        this.notification = notification;
+        this.bookingID = bookingID;
+        this.bookingStatus = bookingStatus;
+    }
+
+    public static UserEvent notification(Notification notification) {
+        return new UserEvent(Type.NOTIFICATION, notification.getUserID(), notification, null, null);
+    }
+
+    public static UserEvent bookingStatus(String userID, String bookingID, String status) {
+        return new UserEvent(Type.BOOKING_STATUS, userID, null, bookingID, status);
+    }
+
+    // A null user means every connected user should refresh
+    public static UserEvent refresh(String userID) {
+        return new UserEvent(Type.REFRESH, userID, null, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getUserID() {
+        return userID;
+    }
+
+    public Notification getNotification() {
+        return notification;
+    }
+
+    public String getBookingID() {
+        return bookingID;
+    }
+
+    public String getBookingStatus() {
+        return bookingStatus;
+    }
+}
\ No newline at end of file
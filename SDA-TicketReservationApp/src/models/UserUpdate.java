@@ -0,0 +1,50 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UserUpdate {
+    private final String userID;
+    private final List<Notification> notifications;
+    private final Map<String, String> bookingStatuses;
+    private boolean refresh;
+
+    public UserUpdate(String userID) {
+        this.userID = userID;
+        this.notifications = new ArrayList<>();
+        this.bookingStatuses = new LinkedHashMap<>();
+    }
+
+    public void add(UserEvent event) {
+        switch (event.getType()) {
+            case NOTIFICATION:
+                notifications.add(event.getNotification());
+                break;
+            case BOOKING_STATUS:
+                // Only the latest status of each booking matters once events are coalesced
+                bookingStatuses.put(event.getBookingID(), event.getBookingStatus());
+                break;
+            case REFRESH:
+                refresh = true;
+                break;
+        }
+    }
+
+    public String getUserID() {
+        return userID;
+    }
+
+    public List<Notification> getNotifications() {
+        return notifications;
+    }
+
+    public Map<String, String> getBookingStatuses() {
+        return bookingStatuses;
+    }
+
+    public boolean isRefresh() {
+        return refresh;
+    }
+}
\ No newline at end of file
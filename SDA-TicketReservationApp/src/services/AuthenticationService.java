@@ -0,0 +1,137 @@
+package services;
+
+import catalogs.UserCatalog;
+import helpers.PasswordHasher;
+import models.User;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class AuthenticationService {
+
+    private static final int MAX_CACHED_USERS = 128;
+    private static final int MAX_PENDING_VERIFICATIONS = 32;
+    private static final long TARGET_HASH_MILLIS = 250;
+
+    private static AuthenticationService instance;
+    private final Map<String, User> recentUsers;
+    private final ExecutorService verifier;
+
+    private AuthenticationService() {
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        this.verifier = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(MAX_PENDING_VERIFICATIONS), r -> {
+                Thread thread = new Thread(r, "password-verifier");
+                thread.setDaemon(true);
+                return thread;
+            });
+        verifier.execute(() -> PasswordHasher.calibrate(TARGET_HASH_MILLIS));
+
+        this.recentUsers = new LinkedHashMap<String, User>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, User> eldest) {
+                return size() > MAX_CACHED_USERS;
+            }
+        };
+    }
+
+    public static synchronized AuthenticationService getInstance() {
+        if (instance == null) {
+            instance = new AuthenticationService();
+        }
+        return instance;
+    }
+
+    public CompletableFuture<User> authenticateAsync(String username, String password, String userType) {
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticate(username, password, userType), verifier);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public CompletableFuture<Boolean> registerAsync(User user) {
+        try {
+            return CompletableFuture.supplyAsync(() -> register(user), verifier);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public User authenticate(String username, String password, String userType) {
+        if (username == null || password == null) {
+            return null;
+        }
+        String key = cacheKey(username, userType);
+
+        User cached = getCached(key, username);
+        User user = cached;
+        if (cached == null || !PasswordHasher.verify(password, cached.getPassword())) {
+            // A cache miss or a stale password both fall through to the database
+            user = UserCatalog.findUserInDatabase(username.trim(), userType);
+            if (user == null) {
+                return null;
+            }
+            // Same stored hash as the one just rejected: a wrong guess costs one key derivation, not two
+            boolean unchanged = cached != null && user.getPassword() != null &&
+                                user.getPassword().equals(cached.getPassword());
+            if (unchanged || !PasswordHasher.verify(password, user.getPassword())) {
+                return null;
+            }
+        }
+
+        if (PasswordHasher.needsRehash(user.getPassword())) {
+            String passwordHash = PasswordHasher.hash(password);
+            if (UserCatalog.updatePasswordHashInDatabase(user.getUserID(), passwordHash)) {
+                user.setPassword(passwordHash);
+            }
+        }
+        synchronized (recentUsers) {
+            recentUsers.put(key, user);
+        }
+        return user;
+    }
+
+    public boolean isUsernameTaken(String username) {
+        return UserCatalog.isUsernameTakenInDatabase(username.trim());
+    }
+
+    public boolean isEmailTaken(String email) {
+        return UserCatalog.isEmailTakenInDatabase(email.trim());
+    }
+
+    // The new user holds the plaintext password from the signup form until it is stored
+    public boolean register(User user) {
+        return UserCatalog.persistUserToDatabase(user, PasswordHasher.hash(user.getPassword()));
+    }
+
+    // A cached user is trusted until it is dropped here, so every password or profile write must call this
+    public void invalidate(String userID) {
+        synchronized (recentUsers) {
+            recentUsers.values().removeIf(user -> userID != null && userID.equals(user.getUserID()));
+        }
+    }
+
+    private User getCached(String key, String username) {
+        synchronized (recentUsers) {
+            User cached = recentUsers.get(key);
+            // Profile edits change the cached object in place, so a renamed user no longer matches its key
+            if (cached != null && !cached.getUsername().equalsIgnoreCase(username.trim())) {
+                recentUsers.remove(key);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    private static String cacheKey(String username, String userType) {
+        return userType + ":" + username.trim().toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
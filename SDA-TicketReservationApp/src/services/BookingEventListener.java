@@ -0,0 +1,19 @@
+package services;
+
+import models.Booking;
+import models.Payment;
+
+public interface BookingEventListener {
+
+    default void onBookingCreated(Booking booking) {
+    }
+
+    default void onPaymentCompleted(Booking booking, Payment payment) {
+    }
+
+    default void onBookingCancelled(Booking booking, double refundAmount) {
+    }
+
+    default void onPromoCodeUsed(Booking booking, String promoCode) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package services;
+
+import models.Booking;
+import models.Payment;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class BookingEventPublisher {
+
+    private static BookingEventPublisher instance;
+    private final List<BookingEventListener> listeners;
+
+    private BookingEventPublisher() {
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    public static synchronized BookingEventPublisher getInstance() {
+        if (instance == null) {
+            instance = new BookingEventPublisher();
+        }
+        return instance;
+    }
+
+    public void addListener(BookingEventListener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(BookingEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void publishBookingCreated(Booking booking) {
+        for (BookingEventListener listener : listeners) {
+            try {
+                listener.onBookingCreated(booking);
+            } catch (Exception e) {
+                System.err.println("Booking event listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    public void publishPaymentCompleted(Booking booking, Payment payment) {
+        for (BookingEventListener listener : listeners) {
+            try {
+                listener.onPaymentCompleted(booking, payment);
+            } catch (Exception e) {
+                System.err.println("Payment event listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    public void publishBookingCancelled(Booking booking, double refundAmount) {
+        for (BookingEventListener listener : listeners) {
+            try {
+                listener.onBookingCancelled(booking, refundAmount);
+            } catch (Exception e) {
+                System.err.println("Cancellation event listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    public void publishPromoCodeUsed(Booking booking, String promoCode) {
+        for (BookingEventListener listener : listeners) {
+            try {
+                listener.onPromoCodeUsed(booking, promoCode);
+            } catch (Exception e) {
+                System.err.println("Promo code event listener failed: " + e.getMessage());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,851 @@
+package services;
+
+import config.DatabaseConfig;
+import models.Booking;
+import models.BookingSearchEntry;
+import models.BookingSearchPage;
+import models.Payment;
+import models.Reservation;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class BookingSearchService implements BookingEventListener {
+
+    private static final int FETCH_SIZE = 5000;
+    private static final int MAX_PAGE_SIZE = 200;
+    // Bounds the work behind one page when a status filter rejects most matches
+    private static final int MAX_SCANNED_PER_PAGE = 100000;
+    // Shorter tokens match too many words to look up in the index; they only narrow what longer tokens found
+    private static final int MIN_TOKEN_LENGTH = 2;
+    // Above this many matching terms a prefix is merged into one list up front instead of probed term by term
+    private static final int MAX_PROBED_TERMS = 32;
+    private static final long CATCH_UP_SECONDS = 60;
+
+    private static final String PROJECTION =
+        "SELECT b.BookingID, b.CustomerID, u.Name, c.Email, b.ReservationID, rt.Source, rt.Destination, s.Date, " +
+        "b.BookingDateTime, b.TotalAmount, b.Status, b.PaymentID, p.PaymentStatus, b.UpdatedAt " +
+        "FROM Booking b " +
+        "JOIN Users u ON b.CustomerID = u.UserID " +
+        "LEFT JOIN ContactInfo c ON u.ContactID = c.ContactID " +
+        "JOIN Reservation r ON b.ReservationID = r.ReservationID " +
+        "JOIN Schedule s ON r.ScheduleID = s.ScheduleID " +
+        "JOIN Route rt ON r.RouteID = rt.RouteID " +
+        "LEFT JOIN Payment p ON b.PaymentID = p.PaymentID ";
+
+    private static BookingSearchService instance;
+    private final ScheduledExecutorService executor;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Documents are numbered in (booked time, booking ID) order, so walking doc IDs downwards walks newest first
+    private final List<BookingSearchEntry> docs = new ArrayList<>();
+    private long[] sortTimes = new long[1024];
+    // Shared words (names, email parts, cities, dates) map to posting lists of documents
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    // Booking, payment and reservation IDs each belong to one booking, so they map straight to its document,
+    // keyed by the entry's own string to avoid a second copy per ID
+    private final TreeMap<String, Integer> ids = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final TreeMap<String, Postings> customers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private volatile boolean ready;
+    // Latest Booking.UpdatedAt read by a full build or catch-up; database time, so app clocks never enter into it
+    private Timestamp lastSeenUpdatedAt;
+
+    private BookingSearchService() {
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "booking-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::build);
+        // Bookings made from other app instances never reach this event bus, so new rows are also picked up by polling
+        executor.scheduleWithFixedDelay(this::catchUp, CATCH_UP_SECONDS, CATCH_UP_SECONDS, TimeUnit.SECONDS);
+        BookingEventPublisher.getInstance().addListener(this);
+    }
+
+    public static synchronized BookingSearchService getInstance() {
+        if (instance == null) {
+            instance = new BookingSearchService();
+        }
+        return instance;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every whitespace-separated token must prefix some word of the booking; customerID and status narrow further
+    public BookingSearchPage search(String text, String customerID, String status, String cursor, int pageSize) {
+        int limit = Math.max(1, Math.min(MAX_PAGE_SIZE, pageSize));
+        List<BookingSearchEntry> results = new ArrayList<>(limit);
+        String nextCursor = null;
+
+        DocSet matcher;
+        int doc;
+        lock.readLock().lock();
+        try {
+            matcher = compile(text, customerID);
+            doc = matcher != null ? startBefore(cursor) : -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int scanned = 0;
+        int lastScanned = -1;
+        // The indexed status only preselects; each batch is re-read from the database and the status filter
+        // applied to what it returns, so a booking cancelled since indexing never shows under Confirmed
+        while (doc >= 0 && results.size() < limit && scanned < MAX_SCANNED_PER_PAGE) {
+            List<BookingSearchEntry> batch = new ArrayList<>(limit - results.size());
+            lock.readLock().lock();
+            try {
+                while (doc >= 0 && batch.size() < limit - results.size() && scanned < MAX_SCANNED_PER_PAGE) {
+                    doc = matcher.floor(doc);
+                    if (doc < 0) {
+                        break;
+                    }
+                    BookingSearchEntry entry = docs.get(doc);
+                    if (status == null || status.equalsIgnoreCase(entry.getStatus())) {
+                        batch.add(entry);
+                    }
+                    lastScanned = doc;
+                    scanned++;
+                    doc--;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            refreshState(batch);
+            for (BookingSearchEntry entry : batch) {
+                if (status == null || status.equalsIgnoreCase(entry.getStatus())) {
+                    results.add(entry);
+                }
+            }
+        }
+
+        if (lastScanned > 0) {
+            lock.readLock().lock();
+            try {
+                if (matcher.floor(lastScanned - 1) >= 0) {
+                    nextCursor = sortTimes[lastScanned] + ":" + docs.get(lastScanned).getBookingID();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return new BookingSearchPage(results, nextCursor);
+    }
+
+    // In-memory only, for screens that already hold the bookings and just need to know which ones match.
+    // Returns null when the index cannot answer yet (still loading, or no token long enough), so callers fall back
+    public Set<String> findBookingIDs(String text, String customerID) {
+        if (!ready || !isSearchable(text)) {
+            return null;
+        }
+        Set<String> ids = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            DocSet matcher = compile(text, customerID);
+            if (matcher != null) {
+                for (int doc = matcher.floor(docs.size() - 1); doc >= 0; doc = matcher.floor(doc - 1)) {
+                    ids.add(docs.get(doc).getBookingID());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    // The index needs at least one token of MIN_TOKEN_LENGTH; a query of single letters is left to the caller
+    public static boolean isSearchable(String text) {
+        for (String token : tokenize(text)) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Same matching rules as the index, for screens that hold one customer's bookings and must not load everyone's.
+    // Scanning a single customer's bookings is cheap, so short tokens count here even on their own
+    public static boolean matches(String text, Booking booking) {
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return true;
+        }
+        Set<String> words = new LinkedHashSet<>();
+        addID(words, booking.getBookingID());
+        if (booking.hasPayment()) {
+            addID(words, booking.getPayment().getPaymentID());
+        }
+        Reservation reservation = booking.getReservation();
+        if (reservation != null) {
+            addID(words, reservation.getReservationID());
+            if (reservation.getRoute() != null) {
+                addWords(words, reservation.getRoute().getSource());
+                addWords(words, reservation.getRoute().getDestination());
+            }
+            if (reservation.getSchedule() != null && reservation.getSchedule().getDate() != null) {
+                addWords(words, reservation.getSchedule().getDate().toString());
+            }
+        }
+
+        return prefixesAll(words, tokens);
+    }
+
+    private static boolean prefixesAll(Set<String> words, List<String> tokens) {
+        for (String token : tokens) {
+            boolean found = false;
+            for (String word : words) {
+                if (word.startsWith(token)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Seeds the index from entries already in memory (the benchmark harness) and marks it ready,
+    // so it is only for callers holding the complete set of bookings
+    public void index(Collection<BookingSearchEntry> entries) {
+        apply(new ArrayList<>(entries));
+        ready = true;
+    }
+
+    public void reindex(String bookingID) {
+        if (bookingID != null) {
+            executor.execute(() -> loadBooking(bookingID));
+        }
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        reindex(booking.getBookingID());
+    }
+
+    @Override
+    public void onPaymentCompleted(Booking booking, Payment payment) {
+        reindex(booking.getBookingID());
+    }
+
+    @Override
+    public void onBookingCancelled(Booking booking, double refundAmount) {
+        reindex(booking.getBookingID());
+    }
+
+    private DocSet compile(String text, String customerID) {
+        List<DocSet> parts = new ArrayList<>();
+        if (customerID != null) {
+            Postings owned = customers.get(customerID);
+            if (owned == null) {
+                return null;
+            }
+            parts.add(owned);
+        }
+
+        List<String> tokens = tokenize(text);
+        if (!tokens.isEmpty() && !isSearchable(text)) {
+            return null;
+        }
+        List<String> shortTokens = new ArrayList<>();
+        for (String token : tokens) {
+            if (token.length() < MIN_TOKEN_LENGTH) {
+                shortTokens.add(token);
+                continue;
+            }
+            DocSet prefix = prefixSet(token);
+            if (prefix == null) {
+                return null;
+            }
+            parts.add(prefix);
+        }
+
+        DocSet matcher;
+        if (parts.isEmpty()) {
+            matcher = new AllDocs(docs.size());
+        } else if (parts.size() == 1) {
+            matcher = parts.get(0);
+        } else {
+            // Most selective first, so the leapfrog below jumps as far as possible on each probe
+            parts.sort((a, b) -> Integer.compare(a.estimate(), b.estimate()));
+            matcher = new Intersection(parts);
+        }
+        return shortTokens.isEmpty() ? matcher : new Filtered(matcher, docs, shortTokens);
+    }
+
+    private DocSet prefixSet(String token) {
+        String end = token + Character.MAX_VALUE;
+        List<Postings> lists = new ArrayList<>(terms.subMap(token, end).values());
+        lists.addAll(customers.subMap(token, end).values());
+        SortedMap<String, Integer> idRange = ids.subMap(token, end);
+        if (!idRange.isEmpty()) {
+            lists.add(Postings.of(idRange.values()));
+        }
+
+        if (lists.isEmpty()) {
+            return null;
+        }
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        if (lists.size() <= MAX_PROBED_TERMS) {
+            return new Union(lists);
+        }
+        return Postings.merge(lists);
+    }
+
+    private int startBefore(String cursor) {
+        int last = docs.size() - 1;
+        if (cursor == null) {
+            return last;
+        }
+        int separator = cursor.indexOf(':');
+        if (separator <= 0) {
+            return last;
+        }
+        long time;
+        try {
+            time = Long.parseLong(cursor.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return last;
+        }
+        String bookingID = cursor.substring(separator + 1);
+
+        // Largest document whose key sorts strictly before the cursor's key
+        int low = 0;
+        int high = last;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareKey(sortTimes[mid], docs.get(mid).getBookingID(), time, bookingID);
+            if (cmp < 0) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static int compareKey(long timeA, String idA, long timeB, String idB) {
+        int cmp = Long.compare(timeA, timeB);
+        return cmp != 0 ? cmp : idA.compareTo(idB);
+    }
+
+    // Called with the write lock held
+    private void addDocument(BookingSearchEntry entry) {
+        Integer existing = ids.get(entry.getBookingID());
+        if (existing != null && docs.get(existing).getBookingID().equals(entry.getBookingID())) {
+            docs.get(existing).updateState(entry.getStatus(), entry.getPaymentID(), entry.getPaymentStatus());
+            addTerms(existing, entry);
+            return;
+        }
+
+        int doc = docs.size();
+        long time = entry.getBookedAt() != null ? Timestamp.valueOf(entry.getBookedAt()).getTime() : 0;
+        // Keys must keep rising with doc IDs for cursors to binary search; a late or tied row is nudged past its predecessor
+        if (doc > 0 && compareKey(time, entry.getBookingID(), sortTimes[doc - 1], docs.get(doc - 1).getBookingID()) <= 0) {
+            time = sortTimes[doc - 1] + 1;
+        }
+        if (doc == sortTimes.length) {
+            sortTimes = Arrays.copyOf(sortTimes, doc * 2);
+        }
+        sortTimes[doc] = time;
+        docs.add(entry);
+        customers.computeIfAbsent(entry.getCustomerID(), k -> new Postings()).add(doc);
+        addTerms(doc, entry);
+    }
+
+    private void addTerms(int doc, BookingSearchEntry entry) {
+        Set<String> words = termsOf(entry);
+        for (String id : new String[] { entry.getBookingID(), entry.getReservationID(), entry.getPaymentID() }) {
+            if (id != null) {
+                ids.put(id, doc);
+                words.addAll(idFragments(id));
+            }
+        }
+        for (String term : words) {
+            terms.computeIfAbsent(term, k -> new Postings()).add(doc);
+        }
+    }
+
+    // Whole IDs go to the ID map; their numeric parts are shared words, so "1700123" finds "BK-1700123456"
+    private static void addID(Set<String> out, String id) {
+        if (id != null) {
+            out.add(id.toLowerCase(Locale.ROOT));
+            out.addAll(idFragments(id));
+        }
+    }
+
+    // Letter-only parts ("bk", "pay") are on every ID of their kind and would only bloat the index
+    private static List<String> idFragments(String id) {
+        List<String> fragments = new ArrayList<>(2);
+        String lower = id.toLowerCase(Locale.ROOT);
+        int start = 0;
+        boolean digits = false;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : '-';
+            if (Character.isLetterOrDigit(c)) {
+                digits |= Character.isDigit(c);
+                continue;
+            }
+            if (digits && i > start && (start > 0 || i < lower.length())) {
+                fragments.add(lower.substring(start, i));
+            }
+            start = i + 1;
+            digits = false;
+        }
+        return fragments;
+    }
+
+    private static Set<String> wordsOf(BookingSearchEntry entry) {
+        Set<String> words = termsOf(entry);
+        addID(words, entry.getBookingID());
+        addID(words, entry.getReservationID());
+        addID(words, entry.getPaymentID());
+        return words;
+    }
+
+    private static Set<String> termsOf(BookingSearchEntry entry) {
+        Set<String> words = new LinkedHashSet<>();
+        addWords(words, entry.getCustomerName());
+        addWords(words, entry.getEmail());
+        addWords(words, entry.getSource());
+        addWords(words, entry.getDestination());
+        if (entry.getTravelDate() != null) {
+            addWords(words, entry.getTravelDate().toString());
+        }
+        return words;
+    }
+
+    // Each word is indexed whole and split at punctuation, so "ali.khan@mail.com" is found by "ali.k", "khan" and "mail"
+    private static void addWords(Set<String> out, String value) {
+        if (value == null) {
+            return;
+        }
+        for (String word : value.toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            out.add(word);
+            for (String piece : word.split("[^\\p{L}\\p{N}]+")) {
+                if (!piece.isEmpty()) {
+                    out.add(piece);
+                }
+            }
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).trim().split("\\s+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void build() {
+        long started = System.currentTimeMillis();
+        String query = PROJECTION + "ORDER BY b.BookingDateTime, b.BookingID COLLATE Latin1_General_BIN2";
+
+        try (Connection conn = open();
+             PreparedStatement stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                advanceWatermark(addRows(rs));
+            }
+            ready = true;
+            lock.readLock().lock();
+            try {
+                System.out.println("Booking search index built: " + docs.size() + " bookings, " + terms.size() +
+                                   " words, " + ids.size() + " IDs in " + (System.currentTimeMillis() - started) + " ms");
+            } finally {
+                lock.readLock().unlock();
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error building booking search index: " + e.getMessage());
+        }
+    }
+
+    private void catchUp() {
+        if (!ready) {
+            build();
+            return;
+        }
+        Timestamp since;
+        synchronized (this) {
+            since = lastSeenUpdatedAt;
+        }
+        // Every booking write stamps UpdatedAt, so this picks up status and payment changes as well as new rows
+        String query = PROJECTION + (since != null ? "WHERE b.UpdatedAt >= ? " : "") +
+                      "ORDER BY b.BookingDateTime, b.BookingID COLLATE Latin1_General_BIN2";
+
+        try (Connection conn = open();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            if (since != null) {
+                // Overlap a little, since rows committed slightly late can carry an earlier timestamp
+                stmt.setTimestamp(1, new Timestamp(since.getTime() - CATCH_UP_SECONDS * 1000));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                advanceWatermark(addRows(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error catching up booking search index: " + e.getMessage());
+        }
+    }
+
+    private void loadBooking(String bookingID) {
+        try (Connection conn = open();
+             PreparedStatement stmt = conn.prepareStatement(PROJECTION + "WHERE b.BookingID = ?")) {
+
+            stmt.setString(1, bookingID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                addRows(rs);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error indexing booking " + bookingID + ": " + e.getMessage());
+        }
+    }
+
+    // Rows are applied in batches so searches can run between them while a large index is still loading.
+    // Returns the latest UpdatedAt read, or null when there were no rows.
+    private Timestamp addRows(ResultSet rs) throws SQLException {
+        List<BookingSearchEntry> batch = new ArrayList<>(FETCH_SIZE);
+        Timestamp latest = null;
+        while (rs.next()) {
+            batch.add(readEntry(rs));
+            Timestamp updatedAt = rs.getTimestamp("UpdatedAt");
+            if (updatedAt != null && (latest == null || updatedAt.after(latest))) {
+                latest = updatedAt;
+            }
+            if (batch.size() == FETCH_SIZE) {
+                apply(batch);
+                batch.clear();
+            }
+        }
+        apply(batch);
+        return latest;
+    }
+
+    // Only full reads move the watermark; a single reindexed booking says nothing about the rows around it
+    private synchronized void advanceWatermark(Timestamp latest) {
+        if (latest != null && (lastSeenUpdatedAt == null || latest.after(lastSeenUpdatedAt))) {
+            lastSeenUpdatedAt = latest;
+        }
+    }
+
+    private void apply(List<BookingSearchEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (BookingSearchEntry entry : batch) {
+                addDocument(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static BookingSearchEntry readEntry(ResultSet rs) throws SQLException {
+        Timestamp bookedAt = rs.getTimestamp("BookingDateTime");
+        java.sql.Date travelDate = rs.getDate("Date");
+        return new BookingSearchEntry(
+            rs.getString("BookingID"), rs.getString("CustomerID"), rs.getString("Name"), rs.getString("Email"),
+            rs.getString("ReservationID"), rs.getString("Source"), rs.getString("Destination"),
+            travelDate != null ? travelDate.toLocalDate() : null,
+            bookedAt != null ? bookedAt.toLocalDateTime() : null,
+            rs.getDouble("TotalAmount"), rs.getString("Status"),
+            rs.getString("PaymentID"), rs.getString("PaymentStatus"));
+    }
+
+    // Status and payment change after indexing (bulk cancellations, other instances), so a page is re-read before it is shown
+    private void refreshState(List<BookingSearchEntry> page) {
+        if (page.isEmpty()) {
+            return;
+        }
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < page.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        String query = "SELECT b.BookingID, b.Status, b.PaymentID, p.PaymentStatus FROM Booking b " +
+                      "LEFT JOIN Payment p ON b.PaymentID = p.PaymentID WHERE b.BookingID IN (" + placeholders + ")";
+
+        Map<String, BookingSearchEntry> byID = new HashMap<>();
+        try (Connection conn = open();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            for (int i = 0; i < page.size(); i++) {
+                stmt.setString(i + 1, page.get(i).getBookingID());
+                byID.put(page.get(i).getBookingID(), page.get(i));
+            }
+            List<String[]> states = new ArrayList<>(page.size());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    states.add(new String[] { rs.getString("BookingID"), rs.getString("Status"),
+                                              rs.getString("PaymentID"), rs.getString("PaymentStatus") });
+                }
+            }
+            // Entries are shared with the index, so they change under the same lock its readers take
+            lock.writeLock().lock();
+            try {
+                for (String[] state : states) {
+                    BookingSearchEntry entry = byID.get(state[0]);
+                    if (entry != null) {
+                        entry.updateState(state[1], state[2], state[3]);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error refreshing booking search results: " + e.getMessage());
+        }
+    }
+
+    private static Connection open() throws SQLException {
+        return DriverManager.getConnection(
+            DatabaseConfig.getDbUrl(),
+            DatabaseConfig.getDbUser(),
+            DatabaseConfig.getDbPassword());
+    }
+
+    private interface DocSet {
+        // Largest document in the set that is <= target, or -1
+        int floor(int target);
+
+        int estimate();
+    }
+
+    private static final class Postings implements DocSet {
+        private int[] docs = new int[2];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] >= doc) {
+                int index = Arrays.binarySearch(docs, 0, size, doc);
+                if (index >= 0) {
+                    return;
+                }
+                insertAt(-index - 1, doc);
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        // Only re-indexed documents land out of order, so this stays rare
+        private void insertAt(int index, int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            System.arraycopy(docs, index, docs, index + 1, size - index);
+            docs[index] = doc;
+            size++;
+        }
+
+        @Override
+        public int floor(int target) {
+            if (target < 0 || size == 0) {
+                return -1;
+            }
+            int index = Arrays.binarySearch(docs, 0, size, target);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index >= 0 ? docs[index] : -1;
+        }
+
+        @Override
+        public int estimate() {
+            return size;
+        }
+
+        static Postings of(Collection<Integer> docs) {
+            Postings postings = new Postings();
+            postings.docs = new int[Math.max(4, docs.size())];
+            for (int doc : docs) {
+                postings.docs[postings.size++] = doc;
+            }
+            Arrays.sort(postings.docs, 0, postings.size);
+            return postings;
+        }
+
+        static Postings merge(Collection<Postings> lists) {
+            int total = 0;
+            for (Postings list : lists) {
+                total += list.size;
+            }
+            Postings merged = new Postings();
+            merged.docs = new int[Math.max(4, total)];
+            for (Postings list : lists) {
+                System.arraycopy(list.docs, 0, merged.docs, merged.size, list.size);
+                merged.size += list.size;
+            }
+            Arrays.sort(merged.docs, 0, merged.size);
+            int unique = 0;
+            for (int i = 0; i < merged.size; i++) {
+                if (unique == 0 || merged.docs[unique - 1] != merged.docs[i]) {
+                    merged.docs[unique++] = merged.docs[i];
+                }
+            }
+            merged.size = unique;
+            return merged;
+        }
+    }
+
+    private static final class AllDocs implements DocSet {
+        private final int size;
+
+        AllDocs(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int floor(int target) {
+            return Math.min(target, size - 1);
+        }
+
+        @Override
+        public int estimate() {
+            return size;
+        }
+    }
+
+    private static final class Union implements DocSet {
+        private final List<Postings> lists;
+
+        Union(List<Postings> lists) {
+            this.lists = lists;
+        }
+
+        @Override
+        public int floor(int target) {
+            int best = -1;
+            for (Postings list : lists) {
+                best = Math.max(best, list.floor(target));
+            }
+            return best;
+        }
+
+        @Override
+        public int estimate() {
+            int total = 0;
+            for (Postings list : lists) {
+                total += list.estimate();
+            }
+            return total;
+        }
+    }
+
+    // Checks short tokens against each candidate's words, since they are never looked up in the index
+    private static final class Filtered implements DocSet {
+        private final DocSet candidates;
+        private final List<BookingSearchEntry> docs;
+        private final List<String> tokens;
+
+        Filtered(DocSet candidates, List<BookingSearchEntry> docs, List<String> tokens) {
+            this.candidates = candidates;
+            this.docs = docs;
+            this.tokens = tokens;
+        }
+
+        @Override
+        public int floor(int target) {
+            int doc = candidates.floor(target);
+            while (doc >= 0 && !prefixesAll(wordsOf(docs.get(doc)), tokens)) {
+                doc = candidates.floor(doc - 1);
+            }
+            return doc;
+        }
+
+        @Override
+        public int estimate() {
+            return candidates.estimate();
+        }
+    }
+
+    private static final class Intersection implements DocSet {
+        private final List<DocSet> parts;
+
+        Intersection(List<DocSet> parts) {
+            this.parts = parts;
+        }
+
+        // Leapfrog: each set in turn pulls the candidate down until all of them agree on it
+        @Override
+        public int floor(int target) {
+            int candidate = target;
+            int agreed = 0;
+            int index = 0;
+            while (agreed < parts.size()) {
+                int doc = parts.get(index).floor(candidate);
+                if (doc < 0) {
+                    return -1;
+                }
+                if (doc == candidate) {
+                    agreed++;
+                } else {
+                    candidate = doc;
+                    agreed = 1;
+                }
+                index = (index + 1) % parts.size();
+            }
+            return candidate;
+        }
+
+        @Override
+        public int estimate() {
+            return parts.get(0).estimate();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,184 @@
+package services;
+
+import config.DatabaseConfig;
+import models.Booking;
+import models.CancellationPolicy;
+import models.RefundQuote;
+import models.Reservation;
+import models.Schedule;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+public class CancellationPolicyEngine {
+
+    private static CancellationPolicyEngine instance;
+    private volatile CompiledPolicies compiled;
+
+    private CancellationPolicyEngine() {
+        this.compiled = CompiledPolicies.compile(defaultPolicies());
+        reload();
+    }
+
+    public static synchronized CancellationPolicyEngine getInstance() {
+        if (instance == null) {
+            instance = new CancellationPolicyEngine();
+        }
+        return instance;
+    }
+
+    public CancellationPolicy resolve(int hoursBeforeDeparture) {
+        return compiled.resolve(hoursBeforeDeparture);
+    }
+
+    public RefundQuote quoteRefund(Booking booking, LocalDateTime cancelledAt) {
+        return quote(compiled, booking, cancelledAt);
+    }
+
+    // Every quote in the batch is resolved against the same policy set, even if an admin edits policies mid-way
+    public List<RefundQuote> quoteRefunds(Collection<Booking> bookings, LocalDateTime cancelledAt) {
+        CompiledPolicies policies = compiled;
+        List<RefundQuote> quotes = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            quotes.add(quote(policies, booking, cancelledAt));
+        }
+        return quotes;
+    }
+
+    public List<RefundQuote> quoteRefundsForSchedule(String scheduleID, LocalDateTime cancelledAt) {
+        String query = "SELECT b.BookingID, b.CustomerID, s.Date, s.DepartureTime, " +
+                      "CASE WHEN p.PaymentStatus = 'Completed' THEN p.Amount ELSE 0 END as Paid " +
+                      "FROM Booking b " +
+                      "JOIN Reservation r ON b.ReservationID = r.ReservationID " +
+                      "JOIN Schedule s ON r.ScheduleID = s.ScheduleID " +
+                      "LEFT JOIN Payment p ON b.PaymentID = p.PaymentID " +
+                      "WHERE r.ScheduleID = ? AND b.Status = 'Confirmed'";
+
+        CompiledPolicies policies = compiled;
+        List<RefundQuote> quotes = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setString(1, scheduleID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    LocalDateTime departure = LocalDateTime.of(
+                        rs.getDate("Date").toLocalDate(), rs.getTime("DepartureTime").toLocalTime());
+                    quotes.add(new RefundQuote(rs.getString("BookingID"), rs.getString("CustomerID"),
+                                               rs.getDouble("Paid"),
+                                               policies.resolve(hoursBetween(cancelledAt, departure))));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error quoting refunds for schedule " + scheduleID + ": " + e.getMessage());
+        }
+        return quotes;
+    }
+
+    public void reload() {
+        String query = "SELECT PolicyID, RefundAmount, TimeBeforeDeparture, Description FROM CancellationPolicies";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            List<CancellationPolicy> loaded = new ArrayList<>();
+            while (rs.next()) {
+                loaded.add(new CancellationPolicy(rs.getString("PolicyID"), rs.getDouble("RefundAmount"),
+                                                  rs.getInt("TimeBeforeDeparture"), rs.getString("Description")));
+            }
+            compiled = CompiledPolicies.compile(loaded);
+
+        } catch (SQLException e) {
+            System.err.println("Error loading cancellation policies: " + e.getMessage());
+        }
+    }
+
+    // Used when policies are edited without a database, so the engine follows the in-memory catalog
+    public void update(Collection<CancellationPolicy> policies) {
+        compiled = CompiledPolicies.compile(policies);
+    }
+
+    private static RefundQuote quote(CompiledPolicies policies, Booking booking, LocalDateTime cancelledAt) {
+        double paid = booking.isPaid() ? booking.getPayment().getAmount() : 0;
+        LocalDateTime departure = departureOf(booking);
+        // Without a known departure the customer gets the most generous policy rather than none
+        int hours = departure != null ? hoursBetween(cancelledAt, departure) : Integer.MAX_VALUE;
+        return new RefundQuote(booking.getBookingID(), booking.getCustomerID(), paid, policies.resolve(hours));
+    }
+
+    private static LocalDateTime departureOf(Booking booking) {
+        Reservation reservation = booking.getReservation();
+        Schedule schedule = reservation != null ? reservation.getSchedule() : null;
+        if (schedule == null || schedule.getDate() == null || schedule.getDepartureTime() == null) {
+            return null;
+        }
+        return LocalDateTime.of(schedule.getDate(), schedule.getDepartureTime());
+    }
+
+    private static int hoursBetween(LocalDateTime from, LocalDateTime to) {
+        long hours = Duration.between(from, to).toHours();
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, hours));
+    }
+
+    private static List<CancellationPolicy> defaultPolicies() {
+        List<CancellationPolicy> defaults = new ArrayList<>();
+        defaults.add(new CancellationPolicy("POL001", 100.0, 24, "Full refund if cancelled 24+ hours before departure"));
+        defaults.add(new CancellationPolicy("POL002", 50.0, 12, "50% refund if cancelled 12-24 hours before departure"));
+        defaults.add(new CancellationPolicy("POL003", 0.0, 0, "No refund if cancelled less than 12 hours before departure"));
+        return defaults;
+    }
+
+    private static class CompiledPolicies {
+        // Ascending thresholds; the policy for a cancellation is the one with the largest threshold not above it
+        private final int[] thresholds;
+        private final CancellationPolicy[] policies;
+
+        private CompiledPolicies(int[] thresholds, CancellationPolicy[] policies) {
+            this.thresholds = thresholds;
+            this.policies = policies;
+        }
+
+        static CompiledPolicies compile(Collection<CancellationPolicy> source) {
+            CancellationPolicy[] sorted = source.toArray(new CancellationPolicy[0]);
+            Arrays.sort(sorted, Comparator.comparingInt(CancellationPolicy::getTimeBeforeDeparture));
+            int[] thresholds = new int[sorted.length];
+            CancellationPolicy[] policies = new CancellationPolicy[sorted.length];
+            int count = 0;
+            for (CancellationPolicy policy : sorted) {
+                if (count > 0 && thresholds[count - 1] == policy.getTimeBeforeDeparture()) {
+                    continue;
+                }
+                thresholds[count] = policy.getTimeBeforeDeparture();
+                policies[count] = policy;
+                count++;
+            }
+            return new CompiledPolicies(Arrays.copyOf(thresholds, count), Arrays.copyOf(policies, count));
+        }
+
+        CancellationPolicy resolve(int hoursBeforeDeparture) {
+            int index = Arrays.binarySearch(thresholds, hoursBeforeDeparture);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index >= 0 ? policies[index] : null;
+        }
+    }
+}
\ No newline at end of file
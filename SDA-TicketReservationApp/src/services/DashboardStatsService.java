@@ -0,0 +1,223 @@
+package services;
+
+import catalogs.RouteCatalog;
+import catalogs.RouteCatalogListener;
+import config.DatabaseConfig;
+import models.Booking;
+import models.DashboardStats;
+import models.Payment;
+import models.Route;
+import models.Schedule;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class DashboardStatsService implements BookingEventListener, RouteCatalogListener {
+
+    private static final long RECONCILE_INTERVAL_MINUTES = 5;
+
+    private static DashboardStatsService instance;
+    private final List<Consumer<DashboardStats>> subscribers;
+    private final ScheduledExecutorService scheduler;
+
+    private int totalRoutes;
+    private int activeSchedules;
+    private int confirmedBookings;
+    private double totalRevenue;
+    private LocalDateTime updatedAt;
+    private boolean loaded;
+
+    private DashboardStatsService() {
+        this.subscribers = new CopyOnWriteArrayList<>();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "dashboard-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        BookingEventPublisher.getInstance().addListener(this);
+        RouteCatalog.getInstance().addListener(this);
+        scheduler.scheduleWithFixedDelay(this::reconcile, 0, RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    public static synchronized DashboardStatsService getInstance() {
+        if (instance == null) {
+            instance = new DashboardStatsService();
+        }
+        return instance;
+    }
+
+    public void subscribe(Consumer<DashboardStats> subscriber) {
+        subscribers.add(subscriber);
+        DashboardStats current = getStats();
+        if (current != null) {
+            subscriber.accept(current);
+        }
+    }
+
+    public void unsubscribe(Consumer<DashboardStats> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    public synchronized DashboardStats getStats() {
+        if (!loaded) {
+            return null;
+        }
+        return new DashboardStats(totalRoutes, activeSchedules, confirmedBookings, totalRevenue, updatedAt);
+    }
+
+    public void refreshNow() {
+        scheduler.execute(this::reconcile);
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        synchronized (this) {
+            if ("Confirmed".equals(booking.getStatus())) {
+                confirmedBookings++;
+            }
+            updatedAt = LocalDateTime.now();
+        }
+        publish();
+    }
+
+    @Override
+    public void onPaymentCompleted(Booking booking, Payment payment) {
+        synchronized (this) {
+            totalRevenue += payment.getAmount();
+            updatedAt = LocalDateTime.now();
+        }
+        publish();
+    }
+
+    @Override
+    public void onBookingCancelled(Booking booking, double refundAmount) {
+        synchronized (this) {
+            confirmedBookings = Math.max(0, confirmedBookings - 1);
+            if (booking.isPaid()) {
+                totalRevenue = Math.max(0, totalRevenue - booking.getPayment().getAmount());
+            }
+            updatedAt = LocalDateTime.now();
+        }
+        publish();
+    }
+
+    @Override
+    public void onRouteAdded(Route route) {
+        synchronized (this) {
+            totalRoutes++;
+            updatedAt = LocalDateTime.now();
+        }
+        publish();
+    }
+
+    @Override
+    public void onRouteDeleted(String routeId) {
+        synchronized (this) {
+            totalRoutes = Math.max(0, totalRoutes - 1);
+            updatedAt = LocalDateTime.now();
+        }
+        publish();
+    }
+
+    @Override
+    public void onScheduleAdded(String routeId, Schedule schedule) {
+        adjustActiveSchedules(schedule, 1);
+    }
+
+    @Override
+    public void onScheduleRemoved(Schedule schedule) {
+        adjustActiveSchedules(schedule, -1);
+    }
+
+    @Override
+    public void onRouteUpdated(Route route) {
+        // Schedule edits and deletions arrive as a whole-route update with nothing to diff against
+        refreshNow();
+    }
+
+    private void adjustActiveSchedules(Schedule schedule, int delta) {
+        if (schedule.getDate() == null || schedule.getDate().isBefore(LocalDate.now())) {
+            return;
+        }
+        synchronized (this) {
+            activeSchedules = Math.max(0, activeSchedules + delta);
+            updatedAt = LocalDateTime.now();
+        }
+        publish();
+    }
+
+    private void reconcile() {
+        String activeSchedulesQuery =
+            "SELECT COUNT(*) as active_schedules FROM Schedule " +
+            "WHERE Date >= CAST(GETDATE() AS DATE) AND IsActive = 1";
+        String totalBookingsQuery =
+            "SELECT COUNT(*) as total_bookings FROM Booking " +
+            "WHERE Status = 'Confirmed'";
+        String revenueQuery =
+            "SELECT COALESCE(SUM(p.Amount), 0) as total_revenue " +
+            "FROM Payment p " +
+            "INNER JOIN Booking b ON p.PaymentID = b.PaymentID " +
+            "WHERE p.PaymentStatus = 'Completed' AND b.Status = 'Confirmed'";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            int schedules = queryInt(conn, activeSchedulesQuery);
+            int bookings = queryInt(conn, totalBookingsQuery);
+            double revenue;
+            try (PreparedStatement stmt = conn.prepareStatement(revenueQuery);
+                 ResultSet rs = stmt.executeQuery()) {
+                revenue = rs.next() ? rs.getDouble(1) : 0;
+            }
+
+            synchronized (this) {
+                totalRoutes = RouteCatalog.getInstance().getAllRoutes().size();
+                activeSchedules = schedules;
+                confirmedBookings = bookings;
+                totalRevenue = revenue;
+                updatedAt = LocalDateTime.now();
+                loaded = true;
+            }
+            publish();
+
+        } catch (SQLException e) {
+            System.err.println("Error reconciling dashboard statistics: " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Error loading dashboard statistics: " + e.getMessage());
+        }
+    }
+
+    private int queryInt(Connection conn, String query) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void publish() {
+        DashboardStats stats = getStats();
+        if (stats == null) {
+            return;
+        }
+        for (Consumer<DashboardStats> subscriber : subscribers) {
+            try {
+                subscriber.accept(stats);
+            } catch (Exception e) {
+                System.err.println("Dashboard statistics subscriber failed: " + e.getMessage());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,230 @@
+package services;
+
+import catalogs.NotificationCatalog;
+import config.DatabaseConfig;
+import models.Booking;
+import models.DepartureReminder;
+import models.Reservation;
+import models.Schedule;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class DepartureReminderService implements BookingEventListener {
+
+    private static final int[] DEFAULT_OFFSET_MINUTES = {2 * 60, 24 * 60};
+    private static final int LOAD_INTERVAL_MINUTES = 60;
+    private static final int BATCH_SIZE = 200;
+
+    private static DepartureReminderService instance;
+    private final NotificationCatalog notificationCatalog;
+    private final ScheduledExecutorService scheduler;
+    // Reminders ordered by the time they should fire; the tick only ever looks at the head
+    private final TreeMap<LocalDateTime, List<DepartureReminder>> pending;
+    private final Map<String, LocalDateTime> indexedKeys;
+    private volatile int[] offsetMinutes;
+    private LocalDateTime loadedThrough;
+
+    private DepartureReminderService() {
+        this.notificationCatalog = NotificationCatalog.getInstance();
+        this.pending = new TreeMap<>();
+        this.indexedKeys = new HashMap<>();
+        this.offsetMinutes = DEFAULT_OFFSET_MINUTES.clone();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "departure-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        BookingEventPublisher.getInstance().addListener(this);
+        scheduler.execute(this::rebuild);
+        scheduler.scheduleWithFixedDelay(this::loadNextSlice, LOAD_INTERVAL_MINUTES, LOAD_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        scheduler.scheduleWithFixedDelay(this::sendDueReminders, 1, 1, TimeUnit.MINUTES);
+    }
+
+    public static synchronized DepartureReminderService getInstance() {
+        if (instance == null) {
+            instance = new DepartureReminderService();
+        }
+        return instance;
+    }
+
+    public void setOffsetMinutes(int... offsets) {
+        int[] sorted = offsets.clone();
+        Arrays.sort(sorted);
+        this.offsetMinutes = sorted;
+        scheduler.execute(this::rebuild);
+    }
+
+    public int[] getOffsetMinutes() {
+        return offsetMinutes.clone();
+    }
+
+    public synchronized int getPendingCount() {
+        int count = 0;
+        for (List<DepartureReminder> reminders : pending.values()) {
+            count += reminders.size();
+        }
+        return count;
+    }
+
+    public void refreshNow() {
+        scheduler.execute(this::rebuild);
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        Reservation reservation = booking.getReservation();
+        if (reservation == null || reservation.getSchedule() == null || reservation.getRoute() == null) {
+            return;
+        }
+        Schedule schedule = reservation.getSchedule();
+        if (schedule.getDate() == null || schedule.getDepartureTime() == null) {
+            return;
+        }
+        LocalDateTime departure = LocalDateTime.of(schedule.getDate(), schedule.getDepartureTime());
+        synchronized (this) {
+            // Departures beyond the loaded window are picked up by the next slice
+            if (loadedThrough != null && !departure.isAfter(loadedThrough)) {
+                index(booking.getBookingID(), booking.getCustomerID(),
+                      reservation.getRoute().getSource() + " to " + reservation.getRoute().getDestination(),
+                      departure, LocalDateTime.now());
+            }
+        }
+    }
+
+    private synchronized void rebuild() {
+        pending.clear();
+        indexedKeys.clear();
+        LocalDateTime now = LocalDateTime.now();
+        loadedThrough = now;
+        loadDepartures(now, now.plusMinutes(maxOffset() + LOAD_INTERVAL_MINUTES), now);
+    }
+
+    private synchronized void loadNextSlice() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = loadedThrough != null && loadedThrough.isAfter(now) ? loadedThrough : now;
+        loadDepartures(from, now.plusMinutes(maxOffset() + LOAD_INTERVAL_MINUTES), now);
+        pruneIndexedKeys(now);
+    }
+
+    private void loadDepartures(LocalDateTime from, LocalDateTime to, LocalDateTime now) {
+        String query = "SELECT b.BookingID, b.CustomerID, rt.Source, rt.Destination, s.Date, s.DepartureTime " +
+                      "FROM Booking b " +
+                      "JOIN Reservation r ON b.ReservationID = r.ReservationID " +
+                      "JOIN Schedule s ON r.ScheduleID = s.ScheduleID " +
+                      "JOIN Route rt ON r.RouteID = rt.RouteID " +
+                      "WHERE b.Status <> 'Cancelled' AND s.Date BETWEEN ? AND ? " +
+                      // Departures after 'from' and up to 'to'; the Date range above keeps the seek on the index
+                      "AND (s.Date > ? OR s.DepartureTime > ?) AND (s.Date < ? OR s.DepartureTime <= ?)";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setDate(1, Date.valueOf(from.toLocalDate()));
+            stmt.setDate(2, Date.valueOf(to.toLocalDate()));
+            stmt.setDate(3, Date.valueOf(from.toLocalDate()));
+            stmt.setTime(4, Time.valueOf(from.toLocalTime()));
+            stmt.setDate(5, Date.valueOf(to.toLocalDate()));
+            stmt.setTime(6, Time.valueOf(to.toLocalTime()));
+            int loaded = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    LocalDateTime departure = LocalDateTime.of(
+                        rs.getDate("Date").toLocalDate(), rs.getTime("DepartureTime").toLocalTime());
+                    index(rs.getString("BookingID"), rs.getString("CustomerID"),
+                          rs.getString("Source") + " to " + rs.getString("Destination"), departure, now);
+                    loaded++;
+                }
+            }
+            loadedThrough = to;
+            System.out.println("Indexed " + loaded + " departures for reminders through " + to);
+
+        } catch (SQLException e) {
+            System.err.println("Error loading departures for reminders: " + e.getMessage());
+        }
+    }
+
+    private void index(String bookingID, String customerID, String route, LocalDateTime departure, LocalDateTime now) {
+        if (!departure.isAfter(now)) {
+            return;
+        }
+        boolean overdueQueued = false;
+        // Offsets are ascending, so if several reminders are already overdue only the latest one is sent
+        for (int offset : offsetMinutes) {
+            DepartureReminder reminder = new DepartureReminder(bookingID, customerID, route, departure, offset);
+            boolean overdue = !reminder.getFireAt().isAfter(now);
+            if (overdue && overdueQueued) {
+                continue;
+            }
+            if (indexedKeys.putIfAbsent(bookingID + "#" + offset, departure) == null) {
+                pending.computeIfAbsent(overdue ? now : reminder.getFireAt(), t -> new ArrayList<>()).add(reminder);
+            }
+            overdueQueued |= overdue;
+        }
+    }
+
+    private void pruneIndexedKeys(LocalDateTime now) {
+        // Keys only need remembering while their departure can still be indexed again
+        indexedKeys.values().removeIf(departure -> !departure.isAfter(now));
+    }
+
+    private void sendDueReminders() {
+        List<DepartureReminder> due = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            Map<LocalDateTime, List<DepartureReminder>> head = pending.headMap(now, true);
+            for (List<DepartureReminder> reminders : head.values()) {
+                for (DepartureReminder reminder : reminders) {
+                    if (reminder.getDeparture().isAfter(now)) {
+                        due.add(reminder);
+                    }
+                }
+            }
+            head.clear();
+        }
+
+        int sent = 0;
+        for (int start = 0; start < due.size(); start += BATCH_SIZE) {
+            List<DepartureReminder> batch = due.subList(start, Math.min(start + BATCH_SIZE, due.size()));
+            int result = notificationCatalog.addDepartureReminders(batch);
+            if (result < 0) {
+                requeue(due.subList(start, due.size()), now.plusMinutes(1));
+                break;
+            }
+            sent += result;
+        }
+        if (sent > 0) {
+            System.out.println("Sent " + sent + " departure reminders");
+        }
+    }
+
+    private synchronized void requeue(List<DepartureReminder> reminders, LocalDateTime retryAt) {
+        pending.computeIfAbsent(retryAt, t -> new ArrayList<>()).addAll(reminders);
+    }
+
+    private int maxOffset() {
+        int max = 0;
+        for (int offset : offsetMinutes) {
+            max = Math.max(max, offset);
+        }
+        return max;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,225 @@
+package services;
+
+import config.DatabaseConfig;
+import models.Booking;
+import models.FareBucket;
+import models.Reservation;
+import models.Route;
+import models.Schedule;
+import models.ScheduleFare;
+import models.Seat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DynamicPricingEngine implements BookingEventListener {
+
+    // Sales made by other app instances only show up through the database, so cached fares also age out
+    private static final long FARE_TTL_MILLIS = 5 * 60 * 1000;
+    private static final double MIN_MULTIPLIER = 0.8;
+    private static final double MAX_MULTIPLIER = 1.6;
+
+    private static DynamicPricingEngine instance;
+    private final Map<String, ScheduleFare> fares;
+    private final Map<String, Double> seatTypePremiums;
+    private volatile BucketTable loadFactorBuckets;
+    private volatile BucketTable leadTimeBuckets;
+
+    private DynamicPricingEngine() {
+        this.fares = new ConcurrentHashMap<>();
+        this.seatTypePremiums = new ConcurrentHashMap<>();
+        seatTypePremiums.put("A", 0.0);
+        seatTypePremiums.put("B", 10.0);
+        seatTypePremiums.put("C", 20.0);
+        seatTypePremiums.put("D", 30.0);
+        this.loadFactorBuckets = new BucketTable(Arrays.asList(
+            new FareBucket(0.0, 0.95, "Low demand"),
+            new FareBucket(0.5, 1.0, "Standard demand"),
+            new FareBucket(0.75, 1.15, "High demand"),
+            new FareBucket(0.9, 1.3, "Almost full")));
+        this.leadTimeBuckets = new BucketTable(Arrays.asList(
+            new FareBucket(0, 1.25, "Last minute"),
+            new FareBucket(2, 1.1, "Short notice"),
+            new FareBucket(7, 1.0, "Standard booking"),
+            new FareBucket(21, 0.9, "Early bird")));
+        BookingEventPublisher.getInstance().addListener(this);
+    }
+
+    public static synchronized DynamicPricingEngine getInstance() {
+        if (instance == null) {
+            instance = new DynamicPricingEngine();
+        }
+        return instance;
+    }
+
+    // The seat's stored price already carries route base price, class and seat type premium; demand and lead time scale it
+    public double quote(Route route, Schedule schedule, Seat seat) {
+        return quote(getFare(schedule), route, schedule, seat);
+    }
+
+    // Pricing a whole seat map looks the schedule's fare up once and then costs one multiplication per seat
+    public double quote(ScheduleFare fare, Route route, Schedule schedule, Seat seat) {
+        double staticFare = seat.getPrice() > 0 ? seat.getPrice() : staticFare(route, schedule, seat.getSeatType());
+        return Math.round(staticFare * fare.getMultiplier() * 100.0) / 100.0;
+    }
+
+    public ScheduleFare getFare(Schedule schedule) {
+        long now = System.currentTimeMillis();
+        ScheduleFare cached = fares.get(schedule.getScheduleID());
+        int[] occupancy = countLoadedSeats(schedule);
+        if (cached != null && !cached.isExpired(now)
+                && (occupancy == null || (occupancy[0] == cached.getSeatsSold() && occupancy[1] == cached.getCapacity()))) {
+            return cached;
+        }
+        if (occupancy == null) {
+            occupancy = countSeatsInDatabase(schedule.getScheduleID());
+        }
+        ScheduleFare fare = compute(schedule, occupancy[0], occupancy[1], now);
+        fares.put(schedule.getScheduleID(), fare);
+        return fare;
+    }
+
+    public void invalidate(String scheduleID) {
+        if (scheduleID != null) {
+            fares.remove(scheduleID);
+        }
+    }
+
+    public void setLoadFactorBuckets(List<FareBucket> buckets) {
+        loadFactorBuckets = new BucketTable(buckets);
+        fares.clear();
+    }
+
+    public void setLeadTimeBuckets(List<FareBucket> buckets) {
+        leadTimeBuckets = new BucketTable(buckets);
+        fares.clear();
+    }
+
+    public List<FareBucket> getLoadFactorBuckets() {
+        return loadFactorBuckets.toList();
+    }
+
+    public List<FareBucket> getLeadTimeBuckets() {
+        return leadTimeBuckets.toList();
+    }
+
+    public void setSeatTypePremium(String seatType, double percentage) {
+        seatTypePremiums.put(seatType, percentage);
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        invalidate(scheduleIDOf(booking));
+    }
+
+    @Override
+    public void onBookingCancelled(Booking booking, double refundAmount) {
+        invalidate(scheduleIDOf(booking));
+    }
+
+    private ScheduleFare compute(Schedule schedule, int seatsSold, int capacity, long now) {
+        LocalDate today = LocalDate.now();
+        long days = schedule.getDate() != null ? Math.max(0, ChronoUnit.DAYS.between(today, schedule.getDate())) : Long.MAX_VALUE;
+        double loadFactor = capacity > 0 ? (double) seatsSold / capacity : 0.0;
+
+        FareBucket loadBucket = loadFactorBuckets.floor(loadFactor);
+        FareBucket leadBucket = leadTimeBuckets.floor(days);
+        double multiplier = (loadBucket != null ? loadBucket.getMultiplier() : 1.0)
+                          * (leadBucket != null ? leadBucket.getMultiplier() : 1.0);
+        multiplier = Math.max(MIN_MULTIPLIER, Math.min(MAX_MULTIPLIER, multiplier));
+
+        // The lead-time bucket can change at midnight, so no fare outlives the day it was computed on
+        long midnight = today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new ScheduleFare(schedule.getScheduleID(), seatsSold, capacity, days, loadBucket, leadBucket,
+                                multiplier, Math.min(now + FARE_TTL_MILLIS, midnight));
+    }
+
+    private double staticFare(Route route, Schedule schedule, String seatType) {
+        double base = route != null ? route.getBasePrice() : 0.0;
+        double classFactor = schedule.getTypePercentage() > 0 ? schedule.getTypePercentage() / 100 : 1.0;
+        double premium = seatType != null ? seatTypePremiums.getOrDefault(seatType, 0.0) : 0.0;
+        return base * classFactor * (1 + premium / 100);
+    }
+
+    private static int[] countLoadedSeats(Schedule schedule) {
+        List<Seat> seats = schedule.getSeats();
+        if (seats == null || seats.isEmpty()) {
+            return null;
+        }
+        int sold = 0;
+        for (Seat seat : seats) {
+            if (!seat.isAvailability()) {
+                sold++;
+            }
+        }
+        return new int[] { sold, seats.size() };
+    }
+
+    private int[] countSeatsInDatabase(String scheduleID) {
+        String query = "SELECT COUNT(*) AS Capacity, SUM(CASE WHEN Availability = 0 THEN 1 ELSE 0 END) AS Sold " +
+                      "FROM Seat WHERE ScheduleID = ?";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setString(1, scheduleID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new int[] { rs.getInt("Sold"), rs.getInt("Capacity") };
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error loading occupancy for schedule " + scheduleID + ": " + e.getMessage());
+        }
+        return new int[] { 0, 0 };
+    }
+
+    private static String scheduleIDOf(Booking booking) {
+        Reservation reservation = booking.getReservation();
+        return reservation != null && reservation.getSchedule() != null ? reservation.getSchedule().getScheduleID() : null;
+    }
+
+    private static class BucketTable {
+        // Ascending thresholds; a value falls into the bucket with the largest threshold not above it
+        private final double[] thresholds;
+        private final FareBucket[] buckets;
+
+        BucketTable(List<FareBucket> source) {
+            FareBucket[] sorted = source.toArray(new FareBucket[0]);
+            Arrays.sort(sorted, Comparator.comparingDouble(FareBucket::getThreshold));
+            this.buckets = sorted;
+            this.thresholds = new double[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                thresholds[i] = sorted[i].getThreshold();
+            }
+        }
+
+        FareBucket floor(double value) {
+            int index = Arrays.binarySearch(thresholds, value);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index >= 0 ? buckets[index] : null;
+        }
+
+        List<FareBucket> toList() {
+            return new ArrayList<>(Arrays.asList(buckets));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package services;
+
+import models.UserEvent;
+
+import java.util.function.Consumer;
+
+// Transport between app instances; LocalEventBroker covers the single-instance case
+public interface EventBroker {
+
+    void publish(UserEvent event);
+
+    void subscribe(Consumer<UserEvent> receiver);
+}
\ No newline at end of file
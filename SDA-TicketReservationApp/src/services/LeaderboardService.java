@@ -0,0 +1,262 @@
+package services;
+
+import config.DatabaseConfig;
+import helpers.SlidingTopK;
+import models.Booking;
+import models.LeaderboardEntry;
+import models.Payment;
+import models.Reservation;
+import models.Route;
+import models.Schedule;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LeaderboardService implements BookingEventListener {
+
+    public enum Dimension {
+        ROUTE,
+        SCHEDULE,
+        PROMO_CODE
+    }
+
+    public enum Measure {
+        BOOKINGS,
+        REVENUE
+    }
+
+    public enum Window {
+        TODAY(1),
+        WEEK(7),
+        MONTH(30);
+
+        private final int days;
+
+        Window(int days) {
+            this.days = days;
+        }
+
+        public int getDays() {
+            return days;
+        }
+    }
+
+    private static LeaderboardService instance;
+    private final Map<Dimension, Map<Measure, SlidingTopK>> boards;
+    private final Map<Dimension, Map<String, String>> labels;
+
+    private LeaderboardService() {
+        this.boards = new EnumMap<>(Dimension.class);
+        this.labels = new EnumMap<>(Dimension.class);
+        int[] windowDays = new int[Window.values().length];
+        for (Window window : Window.values()) {
+            windowDays[window.ordinal()] = window.getDays();
+        }
+        for (Dimension dimension : Dimension.values()) {
+            Map<Measure, SlidingTopK> byMeasure = new EnumMap<>(Measure.class);
+            for (Measure measure : Measure.values()) {
+                byMeasure.put(measure, new SlidingTopK(windowDays));
+            }
+            boards.put(dimension, byMeasure);
+            labels.put(dimension, new ConcurrentHashMap<>());
+        }
+        loadFromDB();
+        BookingEventPublisher.getInstance().addListener(this);
+    }
+
+    public static synchronized LeaderboardService getInstance() {
+        if (instance == null) {
+            instance = new LeaderboardService();
+        }
+        return instance;
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        if ("Cancelled".equalsIgnoreCase(booking.getStatus())) {
+            return;
+        }
+        recordForReservation(booking.getReservation(), Measure.BOOKINGS, toDay(booking.getBookingDateTime()), 1);
+    }
+
+    @Override
+    public void onPaymentCompleted(Booking booking, Payment payment) {
+        recordForReservation(booking.getReservation(), Measure.REVENUE, toDay(payment.getPaymentDate()), payment.getAmount());
+    }
+
+    @Override
+    public void onBookingCancelled(Booking booking, double refundAmount) {
+        recordForReservation(booking.getReservation(), Measure.BOOKINGS, toDay(booking.getBookingDateTime()), -1);
+        if (refundAmount > 0) {
+            Payment payment = booking.getPayment();
+            long paidOn = toDay(payment != null ? payment.getPaymentDate() : null);
+            recordForReservation(booking.getReservation(), Measure.REVENUE, paidOn, -refundAmount);
+        }
+    }
+
+    @Override
+    public void onPromoCodeUsed(Booking booking, String promoCode) {
+        long today = LocalDate.now().toEpochDay();
+        record(Dimension.PROMO_CODE, promoCode, promoCode, Measure.BOOKINGS, today, 1);
+        record(Dimension.PROMO_CODE, promoCode, promoCode, Measure.REVENUE, today, booking.getTotalAmount());
+    }
+
+    public void record(Dimension dimension, String key, String label, Measure measure, long day, double delta) {
+        if (key == null) {
+            return;
+        }
+        if (label != null) {
+            labels.get(dimension).put(key, label);
+        }
+        boards.get(dimension).get(measure).add(key, day, delta);
+    }
+
+    public List<LeaderboardEntry> getTop(Dimension dimension, Measure measure, Window window, int limit) {
+        long today = LocalDate.now().toEpochDay();
+        Map<String, String> names = labels.get(dimension);
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : boards.get(dimension).get(measure).top(window.ordinal(), limit, today)) {
+            String key = entry.getKey();
+            entries.add(new LeaderboardEntry(key, names.getOrDefault(key, key), entry.getValue()));
+        }
+        return entries;
+    }
+
+    public double getValue(Dimension dimension, Measure measure, Window window, String key) {
+        return boards.get(dimension).get(measure).get(key, window.ordinal(), LocalDate.now().toEpochDay());
+    }
+
+    public List<String> getTrendingRouteIds(int limit) {
+        List<String> routeIds = new ArrayList<>();
+        for (LeaderboardEntry entry : getTop(Dimension.ROUTE, Measure.BOOKINGS, Window.WEEK, limit)) {
+            routeIds.add(entry.getKey());
+        }
+        return routeIds;
+    }
+
+    public synchronized void reload() {
+        for (Map<Measure, SlidingTopK> byMeasure : boards.values()) {
+            for (SlidingTopK board : byMeasure.values()) {
+                board.clear();
+            }
+        }
+        loadFromDB();
+    }
+
+    private void recordForReservation(Reservation reservation, Measure measure, long day, double delta) {
+        if (reservation == null) {
+            return;
+        }
+        Route route = reservation.getRoute();
+        Schedule schedule = reservation.getSchedule();
+        String routeLabel = route != null ? route.getSource() + " → " + route.getDestination() : null;
+
+        if (route != null) {
+            record(Dimension.ROUTE, route.getRouteID(), routeLabel, measure, day, delta);
+        }
+        if (schedule != null) {
+            record(Dimension.SCHEDULE, schedule.getScheduleID(),
+                   scheduleLabel(routeLabel, String.valueOf(schedule.getDate()), String.valueOf(schedule.getDepartureTime())),
+                   measure, day, delta);
+        }
+    }
+
+    private synchronized void loadFromDB() {
+        int days = Window.MONTH.getDays();
+        String bookingsQuery =
+            "SELECT res.RouteID, r.Source + ' → ' + r.Destination as RouteLabel, res.ScheduleID, " +
+            "       sch.Date as ScheduleDate, sch.DepartureTime, " +
+            "       CAST(b.BookingDateTime AS DATE) as Day, COUNT(*) as Total " +
+            "FROM Booking b " +
+            "INNER JOIN Reservation res ON b.ReservationID = res.ReservationID " +
+            "INNER JOIN Route r ON res.RouteID = r.RouteID " +
+            "INNER JOIN Schedule sch ON res.ScheduleID = sch.ScheduleID " +
+            "WHERE b.Status != 'Cancelled' AND b.BookingDateTime >= DATEADD(day, -?, CAST(GETDATE() AS DATE)) " +
+            "GROUP BY res.RouteID, r.Source, r.Destination, res.ScheduleID, sch.Date, sch.DepartureTime, " +
+            "         CAST(b.BookingDateTime AS DATE)";
+        String revenueQuery =
+            "SELECT res.RouteID, r.Source + ' → ' + r.Destination as RouteLabel, res.ScheduleID, " +
+            "       sch.Date as ScheduleDate, sch.DepartureTime, " +
+            "       CAST(p.PaymentDate AS DATE) as Day, SUM(p.Amount) as Total " +
+            "FROM Payment p " +
+            "INNER JOIN Booking b ON p.PaymentID = b.PaymentID " +
+            "INNER JOIN Reservation res ON b.ReservationID = res.ReservationID " +
+            "INNER JOIN Route r ON res.RouteID = r.RouteID " +
+            "INNER JOIN Schedule sch ON res.ScheduleID = sch.ScheduleID " +
+            "WHERE p.PaymentStatus = 'Completed' AND b.Status = 'Confirmed' " +
+            "AND p.PaymentDate >= DATEADD(day, -?, CAST(GETDATE() AS DATE)) " +
+            "GROUP BY res.RouteID, r.Source, r.Destination, res.ScheduleID, sch.Date, sch.DepartureTime, " +
+            "         CAST(p.PaymentDate AS DATE)";
+        String promoQuery =
+            "SELECT u.PromoCode, CAST(u.UsedDate AS DATE) as Day, COUNT(*) as Uses, " +
+            "       COALESCE(SUM(b.TotalAmount), 0) as Revenue " +
+            "FROM PromoCodeUsage u " +
+            "INNER JOIN Booking b ON u.BookingID = b.BookingID " +
+            "WHERE u.UsedDate >= DATEADD(day, -?, CAST(GETDATE() AS DATE)) " +
+            "GROUP BY u.PromoCode, CAST(u.UsedDate AS DATE)";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            loadReservationTotals(conn, bookingsQuery, Measure.BOOKINGS, days);
+            loadReservationTotals(conn, revenueQuery, Measure.REVENUE, days);
+
+            try (PreparedStatement stmt = conn.prepareStatement(promoQuery)) {
+                stmt.setInt(1, days);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        String code = rs.getString("PromoCode");
+                        long day = rs.getDate("Day").toLocalDate().toEpochDay();
+                        record(Dimension.PROMO_CODE, code, code, Measure.BOOKINGS, day, rs.getInt("Uses"));
+                        record(Dimension.PROMO_CODE, code, code, Measure.REVENUE, day, rs.getDouble("Revenue"));
+                    }
+                }
+            }
+            System.out.println("Leaderboards loaded for the last " + days + " days");
+
+        } catch (SQLException e) {
+            System.err.println("Error loading leaderboards: " + e.getMessage());
+        }
+    }
+
+    private void loadReservationTotals(Connection conn, String query, Measure measure, int days) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, days);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String routeLabel = rs.getString("RouteLabel");
+                    long day = rs.getDate("Day").toLocalDate().toEpochDay();
+                    double total = rs.getDouble("Total");
+                    String departure = rs.getTime("DepartureTime").toLocalTime().toString();
+
+                    record(Dimension.ROUTE, rs.getString("RouteID"), routeLabel, measure, day, total);
+                    record(Dimension.SCHEDULE, rs.getString("ScheduleID"),
+                           scheduleLabel(routeLabel, rs.getDate("ScheduleDate").toString(), departure),
+                           measure, day, total);
+                }
+            }
+        }
+    }
+
+    private static String scheduleLabel(String routeLabel, String date, String departureTime) {
+        return (routeLabel != null ? routeLabel + " " : "") + "(" + date + " " + departureTime + ")";
+    }
+
+    private static long toDay(Date date) {
+        Date when = date != null ? date : new Date();
+        return when.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+}
\ No newline at end of file
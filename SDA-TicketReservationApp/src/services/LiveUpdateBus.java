@@ -0,0 +1,205 @@
+package services;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+import models.Booking;
+import models.Notification;
+import models.Payment;
+import models.UserEvent;
+import models.UserUpdate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class LiveUpdateBus implements BookingEventListener {
+
+    private static final String OWNER_SUBSCRIPTION_KEY = LiveUpdateBus.class.getName() + ".subscription";
+    private static LiveUpdateBus instance;
+    private final Map<String, List<Subscription>> subscriptions;
+    // At most one pending update per user; events arriving before the FX thread drains it are merged in
+    private final Map<String, UserUpdate> pending;
+    private volatile EventBroker broker;
+
+    private LiveUpdateBus() {
+        this.subscriptions = new ConcurrentHashMap<>();
+        this.pending = new ConcurrentHashMap<>();
+        useBroker(new LocalEventBroker());
+        BookingEventPublisher.getInstance().addListener(this);
+    }
+
+    public static synchronized LiveUpdateBus getInstance() {
+        if (instance == null) {
+            instance = new LiveUpdateBus();
+        }
+        return instance;
+    }
+
+    public synchronized void useBroker(EventBroker broker) {
+        broker.subscribe(this::receive);
+        this.broker = broker;
+    }
+
+    // An owner holds one subscription: subscribing it again (a screen set up for another customer) replaces the
+    // previous one, and the subscription is released once the owner's scene leaves its window
+    public Runnable subscribe(String userID, Node owner, Consumer<UserUpdate> listener) {
+        Subscription subscription = new Subscription(owner, listener);
+        subscriptions.computeIfAbsent(userID, id -> new CopyOnWriteArrayList<>()).add(subscription);
+        Runnable unsubscribe = () -> removeSubscription(userID, subscription);
+        if (owner != null) {
+            Object previous = owner.getProperties().put(OWNER_SUBSCRIPTION_KEY, unsubscribe);
+            if (previous instanceof Runnable) {
+                ((Runnable) previous).run();
+            }
+            releaseWhenLeft(owner, unsubscribe);
+        }
+        return unsubscribe;
+    }
+
+    // Navigation swaps the stage's scene, so the old scene losing its window means the screen is gone;
+    // waiting for the next event to notice would let screens nobody revisits pile up
+    private static void releaseWhenLeft(Node owner, Runnable unsubscribe) {
+        ChangeListener<Window> windowListener = (obs, oldWindow, newWindow) -> {
+            if (oldWindow != null && newWindow == null) {
+                unsubscribe.run();
+            }
+        };
+        owner.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene != null) {
+                oldScene.windowProperty().removeListener(windowListener);
+                if (newScene == null) {
+                    unsubscribe.run();
+                }
+            }
+            if (newScene != null) {
+                newScene.windowProperty().addListener(windowListener);
+            }
+        });
+        if (owner.getScene() != null) {
+            owner.getScene().windowProperty().addListener(windowListener);
+        }
+    }
+
+    public void publishNotification(Notification notification) {
+        if (notification != null && notification.getUserID() != null) {
+            broker.publish(UserEvent.notification(notification));
+        }
+    }
+
+    public void publishBookingStatus(String userID, String bookingID, String status) {
+        if (userID != null && bookingID != null) {
+            broker.publish(UserEvent.bookingStatus(userID, bookingID, status));
+        }
+    }
+
+    public void publishRefresh(String userID) {
+        broker.publish(UserEvent.refresh(userID));
+    }
+
+    public void publishRefreshAll() {
+        broker.publish(UserEvent.refresh(null));
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        publishBookingStatus(booking.getCustomerID(), booking.getBookingID(), booking.getStatus());
+    }
+
+    @Override
+    public void onPaymentCompleted(Booking booking, Payment payment) {
+        publishBookingStatus(booking.getCustomerID(), booking.getBookingID(), booking.getStatus());
+    }
+
+    @Override
+    public void onBookingCancelled(Booking booking, double refundAmount) {
+        publishBookingStatus(booking.getCustomerID(), booking.getBookingID(), "Cancelled");
+    }
+
+    private void receive(UserEvent event) {
+        if (event.getUserID() == null) {
+            for (String userID : subscriptions.keySet()) {
+                enqueue(userID, event);
+            }
+        } else if (subscriptions.containsKey(event.getUserID())) {
+            enqueue(event.getUserID(), event);
+        }
+    }
+
+    private void enqueue(String userID, UserEvent event) {
+        boolean[] scheduled = {false};
+        pending.compute(userID, (id, update) -> {
+            if (update == null) {
+                update = new UserUpdate(id);
+                scheduled[0] = true;
+            }
+            update.add(event);
+            return update;
+        });
+        if (scheduled[0]) {
+            runOnFxThread(() -> deliver(userID));
+        }
+    }
+
+    private void deliver(String userID) {
+        UserUpdate update = pending.remove(userID);
+        List<Subscription> userSubscriptions = subscriptions.get(userID);
+        if (update == null || userSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : userSubscriptions) {
+            if (!subscription.isAttached()) {
+                // The owning screen was replaced, so this listener can never be seen again
+                removeSubscription(userID, subscription);
+                continue;
+            }
+            try {
+                subscription.listener.accept(update);
+            } catch (Exception e) {
+                System.err.println("Error in live update listener: " + e.getMessage());
+            }
+        }
+    }
+
+    private void removeSubscription(String userID, Subscription subscription) {
+        subscriptions.computeIfPresent(userID, (id, list) -> {
+            list.remove(subscription);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private static void runOnFxThread(Runnable action) {
+        try {
+            Platform.runLater(action);
+        } catch (IllegalStateException e) {
+            // FX toolkit not running (e.g. background tools); deliver inline instead
+            action.run();
+        }
+    }
+
+    private static class Subscription {
+        private final Node owner;
+        private final Consumer<UserUpdate> listener;
+        private boolean shown;
+
+        Subscription(Node owner, Consumer<UserUpdate> listener) {
+            this.owner = owner;
+            this.listener = listener;
+        }
+
+        // Controllers subscribe before their scene is on the stage, so only a screen that was shown and then replaced counts as gone
+        boolean isAttached() {
+            if (owner == null) {
+                return true;
+            }
+            Scene scene = owner.getScene();
+            boolean showing = scene != null && scene.getWindow() != null;
+            shown |= showing;
+            return showing || !shown;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package services;
+
+import models.UserEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+public class LocalEventBroker implements EventBroker {
+
+    private final List<Consumer<UserEvent>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(UserEvent event) {
+        for (Consumer<UserEvent> receiver : receivers) {
+            try {
+                receiver.accept(event);
+            } catch (Exception e) {
+                System.err.println("Error delivering user event: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<UserEvent> receiver) {
+        receivers.add(receiver);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,262 @@
+package services;
+
+import config.DatabaseConfig;
+import helpers.TimeSeriesBuffer;
+import models.Booking;
+import models.MetricPoint;
+import models.Payment;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class MetricsService implements BookingEventListener {
+
+    public enum Metric {
+        BOOKINGS,
+        REVENUE,
+        CANCELLATIONS,
+        REFUNDS
+    }
+
+    // Each granularity keeps its own ring buffer; older data survives only in the coarser ones
+    public enum Granularity {
+        MINUTE(60_000L, 24 * 60),
+        HOUR(3_600_000L, 24 * 93),
+        DAY(86_400_000L, 366 * 3);
+
+        private final long bucketMillis;
+        private final int retention;
+
+        Granularity(long bucketMillis, int retention) {
+            this.bucketMillis = bucketMillis;
+            this.retention = retention;
+        }
+
+        public long getBucketMillis() {
+            return bucketMillis;
+        }
+
+        public int getRetention() {
+            return retention;
+        }
+    }
+
+    private static MetricsService instance;
+    private final Map<Granularity, TimeSeriesBuffer> buffers;
+
+    private MetricsService() {
+        this.buffers = new EnumMap<>(Granularity.class);
+        for (Granularity granularity : Granularity.values()) {
+            buffers.put(granularity, new TimeSeriesBuffer(
+                granularity.getBucketMillis(), granularity.getRetention(), Metric.values().length));
+        }
+        loadHistoryFromDB();
+        BookingEventPublisher.getInstance().addListener(this);
+    }
+
+    public static synchronized MetricsService getInstance() {
+        if (instance == null) {
+            instance = new MetricsService();
+        }
+        return instance;
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        recordBooking(booking.getBookingDateTime());
+    }
+
+    @Override
+    public void onPaymentCompleted(Booking booking, Payment payment) {
+        recordPayment(payment.getPaymentDate(), payment.getAmount());
+    }
+
+    @Override
+    public void onBookingCancelled(Booking booking, double refundAmount) {
+        recordCancellation(new Date(), refundAmount);
+    }
+
+    public void recordBooking(Date bookingDateTime) {
+        record(Metric.BOOKINGS, toLocal(bookingDateTime), 1);
+    }
+
+    public void recordPayment(Date paymentDate, double amount) {
+        record(Metric.REVENUE, toLocal(paymentDate), amount);
+    }
+
+    public void recordCancellation(Date cancelledOn, double refundAmount) {
+        LocalDateTime when = toLocal(cancelledOn);
+        record(Metric.CANCELLATIONS, when, 1);
+        if (refundAmount > 0) {
+            record(Metric.REFUNDS, when, refundAmount);
+        }
+    }
+
+    public synchronized void record(Metric metric, LocalDateTime when, double delta) {
+        long localMillis = toLocalMillis(when);
+        for (TimeSeriesBuffer buffer : buffers.values()) {
+            buffer.add(metric.ordinal(), localMillis, delta);
+        }
+    }
+
+    public List<MetricPoint> getSeries(Metric metric, Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        TimeSeriesBuffer buffer = buffers.get(granularity);
+        long fromBucket = Math.max(buffer.bucketOf(toLocalMillis(from)), oldestBucket(granularity));
+        long toBucket = buffer.bucketOf(toLocalMillis(to) - 1);
+
+        double[] values = buffer.range(metric.ordinal(), fromBucket, toBucket);
+        List<MetricPoint> points = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            long bucketStart = (fromBucket + i) * granularity.getBucketMillis();
+            points.add(new MetricPoint(fromLocalMillis(bucketStart), values[i]));
+        }
+        return points;
+    }
+
+    public double getTotal(Metric metric, LocalDateTime from, LocalDateTime to) {
+        Granularity granularity = finestCovering(from);
+        double total = 0;
+        for (MetricPoint point : getSeries(metric, granularity, from, to)) {
+            total += point.getValue();
+        }
+        return total;
+    }
+
+    public double getNetRevenue(LocalDateTime from, LocalDateTime to) {
+        return getTotal(Metric.REVENUE, from, to) - getTotal(Metric.REFUNDS, from, to);
+    }
+
+    public void exportCsv(Granularity granularity, LocalDateTime from, LocalDateTime to, Writer writer) throws IOException {
+        Metric[] metrics = Metric.values();
+        List<List<MetricPoint>> series = new ArrayList<>();
+        for (Metric metric : metrics) {
+            series.add(getSeries(metric, granularity, from, to));
+        }
+
+        writer.write("PeriodStart");
+        for (Metric metric : metrics) {
+            writer.write("," + metric.name());
+        }
+        writer.write("\n");
+
+        int rows = series.get(0).size();
+        for (int i = 0; i < rows; i++) {
+            writer.write(series.get(0).get(i).getPeriodStart().toString());
+            for (List<MetricPoint> points : series) {
+                writer.write("," + String.format("%.2f", points.get(i).getValue()));
+            }
+            writer.write("\n");
+        }
+        writer.flush();
+    }
+
+    public synchronized void reload() {
+        for (TimeSeriesBuffer buffer : buffers.values()) {
+            buffer.clear();
+        }
+        loadHistoryFromDB();
+    }
+
+    private Granularity finestCovering(LocalDateTime from) {
+        for (Granularity granularity : Granularity.values()) {
+            TimeSeriesBuffer buffer = buffers.get(granularity);
+            if (buffer.bucketOf(toLocalMillis(from)) >= oldestBucket(granularity)) {
+                return granularity;
+            }
+        }
+        return Granularity.DAY;
+    }
+
+    private long oldestBucket(Granularity granularity) {
+        TimeSeriesBuffer buffer = buffers.get(granularity);
+        return buffer.bucketOf(toLocalMillis(LocalDateTime.now())) - buffer.getCapacity() + 1;
+    }
+
+    private synchronized void loadHistoryFromDB() {
+        int days = Granularity.DAY.getRetention();
+        int minutes = Granularity.MINUTE.getRetention();
+        // Cancellations and refunds are bucketed by when the booking was cancelled, not when it was made
+        String cancelled = "Booking b LEFT JOIN Payment p ON p.PaymentID = b.PaymentID";
+        String[][] sources = {
+            {"COUNT(*)", "Booking", "BookingDateTime", null},
+            {"COALESCE(SUM(Amount), 0)", "Payment", "PaymentDate", "PaymentStatus IN ('Completed', 'Refunded')"},
+            {"COUNT(*)", cancelled, "b.CancelledAt", "b.Status = 'Cancelled'"},
+            {"COALESCE(SUM(COALESCE(p.RefundAmount, p.Amount)), 0)", cancelled, "b.CancelledAt",
+             "b.Status = 'Cancelled' AND p.PaymentStatus = 'Refunded'"}
+        };
+        Metric[] metrics = {Metric.BOOKINGS, Metric.REVENUE, Metric.CANCELLATIONS, Metric.REFUNDS};
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            for (int i = 0; i < metrics.length; i++) {
+                String[] source = sources[i];
+                loadTotals(conn, totalsQuery("hour", "day", source), metrics[i], days,
+                           Granularity.HOUR, Granularity.DAY);
+                // Seeded separately so ranges inside the last day read the same history at minute resolution
+                loadTotals(conn, totalsQuery("minute", "minute", source), metrics[i], minutes,
+                           Granularity.MINUTE);
+            }
+            System.out.println("Metrics history loaded for the last " + days + " days");
+
+        } catch (SQLException e) {
+            System.err.println("Error loading metrics history: " + e.getMessage());
+        }
+    }
+
+    private String totalsQuery(String bucketUnit, String spanUnit, String[] source) {
+        String aggregate = source[0];
+        String table = source[1];
+        String dateColumn = source[2];
+        String filter = source[3];
+        String bucket = "DATEADD(" + bucketUnit + ", DATEDIFF(" + bucketUnit + ", 0, " + dateColumn + "), 0)";
+        return "SELECT " + bucket + " as Bucket, " + aggregate + " as Total FROM " + table + " " +
+               "WHERE " + dateColumn + " >= DATEADD(" + spanUnit + ", -?, GETDATE()) " +
+               (filter != null ? "AND " + filter + " " : "") +
+               "GROUP BY " + bucket;
+    }
+
+    private void loadTotals(Connection conn, String query, Metric metric, int span,
+                            Granularity... targets) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, span);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    long localMillis = toLocalMillis(rs.getTimestamp("Bucket").toLocalDateTime());
+                    double total = rs.getDouble("Total");
+                    for (Granularity granularity : targets) {
+                        buffers.get(granularity).add(metric.ordinal(), localMillis, total);
+                    }
+                }
+            }
+        }
+    }
+
+    private static LocalDateTime toLocal(Date date) {
+        Date when = date != null ? date : new Date();
+        return LocalDateTime.ofInstant(when.toInstant(), ZoneId.systemDefault());
+    }
+
+    private static long toLocalMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromLocalMillis(long localMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis, 1000L), 0, ZoneOffset.UTC);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package services;
+
+import catalogs.NotificationCatalog;
+import models.BroadcastProgress;
+import models.BroadcastSegment;
+import models.Notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class NotificationBroadcastService {
+
+    // Below SQL Server's lock escalation threshold, so a chunk never takes a table lock on Notifications
+    private static final int CHUNK_SIZE = 4000;
+    private static final long FINISHED_RETENTION_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    private static NotificationBroadcastService instance;
+    private final NotificationCatalog notificationCatalog;
+    private final ExecutorService executor;
+    private final Map<String, BroadcastProgress> campaigns;
+    private final AtomicInteger campaignSequence = new AtomicInteger();
+
+    private NotificationBroadcastService() {
+        this.notificationCatalog = NotificationCatalog.getInstance();
+        this.campaigns = new ConcurrentHashMap<>();
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "notification-broadcast");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized NotificationBroadcastService getInstance() {
+        if (instance == null) {
+            instance = new NotificationBroadcastService();
+        }
+        return instance;
+    }
+
+    public BroadcastProgress broadcastPromotion(BroadcastSegment segment, String code, double discount) {
+        Notification template = Notification.createPromotionNotification(null, code, discount);
+        return broadcast(segment, template);
+    }
+
+    public BroadcastProgress broadcastSystemMessage(BroadcastSegment segment, String title, String message) {
+        Notification template = new Notification(null, title, message, Notification.NotificationType.SYSTEM);
+        return broadcast(segment, template);
+    }
+
+    public BroadcastProgress broadcast(BroadcastSegment segment, Notification template) {
+        String campaignID = "BC-" + System.currentTimeMillis() + "-" + campaignSequence.incrementAndGet();
+        BroadcastProgress progress = new BroadcastProgress(campaignID, segment, template.getTitle());
+        pruneFinished();
+        campaigns.put(campaignID, progress);
+        executor.submit(() -> run(progress, template));
+        return progress;
+    }
+
+    public BroadcastProgress getProgress(String campaignID) {
+        return campaigns.get(campaignID);
+    }
+
+    public List<BroadcastProgress> getCampaigns() {
+        return new ArrayList<>(campaigns.values());
+    }
+
+    // Running and queued campaigns stay until they finish, however old
+    private void pruneFinished() {
+        long cutoff = System.currentTimeMillis() - FINISHED_RETENTION_MILLIS;
+        campaigns.values().removeIf(p -> p.getFinishedAt() != 0 && p.getFinishedAt() < cutoff);
+    }
+
+    private void run(BroadcastProgress progress, Notification template) {
+        BroadcastSegment segment = progress.getSegment();
+        progress.start(notificationCatalog.countSegment(segment));
+        System.out.println("Broadcast " + progress.getCampaignID() + " started for " + segment +
+                           " (" + progress.getTargetCount() + " recipients)");
+
+        boolean succeeded = true;
+        try {
+            String after = "";
+            String chunkEnd;
+            while ((chunkEnd = notificationCatalog.findSegmentChunkEnd(segment, after, CHUNK_SIZE)) != null) {
+                progress.addDelivered(notificationCatalog.addNotificationsForSegment(segment, template, after, chunkEnd));
+                after = chunkEnd;
+            }
+        } catch (RuntimeException e) {
+            succeeded = false;
+            System.err.println("Broadcast " + progress.getCampaignID() + " stopped: " + e.getMessage());
+        }
+
+        progress.finish(succeeded);
+        LiveUpdateBus.getInstance().publishRefreshAll();
+        System.out.println("Broadcast " + progress);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,269 @@
+package services;
+
+import catalogs.NotificationCatalog;
+import models.Notification;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class NotificationDispatcher {
+
+    private static final int QUEUE_CAPACITY = 2000;
+    // Six parameters per row keeps a full batch well under SQL Server's 2100 parameter limit
+    private static final int MAX_BATCH_SIZE = 200;
+    private static final long REPLAY_INTERVAL_MILLIS = 30_000L;
+    private static final String NULL_FIELD = "-";
+    private static final Path SPILL_FILE = Paths.get(System.getProperty("user.home"), ".ticketgenie", "notification-spill.log");
+    // Rows the database will never accept; kept for inspection but never replayed
+    private static final Path DEAD_LETTER_FILE = SPILL_FILE.resolveSibling("notification-dead-letter.log");
+
+    private static NotificationDispatcher instance;
+    private final NotificationCatalog notificationCatalog;
+    private final BlockingQueue<Notification> queue;
+    private final Thread writer;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private long lastReplayAttempt;
+
+    private NotificationDispatcher() {
+        this.notificationCatalog = NotificationCatalog.getInstance();
+        this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        this.writer = new Thread(this::runWriter, "notification-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::spillPending, "notification-spill"));
+    }
+
+    public static synchronized NotificationDispatcher getInstance() {
+        if (instance == null) {
+            instance = new NotificationDispatcher();
+        }
+        return instance;
+    }
+
+    public boolean submit(Notification notification) {
+        if (notification == null || notification.getUserID() == null) {
+            return false;
+        }
+        if (queue.offer(notification)) {
+            return true;
+        }
+        // Queue is full: push the overflow to disk instead of making the caller wait for the writer
+        List<Notification> overflow = new ArrayList<>();
+        overflow.add(notification);
+        return spill(overflow);
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    public long getDeadLetterCount() {
+        return deadLettered.get();
+    }
+
+    private void runWriter() {
+        List<Notification> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Notification first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    replaySpillIfDue();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                System.err.println("Notification writer error: " + e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Notification> batch) {
+        List<Notification> retryLater = new ArrayList<>();
+        written.addAndGet(write(batch, retryLater));
+        if (!retryLater.isEmpty()) {
+            spill(retryLater);
+        }
+    }
+
+    // Returns how many rows were stored; rows that may succeed on a later attempt are added to retryLater
+    private int write(List<Notification> batch, List<Notification> retryLater) {
+        if (notificationCatalog.addNotifications(batch)) {
+            return batch.size();
+        }
+        List<Notification> rejected = new ArrayList<>();
+        List<Notification> unwritten = notificationCatalog.addNotificationsIndividually(batch, rejected);
+        if (!rejected.isEmpty()) {
+            deadLetter(rejected);
+        }
+        retryLater.addAll(unwritten);
+        return batch.size() - rejected.size() - unwritten.size();
+    }
+
+    private boolean spill(List<Notification> notifications) {
+        if (append(SPILL_FILE, notifications)) {
+            spilled.addAndGet(notifications.size());
+            System.err.println("Spilled " + notifications.size() + " notifications to " + SPILL_FILE);
+            return true;
+        }
+        return false;
+    }
+
+    private void deadLetter(List<Notification> notifications) {
+        if (append(DEAD_LETTER_FILE, notifications)) {
+            deadLettered.addAndGet(notifications.size());
+            System.err.println("Dead-lettered " + notifications.size() + " rejected notifications to " + DEAD_LETTER_FILE);
+        }
+    }
+
+    private synchronized boolean append(Path file, List<Notification> notifications) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Notification notification : notifications) {
+                    out.write(encode(notification));
+                    out.newLine();
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing notifications to " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void replaySpillIfDue() {
+        long now = System.currentTimeMillis();
+        Path replaying = SPILL_FILE.resolveSibling(SPILL_FILE.getFileName() + ".replay");
+        if (now - lastReplayAttempt < REPLAY_INTERVAL_MILLIS
+                || (!Files.exists(SPILL_FILE) && !Files.exists(replaying))) {
+            return;
+        }
+        lastReplayAttempt = now;
+
+        List<Notification> pending = new ArrayList<>();
+        try {
+            // Moving the file first means anything spilled during the replay lands in a fresh file;
+            // a replay file left over from a crash is finished before the next one is taken
+            if (!Files.exists(replaying)) {
+                synchronized (this) {
+                    Files.move(SPILL_FILE, replaying, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            try (BufferedReader in = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    Notification notification = decode(line);
+                    if (notification != null) {
+                        pending.add(notification);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading notification spill file: " + e.getMessage());
+            return;
+        }
+
+        int replayed = 0;
+        for (int start = 0; start < pending.size(); start += MAX_BATCH_SIZE) {
+            int end = Math.min(start + MAX_BATCH_SIZE, pending.size());
+            List<Notification> retryLater = new ArrayList<>();
+            replayed += write(pending.subList(start, end), retryLater);
+            if (!retryLater.isEmpty()) {
+                // The database is unreachable again: keep what is left for the next replay
+                retryLater.addAll(pending.subList(end, pending.size()));
+                spill(retryLater);
+                break;
+            }
+        }
+        written.addAndGet(replayed);
+        try {
+            Files.deleteIfExists(replaying);
+        } catch (IOException e) {
+            // The file is picked up again on the next replay, which would store its rows twice
+            System.err.println("Error removing replayed spill file " + replaying + "; its " + pending.size() +
+                               " notifications may be replayed again: " + e.getMessage());
+        }
+        if (replayed > 0) {
+            System.out.println("Replayed " + replayed + " spilled notifications");
+        }
+    }
+
+    private void spillPending() {
+        List<Notification> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            spill(remaining);
+        }
+    }
+
+    private static String encode(Notification notification) {
+        return field(notification.getUserID()) + "," +
+               field(notification.getTitle()) + "," +
+               field(notification.getMessage()) + "," +
+               field(notification.getTypeString()) + "," +
+               field(notification.getRelatedID()) + "," +
+               (notification.getCreatedAt() != null ? notification.getCreatedAt().getTime() : System.currentTimeMillis());
+    }
+
+    private static Notification decode(String line) {
+        String[] parts = line.split(",", -1);
+        if (parts.length != 6) {
+            System.err.println("Skipping malformed spilled notification");
+            return null;
+        }
+        try {
+            Notification notification = new Notification(
+                unfield(parts[0]),
+                unfield(parts[1]),
+                unfield(parts[2]),
+                Notification.NotificationType.fromString(unfield(parts[3]))
+            );
+            notification.setRelatedID(unfield(parts[4]));
+            notification.setCreatedAt(new Date(Long.parseLong(parts[5])));
+            return notification;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Skipping malformed spilled notification: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String field(String value) {
+        return value == null ? NULL_FIELD : Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String unfield(String value) {
+        return NULL_FIELD.equals(value) ? null : new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
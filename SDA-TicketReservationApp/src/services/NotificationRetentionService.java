@@ -0,0 +1,98 @@
+package services;
+
+import catalogs.NotificationCatalog;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class NotificationRetentionService {
+
+    private static final int DEFAULT_RETENTION_DAYS = 90;
+    private static final int CHUNK_SIZE = 2000;
+    private static final long PAUSE_BETWEEN_CHUNKS_MILLIS = 200;
+    private static final LocalTime NIGHTLY_RUN_TIME = LocalTime.of(3, 0);
+
+    private static NotificationRetentionService instance;
+    private final NotificationCatalog notificationCatalog;
+    private final ScheduledExecutorService scheduler;
+    private volatile int retentionDays = DEFAULT_RETENTION_DAYS;
+    private volatile LocalDateTime lastRun;
+    private volatile long lastArchivedCount;
+
+    private NotificationRetentionService() {
+        this.notificationCatalog = NotificationCatalog.getInstance();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notification-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::runArchival, minutesUntilNightlyRun(),
+                                      TimeUnit.DAYS.toMinutes(1), TimeUnit.MINUTES);
+    }
+
+    public static synchronized NotificationRetentionService getInstance() {
+        if (instance == null) {
+            instance = new NotificationRetentionService();
+        }
+        return instance;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public void setRetentionDays(int retentionDays) {
+        if (retentionDays < 1) {
+            throw new IllegalArgumentException("Retention must be at least one day");
+        }
+        this.retentionDays = retentionDays;
+    }
+
+    public LocalDateTime getLastRun() {
+        return lastRun;
+    }
+
+    public long getLastArchivedCount() {
+        return lastArchivedCount;
+    }
+
+    public void runNow() {
+        scheduler.execute(this::runArchival);
+    }
+
+    private void runArchival() {
+        long started = System.currentTimeMillis();
+        long archived = 0;
+        int moved;
+        // Only read notifications are archived, so the cached unread counters stay correct
+        while ((moved = notificationCatalog.archiveReadNotifications(retentionDays, CHUNK_SIZE)) > 0) {
+            archived += moved;
+            if (moved < CHUNK_SIZE) {
+                break;
+            }
+            try {
+                Thread.sleep(PAUSE_BETWEEN_CHUNKS_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        lastRun = LocalDateTime.now();
+        lastArchivedCount = archived;
+        System.out.println("Archived " + archived + " read notifications older than " + retentionDays +
+                           " days in " + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    private static long minutesUntilNightlyRun() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().atTime(NIGHTLY_RUN_TIME);
+        if (!next.isAfter(now)) {
+            next = next.plusDays(1);
+        }
+        return Duration.between(now, next).toMinutes();
+    }
+}
\ No newline at end of file
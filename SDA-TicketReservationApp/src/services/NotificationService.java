@@ -8,9 +8,11 @@ public class NotificationService {
     
     private static NotificationService instance;
     private NotificationCatalog notificationCatalog;
+    private NotificationDispatcher notificationDispatcher;
     
     private NotificationService() {
         this.notificationCatalog = NotificationCatalog.getInstance();
+        this.notificationDispatcher = NotificationDispatcher.getInstance();
     }
     
     public static synchronized NotificationService getInstance() {
@@ -26,8 +28,8 @@ public class NotificationService {
         );
         notification.setRelatedID(bookingId);
         
-        if (notificationCatalog.addNotification(notification)) {
-            System.out.println("Booking success notification sent to user: " + customer.getUserID());
+        if (notificationDispatcher.submit(notification)) {
+            System.out.println("Booking success notification queued for user: " + customer.getUserID());
         }
     }
     
@@ -37,8 +39,8 @@ public class NotificationService {
         );
         notification.setRelatedID(bookingId);
         
-        if (notificationCatalog.addNotification(notification)) {
-            System.out.println("Payment success notification sent to user: " + customer.getUserID());
+        if (notificationDispatcher.submit(notification)) {
+            System.out.println("Payment success notification queued for user: " + customer.getUserID());
         }
     }
     
@@ -48,8 +50,8 @@ public class NotificationService {
         );
         notification.setRelatedID(bookingId);
         
-        if (notificationCatalog.addNotification(notification)) {
-            System.out.println("Departure reminder sent to user: " + customer.getUserID());
+        if (notificationDispatcher.submit(notification)) {
+            System.out.println("Departure reminder queued for user: " + customer.getUserID());
         }
     }
     
@@ -59,16 +61,16 @@ public class NotificationService {
         );
         notification.setRelatedID(bookingId);
         
-        if (notificationCatalog.addNotification(notification)) {
-            System.out.println("Cancellation notification sent to user: " + customer.getUserID());
+        if (notificationDispatcher.submit(notification)) {
+            System.out.println("Cancellation notification queued for user: " + customer.getUserID());
         }
     }
     
     public void sendWelcomeNotification(Customer customer) {
         Notification notification = Notification.createWelcomeNotification(customer.getUserID());
         
-        if (notificationCatalog.addNotification(notification)) {
-            System.out.println("Welcome notification sent to user: " + customer.getUserID());
+        if (notificationDispatcher.submit(notification)) {
+            System.out.println("Welcome notification queued for user: " + customer.getUserID());
         }
     }
     
@@ -77,8 +79,8 @@ public class NotificationService {
             customer.getUserID(), code, discount
         );
         
-        if (notificationCatalog.addNotification(notification)) {
-            System.out.println("Promotion notification sent to user: " + customer.getUserID());
+        if (notificationDispatcher.submit(notification)) {
+            System.out.println("Promotion notification queued for user: " + customer.getUserID());
         }
     }
     
@@ -90,8 +92,8 @@ public class NotificationService {
             Notification.NotificationType.SYSTEM
         );
         
-        if (notificationCatalog.addNotification(notification)) {
-            System.out.println("System notification sent to user: " + customer.getUserID());
+        if (notificationDispatcher.submit(notification)) {
+            System.out.println("System notification queued for user: " + customer.getUserID());
         }
     }
     
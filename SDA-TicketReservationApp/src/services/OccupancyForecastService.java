@@ -0,0 +1,242 @@
+package services;
+
+import config.DatabaseConfig;
+import helpers.BookingCurve;
+import models.Booking;
+import models.OccupancyForecast;
+import models.Reservation;
+import models.Schedule;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class OccupancyForecastService implements BookingEventListener {
+
+    public static final double SELL_OUT_THRESHOLD = 0.9;
+
+    private static final int MAX_LEAD_DAYS = 60;
+    private static final int HISTORY_DAYS = 180;
+    private static final int MIN_ROUTE_DEPARTURES = 3;
+    private static final LocalTime NIGHTLY_RUN_TIME = LocalTime.of(2, 0);
+
+    private static OccupancyForecastService instance;
+    private final ScheduledExecutorService scheduler;
+    private volatile Map<String, OccupancyForecast> forecasts;
+    private volatile LocalDateTime lastRun;
+    private final Object publishLock = new Object();
+    // Seat changes seen after a run read its snapshot, replayed onto the new map before it is published
+    private Map<String, Integer> pendingSeats;
+
+    private OccupancyForecastService() {
+        this.forecasts = new ConcurrentHashMap<>();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "occupancy-forecast");
+            thread.setDaemon(true);
+            return thread;
+        });
+        BookingEventPublisher.getInstance().addListener(this);
+        scheduler.execute(this::runForecast);
+        scheduler.scheduleAtFixedRate(this::runForecast, minutesUntilNightlyRun(),
+                                      TimeUnit.DAYS.toMinutes(1), TimeUnit.MINUTES);
+    }
+
+    public static synchronized OccupancyForecastService getInstance() {
+        if (instance == null) {
+            instance = new OccupancyForecastService();
+        }
+        return instance;
+    }
+
+    public OccupancyForecast getForecast(String scheduleID) {
+        return scheduleID != null ? forecasts.get(scheduleID) : null;
+    }
+
+    public List<OccupancyForecast> getForecastsForRoute(String routeID) {
+        return forecasts.values().stream()
+            .filter(f -> f.getRouteID().equals(routeID))
+            .sorted(Comparator.comparing(OccupancyForecast::getDepartureDate))
+            .collect(Collectors.toList());
+    }
+
+    public List<OccupancyForecast> getSellOutRisks(int limit) {
+        return forecasts.values().stream()
+            .filter(f -> f.getProjectedLoadFactor() >= SELL_OUT_THRESHOLD)
+            .sorted(Comparator.comparingDouble(OccupancyForecast::getProjectedDemand).reversed())
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    public LocalDateTime getLastRun() {
+        return lastRun;
+    }
+
+    public void refreshNow() {
+        scheduler.execute(this::runForecast);
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        adjustSeatsSold(booking.getReservation(), 1);
+    }
+
+    @Override
+    public void onBookingCancelled(Booking booking, double refundAmount) {
+        adjustSeatsSold(booking.getReservation(), -1);
+    }
+
+    private void adjustSeatsSold(Reservation reservation, int direction) {
+        if (reservation == null || reservation.getSchedule() == null || reservation.getSeats().isEmpty()) {
+            return;
+        }
+        Schedule schedule = reservation.getSchedule();
+        int seats = reservation.getSeats().size() * direction;
+        synchronized (publishLock) {
+            applySeats(forecasts, schedule.getScheduleID(), seats);
+            if (pendingSeats != null) {
+                pendingSeats.merge(schedule.getScheduleID(), seats, Integer::sum);
+            }
+        }
+    }
+
+    private static void applySeats(Map<String, OccupancyForecast> target, String scheduleID, int seats) {
+        target.computeIfPresent(scheduleID,
+            (id, forecast) -> forecast.withSeatsSold(forecast.getSeatsSold() + seats));
+    }
+
+    private void runForecast() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime generatedAt = LocalDateTime.now();
+        Map<String, BookingCurve> routeCurves = new HashMap<>();
+        BookingCurve globalCurve = new BookingCurve(MAX_LEAD_DAYS);
+        List<OccupancyForecast> upcoming = new ArrayList<>();
+
+        String curveQuery =
+            "SELECT sch.RouteID, DATEDIFF(day, b.BookingDateTime, sch.Date) as LeadDays, COUNT(*) as Seats " +
+            "FROM Booking b " +
+            "INNER JOIN Reservation res ON b.ReservationID = res.ReservationID " +
+            "INNER JOIN Schedule sch ON res.ScheduleID = sch.ScheduleID " +
+            "INNER JOIN Seat st ON st.ReservationID = b.ReservationID " +
+            "WHERE b.Status != 'Cancelled' " +
+            "AND sch.Date < CAST(GETDATE() AS DATE) AND sch.Date >= DATEADD(day, -?, CAST(GETDATE() AS DATE)) " +
+            "GROUP BY sch.RouteID, DATEDIFF(day, b.BookingDateTime, sch.Date)";
+        String departuresQuery =
+            "SELECT RouteID, COUNT(*) as Departures FROM Schedule " +
+            "WHERE Date < CAST(GETDATE() AS DATE) AND Date >= DATEADD(day, -?, CAST(GETDATE() AS DATE)) " +
+            "GROUP BY RouteID";
+        String upcomingQuery =
+            "SELECT sch.ScheduleID, sch.RouteID, sch.Date, COUNT(st.SeatID) as Capacity, " +
+            "       COALESCE(SUM(CASE WHEN st.Availability = 0 THEN 1 ELSE 0 END), 0) as Sold " +
+            "FROM Schedule sch " +
+            "LEFT JOIN Seat st ON st.ScheduleID = sch.ScheduleID " +
+            "WHERE sch.IsActive = 1 AND sch.Date >= CAST(GETDATE() AS DATE) " +
+            "GROUP BY sch.ScheduleID, sch.RouteID, sch.Date";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            try (PreparedStatement stmt = conn.prepareStatement(curveQuery)) {
+                stmt.setInt(1, HISTORY_DAYS);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        int leadDays = rs.getInt("LeadDays");
+                        double seats = rs.getDouble("Seats");
+                        routeCurves.computeIfAbsent(rs.getString("RouteID"), k -> new BookingCurve(MAX_LEAD_DAYS))
+                                   .addSeats(leadDays, seats);
+                        globalCurve.addSeats(leadDays, seats);
+                    }
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(departuresQuery)) {
+                stmt.setInt(1, HISTORY_DAYS);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        int departures = rs.getInt("Departures");
+                        routeCurves.computeIfAbsent(rs.getString("RouteID"), k -> new BookingCurve(MAX_LEAD_DAYS))
+                                   .addDepartures(departures);
+                        globalCurve.addDepartures(departures);
+                    }
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(upcomingQuery);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    upcoming.add(new OccupancyForecast(
+                        rs.getString("ScheduleID"),
+                        rs.getString("RouteID"),
+                        rs.getDate("Date").toLocalDate(),
+                        rs.getInt("Capacity"),
+                        rs.getInt("Sold"),
+                        0,
+                        generatedAt));
+                }
+            }
+            synchronized (publishLock) {
+                pendingSeats = new HashMap<>();
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error loading occupancy forecast data: " + e.getMessage());
+            synchronized (publishLock) {
+                pendingSeats = null;
+            }
+            return;
+        }
+
+        // Curves are read-only from here on, so schedules can be projected independently
+        Map<String, OccupancyForecast> results = upcoming.parallelStream()
+            .map(current -> project(current, routeCurves, globalCurve, today))
+            .collect(Collectors.toConcurrentMap(OccupancyForecast::getScheduleID, f -> f));
+
+        synchronized (publishLock) {
+            pendingSeats.forEach((scheduleID, seats) -> applySeats(results, scheduleID, seats));
+            pendingSeats = null;
+            forecasts = results;
+        }
+        lastRun = generatedAt;
+        System.out.println("Occupancy forecast generated for " + results.size() + " upcoming schedules");
+    }
+
+    private OccupancyForecast project(OccupancyForecast current, Map<String, BookingCurve> routeCurves,
+                                      BookingCurve globalCurve, LocalDate today) {
+        BookingCurve curve = routeCurves.get(current.getRouteID());
+        if (curve == null || curve.getDepartures() < MIN_ROUTE_DEPARTURES) {
+            curve = globalCurve;
+        }
+        int daysToDeparture = (int) ChronoUnit.DAYS.between(today, current.getDepartureDate());
+
+        return new OccupancyForecast(current.getScheduleID(), current.getRouteID(), current.getDepartureDate(),
+                                     current.getCapacity(), current.getSeatsSold(),
+                                     curve.expectedPickup(daysToDeparture), current.getGeneratedAt());
+    }
+
+    private static long minutesUntilNightlyRun() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().atTime(NIGHTLY_RUN_TIME);
+        if (!next.isAfter(now)) {
+            next = next.plusDays(1);
+        }
+        return Duration.between(now, next).toMinutes();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package services;
+
+import models.GatewayResult;
+
+// Charges must be idempotent per key: repeating a call with the same key returns the original result
+public interface PaymentGateway {
+
+    GatewayResult charge(String idempotencyKey, double amount, String paymentMethod);
+
+    GatewayResult lookup(String idempotencyKey);
+}
\ No newline at end of file
@@ -0,0 +1,461 @@
+package services;
+
+import config.DatabaseConfig;
+import models.ReconciliationMismatch;
+import models.ReconciliationRun;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class PaymentReconciliationService {
+
+    private static final int FETCH_SIZE = 5000;
+    private static final int CHECKPOINT_KEYS = 10000;
+    private static final int MAX_BUFFERED_MISMATCHES = 500;
+    private static final double AMOUNT_TOLERANCE = 0.005;
+
+    // Binary ordering sorts exactly like String.compareTo, so the merge and both streams agree on key order
+    private static final String KEY = "PaymentID COLLATE Latin1_General_BIN2";
+
+    private static final String PAYMENT_STREAM =
+        "SELECT PaymentID, PaymentStatus, Amount, RefundAmount FROM Payment " +
+        "WHERE " + KEY + " > ? ORDER BY " + KEY;
+    private static final String BOOKING_STREAM =
+        "SELECT PaymentID, BookingID, Status, TotalAmount FROM Booking " +
+        "WHERE PaymentID IS NOT NULL AND " + KEY + " > ? ORDER BY " + KEY + ", BookingID";
+
+    private static PaymentReconciliationService instance;
+    private final ExecutorService executor;
+    private volatile ReconciliationRun currentRun;
+    private CompletableFuture<ReconciliationRun> currentFuture;
+
+    private PaymentReconciliationService() {
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "payment-reconciliation-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized PaymentReconciliationService getInstance() {
+        if (instance == null) {
+            instance = new PaymentReconciliationService();
+        }
+        return instance;
+    }
+
+    // Resumes an interrupted run from its checkpoint if there is one; a second call while running joins the same run
+    public synchronized CompletableFuture<ReconciliationRun> start() {
+        if (currentFuture == null || currentFuture.isDone()) {
+            currentFuture = CompletableFuture.supplyAsync(this::runOrResume, executor);
+        }
+        return currentFuture;
+    }
+
+    public ReconciliationRun getCurrentRun() {
+        return currentRun;
+    }
+
+    public List<ReconciliationMismatch> getMismatches(String runID, int limit) {
+        String query = "SELECT TOP (?) MismatchType, PaymentID, BookingID, PaymentStatus, BookingStatus, Amount, Detail " +
+                      "FROM ReconciliationMismatches WHERE RunID = ? ORDER BY MismatchType, PaymentID, BookingID";
+
+        List<ReconciliationMismatch> mismatches = new ArrayList<>();
+        try (Connection conn = open();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setInt(1, limit);
+            stmt.setString(2, runID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    mismatches.add(new ReconciliationMismatch(
+                        ReconciliationMismatch.Type.valueOf(rs.getString("MismatchType")),
+                        rs.getString("PaymentID"), rs.getString("BookingID"),
+                        rs.getString("PaymentStatus"), rs.getString("BookingStatus"),
+                        rs.getDouble("Amount"), rs.getString("Detail")));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error loading mismatches for run " + runID + ": " + e.getMessage());
+        }
+        return mismatches;
+    }
+
+    private ReconciliationRun runOrResume() {
+        ReconciliationRun run = loadInterruptedRun();
+        if (run == null) {
+            run = new ReconciliationRun("REC-" + System.currentTimeMillis());
+            if (!insertRun(run)) {
+                run.finish(false);
+                return run;
+            }
+        } else {
+            System.out.println("Resuming reconciliation " + run.getRunID() + " after payment " + run.getLastPaymentID());
+        }
+        currentRun = run;
+
+        boolean succeeded = true;
+        try {
+            merge(run);
+        } catch (SQLException e) {
+            succeeded = false;
+            System.err.println("Reconciliation " + run.getRunID() + " stopped after " + run.getLastPaymentID() +
+                               ": " + e.getMessage());
+        }
+        run.finish(succeeded);
+        if (succeeded) {
+            markCompleted(run);
+        }
+        System.out.println("Reconciliation " + run);
+        return run;
+    }
+
+    // Both tables are read once, forward only, in key order; memory is bounded by one key's bookings plus the mismatch buffer
+    private void merge(ReconciliationRun run) throws SQLException {
+        // Separate connections, because SQL Server buffers a result set in full as soon as its connection runs another statement
+        try (Connection paymentConn = open();
+             Connection bookingConn = open();
+             Connection writeConn = open();
+             PreparedStatement paymentStmt = stream(paymentConn, PAYMENT_STREAM, run.getLastPaymentID());
+             PreparedStatement bookingStmt = stream(bookingConn, BOOKING_STREAM, run.getLastPaymentID());
+             ResultSet payments = paymentStmt.executeQuery();
+             ResultSet bookings = bookingStmt.executeQuery()) {
+
+            writeConn.setAutoCommit(false);
+            PaymentRow payment = PaymentRow.next(payments);
+            BookingRow booking = BookingRow.next(bookings);
+            List<BookingRow> linked = new ArrayList<>();
+            List<ReconciliationMismatch> pending = new ArrayList<>();
+            long paymentCount = 0;
+            long bookingCount = 0;
+            int keys = 0;
+            String key = null;
+
+            while (payment != null || booking != null) {
+                if (booking == null || (payment != null && payment.paymentID.compareTo(booking.paymentID) < 0)) {
+                    key = payment.paymentID;
+                } else {
+                    key = booking.paymentID;
+                }
+
+                PaymentRow matched = payment != null && payment.paymentID.equals(key) ? payment : null;
+                linked.clear();
+                while (booking != null && booking.paymentID.equals(key)) {
+                    linked.add(booking);
+                    booking = BookingRow.next(bookings);
+                }
+                if (matched != null) {
+                    paymentCount++;
+                    payment = PaymentRow.next(payments);
+                }
+                bookingCount += linked.size();
+                classify(key, matched, linked, pending);
+
+                // Checkpoints fall on key boundaries, so everything up to the key is settled in both streams
+                if (++keys >= CHECKPOINT_KEYS || pending.size() >= MAX_BUFFERED_MISMATCHES) {
+                    checkpoint(writeConn, run, key, paymentCount, bookingCount, pending);
+                    paymentCount = 0;
+                    bookingCount = 0;
+                    keys = 0;
+                    pending.clear();
+                }
+            }
+
+            if (keys > 0) {
+                checkpoint(writeConn, run, key, paymentCount, bookingCount, pending);
+            }
+        }
+    }
+
+    private static void classify(String paymentID, PaymentRow payment, List<BookingRow> linked,
+                                 List<ReconciliationMismatch> out) {
+        if (payment == null) {
+            for (BookingRow booking : linked) {
+                out.add(new ReconciliationMismatch(ReconciliationMismatch.Type.MISSING_PAYMENT, paymentID,
+                    booking.bookingID, null, booking.status, booking.totalAmount, "Payment row not found"));
+            }
+            return;
+        }
+        // Pending payments belong to the payment service's own reconciliation sweep
+        if ("Pending".equals(payment.status)) {
+            return;
+        }
+
+        String firstBooking = linked.isEmpty() ? null : linked.get(0).bookingID;
+        String firstStatus = linked.isEmpty() ? null : linked.get(0).status;
+        boolean settled = "Completed".equals(payment.status) || "Refunded".equals(payment.status);
+
+        if (linked.isEmpty() && settled) {
+            out.add(mismatch(ReconciliationMismatch.Type.ORPHAN_PAYMENT, payment, null, null,
+                "No booking references this payment"));
+        }
+        if (linked.size() > 1) {
+            out.add(mismatch(ReconciliationMismatch.Type.SHARED_PAYMENT, payment, firstBooking, firstStatus,
+                "Linked to " + linked.size() + " bookings"));
+        }
+        if ("Refunded".equals(payment.status)) {
+            if (payment.refundAmount == null) {
+                out.add(mismatch(ReconciliationMismatch.Type.REFUND_AMOUNT_MISSING, payment, firstBooking, firstStatus,
+                    "Refund amount was never recorded"));
+            } else if (payment.refundAmount > payment.amount + AMOUNT_TOLERANCE) {
+                out.add(mismatch(ReconciliationMismatch.Type.REFUND_EXCEEDS_PAYMENT, payment, firstBooking, firstStatus,
+                    String.format("Refunded PKR %.2f", payment.refundAmount)));
+            }
+        }
+
+        for (BookingRow booking : linked) {
+            if ("Completed".equals(payment.status) && "Cancelled".equals(booking.status)) {
+                out.add(mismatch(ReconciliationMismatch.Type.CANCELLED_NOT_REFUNDED, payment, booking.bookingID,
+                    booking.status, "Booking cancelled but payment still completed"));
+            }
+            if ("Completed".equals(payment.status) && payment.amount > booking.totalAmount + AMOUNT_TOLERANCE) {
+                out.add(mismatch(ReconciliationMismatch.Type.AMOUNT_EXCEEDS_BOOKING, payment, booking.bookingID,
+                    booking.status, String.format("Booking total PKR %.2f", booking.totalAmount)));
+            }
+            if ("Refunded".equals(payment.status) && !"Cancelled".equals(booking.status)) {
+                out.add(mismatch(ReconciliationMismatch.Type.REFUNDED_BOOKING_ACTIVE, payment, booking.bookingID,
+                    booking.status, "Payment refunded but booking is " + booking.status));
+            }
+            if ("Failed".equals(payment.status)) {
+                out.add(mismatch(ReconciliationMismatch.Type.FAILED_PAYMENT_LINKED, payment, booking.bookingID,
+                    booking.status, "Booking still points at a failed payment"));
+            }
+        }
+    }
+
+    private static ReconciliationMismatch mismatch(ReconciliationMismatch.Type type, PaymentRow payment,
+                                                   String bookingID, String bookingStatus, String detail) {
+        return new ReconciliationMismatch(type, payment.paymentID, bookingID, payment.status, bookingStatus,
+                                          payment.amount, detail);
+    }
+
+    private void checkpoint(Connection conn, ReconciliationRun run, String lastPaymentID, long payments, long bookings,
+                            List<ReconciliationMismatch> pending) throws SQLException {
+        List<ReconciliationMismatch> confirmed = confirm(conn, pending);
+        String insertMismatch = "INSERT INTO ReconciliationMismatches " +
+                               "(RunID, MismatchType, PaymentID, BookingID, PaymentStatus, BookingStatus, Amount, Detail) " +
+                               "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        String updateRun = "UPDATE ReconciliationRuns SET LastPaymentID = ?, PaymentsScanned = PaymentsScanned + ?, " +
+                          "BookingsScanned = BookingsScanned + ?, MismatchCount = MismatchCount + ?, UpdatedAt = GETDATE() " +
+                          "WHERE RunID = ?";
+
+        try (PreparedStatement mismatchStmt = conn.prepareStatement(insertMismatch);
+             PreparedStatement runStmt = conn.prepareStatement(updateRun)) {
+
+            for (ReconciliationMismatch mismatch : confirmed) {
+                mismatchStmt.setString(1, run.getRunID());
+                mismatchStmt.setString(2, mismatch.getType().name());
+                mismatchStmt.setString(3, mismatch.getPaymentID());
+                mismatchStmt.setString(4, mismatch.getBookingID());
+                mismatchStmt.setString(5, mismatch.getPaymentStatus());
+                mismatchStmt.setString(6, mismatch.getBookingStatus());
+                mismatchStmt.setDouble(7, mismatch.getAmount());
+                mismatchStmt.setString(8, mismatch.getDetail());
+                mismatchStmt.addBatch();
+            }
+            if (!confirmed.isEmpty()) {
+                mismatchStmt.executeBatch();
+            }
+
+            runStmt.setString(1, lastPaymentID);
+            runStmt.setLong(2, payments);
+            runStmt.setLong(3, bookings);
+            runStmt.setInt(4, confirmed.size());
+            runStmt.setString(5, run.getRunID());
+            runStmt.executeUpdate();
+            conn.commit();
+
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+        run.checkpoint(lastPaymentID, payments, bookings, confirmed);
+    }
+
+    // The two streams are read at slightly different moments, so a payment and booking changed together
+    // mid-scan can look mismatched; each suspect key is re-read as one pair before it is reported
+    private List<ReconciliationMismatch> confirm(Connection conn, List<ReconciliationMismatch> suspects) throws SQLException {
+        if (suspects.isEmpty()) {
+            return suspects;
+        }
+        String paymentQuery = "SELECT PaymentID, PaymentStatus, Amount, RefundAmount FROM Payment WHERE PaymentID = ?";
+        String bookingQuery = "SELECT PaymentID, BookingID, Status, TotalAmount FROM Booking WHERE PaymentID = ? ORDER BY BookingID";
+
+        List<ReconciliationMismatch> confirmed = new ArrayList<>();
+        List<ReconciliationMismatch> current = new ArrayList<>();
+        List<BookingRow> linked = new ArrayList<>();
+        String checkedKey = null;
+
+        try (PreparedStatement paymentStmt = conn.prepareStatement(paymentQuery);
+             PreparedStatement bookingStmt = conn.prepareStatement(bookingQuery)) {
+
+            for (ReconciliationMismatch suspect : suspects) {
+                if (!suspect.getPaymentID().equals(checkedKey)) {
+                    checkedKey = suspect.getPaymentID();
+                    PaymentRow payment;
+                    paymentStmt.setString(1, checkedKey);
+                    try (ResultSet rs = paymentStmt.executeQuery()) {
+                        payment = PaymentRow.next(rs);
+                    }
+                    linked.clear();
+                    bookingStmt.setString(1, checkedKey);
+                    try (ResultSet rs = bookingStmt.executeQuery()) {
+                        BookingRow booking;
+                        while ((booking = BookingRow.next(rs)) != null) {
+                            linked.add(booking);
+                        }
+                    }
+                    current.clear();
+                    classify(checkedKey, payment, linked, current);
+                }
+                for (ReconciliationMismatch recheck : current) {
+                    if (recheck.getType() == suspect.getType()
+                            && Objects.equals(recheck.getBookingID(), suspect.getBookingID())) {
+                        confirmed.add(recheck);
+                        break;
+                    }
+                }
+            }
+        }
+        return confirmed;
+    }
+
+    private ReconciliationRun loadInterruptedRun() {
+        String runQuery = "SELECT TOP 1 RunID, LastPaymentID, PaymentsScanned, BookingsScanned " +
+                         "FROM ReconciliationRuns WHERE Status = 'Running' ORDER BY StartedAt DESC";
+        String countQuery = "SELECT MismatchType, COUNT(*) AS Mismatches FROM ReconciliationMismatches " +
+                           "WHERE RunID = ? GROUP BY MismatchType";
+
+        try (Connection conn = open();
+             PreparedStatement runStmt = conn.prepareStatement(runQuery);
+             PreparedStatement countStmt = conn.prepareStatement(countQuery)) {
+
+            try (ResultSet rs = runStmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                ReconciliationRun run = new ReconciliationRun(rs.getString("RunID"));
+                String lastPaymentID = rs.getString("LastPaymentID");
+                long payments = rs.getLong("PaymentsScanned");
+                long bookings = rs.getLong("BookingsScanned");
+
+                Map<ReconciliationMismatch.Type, Long> counts = new EnumMap<>(ReconciliationMismatch.Type.class);
+                countStmt.setString(1, run.getRunID());
+                try (ResultSet countRs = countStmt.executeQuery()) {
+                    while (countRs.next()) {
+                        counts.put(ReconciliationMismatch.Type.valueOf(countRs.getString("MismatchType")),
+                                   countRs.getLong("Mismatches"));
+                    }
+                }
+                run.restore(lastPaymentID, payments, bookings, counts);
+                return run;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error loading interrupted reconciliation: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean insertRun(ReconciliationRun run) {
+        String query = "INSERT INTO ReconciliationRuns (RunID, Status) VALUES (?, 'Running')";
+
+        try (Connection conn = open();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setString(1, run.getRunID());
+            stmt.executeUpdate();
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Error starting reconciliation " + run.getRunID() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void markCompleted(ReconciliationRun run) {
+        String query = "UPDATE ReconciliationRuns SET Status = 'Completed', FinishedAt = GETDATE(), UpdatedAt = GETDATE() " +
+                      "WHERE RunID = ?";
+
+        try (Connection conn = open();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setString(1, run.getRunID());
+            stmt.executeUpdate();
+
+        } catch (SQLException e) {
+            System.err.println("Error completing reconciliation " + run.getRunID() + ": " + e.getMessage());
+        }
+    }
+
+    private static PreparedStatement stream(Connection conn, String query, String after) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(FETCH_SIZE);
+        stmt.setString(1, after);
+        return stmt;
+    }
+
+    private static Connection open() throws SQLException {
+        return DriverManager.getConnection(
+            DatabaseConfig.getDbUrl(),
+            DatabaseConfig.getDbUser(),
+            DatabaseConfig.getDbPassword());
+    }
+
+    private static final class PaymentRow {
+        final String paymentID;
+        final String status;
+        final double amount;
+        final Double refundAmount;
+
+        private PaymentRow(String paymentID, String status, double amount, Double refundAmount) {
+            this.paymentID = paymentID;
+            this.status = status;
+            this.amount = amount;
+            this.refundAmount = refundAmount;
+        }
+
+        static PaymentRow next(ResultSet rs) throws SQLException {
+            if (!rs.next()) {
+                return null;
+            }
+            double refund = rs.getDouble("RefundAmount");
+            return new PaymentRow(rs.getString("PaymentID"), rs.getString("PaymentStatus"), rs.getDouble("Amount"),
+                                  rs.wasNull() ? null : refund);
+        }
+    }
+
+    private static final class BookingRow {
+        final String paymentID;
+        final String bookingID;
+        final String status;
+        final double totalAmount;
+
+        private BookingRow(String paymentID, String bookingID, String status, double totalAmount) {
+            this.paymentID = paymentID;
+            this.bookingID = bookingID;
+            this.status = status;
+            this.totalAmount = totalAmount;
+        }
+
+        static BookingRow next(ResultSet rs) throws SQLException {
+            if (!rs.next()) {
+                return null;
+            }
+            return new BookingRow(rs.getString("PaymentID"), rs.getString("BookingID"), rs.getString("Status"),
+                                  rs.getDouble("TotalAmount"));
+        }
+    }
+}
\ No newline at end of file
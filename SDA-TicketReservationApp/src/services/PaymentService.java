@@ -0,0 +1,369 @@
+package services;
+
+import config.DatabaseConfig;
+import helpers.IDGenerator;
+import models.Booking;
+import models.GatewayResult;
+import models.Notification;
+import models.Payment;
+import models.PaymentOutcome;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PaymentService {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 500;
+    private static final long RECONCILE_INTERVAL_MINUTES = 2;
+    // Pending payments younger than this may still be mid-call on another instance
+    private static final int STALE_PENDING_MINUTES = 1;
+    // A key the gateway has never seen after this long was never charged
+    private static final int ABANDONED_PENDING_MINUTES = 10;
+
+    private static PaymentService instance;
+    private final ExecutorService gatewayExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final Set<String> inFlight;
+    private volatile PaymentGateway gateway;
+
+    private PaymentService() {
+        this.gateway = new SimulatedPaymentGateway();
+        this.inFlight = ConcurrentHashMap.newKeySet();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.gatewayExecutor = Executors.newFixedThreadPool(4, r -> {
+            Thread thread = new Thread(r, "payment-gateway-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "payment-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcilePendingPayments, RECONCILE_INTERVAL_MINUTES,
+                                         RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    public static synchronized PaymentService getInstance() {
+        if (instance == null) {
+            instance = new PaymentService();
+        }
+        return instance;
+    }
+
+    public void useGateway(PaymentGateway gateway) {
+        this.gateway = gateway;
+    }
+
+    public PaymentGateway getGateway() {
+        return gateway;
+    }
+
+    // Runs entirely off the caller's thread; the returned future completes once the gateway has answered
+    public CompletableFuture<PaymentOutcome> pay(Booking booking, double amount, String paymentMethod) {
+        return CompletableFuture.supplyAsync(() -> process(booking, amount, paymentMethod), gatewayExecutor);
+    }
+
+    public void reconcileNow() {
+        scheduler.execute(this::reconcilePendingPayments);
+    }
+
+    private PaymentOutcome process(Booking booking, double amount, String paymentMethod) {
+        Payment payment = new Payment(IDGenerator.generatePaymentID(), booking, amount, paymentMethod);
+        payment.setStatus("Pending");
+
+        PaymentOutcome existing = openPayment(booking, payment);
+        if (existing != null) {
+            return existing;
+        }
+
+        // The payment ID is the idempotency key, so every retry below refers to the same single charge
+        GatewayResult result;
+        inFlight.add(payment.getPaymentID());
+        try {
+            result = chargeWithRetry(payment);
+        } finally {
+            inFlight.remove(payment.getPaymentID());
+        }
+
+        switch (result.getStatus()) {
+            case APPROVED:
+                payment.setTransactionID(result.getTransactionID());
+                if (completePayment(payment.getPaymentID(), result.getTransactionID())) {
+                    payment.setStatus("Completed");
+                    payment.setPaymentDate(new Date());
+                    onPaymentCompleted(booking, payment);
+                    return new PaymentOutcome(PaymentOutcome.Status.COMPLETED, payment, "Payment confirmed");
+                }
+                // The gateway approved but recording it failed; reconciliation will retry the bookkeeping
+                return new PaymentOutcome(PaymentOutcome.Status.PENDING, payment,
+                                          "Payment approved; confirmation is being recorded");
+            case DECLINED:
+                failPayment(payment.getPaymentID());
+                payment.setStatus("Failed");
+                return new PaymentOutcome(PaymentOutcome.Status.FAILED, payment, result.getMessage());
+            default:
+                return new PaymentOutcome(PaymentOutcome.Status.PENDING, payment,
+                                          "The payment provider has not confirmed yet. You will be notified once it does.");
+        }
+    }
+
+    private GatewayResult chargeWithRetry(Payment payment) {
+        GatewayResult result = GatewayResult.unknown("Not attempted");
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                result = gateway.charge(payment.getPaymentID(), payment.getAmount(), payment.getPaymentMethod());
+            } catch (RuntimeException e) {
+                result = GatewayResult.unknown(e.getMessage());
+            }
+            if (result.getStatus() != GatewayResult.Status.UNKNOWN) {
+                return result;
+            }
+            System.err.println("Payment " + payment.getPaymentID() + " attempt " + attempt + " unconfirmed: " + result.getMessage());
+            if (attempt < MAX_ATTEMPTS) {
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS << (attempt - 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    // Short transaction: claims the booking for this payment, or reports the payment that already holds it
+    private PaymentOutcome openPayment(Booking booking, Payment payment) {
+        String lockBooking = "SELECT b.PaymentID, p.PaymentStatus FROM Booking b WITH (UPDLOCK, ROWLOCK) " +
+                            "LEFT JOIN Payment p ON b.PaymentID = p.PaymentID WHERE b.BookingID = ?";
+        String insertPayment = "INSERT INTO Payment (PaymentID, Amount, PaymentMethod, PaymentStatus, PaymentDate) " +
+                              "VALUES (?, ?, ?, 'Pending', GETDATE())";
+        String linkBooking = "UPDATE Booking SET PaymentID = ?, UpdatedAt = GETDATE() WHERE BookingID = ?";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement lockStmt = conn.prepareStatement(lockBooking);
+                 PreparedStatement insertStmt = conn.prepareStatement(insertPayment);
+                 PreparedStatement linkStmt = conn.prepareStatement(linkBooking)) {
+
+                lockStmt.setString(1, booking.getBookingID());
+                try (ResultSet rs = lockStmt.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.rollback();
+                        return new PaymentOutcome(PaymentOutcome.Status.FAILED, payment, "Booking not found");
+                    }
+                    String status = rs.getString("PaymentStatus");
+                    if ("Completed".equals(status)) {
+                        conn.rollback();
+                        return new PaymentOutcome(PaymentOutcome.Status.ALREADY_PAID, payment,
+                                                  "This booking has already been paid");
+                    }
+                    if ("Pending".equals(status)) {
+                        conn.rollback();
+                        return new PaymentOutcome(PaymentOutcome.Status.IN_PROGRESS, payment,
+                                                  "A payment for this booking is already being processed");
+                    }
+                }
+
+                insertStmt.setString(1, payment.getPaymentID());
+                insertStmt.setDouble(2, payment.getAmount());
+                insertStmt.setString(3, payment.getPaymentMethod());
+                insertStmt.executeUpdate();
+
+                linkStmt.setString(1, payment.getPaymentID());
+                linkStmt.setString(2, booking.getBookingID());
+                linkStmt.executeUpdate();
+
+                conn.commit();
+                return null;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error opening payment for booking " + booking.getBookingID() + ": " + e.getMessage());
+            return new PaymentOutcome(PaymentOutcome.Status.FAILED, payment, "Payment could not be started");
+        }
+    }
+
+    // Conditional on Pending, so the live flow and reconciliation can both try and only one of them wins
+    private boolean completePayment(String paymentID, String transactionID) {
+        String updatePayment = "UPDATE Payment SET PaymentStatus = 'Completed', TransactionID = ?, PaymentDate = GETDATE() " +
+                              "WHERE PaymentID = ? AND PaymentStatus = 'Pending'";
+        String confirmBooking = "UPDATE Booking SET Status = 'Confirmed', UpdatedAt = GETDATE() WHERE PaymentID = ? AND Status <> 'Cancelled'";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement paymentStmt = conn.prepareStatement(updatePayment);
+                 PreparedStatement bookingStmt = conn.prepareStatement(confirmBooking)) {
+
+                paymentStmt.setString(1, transactionID);
+                paymentStmt.setString(2, paymentID);
+                if (paymentStmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+                bookingStmt.setString(1, paymentID);
+                bookingStmt.executeUpdate();
+                conn.commit();
+                return true;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error completing payment " + paymentID + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Unlinking the failed payment lets the customer try again with a fresh key
+    private boolean failPayment(String paymentID) {
+        String updatePayment = "UPDATE Payment SET PaymentStatus = 'Failed' WHERE PaymentID = ? AND PaymentStatus = 'Pending'";
+        String unlinkBooking = "UPDATE Booking SET PaymentID = NULL, UpdatedAt = GETDATE() OUTPUT inserted.BookingID WHERE PaymentID = ?";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement paymentStmt = conn.prepareStatement(updatePayment);
+                 PreparedStatement bookingStmt = conn.prepareStatement(unlinkBooking)) {
+
+                paymentStmt.setString(1, paymentID);
+                if (paymentStmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+                bookingStmt.setString(1, paymentID);
+                List<String> bookingIDs = new ArrayList<>();
+                try (ResultSet rs = bookingStmt.executeQuery()) {
+                    while (rs.next()) {
+                        bookingIDs.add(rs.getString("BookingID"));
+                    }
+                }
+                conn.commit();
+                // A pending payment already recorded its promo code use; the failed charge hands it back
+                for (String bookingID : bookingIDs) {
+                    PromoCodeService.getInstance().releaseRecordedUsage(bookingID);
+                }
+                return true;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error failing payment " + paymentID + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void onPaymentCompleted(Booking booking, Payment payment) {
+        booking.setPayment(payment);
+        booking.setStatus("Confirmed");
+        BookingEventPublisher.getInstance().publishPaymentCompleted(booking, payment);
+        sendConfirmation(booking.getCustomerID(), booking.getBookingID(), payment.getAmount());
+    }
+
+    private void sendConfirmation(String customerID, String bookingID, double amount) {
+        Notification notification = Notification.createPaymentNotification(customerID, bookingID, amount);
+        notification.setRelatedID(bookingID);
+        NotificationDispatcher.getInstance().submit(notification);
+    }
+
+    private void reconcilePendingPayments() {
+        String query = "SELECT p.PaymentID, p.Amount, b.BookingID, b.CustomerID, " +
+                      "DATEDIFF(MINUTE, p.PaymentDate, GETDATE()) as AgeMinutes " +
+                      "FROM Payment p JOIN Booking b ON b.PaymentID = p.PaymentID " +
+                      "WHERE p.PaymentStatus = 'Pending' AND p.PaymentDate < DATEADD(MINUTE, ?, GETDATE())";
+
+        List<Object[]> pending = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setInt(1, -STALE_PENDING_MINUTES);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    pending.add(new Object[] { rs.getString("PaymentID"), rs.getDouble("Amount"),
+                                               rs.getString("BookingID"), rs.getString("CustomerID"),
+                                               rs.getInt("AgeMinutes") });
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error loading pending payments: " + e.getMessage());
+            return;
+        }
+
+        int completed = 0;
+        int failed = 0;
+        for (Object[] row : pending) {
+            String paymentID = (String) row[0];
+            if (inFlight.contains(paymentID)) {
+                continue;
+            }
+            GatewayResult result;
+            try {
+                result = gateway.lookup(paymentID);
+            } catch (RuntimeException e) {
+                System.err.println("Error looking up payment " + paymentID + ": " + e.getMessage());
+                continue;
+            }
+
+            if (result.getStatus() == GatewayResult.Status.APPROVED) {
+                if (completePayment(paymentID, result.getTransactionID())) {
+                    double amount = (Double) row[1];
+                    String bookingID = (String) row[2];
+                    String customerID = (String) row[3];
+                    MetricsService.getInstance().recordPayment(new Date(), amount);
+                    LiveUpdateBus.getInstance().publishBookingStatus(customerID, bookingID, "Confirmed");
+                    sendConfirmation(customerID, bookingID, amount);
+                    completed++;
+                }
+            } else if (result.getStatus() == GatewayResult.Status.DECLINED
+                    || (result.getStatus() == GatewayResult.Status.NOT_FOUND && (Integer) row[4] >= ABANDONED_PENDING_MINUTES)) {
+                if (failPayment(paymentID)) {
+                    failed++;
+                }
+            }
+        }
+
+        if (completed > 0 || failed > 0) {
+            System.out.println("Payment reconciliation: " + completed + " completed, " + failed + " failed, " +
+                               (pending.size() - completed - failed) + " still pending");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,261 @@
+package services;
+
+import config.DatabaseConfig;
+import models.PriceChange;
+import models.PriceChangeLine;
+import models.PriceChangeResult;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class PricingChangeService {
+
+    private static PricingChangeService instance;
+
+    private PricingChangeService() {
+    }
+
+    public static synchronized PricingChangeService getInstance() {
+        if (instance == null) {
+            instance = new PricingChangeService();
+        }
+        return instance;
+    }
+
+    // Prices are computed by the same expressions apply() uses, so the preview is exactly what would be written
+    public List<PriceChangeLine> preview(PriceChange change) {
+        List<PriceChangeLine> lines = new ArrayList<>();
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            if (change.isApplyToRoutes()) {
+                List<Object> params = new ArrayList<>();
+                String query = "SELECT r.RouteID, r.Source, r.Destination, r.BasePrice, " +
+                              priceExpression("r.BasePrice", change, params) + " AS NewPrice " +
+                              "FROM Route r WHERE r.IsActive = 1" + routeFilter(change, params) +
+                              " ORDER BY r.RouteID";
+                try (PreparedStatement stmt = prepare(conn, query, params);
+                     ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        lines.add(new PriceChangeLine("Route", rs.getString("RouteID"),
+                            rs.getString("RouteID") + " " + rs.getString("Source") + " → " + rs.getString("Destination"),
+                            1, rs.getDouble("BasePrice"), rs.getDouble("NewPrice")));
+                    }
+                }
+            }
+
+            if (change.isApplyToSeats()) {
+                List<Object> params = new ArrayList<>();
+                String query = "SELECT sc.RouteID, sc.ScheduleID, sc.Date, s.SeatType, COUNT(*) AS Seats, " +
+                              "AVG(s.Price) AS OldPrice, AVG(" + priceExpression("s.Price", change, params) + ") AS NewPrice " +
+                              seatSource(change, params) +
+                              " GROUP BY sc.RouteID, sc.ScheduleID, sc.Date, s.SeatType" +
+                              " ORDER BY sc.RouteID, sc.Date, sc.ScheduleID, s.SeatType";
+                try (PreparedStatement stmt = prepare(conn, query, params);
+                     ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        lines.add(new PriceChangeLine("Seats", rs.getString("RouteID"),
+                            rs.getString("ScheduleID") + " " + rs.getDate("Date") + " type " + rs.getString("SeatType"),
+                            rs.getInt("Seats"), rs.getDouble("OldPrice"), rs.getDouble("NewPrice")));
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error previewing price change: " + e.getMessage());
+        }
+        return lines;
+    }
+
+    public PriceChangeResult apply(PriceChange change, String changedBy) {
+        if (!change.isValid()) {
+            return PriceChangeResult.failed("Invalid price change");
+        }
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            conn.setAutoCommit(false);
+            try {
+                int routesUpdated = 0;
+                int seatsUpdated = 0;
+
+                if (change.isApplyToRoutes()) {
+                    List<Object> params = new ArrayList<>();
+                    String update = "UPDATE r SET r.BasePrice = " + priceExpression("r.BasePrice", change, params) +
+                                   " FROM Route r WHERE r.IsActive = 1" + routeFilter(change, params);
+                    try (PreparedStatement stmt = prepare(conn, update, params)) {
+                        routesUpdated = stmt.executeUpdate();
+                    }
+                }
+
+                if (change.isApplyToSeats()) {
+                    List<Object> params = new ArrayList<>();
+                    String update = "UPDATE s SET s.Price = " + priceExpression("s.Price", change, params) +
+                                   " " + seatSource(change, params);
+                    try (PreparedStatement stmt = prepare(conn, update, params)) {
+                        seatsUpdated = stmt.executeUpdate();
+                    }
+                }
+
+                long auditID = insertAudit(conn, changedBy, change.getMode().name(), change.getValue(),
+                                           describeScope(change), routesUpdated, seatsUpdated);
+                conn.commit();
+                System.out.println("Price change #" + auditID + " applied: " + change.describe() + " (" +
+                                   routesUpdated + " routes, " + seatsUpdated + " seats)");
+                return PriceChangeResult.applied(auditID, routesUpdated, seatsUpdated);
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error applying price change: " + e.getMessage());
+            return PriceChangeResult.failed(e.getMessage());
+        }
+    }
+
+    // Prices every seat type of a schedule in one statement instead of one UPDATE per type
+    public PriceChangeResult repriceSeatTypes(String scheduleID, double basePrice,
+                                              Map<String, Double> typePercentages, String changedBy) {
+        if (typePercentages.isEmpty()) {
+            return PriceChangeResult.failed("No seat types to reprice");
+        }
+
+        List<Object> params = new ArrayList<>();
+        StringBuilder premium = new StringBuilder("CASE SeatType");
+        StringBuilder types = new StringBuilder();
+        params.add(basePrice);
+        for (Map.Entry<String, Double> entry : typePercentages.entrySet()) {
+            premium.append(" WHEN ? THEN ?");
+            params.add(entry.getKey());
+            params.add(entry.getValue());
+        }
+        premium.append(" END");
+        params.add(scheduleID);
+        for (String type : typePercentages.keySet()) {
+            types.append(types.length() > 0 ? ", ?" : "?");
+            params.add(type);
+        }
+        String update = "UPDATE Seat SET Price = ROUND(? * (1 + " + premium + " / 100.0), 2) " +
+                       "WHERE ScheduleID = ? AND SeatType IN (" + types + ")";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = prepare(conn, update, params)) {
+                int seatsUpdated = stmt.executeUpdate();
+                long auditID = insertAudit(conn, changedBy, "SEAT_TYPES", basePrice,
+                                           "Schedule " + scheduleID + " seat premiums " + typePercentages, 0, seatsUpdated);
+                conn.commit();
+                return PriceChangeResult.applied(auditID, 0, seatsUpdated);
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error repricing seats for schedule " + scheduleID + ": " + e.getMessage());
+            return PriceChangeResult.failed(e.getMessage());
+        }
+    }
+
+    private long insertAudit(Connection conn, String changedBy, String mode, double value, String scope,
+                             int routesUpdated, int seatsUpdated) throws SQLException {
+        String insert = "INSERT INTO PriceChangeAudit (ChangedBy, ChangeMode, ChangeValue, Scope, RoutesUpdated, SeatsUpdated) " +
+                       "OUTPUT inserted.AuditID VALUES (?, ?, ?, ?, ?, ?)";
+
+        try (PreparedStatement stmt = conn.prepareStatement(insert)) {
+            stmt.setString(1, changedBy);
+            stmt.setString(2, mode);
+            stmt.setDouble(3, value);
+            stmt.setString(4, scope);
+            stmt.setInt(5, routesUpdated);
+            stmt.setInt(6, seatsUpdated);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : -1;
+            }
+        }
+    }
+
+    private static String priceExpression(String column, PriceChange change, List<Object> params) {
+        if (change.getMode() == PriceChange.Mode.PERCENTAGE) {
+            params.add(change.getValue());
+            return "ROUND(" + column + " * (1 + ? / 100.0), 2)";
+        }
+        params.add(change.getValue());
+        params.add(change.getValue());
+        return "ROUND(CASE WHEN " + column + " + ? < 0 THEN 0 ELSE " + column + " + ? END, 2)";
+    }
+
+    private static String routeFilter(PriceChange change, List<Object> params) {
+        return inFilter("r.RouteID", change.getRouteIDs(), params);
+    }
+
+    // Only unsold seats on departures from today onwards are repriced; sold seats keep the price they were booked at
+    private static String seatSource(PriceChange change, List<Object> params) {
+        LocalDate from = change.getFromDate() != null ? change.getFromDate() : LocalDate.now();
+        StringBuilder source = new StringBuilder(
+            "FROM Seat s JOIN Schedule sc ON s.ScheduleID = sc.ScheduleID JOIN Route r ON sc.RouteID = r.RouteID " +
+            "WHERE r.IsActive = 1 AND sc.IsActive = 1 AND s.Availability = 1 AND sc.Date >= ?");
+        params.add(Date.valueOf(from));
+        if (change.getToDate() != null) {
+            source.append(" AND sc.Date <= ?");
+            params.add(Date.valueOf(change.getToDate()));
+        }
+        source.append(routeFilter(change, params));
+        source.append(inFilter("s.SeatType", change.getSeatTypes(), params));
+        return source.toString();
+    }
+
+    private static String inFilter(String column, List<String> values, List<Object> params) {
+        if (values.isEmpty()) {
+            return "";
+        }
+        StringBuilder filter = new StringBuilder(" AND " + column + " IN (");
+        for (int i = 0; i < values.size(); i++) {
+            filter.append(i == 0 ? "?" : ", ?");
+            params.add(values.get(i));
+        }
+        return filter.append(")").toString();
+    }
+
+    private static String describeScope(PriceChange change) {
+        StringBuilder scope = new StringBuilder(change.describe());
+        scope.append(change.getRouteIDs().isEmpty() ? "; all routes" : "; routes " + change.getRouteIDs());
+        if (change.isApplyToSeats()) {
+            scope.append(change.getSeatTypes().isEmpty() ? "; all seat types" : "; seat types " + change.getSeatTypes());
+            scope.append("; departures from ").append(change.getFromDate() != null ? change.getFromDate() : LocalDate.now());
+            if (change.getToDate() != null) {
+                scope.append(" to ").append(change.getToDate());
+            }
+        }
+        return scope.toString();
+    }
+
+    private static PreparedStatement prepare(Connection conn, String sql, List<Object> params) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql);
+        for (int i = 0; i < params.size(); i++) {
+            stmt.setObject(i + 1, params.get(i));
+        }
+        return stmt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,405 @@
+package services;
+
+import config.DatabaseConfig;
+import helpers.BloomFilter;
+import helpers.TokenBucket;
+import models.Booking;
+import models.PromoValidation;
+import models.PromotionalCode;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PromoCodeService {
+
+    private static final long CODE_TTL_SECONDS = 60;
+    private static final long RECONCILE_INTERVAL_MINUTES = 5;
+    private static final double FILTER_FALSE_POSITIVE_RATE = 0.01;
+    private static final int ATTEMPT_BURST = 5;
+    private static final long ATTEMPT_REFILL_SECONDS = 12;
+
+    private static PromoCodeService instance;
+    private final ScheduledExecutorService scheduler;
+    private volatile CodeSnapshot codes;
+    private final Map<String, TokenBucket> attemptBuckets;
+    private final Map<String, Usage> usageByCode;
+    private final Map<String, Usage> usageByCustomer;
+    private final LongAdder validations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder filterRejections = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    private PromoCodeService() {
+        this.codes = new CodeSnapshot(new HashMap<>());
+        this.attemptBuckets = new ConcurrentHashMap<>();
+        this.usageByCode = new ConcurrentHashMap<>();
+        this.usageByCustomer = new ConcurrentHashMap<>();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "promo-codes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        loadCodes();
+        scheduler.scheduleWithFixedDelay(this::loadCodes, CODE_TTL_SECONDS, CODE_TTL_SECONDS, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::reconcileUsage, RECONCILE_INTERVAL_MINUTES,
+                                         RECONCILE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        scheduler.scheduleWithFixedDelay(this::pruneAttemptBuckets, 1, 1, TimeUnit.MINUTES);
+    }
+
+    public static synchronized PromoCodeService getInstance() {
+        if (instance == null) {
+            instance = new PromoCodeService();
+        }
+        return instance;
+    }
+
+    public PromoValidation validate(String code, String customerID) {
+        validations.increment();
+        PromoValidation result = allowAttempt(customerID)
+            ? check(normalize(code), customerID)
+            : new PromoValidation(PromoValidation.Status.RATE_LIMITED, null);
+        if (!result.isValid()) {
+            rejections.increment();
+        }
+        return result;
+    }
+
+    // Claims one use of the code for this customer; the claim must be followed by recordUsage or release
+    public PromoValidation reserve(String code, String customerID) {
+        PromoValidation result = validate(code, customerID);
+        if (!result.isValid()) {
+            return result;
+        }
+        String key = normalize(code);
+        PromotionalCode promo = result.getPromoCode();
+        Usage codeUsage = usageByCode.computeIfAbsent(key, k -> new Usage());
+        if (!codeUsage.tryAcquire(promo.getMaxUses())) {
+            return new PromoValidation(PromoValidation.Status.EXHAUSTED, promo);
+        }
+        Usage customerUsage = usageByCustomer.computeIfAbsent(customerKey(key, customerID), k -> new Usage());
+        if (!customerUsage.tryAcquire(promo.getMaxUsesPerCustomer())) {
+            codeUsage.release();
+            return new PromoValidation(PromoValidation.Status.CUSTOMER_LIMIT, promo);
+        }
+        return result;
+    }
+
+    public void release(String code, String customerID) {
+        String key = normalize(code);
+        Usage codeUsage = usageByCode.get(key);
+        Usage customerUsage = usageByCustomer.get(customerKey(key, customerID));
+        if (codeUsage != null) {
+            codeUsage.release();
+        }
+        if (customerUsage != null) {
+            customerUsage.release();
+        }
+    }
+
+    public boolean recordUsage(String code, Booking booking, String customerID) {
+        String key = normalize(code);
+        String query = "INSERT INTO PromoCodeUsage (PromoCode, BookingID, UsedDate, CustomerID) VALUES (?, ?, GETDATE(), ?)";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setString(1, key);
+            stmt.setString(2, booking.getBookingID());
+            stmt.setString(3, customerID);
+            stmt.executeUpdate();
+            markRecorded(key, customerID);
+            BookingEventPublisher.getInstance().publishPromoCodeUsed(booking, key);
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Error recording promo code usage: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // A pending payment that later fails gives its use of the code back, so the customer can try again
+    public void releaseRecordedUsage(String bookingID) {
+        String query = "DELETE FROM PromoCodeUsage OUTPUT deleted.PromoCode, deleted.CustomerID WHERE BookingID = ?";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setString(1, bookingID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String key = normalize(rs.getString("PromoCode"));
+                    Usage codeUsage = usageByCode.get(key);
+                    Usage customerUsage = usageByCustomer.get(customerKey(key, rs.getString("CustomerID")));
+                    if (codeUsage != null) {
+                        codeUsage.unrecorded();
+                    }
+                    if (customerUsage != null) {
+                        customerUsage.unrecorded();
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error releasing promo code usage for booking " + bookingID + ": " + e.getMessage());
+        }
+    }
+
+    public long getUsageCount(String code) {
+        Usage usage = usageByCode.get(normalize(code));
+        return usage != null ? usage.used() : 0;
+    }
+
+    public long getValidationCount() {
+        return validations.sum();
+    }
+
+    public long getRejectionCount() {
+        return rejections.sum();
+    }
+
+    public long getFilterRejectionCount() {
+        return filterRejections.sum();
+    }
+
+    public long getRateLimitedCount() {
+        return rateLimited.sum();
+    }
+
+    public void invalidate() {
+        scheduler.execute(this::loadCodes);
+    }
+
+    private PromoValidation check(String key, String customerID) {
+        CodeSnapshot snapshot = codes;
+        if (key == null || !snapshot.filter.mightContain(key)) {
+            filterRejections.increment();
+            return new PromoValidation(PromoValidation.Status.UNKNOWN, null);
+        }
+        PromotionalCode promo = snapshot.byCode.get(key);
+        if (promo == null) {
+            return new PromoValidation(PromoValidation.Status.UNKNOWN, null);
+        }
+        if (!promo.isActive()) {
+            return new PromoValidation(PromoValidation.Status.INACTIVE, promo);
+        }
+        if (!promo.checkValidity()) {
+            return new PromoValidation(PromoValidation.Status.EXPIRED, promo);
+        }
+        if (isExhausted(usageByCode.get(key), promo.getMaxUses())) {
+            return new PromoValidation(PromoValidation.Status.EXHAUSTED, promo);
+        }
+        if (customerID != null && isExhausted(usageByCustomer.get(customerKey(key, customerID)), promo.getMaxUsesPerCustomer())) {
+            return new PromoValidation(PromoValidation.Status.CUSTOMER_LIMIT, promo);
+        }
+        return new PromoValidation(PromoValidation.Status.VALID, promo);
+    }
+
+    // Every guess costs a token, so a customer cycling through random codes stalls after a short burst
+    private boolean allowAttempt(String customerID) {
+        if (customerID == null) {
+            return true;
+        }
+        TokenBucket bucket = attemptBuckets.computeIfAbsent(customerID,
+            id -> new TokenBucket(ATTEMPT_BURST, 1, ATTEMPT_REFILL_SECONDS));
+        if (bucket.tryConsume()) {
+            return true;
+        }
+        rateLimited.increment();
+        return false;
+    }
+
+    private void pruneAttemptBuckets() {
+        // A full bucket carries no state, so idle customers cost nothing between attempts
+        attemptBuckets.values().removeIf(TokenBucket::isFull);
+    }
+
+    private void markRecorded(String key, String customerID) {
+        usageByCode.computeIfAbsent(key, k -> new Usage()).recorded();
+        usageByCustomer.computeIfAbsent(customerKey(key, customerID), k -> new Usage()).recorded();
+    }
+
+    private void loadCodes() {
+        String query = "SELECT Code, Percentage, ValidityDate, IsActive, MaxUses, MaxUsesPerCustomer FROM PromotionalCodes";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            Map<String, PromotionalCode> loaded = new HashMap<>();
+            while (rs.next()) {
+                PromotionalCode promo = new PromotionalCode(
+                    rs.getString("Code"), rs.getDate("ValidityDate").toLocalDate(), rs.getDouble("Percentage"));
+                promo.setActive(rs.getBoolean("IsActive"));
+                promo.setMaxUses(rs.getInt("MaxUses"));
+                promo.setMaxUsesPerCustomer(rs.getInt("MaxUsesPerCustomer"));
+                loaded.put(normalize(promo.getCode()), promo);
+            }
+            // Readers never see a half-built map or a filter out of step with it; the swap is a single volatile write
+            CodeSnapshot previous = codes;
+            codes = new CodeSnapshot(loaded);
+            // Reconcile drops the counters of dead codes, so a code that is new or live again needs its uses read back
+            if (!previous.live.containsAll(codes.live)) {
+                reconcileUsage();
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error refreshing promo code cache: " + e.getMessage());
+        }
+    }
+
+    private void reconcileUsage() {
+        for (Usage usage : usageByCode.values()) {
+            usage.beginSync();
+        }
+        for (Usage usage : usageByCustomer.values()) {
+            usage.beginSync();
+        }
+        String query = "SELECT PromoCode, CustomerID, COUNT(*) as Uses FROM PromoCodeUsage GROUP BY PromoCode, CustomerID";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            Map<String, Long> byCode = new HashMap<>();
+            Map<String, Long> byCustomer = new HashMap<>();
+            while (rs.next()) {
+                String key = normalize(rs.getString("PromoCode"));
+                long uses = rs.getLong("Uses");
+                byCode.merge(key, uses, Long::sum);
+                byCustomer.put(customerKey(key, rs.getString("CustomerID")), uses);
+            }
+            Set<String> live = codes.live;
+            byCode.keySet().retainAll(live);
+            byCustomer.keySet().removeIf(k -> !live.contains(codeOf(k)));
+            reconcile(usageByCode, byCode);
+            reconcile(usageByCustomer, byCustomer);
+            // Expired, deactivated and deleted codes are rejected before their usage is read, so their counters go
+            usageByCode.entrySet().removeIf(e -> !live.contains(e.getKey()) && e.getValue().isIdle());
+            usageByCustomer.entrySet().removeIf(e -> !live.contains(codeOf(e.getKey())) && e.getValue().isIdle());
+
+        } catch (SQLException e) {
+            System.err.println("Error reconciling promo code usage: " + e.getMessage());
+        }
+    }
+
+    private static void reconcile(Map<String, Usage> counters, Map<String, Long> recorded) {
+        for (Map.Entry<String, Long> entry : recorded.entrySet()) {
+            counters.computeIfAbsent(entry.getKey(), k -> new Usage()).reconcile(entry.getValue());
+        }
+        for (Map.Entry<String, Usage> entry : counters.entrySet()) {
+            if (!recorded.containsKey(entry.getKey())) {
+                entry.getValue().reconcile(0);
+            }
+        }
+    }
+
+    private static boolean isExhausted(Usage usage, int limit) {
+        return limit > 0 && usage != null && usage.used() >= limit;
+    }
+
+    private static String normalize(String code) {
+        return code != null ? code.trim().toUpperCase(Locale.ROOT) : null;
+    }
+
+    private static String customerKey(String code, String customerID) {
+        return code + "|" + customerID;
+    }
+
+    private static String codeOf(String customerKey) {
+        return customerKey.substring(0, customerKey.indexOf('|'));
+    }
+
+    private static class CodeSnapshot {
+        private final Map<String, PromotionalCode> byCode;
+        private final BloomFilter filter;
+        private final Set<String> live;
+
+        CodeSnapshot(Map<String, PromotionalCode> byCode) {
+            this.byCode = byCode;
+            this.live = new HashSet<>();
+            for (Map.Entry<String, PromotionalCode> entry : byCode.entrySet()) {
+                if (entry.getValue().checkValidity()) {
+                    live.add(entry.getKey());
+                }
+            }
+            this.filter = new BloomFilter(byCode.size(), FILTER_FALSE_POSITIVE_RATE);
+            for (String code : byCode.keySet()) {
+                filter.put(code);
+            }
+        }
+    }
+
+    // Guarded by its own monitor, so a reconcile pass cannot overwrite a claim or recording made while it applies
+    private static class Usage {
+        // Uses in PromoCodeUsage as of the last reconcile, plus the ones recorded here since
+        private long recorded;
+        // Claims made here that have not reached PromoCodeUsage yet
+        private long unrecorded;
+        // Recorded here while a reconcile query ran; its counts may or may not include them
+        private long recordedDuringSync;
+
+        synchronized long used() {
+            return recorded + unrecorded;
+        }
+
+        synchronized boolean tryAcquire(int limit) {
+            if (limit > 0 && recorded + unrecorded >= limit) {
+                return false;
+            }
+            unrecorded++;
+            return true;
+        }
+
+        synchronized void release() {
+            unrecorded = Math.max(0, unrecorded - 1);
+        }
+
+        synchronized void recorded() {
+            unrecorded = Math.max(0, unrecorded - 1);
+            recorded++;
+            recordedDuringSync++;
+        }
+
+        synchronized void unrecorded() {
+            recorded = Math.max(0, recorded - 1);
+        }
+
+        synchronized boolean isIdle() {
+            return unrecorded == 0;
+        }
+
+        synchronized void beginSync() {
+            recordedDuringSync = 0;
+        }
+
+        // Recordings that raced the query are kept on top, so the count can only run high until the next pass
+        synchronized void reconcile(long recordedUses) {
+            recorded = recordedUses + recordedDuringSync;
+        }
+    }
+}
\ No newline at end of file
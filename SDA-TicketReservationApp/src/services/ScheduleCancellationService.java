@@ -0,0 +1,397 @@
+package services;
+
+import config.DatabaseConfig;
+import models.CancellationJob;
+import models.CancellationPolicy;
+import models.Notification;
+import models.Route;
+import models.Schedule;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ScheduleCancellationService {
+
+    // Each booking also touches its seats, so keep a chunk well under SQL Server's lock escalation threshold
+    private static final int CHUNK_SIZE = 1000;
+    private static final DateTimeFormatter DEPARTURE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy 'at' HH:mm");
+
+    private static final String CHUNK_FILTER =
+        "JOIN Reservation r ON b.ReservationID = r.ReservationID " +
+        "WHERE r.ScheduleID = ? AND b.Status = 'Confirmed' AND b.BookingID > ? AND b.BookingID <= ?";
+
+    private static ScheduleCancellationService instance;
+    private final ExecutorService executor;
+    private final Map<String, CancellationJob> jobs;
+    private final AtomicInteger jobSequence = new AtomicInteger();
+
+    private ScheduleCancellationService() {
+        this.jobs = new ConcurrentHashMap<>();
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "schedule-cancellation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.submit(this::resumeInterruptedJobs);
+    }
+
+    public static synchronized ScheduleCancellationService getInstance() {
+        if (instance == null) {
+            instance = new ScheduleCancellationService();
+        }
+        return instance;
+    }
+
+    public CancellationJob cancelSchedule(String scheduleID, String reason) {
+        String jobID = "SCX-" + System.currentTimeMillis() + "-" + jobSequence.incrementAndGet();
+        CancellationJob job = new CancellationJob(jobID, scheduleID, reason);
+        jobs.put(jobID, job);
+        executor.submit(() -> {
+            if (begin(job)) {
+                run(job);
+            } else {
+                job.finish(false);
+            }
+        });
+        return job;
+    }
+
+    public List<CancellationJob> cancelRouteDay(Route route, LocalDate date, String reason) {
+        List<CancellationJob> started = new ArrayList<>();
+        for (Schedule schedule : route.getSchedules()) {
+            if (date.equals(schedule.getDate())) {
+                started.add(cancelSchedule(schedule.getScheduleID(), reason));
+            }
+        }
+        return started;
+    }
+
+    public CancellationJob getJob(String jobID) {
+        return jobs.get(jobID);
+    }
+
+    public List<CancellationJob> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    private boolean begin(CancellationJob job) {
+        LocalDateTime departure = findDeparture(job.getScheduleID());
+        if (departure == null) {
+            System.err.println("Cancellation " + job.getJobID() + ": schedule " + job.getScheduleID() + " not found");
+            return false;
+        }
+        // Every booking on the departure shares one departure time, so a single policy lookup covers the job
+        LocalDateTime cancelledAt = LocalDateTime.now();
+        CancellationPolicy policy = CancellationPolicyEngine.getInstance()
+            .resolve((int) Duration.between(cancelledAt, departure).toHours());
+        double percentage = policy != null ? policy.getAmountToBeRefunded() : 0.0;
+        job.restore(cancelledAt, percentage, 0, 0.0, "");
+
+        String insertJob = "INSERT INTO ScheduleCancellationJobs (JobID, ScheduleID, Reason, Status, CancelledAt, RefundPercentage) " +
+                          "VALUES (?, ?, ?, 'Running', ?, ?)";
+        String closeSchedule = "UPDATE Schedule SET IsActive = 0 WHERE ScheduleID = ?";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement jobStmt = conn.prepareStatement(insertJob);
+                 PreparedStatement scheduleStmt = conn.prepareStatement(closeSchedule)) {
+
+                jobStmt.setString(1, job.getJobID());
+                jobStmt.setString(2, job.getScheduleID());
+                jobStmt.setString(3, job.getReason());
+                jobStmt.setTimestamp(4, Timestamp.valueOf(cancelledAt));
+                jobStmt.setDouble(5, percentage);
+                jobStmt.executeUpdate();
+
+                // Closing the schedule first stops new bookings from landing behind the job's checkpoint
+                scheduleStmt.setString(1, job.getScheduleID());
+                scheduleStmt.executeUpdate();
+                conn.commit();
+                return true;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error starting cancellation " + job.getJobID() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void run(CancellationJob job) {
+        String departure = describeDeparture(job.getScheduleID());
+        job.start(countRemaining(job));
+        System.out.println("Cancellation " + job.getJobID() + " started for schedule " + job.getScheduleID() +
+                           " (" + job.getTargetCount() + " bookings)");
+
+        boolean succeeded = true;
+        try {
+            String chunkEnd;
+            while ((chunkEnd = findChunkEnd(job.getScheduleID(), job.getLastBookingID())) != null) {
+                List<String[]> cancelled = processChunk(job, chunkEnd);
+                notifyCustomers(job, cancelled, departure);
+            }
+        } catch (SQLException e) {
+            succeeded = false;
+            System.err.println("Cancellation " + job.getJobID() + " stopped at " + job.getLastBookingID() +
+                               ": " + e.getMessage());
+        }
+
+        job.finish(succeeded);
+        // A failed job is picked up again on the next start, since its departure is already closed
+        markStatus(job, succeeded ? "Completed" : "Failed");
+        DashboardStatsService.getInstance().refreshNow();
+        System.out.println("Cancellation " + job);
+    }
+
+    // Payment, seats, bookings and the checkpoint move together, so a crash mid-job never half-cancels a chunk
+    private List<String[]> processChunk(CancellationJob job, String chunkEnd) throws SQLException {
+        String refundPayments = "UPDATE p SET p.PaymentStatus = 'Refunded', p.RefundAmount = ROUND(p.Amount * ? / 100, 2) " +
+                               "OUTPUT inserted.RefundAmount " +
+                               "FROM Payment p JOIN Booking b ON b.PaymentID = p.PaymentID " + CHUNK_FILTER +
+                               " AND p.PaymentStatus = 'Completed'";
+        String releaseSeats = "UPDATE s SET s.ReservationID = NULL, s.Availability = 1 " +
+                             "FROM Seat s JOIN Booking b ON s.ReservationID = b.ReservationID " + CHUNK_FILTER;
+        String cancelBookings = "UPDATE b SET b.Status = 'Cancelled', b.CancelledAt = GETDATE(), b.UpdatedAt = GETDATE() " +
+                               "OUTPUT inserted.BookingID, inserted.CustomerID " +
+                               "FROM Booking b " + CHUNK_FILTER;
+        String checkpoint = "UPDATE ScheduleCancellationJobs SET ProcessedCount = ProcessedCount + ?, " +
+                           "RefundTotal = RefundTotal + ?, LastBookingID = ?, UpdatedAt = GETDATE() WHERE JobID = ?";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword())) {
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement paymentStmt = conn.prepareStatement(refundPayments);
+                 PreparedStatement seatStmt = conn.prepareStatement(releaseSeats);
+                 PreparedStatement bookingStmt = conn.prepareStatement(cancelBookings);
+                 PreparedStatement checkpointStmt = conn.prepareStatement(checkpoint)) {
+
+                double refunds = 0;
+                paymentStmt.setDouble(1, job.getRefundPercentage());
+                bindChunk(paymentStmt, 2, job, chunkEnd);
+                try (ResultSet rs = paymentStmt.executeQuery()) {
+                    while (rs.next()) {
+                        refunds += rs.getDouble(1);
+                    }
+                }
+
+                bindChunk(seatStmt, 1, job, chunkEnd);
+                seatStmt.executeUpdate();
+
+                List<String[]> cancelled = new ArrayList<>();
+                bindChunk(bookingStmt, 1, job, chunkEnd);
+                try (ResultSet rs = bookingStmt.executeQuery()) {
+                    while (rs.next()) {
+                        cancelled.add(new String[] { rs.getString("BookingID"), rs.getString("CustomerID") });
+                    }
+                }
+
+                checkpointStmt.setInt(1, cancelled.size());
+                checkpointStmt.setDouble(2, refunds);
+                checkpointStmt.setString(3, chunkEnd);
+                checkpointStmt.setString(4, job.getJobID());
+                checkpointStmt.executeUpdate();
+                conn.commit();
+
+                job.addChunk(cancelled.size(), refunds, chunkEnd);
+                LocalDateTime now = LocalDateTime.now();
+                MetricsService.getInstance().record(MetricsService.Metric.CANCELLATIONS, now, cancelled.size());
+                if (refunds > 0) {
+                    MetricsService.getInstance().record(MetricsService.Metric.REFUNDS, now, refunds);
+                }
+                return cancelled;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void notifyCustomers(CancellationJob job, List<String[]> cancelled, String departure) {
+        String reason = job.getReason() != null && !job.getReason().isEmpty() ? " Reason: " + job.getReason() + "." : "";
+        for (String[] booking : cancelled) {
+            Notification notification = new Notification(booking[1], "🚫 Departure Cancelled",
+                String.format("Your departure %s has been cancelled by the operator, so booking #%s was cancelled.%s " +
+                              "Your seats have been released and any refund due will be processed within 3-5 business days.",
+                              departure, booking[0], reason),
+                Notification.NotificationType.BOOKING);
+            notification.setRelatedID(booking[0]);
+            NotificationDispatcher.getInstance().submit(notification);
+            LiveUpdateBus.getInstance().publishBookingStatus(booking[1], booking[0], "Cancelled");
+        }
+    }
+
+    private String findChunkEnd(String scheduleID, String after) throws SQLException {
+        String query = "SELECT MAX(BookingID) FROM (" +
+                      "SELECT TOP (?) b.BookingID FROM Booking b " +
+                      "JOIN Reservation r ON b.ReservationID = r.ReservationID " +
+                      "WHERE r.ScheduleID = ? AND b.Status = 'Confirmed' AND b.BookingID > ? " +
+                      "ORDER BY b.BookingID) chunk";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setInt(1, CHUNK_SIZE);
+            stmt.setString(2, scheduleID);
+            stmt.setString(3, after);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private long countRemaining(CancellationJob job) {
+        String query = "SELECT COUNT(*) FROM Booking b " +
+                      "JOIN Reservation r ON b.ReservationID = r.ReservationID " +
+                      "WHERE r.ScheduleID = ? AND b.Status = 'Confirmed' AND b.BookingID > ?";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setString(1, job.getScheduleID());
+            stmt.setString(2, job.getLastBookingID());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error counting bookings for cancellation " + job.getJobID() + ": " + e.getMessage());
+            return -1;
+        }
+    }
+
+    private void resumeInterruptedJobs() {
+        String query = "SELECT JobID, ScheduleID, Reason, CancelledAt, RefundPercentage, ProcessedCount, RefundTotal, LastBookingID " +
+                      "FROM ScheduleCancellationJobs WHERE Status IN ('Running', 'Failed')";
+
+        List<CancellationJob> interrupted = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                CancellationJob job = new CancellationJob(rs.getString("JobID"), rs.getString("ScheduleID"), rs.getString("Reason"));
+                job.restore(rs.getTimestamp("CancelledAt").toLocalDateTime(), rs.getDouble("RefundPercentage"),
+                            rs.getLong("ProcessedCount"), rs.getDouble("RefundTotal"), rs.getString("LastBookingID"));
+                interrupted.add(job);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error loading interrupted cancellation jobs: " + e.getMessage());
+            return;
+        }
+
+        for (CancellationJob job : interrupted) {
+            jobs.put(job.getJobID(), job);
+            System.out.println("Resuming cancellation " + job.getJobID() + " after booking " + job.getLastBookingID());
+            markStatus(job, "Running");
+            run(job);
+        }
+    }
+
+    private void markStatus(CancellationJob job, String status) {
+        String query = "UPDATE ScheduleCancellationJobs SET Status = ?, UpdatedAt = GETDATE() WHERE JobID = ?";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setString(1, status);
+            stmt.setString(2, job.getJobID());
+            stmt.executeUpdate();
+
+        } catch (SQLException e) {
+            System.err.println("Error marking cancellation " + job.getJobID() + " " + status + ": " + e.getMessage());
+        }
+    }
+
+    private LocalDateTime findDeparture(String scheduleID) {
+        String query = "SELECT Date, DepartureTime FROM Schedule WHERE ScheduleID = ?";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setString(1, scheduleID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return LocalDateTime.of(rs.getDate("Date").toLocalDate(), rs.getTime("DepartureTime").toLocalTime());
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error loading schedule " + scheduleID + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    private String describeDeparture(String scheduleID) {
+        String query = "SELECT rt.Source, rt.Destination, s.Date, s.DepartureTime FROM Schedule s " +
+                      "JOIN Route rt ON s.RouteID = rt.RouteID WHERE s.ScheduleID = ?";
+
+        try (Connection conn = DriverManager.getConnection(
+                DatabaseConfig.getDbUrl(),
+                DatabaseConfig.getDbUser(),
+                DatabaseConfig.getDbPassword());
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setString(1, scheduleID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    LocalDateTime departure = LocalDateTime.of(
+                        rs.getDate("Date").toLocalDate(), rs.getTime("DepartureTime").toLocalTime());
+                    return "from " + rs.getString("Source") + " to " + rs.getString("Destination") +
+                           " on " + departure.format(DEPARTURE_FORMAT);
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error describing schedule " + scheduleID + ": " + e.getMessage());
+        }
+        return scheduleID;
+    }
+
+    private static void bindChunk(PreparedStatement stmt, int index, CancellationJob job, String chunkEnd) throws SQLException {
+        stmt.setString(index, job.getScheduleID());
+        stmt.setString(index + 1, job.getLastBookingID());
+        stmt.setString(index + 2, chunkEnd);
+    }
+}
\ No newline at end of file
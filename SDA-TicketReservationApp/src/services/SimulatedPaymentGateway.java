@@ -0,0 +1,79 @@
+package services;
+
+import models.GatewayResult;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final Map<String, Charge> ledger = new ConcurrentHashMap<>();
+    private volatile long minLatencyMillis = 200;
+    private volatile long maxLatencyMillis = 1200;
+    private volatile double declineRate = 0.03;
+    private volatile double timeoutRate = 0.05;
+
+    @Override
+    public GatewayResult charge(String idempotencyKey, double amount, String paymentMethod) {
+        sleep(ThreadLocalRandom.current().nextLong(minLatencyMillis, Math.max(minLatencyMillis, maxLatencyMillis) + 1));
+
+        Charge charge = ledger.computeIfAbsent(idempotencyKey, key -> new Charge(amount, decide(amount)));
+        if (Math.abs(charge.amount - amount) > 0.005) {
+            return GatewayResult.declined("Idempotency key reused with a different amount");
+        }
+        // A lost response still leaves the charge in the ledger, which is what retries and reconciliation must cope with
+        if (ThreadLocalRandom.current().nextDouble() < timeoutRate) {
+            return GatewayResult.unknown("Gateway timed out");
+        }
+        return charge.result;
+    }
+
+    @Override
+    public GatewayResult lookup(String idempotencyKey) {
+        Charge charge = ledger.get(idempotencyKey);
+        return charge != null ? charge.result : GatewayResult.notFound();
+    }
+
+    public void setLatency(long minMillis, long maxMillis) {
+        this.minLatencyMillis = Math.max(0, minMillis);
+        this.maxLatencyMillis = Math.max(this.minLatencyMillis, maxMillis);
+    }
+
+    public void setDeclineRate(double declineRate) {
+        this.declineRate = declineRate;
+    }
+
+    public void setTimeoutRate(double timeoutRate) {
+        this.timeoutRate = timeoutRate;
+    }
+
+    private GatewayResult decide(double amount) {
+        if (amount <= 0) {
+            return GatewayResult.declined("Invalid amount");
+        }
+        if (ThreadLocalRandom.current().nextDouble() < declineRate) {
+            return GatewayResult.declined("Card declined");
+        }
+        return GatewayResult.approved("TXN-" + UUID.randomUUID().toString().substring(0, 12).toUpperCase());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Charge {
+        private final double amount;
+        private final GatewayResult result;
+
+        Charge(double amount, GatewayResult result) {
+            this.amount = amount;
+            this.result = result;
+        }
+    }
+}
\ No newline at end of file
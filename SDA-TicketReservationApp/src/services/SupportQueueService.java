@@ -0,0 +1,441 @@
+package services;
+
+import config.DatabaseConfig;
+import models.Customer;
+import models.SupportQuery;
+import models.SupportStaff;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class SupportQueueService {
+
+    private static final long SYNC_INTERVAL_SECONDS = 30;
+    // Rows updated just before the previous sync may commit after it ran
+    private static final long SYNC_OVERLAP_MILLIS = 5000;
+
+    // Oldest first: the longest-waiting customer is always at the head of the queue
+    private static final Comparator<SupportQuery> BY_AGE = Comparator
+        .comparing(SupportQuery::getAskedOn)
+        .thenComparing(SupportQuery::getQueryID);
+
+    private static final String SELECT_QUERIES = "SELECT " +
+        "q.QueryID, q.Text, q.AskedOn, q.Status, q.Response, " +
+        "q.CustomerID, q.SupportStaffID, " +
+        "cust.Name as CustomerName, " +
+        "cust_contact.Email as CustomerEmail, " +
+        "cust_contact.PhoneNum as CustomerPhone, " +
+        "staff.Name as StaffName, " +
+        "staff_contact.Email as StaffEmail, " +
+        "staff_contact.PhoneNum as StaffPhone " +
+        "FROM SupportQueries q " +
+        "LEFT JOIN Users cust ON q.CustomerID = cust.UserID " +
+        "LEFT JOIN ContactInfo cust_contact ON cust.ContactID = cust_contact.ContactID " +
+        "LEFT JOIN Users staff ON q.SupportStaffID = staff.UserID " +
+        "LEFT JOIN ContactInfo staff_contact ON staff.ContactID = staff_contact.ContactID ";
+
+    // READPAST skips rows another agent has locked mid-claim instead of queueing behind them,
+    // so concurrent claims each take a different ticket
+    private static final String CLAIM_NEXT =
+        "WITH next AS (" +
+        "SELECT TOP (1) QueryID, SupportStaffID, UpdatedAt " +
+        "FROM SupportQueries WITH (UPDLOCK, READPAST, ROWLOCK) " +
+        "WHERE Status = 0 AND SupportStaffID IS NULL " +
+        "ORDER BY AskedOn, QueryID) " +
+        "UPDATE next SET SupportStaffID = ?, UpdatedAt = GETDATE() " +
+        "OUTPUT inserted.QueryID";
+
+    private static final String CLAIM =
+        "UPDATE SupportQueries SET SupportStaffID = ?, UpdatedAt = GETDATE() " +
+        "WHERE QueryID = ? AND Status = 0 AND (SupportStaffID IS NULL OR SupportStaffID = ?)";
+
+    private static SupportQueueService instance;
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, SupportQuery> byID = new HashMap<>();
+    private final Map<String, Slot> slots = new HashMap<>();
+    private final NavigableSet<SupportQuery> all = new TreeSet<>(BY_AGE);
+    private final NavigableSet<SupportQuery> pending = new TreeSet<>(BY_AGE);
+    private final NavigableSet<SupportQuery> unassigned = new TreeSet<>(BY_AGE);
+    private final NavigableSet<SupportQuery> resolved = new TreeSet<>(BY_AGE);
+    private final Map<String, NavigableSet<SupportQuery>> byStaff = new HashMap<>();
+    private final Map<String, NavigableSet<SupportQuery>> pendingByStaff = new HashMap<>();
+    private final Map<String, NavigableSet<SupportQuery>> byCustomer = new HashMap<>();
+    private volatile Timestamp lastSync;
+
+    private SupportQueueService() {
+        loadAll();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "support-queue-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sync, SYNC_INTERVAL_SECONDS, SYNC_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public static synchronized SupportQueueService getInstance() {
+        if (instance == null) {
+            instance = new SupportQueueService();
+        }
+        return instance;
+    }
+
+    public synchronized SupportQuery getQuery(String queryID) {
+        return queryID != null ? byID.get(queryID) : null;
+    }
+
+    // Views walk only as far as the requested limit
+    public synchronized List<SupportQuery> getPending(int limit) {
+        return take(pending.iterator(), limit);
+    }
+
+    public synchronized List<SupportQuery> getUnassigned(int limit) {
+        return take(unassigned.iterator(), limit);
+    }
+
+    public synchronized List<SupportQuery> getAssignedTo(String staffID, int limit) {
+        NavigableSet<SupportQuery> queue = pendingByStaff.get(staffID);
+        return queue != null ? take(queue.iterator(), limit) : new ArrayList<>();
+    }
+
+    public synchronized List<SupportQuery> getHandledBy(String staffID, int limit) {
+        NavigableSet<SupportQuery> queries = byStaff.get(staffID);
+        return queries != null ? take(queries.descendingIterator(), limit) : new ArrayList<>();
+    }
+
+    public synchronized List<SupportQuery> getByCustomer(String customerID, int limit) {
+        NavigableSet<SupportQuery> queries = byCustomer.get(customerID);
+        return queries != null ? take(queries.descendingIterator(), limit) : new ArrayList<>();
+    }
+
+    public synchronized List<SupportQuery> getResolved(int limit) {
+        return take(resolved.descendingIterator(), limit);
+    }
+
+    public synchronized List<SupportQuery> getAll(int limit) {
+        return take(all.descendingIterator(), limit);
+    }
+
+    public synchronized int getTotalCount() {
+        return all.size();
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    public synchronized int getUnassignedCount() {
+        return unassigned.size();
+    }
+
+    public synchronized int getAssignedCount(String staffID) {
+        NavigableSet<SupportQuery> queue = pendingByStaff.get(staffID);
+        return queue != null ? queue.size() : 0;
+    }
+
+    // Hands the oldest unassigned query to this agent; null when the queue is empty
+    public SupportQuery claimNext(SupportStaff staff) {
+        String queryID = null;
+        try (Connection conn = open();
+             PreparedStatement stmt = conn.prepareStatement(CLAIM_NEXT)) {
+            stmt.setString(1, staff.getUserID());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    queryID = rs.getString("QueryID");
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error claiming next support query: " + e.getMessage());
+            return null;
+        }
+
+        if (queryID == null) {
+            return null;
+        }
+        System.out.println("Support query " + queryID + " claimed by " + staff.getUserID());
+        return reload(queryID);
+    }
+
+    // Succeeds only if the query is still open and unassigned (or already this agent's)
+    public boolean claim(String queryID, SupportStaff staff) {
+        int rowsAffected;
+        try (Connection conn = open();
+             PreparedStatement stmt = conn.prepareStatement(CLAIM)) {
+            stmt.setString(1, staff.getUserID());
+            stmt.setString(2, queryID);
+            stmt.setString(3, staff.getUserID());
+            rowsAffected = stmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error claiming support query " + queryID + ": " + e.getMessage());
+            return false;
+        }
+
+        // Reload either way so a lost race shows who actually owns the query
+        reload(queryID);
+        return rowsAffected > 0;
+    }
+
+    // Merges a query that was just written through QueryCatalog into the indexes
+    public synchronized SupportQuery upsert(SupportQuery query) {
+        SupportQuery existing = byID.get(query.getQueryID());
+        if (existing == null) {
+            byID.put(query.getQueryID(), query);
+            index(query);
+            return query;
+        }
+        if (existing != query) {
+            unindex(existing);
+            existing.setText(query.getText());
+            existing.setStatus(query.isStatus());
+            existing.setResponse(query.getResponse());
+            existing.setSupportStaff(query.getSupportStaff());
+            existing.setCustomer(query.getCustomer());
+            index(existing);
+        } else {
+            // Same object mutated in place: re-file it under its new status and owner
+            unindex(existing);
+            index(existing);
+        }
+        return existing;
+    }
+
+    public synchronized void remove(String queryID) {
+        SupportQuery query = byID.remove(queryID);
+        if (query != null) {
+            unindex(query);
+        }
+    }
+
+    // Picks up queries created or changed by other instances since the last sync; false when the database could not be read
+    public boolean sync() {
+        Timestamp since = lastSync;
+        if (since == null) {
+            return loadAll();
+        }
+
+        try (Connection conn = open()) {
+            Timestamp now = serverTime(conn);
+            int changed = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_QUERIES + "WHERE q.UpdatedAt >= ?")) {
+                stmt.setTimestamp(1, new Timestamp(since.getTime() - SYNC_OVERLAP_MILLIS));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        SupportQuery query = createQueryFromResultSet(rs);
+                        if (query != null) {
+                            upsert(query);
+                            changed++;
+                        }
+                    }
+                }
+            }
+            lastSync = now;
+            if (changed > 0) {
+                System.out.println("Support queue synced " + changed + " changed queries.");
+            }
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error syncing support queue: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean loadAll() {
+        try (Connection conn = open()) {
+            Timestamp now = serverTime(conn);
+            List<SupportQuery> loaded = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_QUERIES);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    SupportQuery query = createQueryFromResultSet(rs);
+                    if (query != null) {
+                        loaded.add(query);
+                    }
+                }
+            }
+            synchronized (this) {
+                for (SupportQuery query : loaded) {
+                    upsert(query);
+                }
+            }
+            lastSync = now;
+            System.out.println("Loaded " + loaded.size() + " queries from database.");
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error loading queries from database: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private SupportQuery reload(String queryID) {
+        try (Connection conn = open();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_QUERIES + "WHERE q.QueryID = ?")) {
+            stmt.setString(1, queryID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    SupportQuery query = createQueryFromResultSet(rs);
+                    return query != null ? upsert(query) : null;
+                }
+            }
+            remove(queryID);
+        } catch (SQLException e) {
+            System.err.println("Error reloading support query " + queryID + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    private void index(SupportQuery query) {
+        String staffID = query.getSupportStaff() != null ? query.getSupportStaff().getUserID() : null;
+        String customerID = query.getCustomer() != null ? query.getCustomer().getUserID() : null;
+        boolean open = !query.isStatus();
+
+        all.add(query);
+        if (open) {
+            pending.add(query);
+            if (staffID == null) {
+                unassigned.add(query);
+            } else {
+                pendingByStaff.computeIfAbsent(staffID, k -> new TreeSet<>(BY_AGE)).add(query);
+            }
+        } else {
+            resolved.add(query);
+        }
+        if (staffID != null) {
+            byStaff.computeIfAbsent(staffID, k -> new TreeSet<>(BY_AGE)).add(query);
+        }
+        if (customerID != null) {
+            byCustomer.computeIfAbsent(customerID, k -> new TreeSet<>(BY_AGE)).add(query);
+        }
+        slots.put(query.getQueryID(), new Slot(open, staffID, customerID));
+    }
+
+    // Uses the slot recorded at index time, since the query object may already have been mutated
+    private void unindex(SupportQuery query) {
+        Slot slot = slots.remove(query.getQueryID());
+        if (slot == null) {
+            return;
+        }
+        all.remove(query);
+        if (slot.open) {
+            pending.remove(query);
+            if (slot.staffID == null) {
+                unassigned.remove(query);
+            } else {
+                removeFrom(pendingByStaff, slot.staffID, query);
+            }
+        } else {
+            resolved.remove(query);
+        }
+        if (slot.staffID != null) {
+            removeFrom(byStaff, slot.staffID, query);
+        }
+        if (slot.customerID != null) {
+            removeFrom(byCustomer, slot.customerID, query);
+        }
+    }
+
+    private static void removeFrom(Map<String, NavigableSet<SupportQuery>> index, String key, SupportQuery query) {
+        NavigableSet<SupportQuery> set = index.get(key);
+        if (set != null) {
+            set.remove(query);
+            if (set.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static List<SupportQuery> take(Iterator<SupportQuery> iterator, int limit) {
+        List<SupportQuery> result = new ArrayList<>();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    private static Timestamp serverTime(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GETDATE()");
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getTimestamp(1);
+        }
+    }
+
+    private static SupportQuery createQueryFromResultSet(ResultSet rs) {
+        try {
+            String queryID = rs.getString("QueryID");
+            String text = rs.getString("Text");
+            Date askedOn = new Date(rs.getTimestamp("AskedOn").getTime());
+            boolean status = rs.getBoolean("Status");
+            String response = rs.getString("Response");
+
+            Customer customer = null;
+            String customerID = rs.getString("CustomerID");
+            if (customerID != null) {
+                customer = new Customer(
+                    customerID,
+                    rs.getString("CustomerName"),
+                    "",
+                    "",
+                    rs.getString("CustomerEmail"),
+                    rs.getString("CustomerPhone")
+                );
+            }
+
+            SupportStaff supportStaff = null;
+            String staffID = rs.getString("SupportStaffID");
+            if (staffID != null) {
+                supportStaff = new SupportStaff(
+                    staffID,
+                    rs.getString("StaffName"),
+                    "",
+                    "",
+                    rs.getString("StaffEmail"),
+                    rs.getString("StaffPhone")
+                );
+            }
+
+            SupportQuery query = new SupportQuery(text, askedOn, queryID, supportStaff, customer);
+            query.setStatus(status);
+            query.setResponse(response);
+            return query;
+
+        } catch (Exception e) {
+            System.err.println("Error creating SupportQuery from ResultSet: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Connection open() throws SQLException {
+        return DriverManager.getConnection(
+            DatabaseConfig.getDbUrl(),
+            DatabaseConfig.getDbUser(),
+            DatabaseConfig.getDbPassword());
+    }
+
+    private static final class Slot {
+        private final boolean open;
+        private final String staffID;
+        private final String customerID;
+
+        private Slot(boolean open, String staffID, String customerID) {
+            this.open = open;
+            this.staffID = staffID;
+            this.customerID = customerID;
+        }
+    }
+}
\ No newline at end of file